@@ -0,0 +1,111 @@
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Closed-loop HTTP load driver: N clients hit the given URLs round-robin for a
+ * fixed time and the run reports throughput, errors and latency percentiles.
+ * Runs with the JDK source launcher, no build needed:
+ * <pre>
+ * java load/HttpLoad.java -c 200 -d 30 -w 10 http://localhost:8080/api/products http://localhost:8080/api/raw-materials
+ * </pre>
+ */
+public class HttpLoad {
+
+    public static void main(String[] args) throws Exception {
+        int clients = 100;
+        int seconds = 30;
+        int warmup = 10;
+        List<URI> targets = new ArrayList<>();
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "-c" -> clients = Integer.parseInt(args[++i]);
+                case "-d" -> seconds = Integer.parseInt(args[++i]);
+                case "-w" -> warmup = Integer.parseInt(args[++i]);
+                default -> targets.add(URI.create(args[i]));
+            }
+        }
+        if (targets.isEmpty())
+            throw new IllegalArgumentException("usage: HttpLoad [-c clients] [-d seconds] [-w warmup] url...");
+
+        HttpClient http = HttpClient.newBuilder()
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        if (warmup > 0)
+            run(http, targets, clients, warmup);
+        Result result = run(http, targets, clients, seconds);
+        System.out.println(result.report(clients, seconds));
+    }
+
+    private static Result run(HttpClient http, List<URI> targets, int clients, int seconds) throws InterruptedException {
+        long end = System.nanoTime() + Duration.ofSeconds(seconds).toNanos();
+        long[][] latencies = new long[clients][];
+        int[] counts = new int[clients];
+        AtomicLong errors = new AtomicLong();
+        CountDownLatch done = new CountDownLatch(clients);
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int c = 0; c < clients; c++) {
+                int client = c;
+                executor.submit(() -> {
+                    long[] own = new long[1024];
+                    int n = 0;
+                    try {
+                        while (System.nanoTime() < end) {
+                            HttpRequest request = HttpRequest.newBuilder(targets.get((client + n) % targets.size()))
+                                    .timeout(Duration.ofSeconds(30)).GET().build();
+                            long start = System.nanoTime();
+                            try {
+                                HttpResponse<Void> response = http.send(request, HttpResponse.BodyHandlers.discarding());
+                                if (response.statusCode() >= 400)
+                                    errors.incrementAndGet();
+                            } catch (Exception e) {
+                                errors.incrementAndGet();
+                            }
+                            if (n == own.length)
+                                own = Arrays.copyOf(own, n * 2);
+                            own[n++] = System.nanoTime() - start;
+                        }
+                    } finally {
+                        latencies[client] = own;
+                        counts[client] = n;
+                        done.countDown();
+                    }
+                });
+            }
+            done.await();
+        }
+        int total = Arrays.stream(counts).sum();
+        long[] all = new long[total];
+        int at = 0;
+        for (int c = 0; c < clients; c++) {
+            System.arraycopy(latencies[c], 0, all, at, counts[c]);
+            at += counts[c];
+        }
+        Arrays.sort(all);
+        return new Result(all, errors.get());
+    }
+
+    private record Result(long[] sorted, long errors) {
+
+        String report(int clients, int seconds) {
+            return String.format("clients=%d requests=%d errors=%d throughput=%.1f req/s p50=%.2f ms p99=%.2f ms max=%.2f ms",
+                    clients, sorted.length, errors, sorted.length / (double) seconds,
+                    percentile(0.50), percentile(0.99), sorted.length == 0 ? 0.0 : sorted[sorted.length - 1] / 1e6);
+        }
+
+        double percentile(double q) {
+            if (sorted.length == 0)
+                return 0.0;
+            return sorted[Math.min(sorted.length - 1, (int) Math.ceil(q * sorted.length) - 1)] / 1e6;
+        }
+    }
+}
@@ -0,0 +1,32 @@
+#!/usr/bin/env bash
+# Compara o modo pool de workers com o modo virtual threads sob a mesma carga.
+# Uso: load/compare-thread-modes.sh [clientes] [segundos]
+# Requer o Postgres do docker-compose (docker compose up -d postgres) e um JDK 21.
+set -euo pipefail
+cd "$(dirname "$0")/.."
+
+CLIENTS=${1:-200}
+SECONDS_PER_RUN=${2:-30}
+# Pool de workers pequeno e fixo para que a diferença entre os modos apareça
+WORKERS=${WORKERS:-16}
+PORT=${PORT:-8080}
+BASE="http://localhost:${PORT}/api"
+
+run_mode() {
+    local virtual=$1
+    # quarkus.virtual-threads.enabled é fixado no build: cada modo tem o seu pacote
+    ./mvnw -B -q package -DskipTests -Dquarkus.virtual-threads.enabled="${virtual}"
+    java -Dquarkus.thread-pool.max-threads="${WORKERS}" \
+         -Dquarkus.http.port="${PORT}" \
+         -jar target/quarkus-app/quarkus-run.jar > "target/load-virtual-${virtual}.log" 2>&1 &
+    local pid=$!
+    until curl -sf "${BASE}/products?limit=1" > /dev/null; do sleep 1; done
+    echo -n "virtual-threads=${virtual} workers=${WORKERS}: "
+    java load/HttpLoad.java -c "${CLIENTS}" -d "${SECONDS_PER_RUN}" -w 10 \
+         "${BASE}/products" "${BASE}/raw-materials" "${BASE}/products/1" "${BASE}/raw-materials/1"
+    kill "${pid}"
+    wait "${pid}" || true
+}
+
+run_mode false
+run_mode true
@@ -0,0 +1,76 @@
+package com.autoflex.inventory.benchmark;
+
+import com.autoflex.inventory.dto.response.ProductResponseDTO;
+import com.autoflex.inventory.mapper.ProductMapper;
+import com.autoflex.inventory.model.Product;
+import com.autoflex.inventory.model.ProductComposition;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Cost of the product listing after the database: entity to DTO mapping
+ * and JSON serialization of the whole page.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = { "-Xms4g", "-Xmx4g" })
+public class ProductMapperBenchmark {
+
+    @Param({ "1000", "10000", "100000" })
+    int products;
+
+    @Param({ "1", "10", "50" })
+    int maxCompositions;
+
+    List<Product> catalog;
+    Map<Long, List<ProductComposition>> compositionsByProduct;
+    List<ProductResponseDTO> responses;
+    ProductMapper mapper;
+    ObjectMapper objectMapper;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SyntheticCatalog generated = SyntheticCatalog.generate(products, maxCompositions, 42L);
+        catalog = generated.productsByPriceDesc;
+        compositionsByProduct = generated.compositions.stream()
+                .collect(Collectors.groupingBy(c -> c.getProduct().getCode()));
+        mapper = new ProductMapper();
+        objectMapper = new ObjectMapper();
+        responses = toResponses();
+    }
+
+    @Benchmark
+    public List<ProductResponseDTO> toResponses() {
+        List<ProductResponseDTO> result = new ArrayList<>(catalog.size());
+        for (Product product : catalog) {
+            result.add(mapper.toResponse(product, compositionsByProduct.getOrDefault(product.getCode(), List.of())));
+        }
+        return result;
+    }
+
+    @Benchmark
+    public byte[] serializeListing() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(responses);
+    }
+}
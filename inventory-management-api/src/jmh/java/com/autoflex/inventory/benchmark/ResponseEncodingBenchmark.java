@@ -0,0 +1,111 @@
+package com.autoflex.inventory.benchmark;
+
+import com.aayushatharva.brotli4j.Brotli4jLoader;
+import com.aayushatharva.brotli4j.encoder.Encoder;
+import com.autoflex.inventory.config.BinaryJsonWriter;
+import com.autoflex.inventory.dto.response.ProductResponseDTO;
+import com.autoflex.inventory.mapper.ProductMapper;
+import com.autoflex.inventory.model.Product;
+import com.autoflex.inventory.model.ProductComposition;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.ws.rs.core.MediaType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Serialization CPU and bytes on the wire of the product listing for each
+ * format the API negotiates (JSON, CBOR, Smile), with and without the
+ * response compression. Sizes are printed at the end of each trial.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = { "-Xms4g", "-Xmx4g" })
+public class ResponseEncodingBenchmark {
+
+    @Param({ "1000", "10000" })
+    int products;
+
+    @Param({ MediaType.APPLICATION_JSON, BinaryJsonWriter.CBOR_TYPE, BinaryJsonWriter.SMILE_TYPE })
+    String format;
+
+    @Param({ "identity", "gzip", "br" })
+    String encoding;
+
+    List<ProductResponseDTO> responses;
+    ObjectMapper objectMapper;
+    BinaryJsonWriter binaryWriter;
+    MediaType mediaType;
+    // Mesma qualidade que o Netty usa por padrão para brotli na compressão HTTP
+    Encoder.Parameters brotli;
+    int payloadBytes;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        SyntheticCatalog generated = SyntheticCatalog.generate(products, 10, 42L);
+        Map<Long, List<ProductComposition>> compositionsByProduct = generated.compositions.stream()
+                .collect(Collectors.groupingBy(c -> c.getProduct().getCode()));
+        ProductMapper mapper = new ProductMapper();
+        responses = new ArrayList<>(products);
+        for (Product product : generated.productsByPriceDesc) {
+            responses.add(mapper.toResponse(product, compositionsByProduct.getOrDefault(product.getCode(), List.of())));
+        }
+
+        objectMapper = new ObjectMapper();
+        binaryWriter = new BinaryJsonWriter(objectMapper);
+        mediaType = MediaType.valueOf(format);
+        Brotli4jLoader.ensureAvailability();
+        brotli = new Encoder.Parameters().setQuality(4);
+        payloadBytes = encode().length;
+    }
+
+    @TearDown(Level.Trial)
+    public void reportSize() {
+        System.out.printf("%n%s/%s, %d products: %,d bytes%n", format, encoding, products, payloadBytes);
+    }
+
+    @Benchmark
+    public byte[] encode() throws IOException {
+        ByteArrayOutputStream body = new ByteArrayOutputStream(64 * 1024);
+        if (mediaType.isCompatible(MediaType.APPLICATION_JSON_TYPE))
+            objectMapper.writeValue(body, responses);
+        else
+            binaryWriter.writeTo(responses, List.class, List.class, null, mediaType, null, body);
+
+        return switch (encoding) {
+            case "gzip" -> gzip(body.toByteArray());
+            case "br" -> Encoder.compress(body.toByteArray(), brotli);
+            default -> body.toByteArray();
+        };
+    }
+
+    private static byte[] gzip(byte[] bytes) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(bytes);
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,68 @@
+package com.autoflex.inventory.benchmark;
+
+import com.autoflex.inventory.model.Product;
+import com.autoflex.inventory.model.ProductComposition;
+import com.autoflex.inventory.model.RawMaterial;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Deterministic catalog for the benchmarks. Products are split into
+ * families of about 200 items that draw from their own pool of raw
+ * materials, like the furniture/electronics lines of a real catalog.
+ */
+public final class SyntheticCatalog {
+
+    private static final int PRODUCTS_PER_FAMILY = 200;
+    private static final int MATERIALS_PER_FAMILY = 60;
+
+    public final List<RawMaterial> rawMaterials;
+    public final List<Product> productsByPriceDesc;
+    public final List<ProductComposition> compositions;
+
+    private SyntheticCatalog(List<RawMaterial> rawMaterials, List<Product> productsByPriceDesc,
+            List<ProductComposition> compositions) {
+        this.rawMaterials = rawMaterials;
+        this.productsByPriceDesc = productsByPriceDesc;
+        this.compositions = compositions;
+    }
+
+    /**
+     * @param productCount    number of products
+     * @param maxCompositions each product gets between 1 and this many raw materials (at most 50)
+     */
+    public static SyntheticCatalog generate(int productCount, int maxCompositions, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        int families = Math.max(1, productCount / PRODUCTS_PER_FAMILY);
+        int perProduct = Math.min(maxCompositions, MATERIALS_PER_FAMILY);
+
+        List<RawMaterial> rawMaterials = new ArrayList<>(families * MATERIALS_PER_FAMILY);
+        for (int i = 0; i < families * MATERIALS_PER_FAMILY; i++) {
+            rawMaterials.add(new RawMaterial((long) i + 1, "Insumo " + (i + 1), 1_000.0 + random.nextInt(50_000)));
+        }
+
+        List<Product> products = new ArrayList<>(productCount);
+        List<ProductComposition> compositions = new ArrayList<>();
+        long compositionId = 1;
+        for (int p = 0; p < productCount; p++) {
+            Product product = new Product((long) p + 1, "Produto " + (p + 1),
+                    BigDecimal.valueOf(500 + random.nextInt(500_000), 2));
+            products.add(product);
+
+            int family = p % families;
+            int count = 1 + random.nextInt(perProduct);
+            int first = random.nextInt(MATERIALS_PER_FAMILY);
+            for (int k = 0; k < count; k++) {
+                RawMaterial rm = rawMaterials.get(family * MATERIALS_PER_FAMILY + (first + k) % MATERIALS_PER_FAMILY);
+                compositions.add(new ProductComposition(compositionId++, product, rm, 0.5 + random.nextInt(40)));
+            }
+        }
+        products.sort(Comparator.comparing(Product::getPrice).reversed());
+
+        return new SyntheticCatalog(rawMaterials, products, compositions);
+    }
+}
@@ -0,0 +1,84 @@
+package com.autoflex.inventory.service;
+
+import com.autoflex.inventory.dto.response.NameMatchDTO;
+import com.autoflex.inventory.service.search.NameIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Autocomplete over synthetic Portuguese names: a prefix hit, a substring
+ * hit, a miss (the full scan, worst case) and the index rebuild that follows
+ * a catalog write.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = { "-Xms2g", "-Xmx2g" })
+public class NameSearchBenchmark {
+
+    private static final String[] NOUNS = { "Chapa", "Tubo", "Parafuso", "Porca", "Arruela", "Mesa", "Cadeira",
+            "Estante", "Painel", "Cabo", "Conexão", "Válvula", "Junta", "Rolamento", "Engrenagem" };
+    private static final String[] MATERIALS = { "de Aço", "de Alumínio", "de Latão", "de Madeira", "de Borracha",
+            "de Plástico ABS", "de Cobre", "de Vidro Temperado", "de Polímero", "de Cerâmica" };
+    private static final String[] FINISHES = { "Galvanizado", "Escovado", "Polido", "Fosco", "Térmico",
+            "Reforçado", "Anticorrosão", "Série Leve", "Série Pesada", "Padrão" };
+
+    @Param({ "10000", "100000" })
+    int names;
+
+    @Param({ "10" })
+    int limit;
+
+    List<Object[]> rows;
+    NameIndex index;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42L);
+        rows = new ArrayList<>(names);
+        for (int i = 0; i < names; i++) {
+            String name = NOUNS[random.nextInt(NOUNS.length)] + " " + MATERIALS[random.nextInt(MATERIALS.length)]
+                    + " " + FINISHES[random.nextInt(FINISHES.length)] + " " + random.nextInt(1000, 100_000);
+            rows.add(new Object[] { (long) i + 1, name });
+        }
+        index = NameIndex.of(rows);
+    }
+
+    @Benchmark
+    public List<NameMatchDTO> prefix() {
+        return index.search("valv", limit);
+    }
+
+    @Benchmark
+    public List<NameMatchDTO> substring() {
+        return index.search("aluminio escov", limit);
+    }
+
+    @Benchmark
+    public List<NameMatchDTO> miss() {
+        return index.search("titanio", limit);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public NameIndex rebuild() {
+        return NameIndex.of(rows);
+    }
+}
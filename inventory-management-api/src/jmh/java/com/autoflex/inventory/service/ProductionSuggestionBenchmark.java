@@ -0,0 +1,88 @@
+package com.autoflex.inventory.service;
+
+import com.autoflex.inventory.benchmark.SyntheticCatalog;
+import com.autoflex.inventory.service.production.BomSnapshot;
+import com.autoflex.inventory.service.production.GreedyProductionPlanner;
+import com.autoflex.inventory.service.production.OptimalProductionPlanner;
+import com.autoflex.inventory.service.production.PlanningMode;
+import com.autoflex.inventory.service.production.ProductionPlan;
+import com.autoflex.inventory.service.production.ProductionPlanningEngine;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the production suggestion: building the BOM snapshot from
+ * entities, and planning it with {@link ProductionPlanningEngine} (what the
+ * suggestion cache falls through to), both after a catalog change (full
+ * greedy pass) and after a single raw material's stock changed (incremental
+ * pass).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = { "-Xms4g", "-Xmx4g" })
+public class ProductionSuggestionBenchmark {
+
+    @Param({ "1000", "10000", "100000" })
+    int products;
+
+    @Param({ "1", "10", "50" })
+    int maxCompositions;
+
+    SyntheticCatalog catalog;
+    ProductionPlanningEngine engine;
+    // Duas cargas do mesmo catálogo: alternar entre elas força a passada completa
+    BomSnapshot[] catalogLoads;
+    // O mesmo catálogo com o saldo de um insumo alternando: só o estoque muda
+    BomSnapshot[] stockEdits;
+    int turn;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        catalog = SyntheticCatalog.generate(products, maxCompositions, 42L);
+        catalogLoads = new BomSnapshot[] { buildSnapshot(), buildSnapshot() };
+        BomSnapshot base = catalogLoads[0];
+        double[] edited = base.stockCopy();
+        int r = base.rawMaterialCount() / 2;
+        edited[r] = edited[r] / 2;
+        stockEdits = new BomSnapshot[] { base, base.withStock(edited) };
+
+        engine = new ProductionPlanningEngine(new GreedyProductionPlanner(), new OptimalProductionPlanner(), 0, 20_000);
+    }
+
+    // Cada combinação de parâmetros cria um motor novo no mesmo fork; o pool do anterior não pode ficar para trás
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        engine.shutdown();
+    }
+
+    @Benchmark
+    public BomSnapshot buildSnapshot() {
+        return BomSnapshot.of(catalog.rawMaterials, catalog.productsByPriceDesc, catalog.compositions);
+    }
+
+    @Benchmark
+    public ProductionPlan greedySuggestion() {
+        return engine.plan(catalogLoads[turn++ & 1], PlanningMode.GREEDY, null);
+    }
+
+    @Benchmark
+    public ProductionPlan greedySuggestionAfterStockEdit() {
+        return engine.plan(stockEdits[turn++ & 1], PlanningMode.GREEDY, null);
+    }
+}
@@ -0,0 +1,109 @@
+package com.autoflex.inventory.service;
+
+import com.autoflex.inventory.benchmark.SyntheticCatalog;
+import com.autoflex.inventory.dto.response.ProductionSuggestionByLocationResponseDTO;
+import com.autoflex.inventory.metrics.ProductionSuggestionMetrics;
+import com.autoflex.inventory.service.production.BomSnapshot;
+import com.autoflex.inventory.service.production.BomSnapshotProvider;
+import com.autoflex.inventory.service.production.GreedyProductionPlanner;
+import com.autoflex.inventory.service.production.LocationSnapshot;
+import com.autoflex.inventory.service.production.OptimalProductionPlanner;
+import com.autoflex.inventory.service.production.PlanningMode;
+import com.autoflex.inventory.service.production.ProductionPlan;
+import com.autoflex.inventory.service.production.ProductionPlanningEngine;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Suggestion for every location of a multi-plant catalog: the locations
+ * planned in parallel by {@link ProductionPlanningEngine#planAll}, one after
+ * the other, and the whole by-location response with DTO assembly.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = { "-Xms4g", "-Xmx4g" })
+public class ProductionSuggestionByLocationBenchmark {
+
+    @Param({ "10000", "100000" })
+    int products;
+
+    @Param({ "1", "10", "50" })
+    int locations;
+
+    ProductService service;
+    ProductionPlanningEngine engine;
+    List<LocationSnapshot> snapshots;
+    List<BomSnapshot> bomSnapshots;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SyntheticCatalog catalog = SyntheticCatalog.generate(products, 10, 42L);
+        BomSnapshot base = BomSnapshot.of(catalog.rawMaterials, catalog.productsByPriceDesc, catalog.compositions);
+
+        // Cada planta com uma fração diferente do estoque sintético
+        SplittableRandom random = new SplittableRandom(7L);
+        snapshots = new ArrayList<>(locations);
+        for (int l = 0; l < locations; l++) {
+            double[] stock = base.stockCopy();
+            for (int r = 0; r < stock.length; r++)
+                stock[r] *= random.nextDouble();
+            snapshots.add(new LocationSnapshot((long) l + 1, "Planta " + l, base.withStock(stock)));
+        }
+
+        bomSnapshots = snapshots.stream().map(LocationSnapshot::snapshot).toList();
+
+        engine = new ProductionPlanningEngine(new GreedyProductionPlanner(), new OptimalProductionPlanner(), 0, 20_000);
+        service = new ProductService();
+        service.planningEngine = engine;
+        service.metrics = new ProductionSuggestionMetrics(new SimpleMeterRegistry());
+        service.snapshotProvider = new BomSnapshotProvider() {
+            @Override
+            public List<LocationSnapshot> byLocation() {
+                return snapshots;
+            }
+        };
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        engine.shutdown();
+    }
+
+    @Benchmark
+    public List<ProductionPlan> parallel() {
+        return engine.planAll(bomSnapshots, PlanningMode.GREEDY, null);
+    }
+
+    @Benchmark
+    public ProductionSuggestionByLocationResponseDTO byLocationResponse() {
+        return service.getProductionSuggestionByLocation(PlanningMode.GREEDY, null);
+    }
+
+    @Benchmark
+    public List<ProductionPlan> sequential() {
+        List<ProductionPlan> plans = new ArrayList<>(snapshots.size());
+        for (LocationSnapshot location : snapshots)
+            plans.add(engine.planAll(List.of(location.snapshot()), PlanningMode.GREEDY, null).get(0));
+        return plans;
+    }
+}
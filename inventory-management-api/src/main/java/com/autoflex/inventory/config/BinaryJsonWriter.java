@@ -0,0 +1,58 @@
+package com.autoflex.inventory.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.MultivaluedMap;
+import jakarta.ws.rs.ext.MessageBodyWriter;
+import jakarta.ws.rs.ext.Provider;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+
+/**
+ * Writes response entities as CBOR or Smile when the client asks for them in
+ * Accept. Both reuse the configuration of the application's JSON mapper, so the
+ * documents carry the same fields as the JSON responses.
+ */
+@Provider
+@Produces({ BinaryJsonWriter.CBOR_TYPE, BinaryJsonWriter.SMILE_TYPE })
+public class BinaryJsonWriter implements MessageBodyWriter<Object> {
+
+    public static final String CBOR_TYPE = "application/cbor";
+    public static final String SMILE_TYPE = "application/x-jackson-smile";
+
+    private static final MediaType SMILE_MEDIA_TYPE = MediaType.valueOf(SMILE_TYPE);
+
+    private final ObjectWriter cbor;
+    private final ObjectWriter smile;
+
+    @Inject
+    public BinaryJsonWriter(ObjectMapper mapper) {
+        this.cbor = mapper.copyWith(new CBORFactory()).writer();
+        // Referências a nomes e valores repetidos encurtam listas com o mesmo productName em cada linha
+        this.smile = mapper.copyWith(SmileFactory.builder()
+                .enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES)
+                .build()).writer();
+    }
+
+    @Override
+    public boolean isWriteable(Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType) {
+        return true;
+    }
+
+    @Override
+    public void writeTo(Object entity, Class<?> type, Type genericType, Annotation[] annotations,
+            MediaType mediaType, MultivaluedMap<String, Object> httpHeaders, OutputStream entityStream)
+            throws IOException {
+        ObjectWriter writer = mediaType.isCompatible(SMILE_MEDIA_TYPE) ? smile : cbor;
+        writer.writeValue(entityStream, entity);
+    }
+}
@@ -0,0 +1,33 @@
+package com.autoflex.inventory.config;
+
+import io.vertx.core.http.HttpHeaders;
+import io.vertx.core.http.HttpServerResponse;
+import io.vertx.ext.web.Router;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+/**
+ * Leaves responses smaller than {@code inventory.http.compression-threshold}
+ * uncompressed: below that size gzip/brotli framing costs more CPU and bytes
+ * than it saves. Larger bodies follow {@code quarkus.http.compress-media-types}.
+ */
+@ApplicationScoped
+public class CompressionThreshold {
+
+    @ConfigProperty(name = "inventory.http.compression-threshold")
+    long threshold;
+
+    void register(@Observes Router router) {
+        router.route().order(Integer.MIN_VALUE).handler(ctx -> {
+            ctx.addHeadersEndHandler(ignored -> {
+                HttpServerResponse response = ctx.response();
+                String length = response.headers().get(HttpHeaders.CONTENT_LENGTH);
+                // Sem Content-Length (resposta em chunks) o tamanho é desconhecido: mantém a compressão
+                if (length != null && Long.parseLong(length) < threshold)
+                    response.headers().set(HttpHeaders.CONTENT_ENCODING, HttpHeaders.IDENTITY);
+            });
+            ctx.next();
+        });
+    }
+}
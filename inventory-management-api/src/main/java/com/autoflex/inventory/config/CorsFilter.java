@@ -22,7 +22,11 @@ public class CorsFilter implements ContainerResponseFilter {
 
                 responseContext.getHeaders().add(
                                 "Access-Control-Allow-Headers",
-                                "origin, content-type, accept, authorization, x-requested-with");
+                                "origin, content-type, accept, authorization, x-requested-with, if-none-match");
+
+                // Permite ao frontend ler o ETag para enviar If-None-Match
+                responseContext.getHeaders().add(
+                                "Access-Control-Expose-Headers", "ETag");
 
                 responseContext.getHeaders().add(
                                 "Access-Control-Allow-Methods",
@@ -0,0 +1,51 @@
+package com.autoflex.inventory.config;
+
+import io.netty.handler.codec.http.HttpResponseStatus;
+import io.quarkus.runtime.configuration.MemorySize;
+import io.quarkus.vertx.http.runtime.RouteConstants;
+import io.vertx.core.http.HttpHeaders;
+import io.vertx.ext.web.Router;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+/**
+ * Keeps {@code inventory.http.max-body-size} as the request body limit of
+ * every endpoint except the bulk imports. Quarkus has a single limit, checked
+ * before any route runs, so {@code quarkus.http.limits.max-body-size} is set
+ * to the bulk ceiling and this handler, right after that check, holds the
+ * other paths to the smaller one.
+ */
+@ApplicationScoped
+public class RequestBodyLimit {
+
+    // Lida pelo InputStream do corpo para contar os bytes de requisições sem Content-Length
+    private static final String MAX_REQUEST_SIZE_KEY = "io.quarkus.max-request-size";
+
+    @ConfigProperty(name = "inventory.http.max-body-size")
+    MemorySize maxBodySize;
+
+    void register(@Observes Router router) {
+        long limit = maxBodySize.asLongValue();
+        router.route().order(RouteConstants.ROUTE_ORDER_UPLOAD_LIMIT + 1).handler(ctx -> {
+            if (isBulkImport(ctx.normalizedPath())) {
+                ctx.next();
+                return;
+            }
+            String length = ctx.request().getHeader(HttpHeaders.CONTENT_LENGTH);
+            if (length == null) {
+                ctx.put(MAX_REQUEST_SIZE_KEY, limit);
+            } else if (Long.parseLong(length) > limit) {
+                ctx.response().putHeader(HttpHeaders.CONNECTION, HttpHeaders.CLOSE)
+                        .setStatusCode(HttpResponseStatus.REQUEST_ENTITY_TOO_LARGE.code())
+                        .end();
+                return;
+            }
+            ctx.next();
+        });
+    }
+
+    static boolean isBulkImport(String path) {
+        return path.startsWith("/api/") && path.endsWith("/bulk");
+    }
+}
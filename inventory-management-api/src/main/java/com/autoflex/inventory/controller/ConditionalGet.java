@@ -0,0 +1,25 @@
+package com.autoflex.inventory.controller;
+
+import jakarta.ws.rs.core.EntityTag;
+import jakarta.ws.rs.core.Request;
+import jakarta.ws.rs.core.Response;
+
+import java.util.function.Supplier;
+
+/**
+ * Answers a GET with 304 when If-None-Match matches the current tag; the
+ * body is only loaded and serialized otherwise. The tag must be read before
+ * the body, so it is never newer than what is sent with it.
+ */
+final class ConditionalGet {
+
+    private ConditionalGet() {
+    }
+
+    static Response respond(Request request, EntityTag tag, Supplier<?> body) {
+        Response.ResponseBuilder notModified = request.evaluatePreconditions(tag);
+        if (notModified != null)
+            return notModified.tag(tag).build();
+        return Response.ok(body.get()).tag(tag).build();
+    }
+}
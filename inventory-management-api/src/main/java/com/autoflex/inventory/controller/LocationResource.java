@@ -0,0 +1,78 @@
+package com.autoflex.inventory.controller;
+
+import com.autoflex.inventory.config.BinaryJsonWriter;
+import com.autoflex.inventory.dto.request.LocationRequestDTO;
+import com.autoflex.inventory.dto.response.LocationResponseDTO;
+import com.autoflex.inventory.service.LocationService;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import org.eclipse.microprofile.openapi.annotations.Operation;
+import org.eclipse.microprofile.openapi.annotations.enums.SchemaType;
+import org.eclipse.microprofile.openapi.annotations.media.Content;
+import org.eclipse.microprofile.openapi.annotations.media.Schema;
+import org.eclipse.microprofile.openapi.annotations.responses.APIResponse;
+import org.eclipse.microprofile.openapi.annotations.tags.Tag;
+
+import java.net.URI;
+import java.util.List;
+
+@Path("/api/locations")
+@Produces({ MediaType.APPLICATION_JSON, BinaryJsonWriter.CBOR_TYPE, BinaryJsonWriter.SMILE_TYPE })
+@Consumes(MediaType.APPLICATION_JSON)
+@Tag(name = "Locais", description = "Plantas e depósitos que guardam estoque")
+public class LocationResource {
+
+    @Inject
+    LocationService service;
+
+    @GET
+    @Operation(summary = "Listar locais", description = "Retorna os locais de estoque; o principal recebe as movimentações sem local informado")
+    @APIResponse(responseCode = "200", description = "Lista recuperada com sucesso",
+            content = @Content(schema = @Schema(implementation = LocationResponseDTO.class, type = SchemaType.ARRAY)))
+    public List<LocationResponseDTO> listAll() {
+        return service.listAll();
+    }
+
+    @GET
+    @Path("/{code}")
+    @Operation(summary = "Obter local por código", description = "Busca os dados de um local de estoque")
+    @APIResponse(responseCode = "200", description = "Local encontrado",
+            content = @Content(schema = @Schema(implementation = LocationResponseDTO.class)))
+    @APIResponse(responseCode = "404", description = "Local não encontrado")
+    public LocationResponseDTO getByCode(@PathParam("code") Long code) {
+        return service.getByCode(code);
+    }
+
+    @POST
+    @Operation(summary = "Cadastrar local", description = "Adiciona uma planta ou depósito")
+    @APIResponse(responseCode = "201", description = "Local cadastrado com sucesso")
+    @APIResponse(responseCode = "400", description = "Nome não informado")
+    @APIResponse(responseCode = "409", description = "Já existe um local com este nome")
+    public Response create(LocationRequestDTO dto) {
+        LocationResponseDTO responseDTO = service.create(dto);
+        return Response.created(URI.create("/api/locations/" + responseDTO.code()))
+                .entity(responseDTO)
+                .build();
+    }
+
+    @PUT
+    @Path("/{code}")
+    @Operation(summary = "Renomear local", description = "Atualiza o nome de um local de estoque")
+    @APIResponse(responseCode = "404", description = "Local não encontrado")
+    @APIResponse(responseCode = "409", description = "Já existe um local com este nome")
+    public LocationResponseDTO update(@PathParam("code") Long code, LocationRequestDTO dto) {
+        return service.update(code, dto);
+    }
+
+    @DELETE
+    @Path("/{code}")
+    @Operation(summary = "Remover local", description = "Remove o local se ele não for o principal e não tiver movimentações")
+    @APIResponse(responseCode = "204", description = "Removido com sucesso")
+    @APIResponse(responseCode = "409", description = "Conflito: local principal ou com movimentações")
+    public Response delete(@PathParam("code") Long code) {
+        service.delete(code);
+        return Response.noContent().build();
+    }
+}
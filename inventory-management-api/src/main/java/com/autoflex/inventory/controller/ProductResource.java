@@ -1,44 +1,93 @@
 package com.autoflex.inventory.controller;
 
+import com.autoflex.inventory.config.BinaryJsonWriter;
 import com.autoflex.inventory.dto.request.ProductRequestDTO;
+import com.autoflex.inventory.dto.response.BulkImportResponseDTO;
+import com.autoflex.inventory.dto.response.NameMatchDTO;
 import com.autoflex.inventory.dto.response.ProductResponseDTO;
-import com.autoflex.inventory.dto.response.ProductionSuggestionResponseDTO;
+import com.autoflex.inventory.dto.response.ProductionResponseDTO;
+import com.autoflex.inventory.dto.response.ProductionSuggestionByLocationResponseDTO;
+import com.autoflex.inventory.limit.ConcurrencyLimited;
 import com.autoflex.inventory.service.ProductService;
+import com.autoflex.inventory.service.ProductionSuggestionStream;
+import com.autoflex.inventory.service.ProductionSuggestionResult;
+import com.autoflex.inventory.service.bulk.BulkFormat;
+import com.autoflex.inventory.service.bulk.BulkImportService;
+import com.autoflex.inventory.service.export.CatalogExportService;
+import com.autoflex.inventory.service.production.PlanningMode;
+import com.autoflex.inventory.service.search.CatalogSearchService;
+import io.smallrye.common.annotation.RunOnVirtualThread;
+import io.smallrye.mutiny.Multi;
 import jakarta.inject.Inject;
 import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.HttpHeaders;
 import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Request;
 import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.sse.OutboundSseEvent;
+import jakarta.ws.rs.sse.Sse;
 import org.eclipse.microprofile.openapi.annotations.Operation;
+import org.eclipse.microprofile.openapi.annotations.enums.SchemaType;
+import org.eclipse.microprofile.openapi.annotations.media.Content;
+import org.eclipse.microprofile.openapi.annotations.media.Schema;
+import org.eclipse.microprofile.openapi.annotations.parameters.Parameter;
 import org.eclipse.microprofile.openapi.annotations.responses.APIResponse;
 import org.eclipse.microprofile.openapi.annotations.tags.Tag;
 
+import java.io.InputStream;
 import java.net.URI;
+import java.time.Duration;
 import java.util.List;
 
 @Path("/api/products")
-@Produces(MediaType.APPLICATION_JSON)
+@Produces({ MediaType.APPLICATION_JSON, BinaryJsonWriter.CBOR_TYPE, BinaryJsonWriter.SMILE_TYPE })
 @Consumes(MediaType.APPLICATION_JSON)
 @Tag(name = "Produtos", description = "Gerenciamento do cadastro de produtos e suas composições")
 public class ProductResource {
 
+  // Os endpoints bloqueantes rodam em virtual threads (@RunOnVirtualThread); com quarkus.virtual-threads.enabled=false
+  // (fixado no build) voltam ao pool de workers. O stream SSE não bloqueia e continua no event loop: a anotação
+  // vai em cada método porque o Quarkus a recusa em métodos não bloqueantes
+
   @Inject
   ProductService service;
+  @Inject
+  BulkImportService bulkImportService;
+  @Inject
+  ProductionSuggestionStream suggestionStream;
+  @Inject
+  CatalogExportService exportService;
+  @Inject
+  CatalogSearchService searchService;
 
+  @RunOnVirtualThread
+  @ConcurrencyLimited(ConcurrencyLimited.LIST_ALL)
   @GET
-  @Operation(summary = "Listar todos os produtos", description = "Retorna uma lista de todos os produtos cadastrados")
-  public List<ProductResponseDTO> listAll() {
-    return service.listAll();
+  @Operation(summary = "Listar todos os produtos", description = "Retorna os produtos cadastrados com suas composições. Informe after/limit para paginar por código")
+  @APIResponse(responseCode = "200", description = "Lista recuperada com sucesso",
+      content = @Content(schema = @Schema(implementation = ProductResponseDTO.class, type = SchemaType.ARRAY)))
+  @APIResponse(responseCode = "304", description = "Nada mudou desde o ETag enviado em If-None-Match")
+  @APIResponse(responseCode = "400", description = "Parâmetro limit inválido")
+  public Response listAll(@QueryParam("after") Long after, @QueryParam("limit") Integer limit,
+      @Context Request request) {
+    return ConditionalGet.respond(request, service.listTag(), () -> service.listAll(after, limit));
   }
 
+  @RunOnVirtualThread
   @GET
   @Path("/{code}")
   @Operation(summary = "Obter produto por código", description = "Busca os detalhes de um produto específico")
-  @APIResponse(responseCode = "200", description = "Produto encontrado")
+  @APIResponse(responseCode = "200", description = "Produto encontrado",
+      content = @Content(schema = @Schema(implementation = ProductResponseDTO.class)))
+  @APIResponse(responseCode = "304", description = "Produto inalterado desde o ETag enviado em If-None-Match")
   @APIResponse(responseCode = "404", description = "Produto não encontrado")
-  public ProductResponseDTO getByCode(@PathParam("code") Long code) {
-    return service.getByCode(code);
+  public Response getByCode(@PathParam("code") Long code, @Context Request request) {
+    return ConditionalGet.respond(request, service.tag(code), () -> service.getByCode(code));
   }
 
+  @RunOnVirtualThread
+  @ConcurrencyLimited(ConcurrencyLimited.WRITES)
   @POST
   @Operation(summary = "Criar novo produto", description = "Cadastra um novo produto no sistema")
   @APIResponse(responseCode = "201", description = "Produto criado com sucesso")
@@ -49,6 +98,45 @@ public class ProductResource {
         .build();
   }
 
+  @RunOnVirtualThread
+  @GET
+  @Path("/search")
+  @Operation(summary = "Buscar produtos por nome", description = "Autocomplete: procura o termo no início ou no meio do nome, sem diferenciar maiúsculas nem acentos; os nomes que começam com o termo vêm primeiro")
+  @APIResponse(responseCode = "200", description = "Produtos encontrados",
+      content = @Content(schema = @Schema(implementation = NameMatchDTO.class, type = SchemaType.ARRAY)))
+  @APIResponse(responseCode = "400", description = "Termo ausente ou limit fora da faixa")
+  public List<NameMatchDTO> search(
+      @Parameter(description = "Termo de busca") @QueryParam("q") String q,
+      @Parameter(description = "Máximo de resultados (padrão 10, máximo inventory.search.max-results)") @QueryParam("limit") Integer limit) {
+    return searchService.searchProducts(q, limit);
+  }
+
+  @RunOnVirtualThread
+  @GET
+  @Path("/export")
+  @Produces({ BulkFormat.NDJSON_TYPE, BulkFormat.CSV_TYPE })
+  @Operation(summary = "Exportar produtos", description = "Transmite todos os produtos com suas composições em NDJSON (padrão) ou CSV (Accept: text/csv, no mesmo layout da importação em massa), lendo o banco por cursor: o uso de memória não cresce com o catálogo")
+  @APIResponse(responseCode = "200", description = "Exportação transmitida")
+  public Response export(@Context HttpHeaders headers) {
+    BulkFormat format = BulkFormat.accepted(headers.getAcceptableMediaTypes());
+    return Response.ok(exportService.exportProducts(format), format.exportType())
+        .header("Content-Disposition", "attachment; filename=\"products." + format.extension() + "\"")
+        .build();
+  }
+
+  @RunOnVirtualThread
+  @ConcurrencyLimited(ConcurrencyLimited.WRITES)
+  @POST
+  @Path("/bulk")
+  @Consumes({ MediaType.APPLICATION_JSON, BulkFormat.NDJSON_TYPE, BulkFormat.CSV_TYPE })
+  @Operation(summary = "Importar produtos em massa", description = "Recebe um array JSON, NDJSON ou CSV com cabeçalho name,price,compositions (codigo:quantidade separados por ';'). Os códigos de matéria-prima são resolvidos por lote e cada lote é gravado em sua própria transação")
+  @APIResponse(responseCode = "200", description = "Importação processada; linhas rejeitadas aparecem em errors")
+  public BulkImportResponseDTO bulkCreate(@Context HttpHeaders headers, InputStream body) {
+    return bulkImportService.importProducts(body, BulkFormat.of(headers.getMediaType()));
+  }
+
+  @RunOnVirtualThread
+  @ConcurrencyLimited(ConcurrencyLimited.WRITES)
   @PUT
   @Path("/{code}")
   @Operation(summary = "Atualizar produto", description = "Atualiza os dados básicos de um produto existente")
@@ -56,6 +144,8 @@ public class ProductResource {
     return service.update(code, dto);
   }
 
+  @RunOnVirtualThread
+  @ConcurrencyLimited(ConcurrencyLimited.WRITES)
   @DELETE
   @Path("/{code}")
   @Operation(summary = "Remover produto", description = "Exclui um produto e seus vínculos")
@@ -65,11 +155,75 @@ public class ProductResource {
     return Response.noContent().build();
   }
 
+  @RunOnVirtualThread
+  @ConcurrencyLimited(ConcurrencyLimited.WRITES)
+  @POST
+  @Path("/{code}/produce")
+  @Consumes(MediaType.WILDCARD)
+  @Operation(summary = "Registrar produção", description = "Debita do estoque, de forma atômica, as matérias-primas consumidas pela receita do produto")
+  @APIResponse(responseCode = "200", description = "Produção registrada e estoque atualizado")
+  @APIResponse(responseCode = "400", description = "Quantidade inválida ou produto sem receita")
+  @APIResponse(responseCode = "404", description = "Produto ou local não encontrado")
+  @APIResponse(responseCode = "409", description = "Estoque insuficiente no local; nada foi debitado")
+  public ProductionResponseDTO produce(@PathParam("code") Long code,
+      @Parameter(description = "Quantidade de unidades produzidas") @QueryParam("quantity") Integer quantity,
+      @Parameter(description = "Local que fornece os insumos (padrão: principal)") @QueryParam("location") Long location) {
+    return service.produce(code, quantity, location);
+  }
+
+  @RunOnVirtualThread
+  @ConcurrencyLimited(ConcurrencyLimited.PRODUCTION_SUGGESTION)
   @GET
   @Path("/production-suggestion")
   @Operation(summary = "Sugerir produção por estoque", description = "Calcula a quantidade de produtos produzíveis priorizando os de maior valor com base no estoque atual (RF004/RF008)")
-  @APIResponse(responseCode = "200", description = "Sugestão de produção gerada com sucesso")
-  public List<ProductionSuggestionResponseDTO> getProductionSuggestion() {
-    return service.getProductionSuggestion();
+  @APIResponse(responseCode = "200", description = "Sugestão de produção gerada com sucesso. No modo optimal, os cabeçalhos X-Plan-Status e X-Optimality-Gap indicam a qualidade do plano")
+  @APIResponse(responseCode = "400", description = "Modo ou orçamento de tempo inválido")
+  @APIResponse(responseCode = "404", description = "Local não encontrado")
+  public Response getProductionSuggestion(
+      @Parameter(description = "greedy (padrão) ou optimal") @QueryParam("mode") String mode,
+      @Parameter(description = "Orçamento de tempo do modo optimal, em milissegundos") @QueryParam("timeBudgetMs") Long timeBudgetMs,
+      @Parameter(description = "Planeja só com o estoque deste local (padrão: soma de todos)") @QueryParam("location") Long location) {
+    ProductionSuggestionResult result = service.getProductionSuggestion(
+        PlanningMode.from(mode), timeBudget(timeBudgetMs), location);
+
+    Response.ResponseBuilder response = Response.ok(result.suggestions())
+        .header("X-Plan-Status", result.status());
+    if (!Double.isNaN(result.optimalityGap()))
+      response.header("X-Optimality-Gap", result.optimalityGap());
+    return response.build();
+  }
+
+  @RunOnVirtualThread
+  @ConcurrencyLimited(ConcurrencyLimited.PRODUCTION_SUGGESTION)
+  @GET
+  @Path("/production-suggestion/by-location")
+  @Operation(summary = "Sugerir produção por local", description = "Calcula em paralelo o plano de cada local com o próprio estoque e devolve os planos por local e o total somado")
+  @APIResponse(responseCode = "200", description = "Sugestões geradas com sucesso",
+      content = @Content(schema = @Schema(implementation = ProductionSuggestionByLocationResponseDTO.class)))
+  @APIResponse(responseCode = "400", description = "Modo ou orçamento de tempo inválido")
+  public ProductionSuggestionByLocationResponseDTO getProductionSuggestionByLocation(
+      @Parameter(description = "greedy (padrão) ou optimal") @QueryParam("mode") String mode,
+      @Parameter(description = "Orçamento de tempo do modo optimal, em milissegundos") @QueryParam("timeBudgetMs") Long timeBudgetMs) {
+    return service.getProductionSuggestionByLocation(PlanningMode.from(mode), timeBudget(timeBudgetMs));
+  }
+
+  @GET
+  @Path("/production-suggestion/stream")
+  @Produces(MediaType.SERVER_SENT_EVENTS)
+  @Operation(summary = "Acompanhar a sugestão de produção", description = "Stream SSE: envia o conjunto atual (evento snapshot) ao conectar e, a cada mudança de estoque ou receitas, apenas os produtos alterados e removidos (evento diff). Escritas em rajada geram um único recálculo, compartilhado por todos os assinantes. Escritas feitas por outras instâncias chegam pela versão persistida do inventário, verificada a cada intervalo de debounce")
+  @APIResponse(responseCode = "200", description = "Stream aberto")
+  public Multi<OutboundSseEvent> streamProductionSuggestion(@Context Sse sse) {
+    return suggestionStream.subscribe()
+        .map(event -> sse.newEventBuilder()
+            .name(event.name())
+            .mediaType(MediaType.APPLICATION_JSON_TYPE)
+            .data(event.data())
+            .build());
+  }
+
+  private static Duration timeBudget(Long timeBudgetMs) {
+    if (timeBudgetMs != null && timeBudgetMs <= 0)
+      throw new BadRequestException("O parâmetro timeBudgetMs deve ser positivo.");
+    return timeBudgetMs == null ? null : Duration.ofMillis(timeBudgetMs);
   }
-}
\ No newline at end of file
+}
@@ -0,0 +1,66 @@
+package com.autoflex.inventory.controller;
+
+import com.autoflex.inventory.config.BinaryJsonWriter;
+import com.autoflex.inventory.dto.request.ProductionPlanRequestDTO;
+import com.autoflex.inventory.dto.response.ProductionPlanJobDTO;
+import com.autoflex.inventory.service.ProductionPlanJobService;
+import io.smallrye.common.annotation.RunOnVirtualThread;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import org.eclipse.microprofile.openapi.annotations.Operation;
+import org.eclipse.microprofile.openapi.annotations.media.Content;
+import org.eclipse.microprofile.openapi.annotations.media.Schema;
+import org.eclipse.microprofile.openapi.annotations.responses.APIResponse;
+import org.eclipse.microprofile.openapi.annotations.tags.Tag;
+
+import java.net.URI;
+
+@Path("/api/production-plans")
+@Produces({ MediaType.APPLICATION_JSON, BinaryJsonWriter.CBOR_TYPE, BinaryJsonWriter.SMILE_TYPE })
+@Consumes(MediaType.APPLICATION_JSON)
+@Tag(name = "Planos de produção", description = "Planejamento de produção assíncrono para catálogos grandes")
+public class ProductionPlanResource {
+
+    @Inject
+    ProductionPlanJobService service;
+
+    @RunOnVirtualThread
+    @POST
+    @Operation(summary = "Enfileirar planejamento", description = "Agenda o cálculo da sugestão de produção e devolve o job na hora. Acompanhe o resultado pelo GET do job")
+    @APIResponse(responseCode = "202", description = "Job enfileirado",
+            content = @Content(schema = @Schema(implementation = ProductionPlanJobDTO.class)))
+    @APIResponse(responseCode = "400", description = "Modo ou orçamento de tempo inválido")
+    @APIResponse(responseCode = "404", description = "Local não encontrado")
+    @APIResponse(responseCode = "503", description = "Fila de planejamento cheia; tente de novo após o Retry-After")
+    public Response submit(ProductionPlanRequestDTO dto) {
+        ProductionPlanJobDTO job = service.submit(dto);
+        return Response.accepted(job)
+                .location(URI.create("/api/production-plans/" + job.id()))
+                .build();
+    }
+
+    @RunOnVirtualThread
+    @GET
+    @Path("/{id}")
+    @Operation(summary = "Consultar planejamento", description = "Retorna status, progresso e, quando concluído, a sugestão de produção")
+    @APIResponse(responseCode = "200", description = "Job encontrado",
+            content = @Content(schema = @Schema(implementation = ProductionPlanJobDTO.class)))
+    @APIResponse(responseCode = "404", description = "Job inexistente ou expirado")
+    public ProductionPlanJobDTO get(@PathParam("id") String id) {
+        return service.get(id);
+    }
+
+    @RunOnVirtualThread
+    @DELETE
+    @Path("/{id}")
+    @Operation(summary = "Cancelar planejamento", description = "Cancela um job na fila ou em execução; o resultado de um job em execução é descartado")
+    @APIResponse(responseCode = "200", description = "Job cancelado",
+            content = @Content(schema = @Schema(implementation = ProductionPlanJobDTO.class)))
+    @APIResponse(responseCode = "404", description = "Job inexistente ou expirado")
+    @APIResponse(responseCode = "409", description = "O job já terminou")
+    public ProductionPlanJobDTO cancel(@PathParam("id") String id) {
+        return service.cancel(id);
+    }
+}
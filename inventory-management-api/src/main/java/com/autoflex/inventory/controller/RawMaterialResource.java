@@ -1,43 +1,88 @@
 package com.autoflex.inventory.controller;
 
+import com.autoflex.inventory.config.BinaryJsonWriter;
 import com.autoflex.inventory.dto.request.RawMaterialRequestDTO;
+import com.autoflex.inventory.dto.request.StockMovementRequestDTO;
+import com.autoflex.inventory.dto.response.BulkImportResponseDTO;
+import com.autoflex.inventory.dto.response.NameMatchDTO;
 import com.autoflex.inventory.dto.response.RawMaterialResponseDTO;
+import com.autoflex.inventory.dto.response.RawMaterialUsageDTO;
+import com.autoflex.inventory.limit.ConcurrencyLimited;
 import com.autoflex.inventory.service.RawMaterialService;
+import com.autoflex.inventory.service.bulk.BulkFormat;
+import com.autoflex.inventory.service.bulk.BulkImportService;
+import com.autoflex.inventory.service.export.CatalogExportService;
+import com.autoflex.inventory.service.search.CatalogSearchService;
+import io.smallrye.common.annotation.RunOnVirtualThread;
 import jakarta.inject.Inject;
 import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.HttpHeaders;
 import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Request;
 import jakarta.ws.rs.core.Response;
 import org.eclipse.microprofile.openapi.annotations.Operation;
+import org.eclipse.microprofile.openapi.annotations.enums.SchemaType;
+import org.eclipse.microprofile.openapi.annotations.media.Content;
+import org.eclipse.microprofile.openapi.annotations.media.Schema;
+import org.eclipse.microprofile.openapi.annotations.parameters.Parameter;
 import org.eclipse.microprofile.openapi.annotations.responses.APIResponse;
 import org.eclipse.microprofile.openapi.annotations.tags.Tag;
 
+import java.io.InputStream;
 import java.net.URI;
+import java.time.Instant;
 import java.util.List;
 
 @Path("/api/raw-materials")
-@Produces(MediaType.APPLICATION_JSON)
+@Produces({ MediaType.APPLICATION_JSON, BinaryJsonWriter.CBOR_TYPE, BinaryJsonWriter.SMILE_TYPE })
 @Consumes(MediaType.APPLICATION_JSON)
 @Tag(name = "Matérias-primas", description = "Gerenciamento do estoque de insumos")
 public class RawMaterialResource {
 
     @Inject
     RawMaterialService service;
+    @Inject
+    BulkImportService bulkImportService;
+    @Inject
+    CatalogExportService exportService;
+    @Inject
+    CatalogSearchService searchService;
 
+    @RunOnVirtualThread
+    @ConcurrencyLimited(ConcurrencyLimited.LIST_ALL)
     @GET
-    @Operation(summary = "Listar matérias-primas", description = "Retorna todos os insumos e suas quantidades em estoque")
-    @APIResponse(responseCode = "200", description = "Lista recuperada com sucesso")
-    public List<RawMaterialResponseDTO> listAll() {
-        return service.listAll();
+    @Operation(summary = "Listar matérias-primas", description = "Retorna todos os insumos e suas quantidades em estoque; com location, o saldo é o daquele local, senão a soma de todos")
+    @APIResponse(responseCode = "200", description = "Lista recuperada com sucesso",
+            content = @Content(schema = @Schema(implementation = RawMaterialResponseDTO.class, type = SchemaType.ARRAY)))
+    @APIResponse(responseCode = "304", description = "Nada mudou desde o ETag enviado em If-None-Match")
+    @APIResponse(responseCode = "404", description = "Local não encontrado")
+    public Response listAll(
+            @Parameter(description = "Código do local de estoque") @QueryParam("location") Long location,
+            @Context Request request) {
+        return ConditionalGet.respond(request, service.listTag(), () -> service.listAll(location));
     }
 
+    @RunOnVirtualThread
     @GET
     @Path("/{code}")
-    @Operation(summary = "Obter matéria-prima por código", description = "Busca detalhes de um insumo específico")
-    @APIResponse(responseCode = "200", description = "Insumo encontrado")
-    public RawMaterialResponseDTO getByCode(@PathParam("code") Long code) {
-        return service.getByCode(code);
+    @Operation(summary = "Obter matéria-prima por código", description = "Busca detalhes de um insumo específico; com at, o saldo é o daquele instante e, com location, o daquele local")
+    @APIResponse(responseCode = "200", description = "Insumo encontrado",
+            content = @Content(schema = @Schema(implementation = RawMaterialResponseDTO.class)))
+    @APIResponse(responseCode = "304", description = "Insumo inalterado desde o ETag enviado em If-None-Match")
+    @APIResponse(responseCode = "404", description = "Insumo ou local não encontrado")
+    public Response getByCode(@PathParam("code") Long code,
+            @Parameter(description = "Instante ISO-8601 (ex.: 2026-01-31T10:00:00Z) para consultar o saldo histórico") @QueryParam("at") Instant at,
+            @Parameter(description = "Código do local de estoque") @QueryParam("location") Long location,
+            @Context Request request) {
+        // Consultas históricas não levam ETag
+        if (at != null)
+            return Response.ok(service.getByCode(code, at, location)).build();
+        return ConditionalGet.respond(request, service.tag(code, location), () -> service.getByCode(code, null, location));
     }
 
+    @RunOnVirtualThread
+    @ConcurrencyLimited(ConcurrencyLimited.WRITES)
     @POST
     @Operation(summary = "Cadastrar nova matéria-prima", description = "Adiciona um novo insumo ao estoque")
     @APIResponse(responseCode = "201", description = "Insumo cadastrado com sucesso")
@@ -48,13 +93,88 @@ public class RawMaterialResource {
                 .build();
     }
 
+    @RunOnVirtualThread
+    @GET
+    @Path("/{code}/where-used")
+    @Operation(summary = "Onde a matéria-prima é usada", description = "Lista os produtos que consomem o insumo e a quantidade por unidade, em ordem de código; informe after/limit para paginar")
+    @APIResponse(responseCode = "200", description = "Produtos que usam o insumo",
+            content = @Content(schema = @Schema(implementation = RawMaterialUsageDTO.class, type = SchemaType.ARRAY)))
+    @APIResponse(responseCode = "400", description = "Parâmetro limit inválido")
+    @APIResponse(responseCode = "404", description = "Insumo não encontrado")
+    public List<RawMaterialUsageDTO> whereUsed(@PathParam("code") Long code,
+            @Parameter(description = "Código do último produto da página anterior") @QueryParam("after") Long after,
+            @Parameter(description = "Tamanho da página (padrão 100, máximo 1000)") @QueryParam("limit") Integer limit) {
+        return service.whereUsed(code, after, limit);
+    }
+
+    @RunOnVirtualThread
+    @GET
+    @Path("/search")
+    @Operation(summary = "Buscar matérias-primas por nome", description = "Autocomplete: procura o termo no início ou no meio do nome, sem diferenciar maiúsculas nem acentos; os nomes que começam com o termo vêm primeiro")
+    @APIResponse(responseCode = "200", description = "Insumos encontrados",
+            content = @Content(schema = @Schema(implementation = NameMatchDTO.class, type = SchemaType.ARRAY)))
+    @APIResponse(responseCode = "400", description = "Termo ausente ou limit fora da faixa")
+    public List<NameMatchDTO> search(
+            @Parameter(description = "Termo de busca") @QueryParam("q") String q,
+            @Parameter(description = "Máximo de resultados (padrão 10, máximo inventory.search.max-results)") @QueryParam("limit") Integer limit) {
+        return searchService.searchRawMaterials(q, limit);
+    }
+
+    @RunOnVirtualThread
+    @GET
+    @Path("/export")
+    @Produces({ BulkFormat.NDJSON_TYPE, BulkFormat.CSV_TYPE })
+    @Operation(summary = "Exportar matérias-primas", description = "Transmite todos os insumos e seus saldos em NDJSON (padrão) ou CSV (Accept: text/csv), lendo o banco por cursor; com location, o saldo é o daquele local")
+    @APIResponse(responseCode = "200", description = "Exportação transmitida")
+    @APIResponse(responseCode = "404", description = "Local não encontrado")
+    public Response export(
+            @Parameter(description = "Código do local de estoque") @QueryParam("location") Long location,
+            @Context HttpHeaders headers) {
+        BulkFormat format = BulkFormat.accepted(headers.getAcceptableMediaTypes());
+        return Response.ok(exportService.exportRawMaterials(format, location), format.exportType())
+                .header("Content-Disposition", "attachment; filename=\"raw-materials." + format.extension() + "\"")
+                .build();
+    }
+
+    @RunOnVirtualThread
+    @ConcurrencyLimited(ConcurrencyLimited.WRITES)
+    @POST
+    @Path("/bulk")
+    @Consumes({ MediaType.APPLICATION_JSON, BulkFormat.NDJSON_TYPE, BulkFormat.CSV_TYPE })
+    @Operation(summary = "Importar matérias-primas em massa", description = "Recebe um array JSON, NDJSON ou CSV com cabeçalho name,stockQuantity. As linhas são gravadas em lotes, cada um em sua própria transação, e os erros são informados por linha")
+    @APIResponse(responseCode = "200", description = "Importação processada; linhas rejeitadas aparecem em errors")
+    public BulkImportResponseDTO bulkCreate(@Context HttpHeaders headers, InputStream body) {
+        return bulkImportService.importRawMaterials(body, BulkFormat.of(headers.getMediaType()));
+    }
+
+    @RunOnVirtualThread
+    @ConcurrencyLimited(ConcurrencyLimited.WRITES)
+    @POST
+    @Path("/movements")
+    @Operation(summary = "Registrar movimentações de estoque", description = "Recebe um lote de entradas (quantity positiva) e saídas (negativa) e grava no livro de movimentações, no locationCode de cada item ou no local principal. Entradas não bloqueiam o insumo; saídas conferem o saldo do local antes de gravar")
+    @APIResponse(responseCode = "204", description = "Movimentações registradas")
+    @APIResponse(responseCode = "404", description = "Insumo ou local não encontrado")
+    @APIResponse(responseCode = "409", description = "Estoque insuficiente; nada foi gravado")
+    public Response registerMovements(List<StockMovementRequestDTO> movements) {
+        service.registerMovements(movements);
+        return Response.noContent().build();
+    }
+
+    @RunOnVirtualThread
+    @ConcurrencyLimited(ConcurrencyLimited.WRITES)
     @PUT
     @Path("/{code}")
-    @Operation(summary = "Atualizar estoque/dados", description = "Atualiza nome ou quantidade de uma matéria-prima")
-    public RawMaterialResponseDTO update(@PathParam("code") Long code, RawMaterialRequestDTO dto) {
-        return service.update(code, dto);
+    @Operation(summary = "Atualizar estoque/dados", description = "Atualiza nome ou quantidade de uma matéria-prima. Com location, a quantidade é o saldo daquele local; sem, é o total, e a diferença é lançada no local principal")
+    @APIResponse(responseCode = "404", description = "Insumo ou local não encontrado")
+    @APIResponse(responseCode = "409", description = "A redução do total excede o saldo do local principal")
+    public RawMaterialResponseDTO update(@PathParam("code") Long code,
+            @Parameter(description = "Código do local de estoque") @QueryParam("location") Long location,
+            RawMaterialRequestDTO dto) {
+        return service.update(code, dto, location);
     }
 
+    @RunOnVirtualThread
+    @ConcurrencyLimited(ConcurrencyLimited.WRITES)
     @DELETE
     @Path("/{code}")
     @Operation(summary = "Remover matéria-prima", description = "Remove o insumo se não houver vínculos (RF002)")
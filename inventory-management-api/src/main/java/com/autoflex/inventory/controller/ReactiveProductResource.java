@@ -0,0 +1,47 @@
+package com.autoflex.inventory.controller;
+
+import com.autoflex.inventory.dto.response.ProductResponseDTO;
+import com.autoflex.inventory.service.ReactiveCatalogService;
+import io.quarkus.arc.properties.IfBuildProperty;
+import io.smallrye.mutiny.Uni;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.MediaType;
+import org.eclipse.microprofile.openapi.annotations.Operation;
+import org.eclipse.microprofile.openapi.annotations.enums.SchemaType;
+import org.eclipse.microprofile.openapi.annotations.media.Content;
+import org.eclipse.microprofile.openapi.annotations.media.Schema;
+import org.eclipse.microprofile.openapi.annotations.responses.APIResponse;
+import org.eclipse.microprofile.openapi.annotations.tags.Tag;
+
+import java.util.List;
+
+@Path("/api/reactive/products")
+// Só existe com o pool reativo ligado (quarkus.datasource.reactive=true, fixado no build)
+@IfBuildProperty(name = "quarkus.datasource.reactive", stringValue = "true")
+@Produces(MediaType.APPLICATION_JSON)
+@Tag(name = "Produtos (reativo)", description = "Consultas de produtos sem bloquear threads (Hibernate Reactive)")
+public class ReactiveProductResource {
+
+  @Inject
+  ReactiveCatalogService service;
+
+  @GET
+  @Operation(summary = "Listar todos os produtos", description = "Mesmo contrato de GET /api/products, executado no event loop")
+  @APIResponse(responseCode = "200", description = "Lista recuperada com sucesso",
+      content = @Content(schema = @Schema(implementation = ProductResponseDTO.class, type = SchemaType.ARRAY)))
+  @APIResponse(responseCode = "400", description = "Parâmetro limit inválido")
+  public Uni<List<ProductResponseDTO>> listAll(@QueryParam("after") Long after, @QueryParam("limit") Integer limit) {
+    return service.listProducts(after, limit);
+  }
+
+  @GET
+  @Path("/{code}")
+  @Operation(summary = "Obter produto por código", description = "Mesmo contrato de GET /api/products/{code}")
+  @APIResponse(responseCode = "200", description = "Produto encontrado",
+      content = @Content(schema = @Schema(implementation = ProductResponseDTO.class)))
+  @APIResponse(responseCode = "404", description = "Produto não encontrado")
+  public Uni<ProductResponseDTO> getByCode(@PathParam("code") Long code) {
+    return service.getProduct(code);
+  }
+}
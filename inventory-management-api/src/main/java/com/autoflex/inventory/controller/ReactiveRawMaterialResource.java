@@ -0,0 +1,48 @@
+package com.autoflex.inventory.controller;
+
+import com.autoflex.inventory.dto.response.RawMaterialResponseDTO;
+import com.autoflex.inventory.service.ReactiveCatalogService;
+import io.quarkus.arc.properties.IfBuildProperty;
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.Uni;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.MediaType;
+import org.eclipse.microprofile.openapi.annotations.Operation;
+import org.eclipse.microprofile.openapi.annotations.enums.SchemaType;
+import org.eclipse.microprofile.openapi.annotations.media.Content;
+import org.eclipse.microprofile.openapi.annotations.media.Schema;
+import org.eclipse.microprofile.openapi.annotations.parameters.Parameter;
+import org.eclipse.microprofile.openapi.annotations.responses.APIResponse;
+import org.eclipse.microprofile.openapi.annotations.tags.Tag;
+
+@Path("/api/reactive/raw-materials")
+@IfBuildProperty(name = "quarkus.datasource.reactive", stringValue = "true")
+@Produces(MediaType.APPLICATION_JSON)
+@Tag(name = "Matérias-primas (reativo)", description = "Consultas de insumos sem bloquear threads (Hibernate Reactive)")
+public class ReactiveRawMaterialResource {
+
+    @Inject
+    ReactiveCatalogService service;
+
+    @GET
+    @Operation(summary = "Listar matérias-primas", description = "Mesmo contrato de GET /api/raw-materials, transmitido como array JSON")
+    @APIResponse(responseCode = "200", description = "Lista recuperada com sucesso",
+            content = @Content(schema = @Schema(implementation = RawMaterialResponseDTO.class, type = SchemaType.ARRAY)))
+    @APIResponse(responseCode = "404", description = "Local não encontrado")
+    public Multi<RawMaterialResponseDTO> listAll(
+            @Parameter(description = "Código do local de estoque") @QueryParam("location") Long location) {
+        return service.listRawMaterials(location);
+    }
+
+    @GET
+    @Path("/{code}")
+    @Operation(summary = "Obter matéria-prima por código", description = "Mesmo contrato de GET /api/raw-materials/{code}")
+    @APIResponse(responseCode = "200", description = "Insumo encontrado",
+            content = @Content(schema = @Schema(implementation = RawMaterialResponseDTO.class)))
+    @APIResponse(responseCode = "404", description = "Insumo ou local não encontrado")
+    public Uni<RawMaterialResponseDTO> getByCode(@PathParam("code") Long code,
+            @Parameter(description = "Código do local de estoque") @QueryParam("location") Long location) {
+        return service.getRawMaterial(code, location);
+    }
+}
@@ -0,0 +1,5 @@
+package com.autoflex.inventory.dto.request;
+
+public record LocationRequestDTO(
+        String name) {
+}
@@ -0,0 +1,8 @@
+package com.autoflex.inventory.dto.request;
+
+// Mesmos parâmetros da sugestão síncrona; sem location, planeja com a soma de todos os locais
+public record ProductionPlanRequestDTO(
+        String mode,
+        Long timeBudgetMs,
+        Long location) {
+}
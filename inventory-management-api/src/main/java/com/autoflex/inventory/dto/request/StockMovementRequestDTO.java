@@ -0,0 +1,12 @@
+package com.autoflex.inventory.dto.request;
+
+// Sem locationCode, a movimentação vai para o local principal
+public record StockMovementRequestDTO(
+        Long rawMaterialCode,
+        Double quantity,
+        Long locationCode) {
+
+    public StockMovementRequestDTO(Long rawMaterialCode, Double quantity) {
+        this(rawMaterialCode, quantity, null);
+    }
+}
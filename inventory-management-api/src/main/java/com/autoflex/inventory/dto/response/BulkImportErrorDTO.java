@@ -0,0 +1,6 @@
+package com.autoflex.inventory.dto.response;
+
+public record BulkImportErrorDTO(
+        int row,
+        String message) {
+}
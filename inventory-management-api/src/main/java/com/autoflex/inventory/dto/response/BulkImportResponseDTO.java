@@ -0,0 +1,10 @@
+package com.autoflex.inventory.dto.response;
+
+import java.util.List;
+
+public record BulkImportResponseDTO(
+        int received,
+        int imported,
+        int failed,
+        List<BulkImportErrorDTO> errors) {
+}
@@ -0,0 +1,10 @@
+package com.autoflex.inventory.dto.response;
+
+import java.util.List;
+
+public record LocationProductionSuggestionDTO(
+        Long locationCode,
+        String locationName,
+        String planStatus,
+        List<ProductionSuggestionResponseDTO> suggestions) {
+}
@@ -0,0 +1,7 @@
+package com.autoflex.inventory.dto.response;
+
+public record LocationResponseDTO(
+        Long code,
+        String name,
+        boolean main) {
+}
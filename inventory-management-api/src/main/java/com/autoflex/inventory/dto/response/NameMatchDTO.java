@@ -0,0 +1,6 @@
+package com.autoflex.inventory.dto.response;
+
+public record NameMatchDTO(
+        Long code,
+        String name) {
+}
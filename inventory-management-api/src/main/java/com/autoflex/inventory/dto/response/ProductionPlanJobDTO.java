@@ -0,0 +1,20 @@
+package com.autoflex.inventory.dto.response;
+
+import java.time.Instant;
+import java.util.List;
+
+// progress: 0 a 100; nulo quando não há estimativa (modo greedy em execução)
+public record ProductionPlanJobDTO(
+        String id,
+        String status,
+        Integer progress,
+        String mode,
+        Long location,
+        Instant submittedAt,
+        Instant startedAt,
+        Instant finishedAt,
+        String planStatus,
+        Double optimalityGap,
+        List<ProductionSuggestionResponseDTO> suggestions,
+        String error) {
+}
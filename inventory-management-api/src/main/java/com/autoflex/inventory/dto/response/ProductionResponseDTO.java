@@ -0,0 +1,9 @@
+package com.autoflex.inventory.dto.response;
+
+import java.util.List;
+
+public record ProductionResponseDTO(
+        Long productCode,
+        Integer quantityProduced,
+        List<StockConsumptionDTO> consumption) {
+}
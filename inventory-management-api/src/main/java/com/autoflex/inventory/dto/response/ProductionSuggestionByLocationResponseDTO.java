@@ -0,0 +1,9 @@
+package com.autoflex.inventory.dto.response;
+
+import java.util.List;
+
+// total soma o que cada local consegue produzir com o próprio estoque (sem transferências entre locais)
+public record ProductionSuggestionByLocationResponseDTO(
+        List<LocationProductionSuggestionDTO> locations,
+        List<ProductionSuggestionResponseDTO> total) {
+}
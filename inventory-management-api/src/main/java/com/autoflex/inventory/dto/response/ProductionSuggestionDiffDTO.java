@@ -0,0 +1,10 @@
+package com.autoflex.inventory.dto.response;
+
+import java.util.List;
+
+public record ProductionSuggestionDiffDTO(
+        Long version,
+        Long previousVersion,
+        List<ProductionSuggestionResponseDTO> changed,
+        List<Long> removedProductCodes) {
+}
@@ -0,0 +1,8 @@
+package com.autoflex.inventory.dto.response;
+
+import java.util.List;
+
+public record ProductionSuggestionSetDTO(
+        Long version,
+        List<ProductionSuggestionResponseDTO> suggestions) {
+}
@@ -0,0 +1,7 @@
+package com.autoflex.inventory.dto.response;
+
+public record RawMaterialUsageDTO(
+        Long productCode,
+        String productName,
+        Double quantityNeeded) {
+}
@@ -0,0 +1,7 @@
+package com.autoflex.inventory.dto.response;
+
+public record StockConsumptionDTO(
+        Long rawMaterialCode,
+        Double quantityConsumed,
+        Double remainingStock) {
+}
@@ -0,0 +1,168 @@
+package com.autoflex.inventory.limit;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Concurrency limit that follows the service time of the endpoints it guards.
+ * The limit moves with the ratio between a long-term average of the service
+ * time and the latest sample: while requests run as fast as usual it grows by
+ * about the square root of the limit, and when they slow down (the database
+ * or CPU is saturated) it shrinks. Requests over the limit wait at most
+ * {@code maxQueueDelay}; when the expected wait is already longer than that
+ * they are rejected right away, so callers fail fast instead of queueing.
+ */
+public final class AdaptiveLimiter {
+
+    // Latência até 50% acima da média longa ainda conta como normal
+    private static final double TOLERANCE = 1.5;
+    private static final double SMOOTHING = 0.2;
+    private static final int LONG_WINDOW = 100;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final long maxQueueDelayNanos;
+    private final LongSupplier clock;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition released = lock.newCondition();
+    private double limit;
+    private int inFlight;
+    private int waiting;
+    private double longRttNanos;
+
+    public AdaptiveLimiter(int initialLimit, int minLimit, int maxLimit, Duration maxQueueDelay) {
+        this(initialLimit, minLimit, maxLimit, maxQueueDelay, System::nanoTime);
+    }
+
+    AdaptiveLimiter(int initialLimit, int minLimit, int maxLimit, Duration maxQueueDelay, LongSupplier clock) {
+        if (minLimit < 1 || maxLimit < minLimit)
+            throw new IllegalArgumentException("Invalid limits: min " + minLimit + ", max " + maxLimit);
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.limit = Math.clamp(initialLimit, minLimit, maxLimit);
+        this.maxQueueDelayNanos = maxQueueDelay.toNanos();
+        this.clock = clock;
+    }
+
+    /** Slot taken by one request; hand it back to {@link #release}. */
+    public record Permit(long startNanos, long queuedNanos) {
+    }
+
+    /**
+     * Takes a slot, waiting for one up to the queue delay target when
+     * {@code mayWait} is set.
+     *
+     * @return the permit, or {@code null} when the request should be rejected
+     */
+    public Permit acquire(boolean mayWait) {
+        long arrival = clock.getAsLong();
+        lock.lock();
+        try {
+            if (inFlight < currentLimit()) {
+                inFlight++;
+                return new Permit(arrival, 0L);
+            }
+            if (!mayWait || expectedWaitNanos() > maxQueueDelayNanos)
+                return null;
+
+            long remaining = maxQueueDelayNanos;
+            waiting++;
+            try {
+                while (inFlight >= currentLimit()) {
+                    if (remaining <= 0L)
+                        return null;
+                    remaining = released.awaitNanos(remaining);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return null;
+            } finally {
+                waiting--;
+            }
+            inFlight++;
+            long now = clock.getAsLong();
+            return new Permit(now, now - arrival);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Frees the slot and feeds the service time of the request into the limit. */
+    public void release(Permit permit) {
+        long rtt = Math.max(1L, clock.getAsLong() - permit.startNanos());
+        lock.lock();
+        try {
+            boolean saturated = inFlight * 2 >= limit;
+            inFlight--;
+            update(rtt, saturated);
+            released.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Seconds a rejected client should wait before trying again, at least 1. */
+    public long retryAfterSeconds() {
+        lock.lock();
+        try {
+            return Math.max(1L, (long) Math.ceil(expectedWaitNanos() / (double) TimeUnit.SECONDS.toNanos(1)));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int limit() {
+        lock.lock();
+        try {
+            return currentLimit();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int inFlight() {
+        lock.lock();
+        try {
+            return inFlight;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int waiting() {
+        lock.lock();
+        try {
+            return waiting;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void update(long rtt, boolean saturated) {
+        if (longRttNanos == 0.0)
+            longRttNanos = rtt;
+        else
+            longRttNanos += (rtt - longRttNanos) / LONG_WINDOW;
+        // Com folga sobrando a latência não diz nada sobre o limite; só cresce quem está usando o que tem
+        if (!saturated)
+            return;
+
+        double gradient = Math.clamp(TOLERANCE * longRttNanos / rtt, 0.5, 1.0);
+        // Latência normal: folga de raiz do limite para sondar mais; lenta: encolhe na proporção do atraso
+        double target = gradient < 1.0 ? limit * gradient : limit + Math.sqrt(limit);
+        limit = Math.clamp(limit * (1.0 - SMOOTHING) + target * SMOOTHING, minLimit, maxLimit);
+    }
+
+    private int currentLimit() {
+        return (int) limit;
+    }
+
+    // Fila atual mais este pedido, escoando a limit requisições por tempo médio de atendimento
+    private double expectedWaitNanos() {
+        return (waiting + 1) * longRttNanos / currentLimit();
+    }
+}
@@ -0,0 +1,53 @@
+package com.autoflex.inventory.limit;
+
+import io.quarkus.runtime.BlockingOperationControl;
+import io.vertx.ext.web.RoutingContext;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.container.ResourceInfo;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.resteasy.reactive.server.ServerRequestFilter;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs methods annotated with {@link ConcurrencyLimited} through the limiter
+ * of their endpoint class. Rejected requests get 503 with {@code Retry-After};
+ * the slot is released when the response ends, so serialization time counts
+ * as service time too.
+ */
+public class ConcurrencyLimitFilter {
+
+    @Inject
+    ConcurrencyLimiters limiters;
+
+    @ConfigProperty(name = "inventory.limiter.enabled", defaultValue = "true")
+    boolean enabled;
+
+    @ServerRequestFilter
+    public Optional<Response> limit(ResourceInfo resourceInfo, RoutingContext routingContext) {
+        if (!enabled || resourceInfo == null || resourceInfo.getResourceMethod() == null)
+            return Optional.empty();
+        ConcurrencyLimited limited = resourceInfo.getResourceMethod().getAnnotation(ConcurrencyLimited.class);
+        if (limited == null)
+            return Optional.empty();
+
+        ConcurrencyLimiters.Guarded guarded = limiters.get(limited.value());
+        // No event loop não se espera: ou há vaga na hora ou a requisição é recusada
+        AdaptiveLimiter.Permit permit = guarded.limiter().acquire(BlockingOperationControl.isBlockingAllowed());
+        if (permit == null) {
+            guarded.rejected().increment();
+            return Optional.of(Response.status(Response.Status.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, guarded.limiter().retryAfterSeconds())
+                    .type(MediaType.TEXT_PLAIN)
+                    .entity("Servidor sobrecarregado. Tente novamente em instantes.")
+                    .build());
+        }
+        guarded.queueWait().record(permit.queuedNanos(), TimeUnit.NANOSECONDS);
+        routingContext.addEndHandler(ignored -> guarded.limiter().release(permit));
+        return Optional.empty();
+    }
+}
@@ -0,0 +1,23 @@
+package com.autoflex.inventory.limit;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Puts the resource method behind the adaptive limiter of an endpoint class.
+ * Methods sharing a class share one limit; unannotated methods are never
+ * throttled.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface ConcurrencyLimited {
+
+    String PRODUCTION_SUGGESTION = "production-suggestion";
+    String LIST_ALL = "list-all";
+    String WRITES = "writes";
+
+    /** Endpoint class; its settings live under {@code inventory.limiter.<class>.*}. */
+    String value();
+}
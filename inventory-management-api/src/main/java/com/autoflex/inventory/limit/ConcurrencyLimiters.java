@@ -0,0 +1,72 @@
+package com.autoflex.inventory.limit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.Config;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * One {@link AdaptiveLimiter} per endpoint class, built on first use from
+ * {@code inventory.limiter.<class>.*} and published as
+ * {@code inventory.limiter.*} meters tagged with the class.
+ */
+@ApplicationScoped
+public class ConcurrencyLimiters {
+
+    @Inject
+    Config config;
+    @Inject
+    MeterRegistry registry;
+
+    private final ConcurrentMap<String, Guarded> limiters = new ConcurrentHashMap<>();
+
+    /** Limiter of an endpoint class with its meters. */
+    public record Guarded(AdaptiveLimiter limiter, Timer queueWait, Counter rejected) {
+    }
+
+    public Guarded get(String endpointClass) {
+        return limiters.computeIfAbsent(endpointClass, this::create);
+    }
+
+    private Guarded create(String endpointClass) {
+        String prefix = "inventory.limiter." + endpointClass + ".";
+        AdaptiveLimiter limiter = new AdaptiveLimiter(
+                setting(prefix + "initial-limit", Integer.class, 10),
+                setting(prefix + "min-limit", Integer.class, 1),
+                setting(prefix + "max-limit", Integer.class, 100),
+                setting(prefix + "max-queue-delay", Duration.class, Duration.ofMillis(100)));
+
+        Gauge.builder("inventory.limiter.limit", limiter, AdaptiveLimiter::limit)
+                .description("Limite de concorrência atual")
+                .tag("endpoint", endpointClass)
+                .register(registry);
+        Gauge.builder("inventory.limiter.in_flight", limiter, AdaptiveLimiter::inFlight)
+                .description("Requisições em atendimento")
+                .tag("endpoint", endpointClass)
+                .register(registry);
+        Gauge.builder("inventory.limiter.waiting", limiter, AdaptiveLimiter::waiting)
+                .description("Requisições aguardando vaga")
+                .tag("endpoint", endpointClass)
+                .register(registry);
+        Timer queueWait = Timer.builder("inventory.limiter.queue.wait")
+                .description("Espera por uma vaga no limitador")
+                .tag("endpoint", endpointClass)
+                .register(registry);
+        Counter rejected = Counter.builder("inventory.limiter.rejected")
+                .description("Requisições recusadas com 503")
+                .tag("endpoint", endpointClass)
+                .register(registry);
+        return new Guarded(limiter, queueWait, rejected);
+    }
+
+    private <T> T setting(String name, Class<T> type, T defaultValue) {
+        return config.getOptionalValue(name, type).orElse(defaultValue);
+    }
+}
@@ -0,0 +1,23 @@
+package com.autoflex.inventory.mapper;
+
+import com.autoflex.inventory.dto.request.LocationRequestDTO;
+import com.autoflex.inventory.dto.response.LocationResponseDTO;
+import com.autoflex.inventory.model.Location;
+import jakarta.enterprise.context.ApplicationScoped;
+
+@ApplicationScoped
+public class LocationMapper {
+
+    public LocationResponseDTO toResponse(Location entity) {
+        return new LocationResponseDTO(
+                entity.getCode(),
+                entity.getName(),
+                entity.isMain());
+    }
+
+    public Location toEntity(LocationRequestDTO dto) {
+        Location entity = new Location();
+        entity.setName(dto.name());
+        return entity;
+    }
+}
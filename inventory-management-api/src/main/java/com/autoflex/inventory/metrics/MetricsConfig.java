@@ -0,0 +1,33 @@
+package com.autoflex.inventory.metrics;
+
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+import jakarta.enterprise.inject.Produces;
+import jakarta.inject.Singleton;
+
+@Singleton
+public class MetricsConfig {
+
+    private static final double[] PERCENTILES = { 0.5, 0.95, 0.99 };
+
+    /**
+     * Percentiles for the HTTP timers (one series per route) and for the
+     * inventory timers and summaries.
+     */
+    @Produces
+    @Singleton
+    public MeterFilter percentiles() {
+        return new MeterFilter() {
+            @Override
+            public DistributionStatisticConfig configure(Meter.Id id, DistributionStatisticConfig config) {
+                if (id.getName().startsWith("http.server.requests") || id.getName().startsWith("inventory."))
+                    return DistributionStatisticConfig.builder()
+                            .percentiles(PERCENTILES)
+                            .build()
+                            .merge(config);
+                return config;
+            }
+        };
+    }
+}
@@ -0,0 +1,56 @@
+package com.autoflex.inventory.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+/**
+ * Phase timers of the production suggestion ({@code inventory.production.suggestion.phase}).
+ * Only cache misses go through these phases.
+ */
+@ApplicationScoped
+public class ProductionSuggestionMetrics {
+
+    private static final String PHASE_TIMER = "inventory.production.suggestion.phase";
+
+    private final Timer loadStock;
+    private final Timer loadProducts;
+    private final Timer groupCompositions;
+    private final Timer compute;
+
+    @Inject
+    public ProductionSuggestionMetrics(MeterRegistry registry) {
+        this.loadStock = phase(registry, "load_stock");
+        this.loadProducts = phase(registry, "load_products");
+        this.groupCompositions = phase(registry, "group_compositions");
+        this.compute = phase(registry, "compute");
+    }
+
+    private static Timer phase(MeterRegistry registry, String phase) {
+        return Timer.builder(PHASE_TIMER)
+                .description("Tempo de cada fase da sugestão de produção")
+                .tag("phase", phase)
+                .register(registry);
+    }
+
+    /** Reading raw materials and their stock levels. */
+    public Timer loadStock() {
+        return loadStock;
+    }
+
+    /** Reading products and their compositions. */
+    public Timer loadProducts() {
+        return loadProducts;
+    }
+
+    /** Building the {@code BomSnapshot} out of the loaded entities. */
+    public Timer groupCompositions() {
+        return groupCompositions;
+    }
+
+    /** Planning plus assembling the response. */
+    public Timer compute() {
+        return compute;
+    }
+}
@@ -0,0 +1,51 @@
+package com.autoflex.inventory.metrics;
+
+import com.autoflex.inventory.repository.ProductCompositionRepository;
+import com.autoflex.inventory.repository.ProductRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import org.hibernate.SessionFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.stat.CacheRegionStatistics;
+
+import java.util.List;
+import java.util.function.ToLongFunction;
+
+/**
+ * Hit/miss counters per query cache region. Hibernate's own binder tags the
+ * entity regions but reports the query cache only as a total.
+ */
+@Singleton
+public class QueryCacheMetrics implements MeterBinder {
+
+    private static final List<String> REGIONS = List.of(
+            ProductRepository.BY_CODE_REGION, ProductCompositionRepository.BY_PRODUCT_REGION);
+
+    @Inject
+    SessionFactory sessionFactory;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (String region : REGIONS) {
+            counter(registry, region, "hit", CacheRegionStatistics::getHitCount);
+            counter(registry, region, "miss", CacheRegionStatistics::getMissCount);
+        }
+    }
+
+    private void counter(MeterRegistry registry, String region, String result, ToLongFunction<CacheRegionStatistics> count) {
+        SessionFactoryImplementor factory = sessionFactory.unwrap(SessionFactoryImplementor.class);
+        FunctionCounter.builder("inventory.cache.query.requests", factory, f -> {
+                    // A região só existe depois da primeira consulta cacheável; pedir as estatísticas antes disso
+                    // deixa o StatisticsImpl inconsistente
+                    if (f.getCache().getQueryResultsCacheStrictly(region) == null)
+                        return 0;
+                    return count.applyAsLong(f.getStatistics().getQueryRegionStatistics(region));
+                })
+                .tag("region", region)
+                .tag("result", result)
+                .register(registry);
+    }
+}
@@ -0,0 +1,70 @@
+package com.autoflex.inventory.metrics;
+
+import jakarta.enterprise.context.RequestScoped;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * SQL statements executed while serving the current HTTP request, fed by
+ * {@link SqlStatementInspector} (the SQL text) and {@link SqlStatementListener}
+ * (the execution time). Statements are kept per SQL string and only folded
+ * into templates when someone asks for them.
+ */
+@RequestScoped
+public class RequestSqlStats {
+
+    private static final Pattern IN_LIST = Pattern.compile("(?i)\\bin\\s*\\(\\s*\\?(\\s*,\\s*\\?)*\\s*\\)");
+    private static final Pattern BLANKS = Pattern.compile("\\s+");
+
+    private int statements;
+    private long nanos;
+    // Último comando preparado: a execução seguinte é dele (inclusive a de um lote)
+    private String pendingSql;
+    private final Map<String, long[]> bySql = new HashMap<>();
+
+    void prepared(String sql) {
+        pendingSql = sql;
+    }
+
+    void record(long elapsedNanos) {
+        statements++;
+        nanos += elapsedNanos;
+        long[] totals = bySql.computeIfAbsent(pendingSql == null ? "?" : pendingSql, sql -> new long[2]);
+        totals[0]++;
+        totals[1] += elapsedNanos;
+    }
+
+    public int statements() {
+        return statements;
+    }
+
+    public long nanos() {
+        return nanos;
+    }
+
+    /** Statements grouped by template, the most executed first. */
+    public List<SqlTemplateStats> templates() {
+        Map<String, long[]> byTemplate = new HashMap<>();
+        bySql.forEach((sql, totals) -> {
+            long[] merged = byTemplate.computeIfAbsent(template(sql), t -> new long[2]);
+            merged[0] += totals[0];
+            merged[1] += totals[1];
+        });
+        List<SqlTemplateStats> templates = new ArrayList<>(byTemplate.size());
+        byTemplate.forEach((sql, totals) -> templates.add(new SqlTemplateStats(sql, (int) totals[0], totals[1])));
+        templates.sort(Comparator.comparingInt(SqlTemplateStats::count).reversed()
+                .thenComparing(Comparator.comparingLong(SqlTemplateStats::nanos).reversed()));
+        return templates;
+    }
+
+    // Listas IN de tamanhos diferentes são o mesmo comando
+    static String template(String sql) {
+        String collapsed = BLANKS.matcher(sql.strip()).replaceAll(" ");
+        return IN_LIST.matcher(collapsed).replaceAll("in (?, ...)");
+    }
+}
@@ -0,0 +1,101 @@
+package com.autoflex.inventory.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.quarkus.arc.ClientProxy;
+import io.vertx.ext.web.RoutingContext;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.container.ContainerResponseContext;
+import jakarta.ws.rs.container.ResourceInfo;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+import org.jboss.resteasy.reactive.server.ServerRequestFilter;
+import org.jboss.resteasy.reactive.server.ServerResponseFilter;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Publishes the SQL cost of each request per endpoint:
+ * {@code inventory.http.sql.statements} and {@code inventory.http.sql.time}.
+ * Requests above {@code inventory.sql.slow-request.*} are logged with their
+ * most executed SQL templates. The stats are recorded when the response ends,
+ * so statements run while a streamed body (exports, SSE) is written count too.
+ */
+public class SqlMetricsFilter {
+
+    private static final Logger LOG = Logger.getLogger(SqlMetricsFilter.class);
+
+    /** Statement count of the request, sent only when {@code inventory.sql.stats-header} is on. */
+    public static final String STATEMENTS_HEADER = "X-Sql-Statements";
+
+    @Inject
+    MeterRegistry registry;
+    @Inject
+    RequestSqlStats sqlStats;
+
+    @ConfigProperty(name = "inventory.sql.slow-request.statements", defaultValue = "100")
+    int statementThreshold;
+    @ConfigProperty(name = "inventory.sql.slow-request.time", defaultValue = "1s")
+    Duration timeThreshold;
+    @ConfigProperty(name = "inventory.sql.slow-request.max-templates", defaultValue = "10")
+    int maxTemplates;
+    @ConfigProperty(name = "inventory.sql.stats-header", defaultValue = "false")
+    boolean statsHeader;
+
+    @ServerRequestFilter
+    public void recordSqlMetrics(ResourceInfo resourceInfo, RoutingContext routingContext) {
+        // Requisições que não chegaram a um endpoint (404, CORS preflight) não entram na métrica
+        if (resourceInfo == null || resourceInfo.getResourceMethod() == null)
+            return;
+
+        String clazz = resourceInfo.getResourceClass().getSimpleName();
+        String method = resourceInfo.getResourceMethod().getName();
+        // O contexto de requisição já pode ter terminado quando a resposta acaba: guarda a instância, não o proxy
+        RequestSqlStats stats = ClientProxy.unwrap(sqlStats);
+        routingContext.addEndHandler(ignored -> record(clazz, method, stats));
+    }
+
+    // Só a contagem até aqui: o cabeçalho sai antes do corpo
+    @ServerResponseFilter
+    public void addStatementsHeader(ResourceInfo resourceInfo, ContainerResponseContext response) {
+        if (statsHeader && resourceInfo != null && resourceInfo.getResourceMethod() != null)
+            response.getHeaders().putSingle(STATEMENTS_HEADER, sqlStats.statements());
+    }
+
+    private void record(String clazz, String method, RequestSqlStats stats) {
+        int statements = stats.statements();
+        long nanos = stats.nanos();
+        DistributionSummary.builder("inventory.http.sql.statements")
+                .description("Comandos SQL executados por requisição")
+                .tag("class", clazz)
+                .tag("method", method)
+                .register(registry)
+                .record(statements);
+        Timer.builder("inventory.http.sql.time")
+                .description("Tempo gasto em comandos SQL por requisição")
+                .tag("class", clazz)
+                .tag("method", method)
+                .register(registry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+
+        if (statements > statementThreshold || nanos > timeThreshold.toNanos())
+            LOG.warn(slowRequest(clazz + "." + method, statements, nanos, stats));
+    }
+
+    private String slowRequest(String endpoint, int statements, long nanos, RequestSqlStats stats) {
+        StringBuilder message = new StringBuilder()
+                .append(endpoint).append(" ran ").append(statements).append(" SQL statement(s) in ")
+                .append(TimeUnit.NANOSECONDS.toMillis(nanos)).append(" ms");
+        List<SqlTemplateStats> templates = stats.templates();
+        for (SqlTemplateStats template : templates.subList(0, Math.min(maxTemplates, templates.size()))) {
+            message.append(String.format("%n  %6dx %7d ms  %s", template.count(),
+                    TimeUnit.NANOSECONDS.toMillis(template.nanos()), template.sql()));
+        }
+        if (templates.size() > maxTemplates)
+            message.append(String.format("%n  ... %d more template(s)", templates.size() - maxTemplates));
+        return message.toString();
+    }
+}
@@ -0,0 +1,22 @@
+package com.autoflex.inventory.metrics;
+
+import io.quarkus.arc.Arc;
+import io.quarkus.arc.ArcContainer;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Registered through {@code hibernate.session_factory.statement_inspector};
+ * hands the SQL of each prepared statement to the {@link RequestSqlStats} of
+ * the current request, so the slow-request log can name the templates.
+ * The SQL is passed through unchanged.
+ */
+public class SqlStatementInspector implements StatementInspector {
+
+    @Override
+    public String inspect(String sql) {
+        ArcContainer container = Arc.container();
+        if (container != null && container.requestContext().isActive())
+            container.instance(RequestSqlStats.class).get().prepared(sql);
+        return sql;
+    }
+}
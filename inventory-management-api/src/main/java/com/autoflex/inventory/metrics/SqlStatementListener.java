@@ -0,0 +1,42 @@
+package com.autoflex.inventory.metrics;
+
+import io.quarkus.arc.Arc;
+import io.quarkus.arc.ArcContainer;
+import org.hibernate.SessionEventListener;
+
+/**
+ * Registered on every Hibernate session through {@code hibernate.session.events.auto};
+ * times each JDBC execution and adds it to the {@link RequestSqlStats} of the
+ * request that opened the session. Statements outside a request are ignored.
+ */
+public class SqlStatementListener implements SessionEventListener {
+
+    private long startedAt;
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        startedAt = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        record();
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        startedAt = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        record();
+    }
+
+    private void record() {
+        long elapsed = System.nanoTime() - startedAt;
+        ArcContainer container = Arc.container();
+        if (container != null && container.requestContext().isActive())
+            container.instance(RequestSqlStats.class).get().record(elapsed);
+    }
+}
@@ -0,0 +1,5 @@
+package com.autoflex.inventory.metrics;
+
+/** Executions and total time of one SQL template within a request. */
+public record SqlTemplateStats(String sql, int count, long nanos) {
+}
@@ -0,0 +1,49 @@
+package com.autoflex.inventory.model;
+
+import io.quarkus.hibernate.orm.panache.PanacheEntityBase;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.io.Serializable;
+
+/**
+ * One slice of a persisted version counter. A write bumps a single stripe of
+ * each scope it touches inside the writer's own transaction, so the row stays
+ * locked until that transaction commits; the version of a scope is the sum
+ * of its stripes, so concurrent writers rarely wait on the same row.
+ */
+@Entity
+@IdClass(InventoryVersionStripe.Key.class)
+@Table(name = "inventory_versions")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class InventoryVersionStripe extends PanacheEntityBase {
+
+    @Id
+    @Column(length = 32)
+    private String scope;
+
+    @Id
+    private Integer stripe;
+
+    @Column(nullable = false)
+    private Long version;
+
+    @EqualsAndHashCode
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private String scope;
+        private Integer stripe;
+    }
+}
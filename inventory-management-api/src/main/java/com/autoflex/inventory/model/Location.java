@@ -0,0 +1,43 @@
+package com.autoflex.inventory.model;
+
+import io.quarkus.hibernate.orm.panache.PanacheEntityBase;
+import jakarta.persistence.Cacheable;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import jakarta.validation.constraints.NotBlank;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Plant or warehouse that holds stock. Every ledger row belongs to one
+ * location; writes that do not name a location go to the main one.
+ */
+@Entity
+@Cacheable
+@Table(name = "locations")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class Location extends PanacheEntityBase {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "locations_seq")
+    @SequenceGenerator(name = "locations_seq", sequenceName = "locations_seq", allocationSize = 50)
+    private Long code;
+
+    @NotBlank(message = "Name cannot be empty")
+    @Column(unique = true)
+    private String name;
+
+    // Local padrão: recebe o saldo de cadastros, ajustes e produções sem local informado
+    @Column(nullable = false)
+    private boolean main;
+}
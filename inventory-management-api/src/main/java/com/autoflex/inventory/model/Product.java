@@ -1,15 +1,17 @@
 package com.autoflex.inventory.model;
 
 import io.quarkus.hibernate.orm.panache.PanacheEntityBase;
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
-import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
@@ -17,15 +19,16 @@ import lombok.Setter;
 import java.math.BigDecimal;
 
 @Entity
+@Cacheable
 @Table(name = "products")
 @Getter
 @Setter
 @NoArgsConstructor
-@AllArgsConstructor
 public class Product extends PanacheEntityBase {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "products_seq")
+    @SequenceGenerator(name = "products_seq", sequenceName = "products_seq", allocationSize = 50)
     private Long code;
 
     @NotBlank(message = "Name cannot be empty")
@@ -35,4 +38,13 @@ public class Product extends PanacheEntityBase {
     @Positive(message = "Price must be greater than zero")
     private BigDecimal price;
 
-}
\ No newline at end of file
+    // Incrementada a cada alteração; compõe o ETag do produto
+    @Version
+    private Long version;
+
+    public Product(Long code, String name, BigDecimal price) {
+        this.code = code;
+        this.name = name;
+        this.price = price;
+    }
+}
@@ -1,11 +1,14 @@
 package com.autoflex.inventory.model;
 
 import io.quarkus.hibernate.orm.panache.PanacheEntityBase;
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
@@ -17,7 +20,11 @@ import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 @Entity
-@Table(name = "product_compositions")
+@Cacheable
+@Table(name = "product_compositions", indexes = {
+        @Index(name = "idx_product_compositions_raw_material", columnList = "raw_material_id, product_id"),
+        @Index(name = "idx_product_compositions_product", columnList = "product_id")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -25,7 +32,8 @@ import lombok.Setter;
 public class ProductComposition extends PanacheEntityBase {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "product_compositions_seq")
+    @SequenceGenerator(name = "product_compositions_seq", sequenceName = "product_compositions_seq", allocationSize = 50)
     private Long id;
 
     @NotNull(message = "Product is required")
@@ -1,30 +1,35 @@
 package com.autoflex.inventory.model;
 
 import io.quarkus.hibernate.orm.panache.PanacheEntityBase;
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
+import jakarta.persistence.Version;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
-import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 @Entity
+@Cacheable
 @Table(name = "raw_materials")
 @Getter
 @Setter
 @NoArgsConstructor
-@AllArgsConstructor
 public class RawMaterial extends PanacheEntityBase {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // Sequência com alocação em blocos: permite inserts em lote (JDBC batching)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "raw_materials_seq")
+    @SequenceGenerator(name = "raw_materials_seq", sequenceName = "raw_materials_seq", allocationSize = 50)
     private Long code;
 
     @NotBlank(message = "Name cannot be empty")
@@ -33,7 +38,17 @@ public class RawMaterial extends PanacheEntityBase {
 
     @NotNull(message = "Stock quantity is required")
     @Min(value = 0, message = "Stock quantity cannot be negative")
-    @Column(name = "stock_quantity")
+    // Não é coluna: o saldo vem do livro de movimentações (último snapshot + movimentos pendentes)
+    @Transient
     private Double stockQuantity;
 
-}
\ No newline at end of file
+    // Incrementada quando o cadastro muda (o saldo fica no livro de estoque)
+    @Version
+    private Long version;
+
+    public RawMaterial(Long code, String name, Double stockQuantity) {
+        this.code = code;
+        this.name = name;
+        this.stockQuantity = stockQuantity;
+    }
+}
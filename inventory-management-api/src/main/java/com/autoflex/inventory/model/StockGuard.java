@@ -0,0 +1,47 @@
+package com.autoflex.inventory.model;
+
+import io.quarkus.hibernate.orm.panache.PanacheEntityBase;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.io.Serializable;
+
+/**
+ * Row that debits of one raw material at one location lock before checking
+ * the balance there. Receipts, debits at other locations and catalog edits of
+ * the raw material never touch it, so only debits that could overdraw the
+ * same balance wait on each other.
+ */
+@Entity
+@IdClass(StockGuard.Key.class)
+@Table(name = "stock_guards")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockGuard extends PanacheEntityBase {
+
+    @Id
+    @Column(name = "raw_material_code")
+    private Long rawMaterialCode;
+
+    @Id
+    @Column(name = "location_code")
+    private Long locationCode;
+
+    @EqualsAndHashCode
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private Long rawMaterialCode;
+        private Long locationCode;
+    }
+}
@@ -0,0 +1,72 @@
+package com.autoflex.inventory.model;
+
+import io.quarkus.hibernate.orm.panache.PanacheEntityBase;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+
+/**
+ * One entry of the append-only stock ledger. Rows are never changed after
+ * insert, except for {@code compactedAt}, which the compactor stamps when it
+ * folds the movement into a {@link StockSnapshot}.
+ */
+@Entity
+@Table(name = "stock_movements", indexes = {
+        @Index(name = "idx_stock_movements_tail", columnList = "compacted_at, raw_material_code, location_code"),
+        @Index(name = "idx_stock_movements_material", columnList = "raw_material_code, location_code, occurred_at")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockMovement extends PanacheEntityBase {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "stock_movements_seq")
+    @SequenceGenerator(name = "stock_movements_seq", sequenceName = "stock_movements_seq", allocationSize = 50)
+    private Long id;
+
+    @NotNull
+    @Column(name = "raw_material_code", nullable = false)
+    private Long rawMaterialCode;
+
+    @NotNull
+    @Column(name = "location_code", nullable = false)
+    private Long locationCode;
+
+    // Positivo para entradas, negativo para consumo
+    @NotNull
+    @Column(nullable = false)
+    private Double delta;
+
+    @NotNull
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private StockMovementReason reason;
+
+    @NotNull
+    @Column(name = "occurred_at", nullable = false)
+    private Instant occurredAt;
+
+    @Column(name = "compacted_at")
+    private Instant compactedAt;
+
+    public static StockMovement of(Long rawMaterialCode, Long locationCode, double delta, StockMovementReason reason,
+            Instant occurredAt) {
+        return new StockMovement(null, rawMaterialCode, locationCode, delta, reason, occurredAt, null);
+    }
+}
@@ -0,0 +1,8 @@
+package com.autoflex.inventory.model;
+
+public enum StockMovementReason {
+    INITIAL,
+    RECEIPT,
+    ADJUSTMENT,
+    PRODUCTION
+}
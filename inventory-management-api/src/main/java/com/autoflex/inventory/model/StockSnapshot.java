@@ -0,0 +1,54 @@
+package com.autoflex.inventory.model;
+
+import io.quarkus.hibernate.orm.panache.PanacheEntityBase;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+
+/**
+ * Stock of one raw material at one location as folded by a compaction run: the sum of every
+ * movement whose {@code compactedAt} is at or before {@code takenAt}.
+ */
+@Entity
+@Table(name = "stock_snapshots", indexes = {
+        @Index(name = "idx_stock_snapshots_material", columnList = "raw_material_code, location_code, taken_at")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockSnapshot extends PanacheEntityBase {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "stock_snapshots_seq")
+    @SequenceGenerator(name = "stock_snapshots_seq", sequenceName = "stock_snapshots_seq", allocationSize = 50)
+    private Long id;
+
+    @NotNull
+    @Column(name = "raw_material_code", nullable = false)
+    private Long rawMaterialCode;
+
+    @NotNull
+    @Column(name = "location_code", nullable = false)
+    private Long locationCode;
+
+    @NotNull
+    @Column(nullable = false)
+    private Double quantity;
+
+    @NotNull
+    @Column(name = "taken_at", nullable = false)
+    private Instant takenAt;
+}
@@ -0,0 +1,49 @@
+package com.autoflex.inventory.repository;
+
+import com.autoflex.inventory.model.InventoryVersionStripe;
+import io.quarkus.hibernate.orm.panache.PanacheRepositoryBase;
+import jakarta.enterprise.context.ApplicationScoped;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@ApplicationScoped
+public class InventoryVersionRepository implements PanacheRepositoryBase<InventoryVersionStripe, InventoryVersionStripe.Key> {
+
+    /** Version of every scope: the sum of its stripes. */
+    public Map<String, Long> sumByScope() {
+        List<Object[]> rows = getEntityManager()
+                .createQuery("SELECT v.scope, SUM(v.version) FROM InventoryVersionStripe v GROUP BY v.scope",
+                        Object[].class)
+                .getResultList();
+        Map<String, Long> versions = new HashMap<>();
+        for (Object[] row : rows)
+            versions.put((String) row[0], ((Number) row[1]).longValue());
+        return versions;
+    }
+
+    public long sum(String scope) {
+        return getEntityManager()
+                .createQuery("SELECT COALESCE(SUM(v.version), 0) FROM InventoryVersionStripe v WHERE v.scope = :scope",
+                        Long.class)
+                .setParameter("scope", scope)
+                .getSingleResult();
+    }
+
+    public int increment(String scope, int stripe) {
+        return getEntityManager()
+                .createQuery("UPDATE InventoryVersionStripe v SET v.version = v.version + 1 "
+                        + "WHERE v.scope = :scope AND v.stripe = :stripe")
+                .setParameter("scope", scope)
+                .setParameter("stripe", stripe)
+                .executeUpdate();
+    }
+
+    public List<Integer> listStripes(String scope) {
+        return getEntityManager()
+                .createQuery("SELECT v.stripe FROM InventoryVersionStripe v WHERE v.scope = :scope", Integer.class)
+                .setParameter("scope", scope)
+                .getResultList();
+    }
+}
@@ -0,0 +1,26 @@
+package com.autoflex.inventory.repository;
+
+import com.autoflex.inventory.model.Location;
+import io.quarkus.hibernate.orm.panache.PanacheRepository;
+import jakarta.enterprise.context.ApplicationScoped;
+import java.util.List;
+import java.util.Optional;
+
+@ApplicationScoped
+public class LocationRepository implements PanacheRepository<Location> {
+
+    public List<Location> listAllOrderedByCode() {
+        return list("ORDER BY code");
+    }
+
+    public Optional<Long> findMainCode() {
+        return getEntityManager()
+                .createQuery("SELECT l.code FROM Location l WHERE l.main = true", Long.class)
+                .getResultStream()
+                .findFirst();
+    }
+
+    public boolean existsByName(String name) {
+        return count("name", name) > 0;
+    }
+}
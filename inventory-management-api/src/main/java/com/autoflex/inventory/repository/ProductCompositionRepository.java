@@ -1,18 +1,97 @@
 package com.autoflex.inventory.repository;
 
+import com.autoflex.inventory.dto.response.ProductCompositionResponseDTO;
+import com.autoflex.inventory.dto.response.RawMaterialUsageDTO;
 import com.autoflex.inventory.model.ProductComposition;
 import io.quarkus.hibernate.orm.panache.PanacheRepository;
 import jakarta.enterprise.context.ApplicationScoped;
+import org.hibernate.jpa.HibernateHints;
+import java.util.Collection;
 import java.util.List;
 
 @ApplicationScoped
 public class ProductCompositionRepository implements PanacheRepository<ProductComposition> {
 
+    // Região do cache de consultas para "composições por produto"; invalidada a cada escrita nas tabelas envolvidas
+    public static final String BY_PRODUCT_REGION = "product-compositions-by-product";
+
+    private static final String FETCH_DETAILS = "SELECT c FROM ProductComposition c"
+            + " JOIN FETCH c.product JOIN FETCH c.rawMaterial";
+
     public List<ProductComposition> findByProductId(Long productCode) {
-        return list("product.code", productCode);
+        return find(FETCH_DETAILS + " WHERE c.product.code = ?1 ORDER BY c.id", productCode)
+                .withHint(HibernateHints.HINT_CACHEABLE, true)
+                .withHint(HibernateHints.HINT_CACHE_REGION, BY_PRODUCT_REGION)
+                .list();
+    }
+
+    // Leituras da API (também as reativas): a linha da receita já como DTO, sem hidratar composição, produto ou insumo
+    public static final String RESPONSES = "SELECT new com.autoflex.inventory.dto.response.ProductCompositionResponseDTO("
+            + "c.id, p.code, p.name, r.code, r.name, c.quantityNeeded)"
+            + " FROM ProductComposition c JOIN c.product p JOIN c.rawMaterial r";
+
+    public List<ProductCompositionResponseDTO> findResponsesByProductId(Long productCode) {
+        return getEntityManager()
+                .createQuery(RESPONSES + " WHERE p.code = :code ORDER BY c.id", ProductCompositionResponseDTO.class)
+                .setParameter("code", productCode)
+                .setHint(HibernateHints.HINT_CACHEABLE, true)
+                .setHint(HibernateHints.HINT_CACHE_REGION, BY_PRODUCT_REGION)
+                .getResultList();
+    }
+
+    public List<ProductCompositionResponseDTO> findResponsesByProductCodes(Collection<Long> productCodes) {
+        if (productCodes.isEmpty()) {
+            return List.of();
+        }
+        return getEntityManager()
+                .createQuery(RESPONSES + " WHERE p.code IN :codes ORDER BY c.id", ProductCompositionResponseDTO.class)
+                .setParameter("codes", productCodes)
+                .getResultList();
     }
 
+    public List<ProductCompositionResponseDTO> listAllResponses() {
+        return getEntityManager()
+                .createQuery(RESPONSES + " ORDER BY c.id", ProductCompositionResponseDTO.class)
+                .getResultList();
+    }
+
+    public List<ProductComposition> listAllWithDetails() {
+        return list(FETCH_DETAILS + " ORDER BY c.id");
+    }
+
+    // Pares [rawMaterialCode, quantityNeeded] da receita, sem hidratar entidades
+    public List<Object[]> findRecipe(Long productCode) {
+        return getEntityManager()
+                .createQuery("SELECT c.rawMaterial.code, c.quantityNeeded FROM ProductComposition c"
+                        + " WHERE c.product.code = :code", Object[].class)
+                .setParameter("code", productCode)
+                .getResultList();
+    }
+
+    // Sonda de existência: para na primeira linha do índice de raw_material_id, sem contar as demais
     public boolean existsByRawMaterialCode(Long rawMaterialCode) {
-        return count("rawMaterial.code", rawMaterialCode) > 0;
+        return !getEntityManager()
+                .createQuery("SELECT 1 FROM ProductComposition c WHERE c.rawMaterial.code = :code", Integer.class)
+                .setParameter("code", rawMaterialCode)
+                .setMaxResults(1)
+                .getResultList()
+                .isEmpty();
+    }
+
+    /**
+     * Products that consume a raw material, in product code order, starting
+     * after {@code afterProductCode} (keyset paging). A raw material repeated in
+     * a recipe is summed into a single line.
+     */
+    public List<RawMaterialUsageDTO> findUsages(Long rawMaterialCode, Long afterProductCode, int limit) {
+        return getEntityManager()
+                .createQuery("SELECT new com.autoflex.inventory.dto.response.RawMaterialUsageDTO("
+                        + "p.code, p.name, SUM(c.quantityNeeded)) FROM ProductComposition c JOIN c.product p"
+                        + " WHERE c.rawMaterial.code = :code AND p.code > :after"
+                        + " GROUP BY p.code, p.name ORDER BY p.code", RawMaterialUsageDTO.class)
+                .setParameter("code", rawMaterialCode)
+                .setParameter("after", afterProductCode == null ? Long.MIN_VALUE : afterProductCode)
+                .setMaxResults(limit)
+                .getResultList();
     }
-}
\ No newline at end of file
+}
@@ -3,12 +3,70 @@ package com.autoflex.inventory.repository;
 import com.autoflex.inventory.model.Product;
 import io.quarkus.hibernate.orm.panache.PanacheRepository;
 import jakarta.enterprise.context.ApplicationScoped;
+import org.hibernate.jpa.HibernateHints;
 import java.util.List;
+import java.util.Optional;
 
 @ApplicationScoped
 public class ProductRepository implements PanacheRepository<Product> {
 
+    // Uma linha por composição (ou por produto sem receita), agrupável em ordem de código pela exportação
+    public static final String EXPORT_ROWS = "SELECT p.code, p.name, p.price, c.id, r.code, r.name, c.quantityNeeded"
+            + " FROM Product p LEFT JOIN ProductComposition c ON c.product = p LEFT JOIN c.rawMaterial r"
+            + " ORDER BY p.code, c.id";
+
     public List<Product> listAllOrderedByPriceDesc() {
         return list("ORDER BY price DESC");
     }
-}
\ No newline at end of file
+
+    // Leituras da API (também as reativas): [código, nome, preço] sem hidratar entidades; a receita vem à parte, já como DTO
+    public static final String ROWS = "SELECT p.code, p.name, p.price FROM Product p";
+
+    // Região do cache de consultas para "produto por código"
+    public static final String BY_CODE_REGION = "product-rows-by-code";
+
+    public List<Object[]> listRowsOrderedByCode() {
+        return getEntityManager()
+                .createQuery(ROWS + " ORDER BY p.code", Object[].class)
+                .getResultList();
+    }
+
+    public Optional<Object[]> findRow(Long code) {
+        return getEntityManager()
+                .createQuery(ROWS + " WHERE p.code = :code", Object[].class)
+                .setParameter("code", code)
+                .setHint(HibernateHints.HINT_CACHEABLE, true)
+                .setHint(HibernateHints.HINT_CACHE_REGION, BY_CODE_REGION)
+                // getResultList: consultas por stream não passam pelo cache de consultas
+                .getResultList()
+                .stream()
+                .findFirst();
+    }
+
+    // Pares [código, nome] para o índice de busca por nome
+    public List<Object[]> findCodesAndNames() {
+        return getEntityManager()
+                .createQuery("SELECT p.code, p.name FROM Product p", Object[].class)
+                .getResultList();
+    }
+
+    // Paginação por keyset: o custo da página não cresce com o offset
+    public List<Object[]> listRowsPageAfter(Long afterCode, int limit) {
+        return getEntityManager()
+                .createQuery(ROWS + " WHERE p.code > :after ORDER BY p.code", Object[].class)
+                .setParameter("after", afterCode == null ? Long.MIN_VALUE : afterCode)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    // [versão do produto, soma das versões dos insumos da receita]: muda se o produto ou o nome de um insumo mudar
+    public Optional<Object[]> findVersions(Long code) {
+        return getEntityManager()
+                .createQuery("SELECT p.version, COALESCE(SUM(r.version), 0) FROM Product p"
+                        + " LEFT JOIN ProductComposition c ON c.product = p LEFT JOIN c.rawMaterial r"
+                        + " WHERE p.code = :code GROUP BY p.version", Object[].class)
+                .setParameter("code", code)
+                .getResultStream()
+                .findFirst();
+    }
+}
@@ -1,10 +1,95 @@
 package com.autoflex.inventory.repository;
 
+import com.autoflex.inventory.dto.response.RawMaterialResponseDTO;
 import com.autoflex.inventory.model.RawMaterial;
 import io.quarkus.hibernate.orm.panache.PanacheRepository;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.persistence.TypedQuery;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 
 @ApplicationScoped
 public class RawMaterialRepository implements PanacheRepository<RawMaterial> {
 
-}
\ No newline at end of file
+    // [código, nome, saldo] na ordem de código, para a exportação
+    public static final String EXPORT_ROWS = "SELECT r.code, r.name, " + StockMovementRepository.POOLED_STOCK
+            + " FROM RawMaterial r ORDER BY r.code";
+    public static final String LOCATION_EXPORT_ROWS = "SELECT r.code, r.name, " + StockMovementRepository.LOCATION_STOCK
+            + " FROM RawMaterial r ORDER BY r.code";
+
+    // Leituras da API (também as reativas): o insumo e o saldo direto no DTO, numa só consulta e sem hidratar entidades
+    public static final String RESPONSES = "SELECT new com.autoflex.inventory.dto.response.RawMaterialResponseDTO("
+            + "r.code, r.name, " + StockMovementRepository.POOLED_STOCK + ") FROM RawMaterial r";
+    public static final String LOCATION_RESPONSES = "SELECT new com.autoflex.inventory.dto.response.RawMaterialResponseDTO("
+            + "r.code, r.name, " + StockMovementRepository.LOCATION_STOCK + ") FROM RawMaterial r";
+
+    // Sem local, o saldo é a soma de todos os locais
+    public List<RawMaterialResponseDTO> listResponses(Long location) {
+        return responses(location, " ORDER BY r.code").getResultList();
+    }
+
+    public Optional<RawMaterialResponseDTO> findResponse(Long code, Long location) {
+        return responses(location, " WHERE r.code = :code")
+                .setParameter("code", code)
+                .getResultStream()
+                .findFirst();
+    }
+
+    public Optional<String> findName(Long code) {
+        return getEntityManager()
+                .createQuery("SELECT r.name FROM RawMaterial r WHERE r.code = :code", String.class)
+                .setParameter("code", code)
+                .getResultStream()
+                .findFirst();
+    }
+
+    private TypedQuery<RawMaterialResponseDTO> responses(Long location, String tail) {
+        if (location == null)
+            return getEntityManager().createQuery(RESPONSES + tail, RawMaterialResponseDTO.class);
+        return getEntityManager().createQuery(LOCATION_RESPONSES + tail, RawMaterialResponseDTO.class)
+                .setParameter("location", location);
+    }
+
+    // Pares [código, nome] para o índice de busca por nome
+    public List<Object[]> findCodesAndNames() {
+        return getEntityManager()
+                .createQuery("SELECT r.code, r.name FROM RawMaterial r", Object[].class)
+                .getResultList();
+    }
+
+    public Optional<Long> findVersion(Long code) {
+        return getEntityManager()
+                .createQuery("SELECT r.version FROM RawMaterial r WHERE r.code = :code", Long.class)
+                .setParameter("code", code)
+                .getResultStream()
+                .findFirst();
+    }
+
+    public List<String> findExistingNames(Collection<String> names) {
+        if (names.isEmpty()) {
+            return List.of();
+        }
+        return getEntityManager()
+                .createQuery("SELECT r.name FROM RawMaterial r WHERE r.name IN :names", String.class)
+                .setParameter("names", names)
+                .getResultList();
+    }
+
+    public List<RawMaterial> findByCodes(Collection<Long> codes) {
+        if (codes.isEmpty()) {
+            return List.of();
+        }
+        return list("code IN ?1", codes);
+    }
+
+    public List<Long> findExistingCodes(Collection<Long> codes) {
+        if (codes.isEmpty()) {
+            return List.of();
+        }
+        return getEntityManager()
+                .createQuery("SELECT r.code FROM RawMaterial r WHERE r.code IN :codes", Long.class)
+                .setParameter("codes", codes)
+                .getResultList();
+    }
+}
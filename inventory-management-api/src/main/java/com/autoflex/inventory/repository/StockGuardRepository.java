@@ -0,0 +1,33 @@
+package com.autoflex.inventory.repository;
+
+import com.autoflex.inventory.model.StockGuard;
+import io.quarkus.hibernate.orm.panache.PanacheRepositoryBase;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.persistence.LockModeType;
+
+@ApplicationScoped
+public class StockGuardRepository implements PanacheRepositoryBase<StockGuard, StockGuard.Key> {
+
+    /** Locks the guard of the raw material at the location until the transaction ends, creating it on first use. */
+    public void lock(Long code, Long location) {
+        StockGuard.Key key = new StockGuard.Key(code, location);
+        if (findById(key, LockModeType.PESSIMISTIC_WRITE) != null)
+            return;
+        // Primeira saída do par: quem perder a corrida da inserção espera o commit do outro e segue para a trava
+        getEntityManager()
+                .createQuery("INSERT INTO StockGuard (rawMaterialCode, locationCode) VALUES (:code, :location)"
+                        + " ON CONFLICT DO NOTHING")
+                .setParameter("code", code)
+                .setParameter("location", location)
+                .executeUpdate();
+        findById(key, LockModeType.PESSIMISTIC_WRITE);
+    }
+
+    public long deleteByRawMaterialCode(Long code) {
+        return delete("rawMaterialCode", code);
+    }
+
+    public long deleteByLocationCode(Long location) {
+        return delete("locationCode", location);
+    }
+}
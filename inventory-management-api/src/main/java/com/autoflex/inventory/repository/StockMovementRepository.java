@@ -0,0 +1,158 @@
+package com.autoflex.inventory.repository;
+
+import com.autoflex.inventory.model.StockMovement;
+import io.quarkus.hibernate.orm.panache.PanacheRepository;
+import jakarta.enterprise.context.ApplicationScoped;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@ApplicationScoped
+public class StockMovementRepository implements PanacheRepository<StockMovement> {
+
+    // Saldo = último snapshot de cada local + movimentos ainda não compactados, numa só expressão:
+    // uma compactação concorrente nunca é vista pela metade
+    public static final String POOLED_STOCK = "COALESCE((SELECT SUM(s.quantity) FROM StockSnapshot s"
+            + "   WHERE s.rawMaterialCode = r.code AND s.takenAt = (SELECT MAX(s2.takenAt) FROM StockSnapshot s2"
+            + "     WHERE s2.rawMaterialCode = r.code AND s2.locationCode = s.locationCode)), 0.0)"
+            + " + COALESCE((SELECT SUM(m.delta) FROM StockMovement m"
+            + "   WHERE m.rawMaterialCode = r.code AND m.compactedAt IS NULL), 0.0)";
+
+    // O mesmo saldo restrito a um local (parâmetro :location)
+    public static final String LOCATION_STOCK = "COALESCE((SELECT s.quantity FROM StockSnapshot s"
+            + "   WHERE s.rawMaterialCode = r.code AND s.locationCode = :location"
+            + "   AND s.takenAt = (SELECT MAX(s2.takenAt) FROM StockSnapshot s2"
+            + "     WHERE s2.rawMaterialCode = r.code AND s2.locationCode = :location)), 0.0)"
+            + " + COALESCE((SELECT SUM(m.delta) FROM StockMovement m"
+            + "   WHERE m.rawMaterialCode = r.code AND m.locationCode = :location AND m.compactedAt IS NULL), 0.0)";
+
+    public static final String STOCK_LEVELS = "SELECT r.code, " + POOLED_STOCK + " FROM RawMaterial r";
+
+    static final String LOCATION_STOCK_LEVELS = "SELECT r.code, " + LOCATION_STOCK + " FROM RawMaterial r";
+
+    // Parcelas [insumo, local, quantidade] de todos os locais; somadas por par dão o saldo
+    static final String STOCK_LEVELS_BY_LOCATION = "SELECT s.rawMaterialCode, s.locationCode, s.quantity"
+            + " FROM StockSnapshot s WHERE s.takenAt = (SELECT MAX(s2.takenAt) FROM StockSnapshot s2"
+            + "   WHERE s2.rawMaterialCode = s.rawMaterialCode AND s2.locationCode = s.locationCode)"
+            + " UNION ALL"
+            + " SELECT m.rawMaterialCode, m.locationCode, SUM(m.delta) FROM StockMovement m"
+            + " WHERE m.compactedAt IS NULL GROUP BY m.rawMaterialCode, m.locationCode";
+
+    public Map<Long, Double> stockLevels() {
+        return toMap(getEntityManager()
+                .createQuery(STOCK_LEVELS, Object[].class)
+                .getResultList());
+    }
+
+    public Map<Long, Double> stockLevels(Collection<Long> codes) {
+        if (codes.isEmpty()) {
+            return Map.of();
+        }
+        return toMap(getEntityManager()
+                .createQuery(STOCK_LEVELS + " WHERE r.code IN :codes", Object[].class)
+                .setParameter("codes", codes)
+                .getResultList());
+    }
+
+    public Map<Long, Double> stockLevels(Long location) {
+        return toMap(getEntityManager()
+                .createQuery(LOCATION_STOCK_LEVELS, Object[].class)
+                .setParameter("location", location)
+                .getResultList());
+    }
+
+    public Map<Long, Double> stockLevels(Collection<Long> codes, Long location) {
+        if (codes.isEmpty()) {
+            return Map.of();
+        }
+        return toMap(getEntityManager()
+                .createQuery(LOCATION_STOCK_LEVELS + " WHERE r.code IN :codes", Object[].class)
+                .setParameter("location", location)
+                .setParameter("codes", codes)
+                .getResultList());
+    }
+
+    /** Stock per location, then per raw material; pairs without any ledger row are absent. */
+    public Map<Long, Map<Long, Double>> stockLevelsByLocation() {
+        Map<Long, Map<Long, Double>> levels = new HashMap<>();
+        for (Object[] row : getEntityManager().createQuery(STOCK_LEVELS_BY_LOCATION, Object[].class).getResultList()) {
+            levels.computeIfAbsent((Long) row[1], l -> new HashMap<>())
+                    .merge((Long) row[0], ((Number) row[2]).doubleValue(), Double::sum);
+        }
+        return levels;
+    }
+
+    public List<Long> findLocationCodes(Long code) {
+        return getEntityManager()
+                .createQuery("SELECT DISTINCT m.locationCode FROM StockMovement m WHERE m.rawMaterialCode = :code", Long.class)
+                .setParameter("code", code)
+                .getResultList();
+    }
+
+    public boolean existsByLocationCode(Long location) {
+        return count("locationCode", location) > 0;
+    }
+
+    /**
+     * Stock at {@code at} in one location, starting from the last snapshot
+     * taken up to then: adds the movements that happened before {@code at}
+     * but were folded later, and takes back the ones folded into the snapshot
+     * that happened after it.
+     */
+    public double stockAt(Long code, Long location, Instant at) {
+        List<Object[]> snapshot = getEntityManager()
+                .createQuery("SELECT s.quantity, s.takenAt FROM StockSnapshot s WHERE s.rawMaterialCode = :code"
+                        + " AND s.locationCode = :location AND s.takenAt <= :at ORDER BY s.takenAt DESC", Object[].class)
+                .setParameter("code", code)
+                .setParameter("location", location)
+                .setParameter("at", at)
+                .setMaxResults(1)
+                .getResultList();
+        double base = snapshot.isEmpty() ? 0.0 : (Double) snapshot.get(0)[0];
+        Instant takenAt = snapshot.isEmpty() ? Instant.EPOCH : (Instant) snapshot.get(0)[1];
+
+        Double correction = getEntityManager()
+                .createQuery("SELECT SUM(CASE"
+                        + " WHEN m.occurredAt <= :at AND (m.compactedAt IS NULL OR m.compactedAt > :takenAt) THEN m.delta"
+                        + " WHEN m.occurredAt > :at AND m.compactedAt <= :takenAt THEN -m.delta"
+                        + " ELSE 0.0 END) FROM StockMovement m WHERE m.rawMaterialCode = :code AND m.locationCode = :location"
+                        + " AND (m.compactedAt IS NULL OR m.compactedAt > :takenAt OR m.occurredAt > :at)", Double.class)
+                .setParameter("code", code)
+                .setParameter("location", location)
+                .setParameter("at", at)
+                .setParameter("takenAt", takenAt)
+                .getSingleResult();
+        return base + (correction == null ? 0.0 : correction);
+    }
+
+    // Marca a cauda já confirmada; movimentos de transações em andamento ficam para a próxima rodada
+    public int claimForCompaction(Instant compactedAt) {
+        return update("compactedAt = ?1 WHERE compactedAt IS NULL", compactedAt);
+    }
+
+    // [rawMaterialCode, locationCode, soma dos movimentos marcados, quantidade do último snapshot do par]
+    public List<Object[]> sumClaimed(Instant compactedAt) {
+        return getEntityManager()
+                .createQuery("SELECT m.rawMaterialCode, m.locationCode, SUM(m.delta),"
+                        + " COALESCE((SELECT s.quantity FROM StockSnapshot s WHERE s.rawMaterialCode = m.rawMaterialCode"
+                        + "   AND s.locationCode = m.locationCode AND s.takenAt = (SELECT MAX(s2.takenAt) FROM StockSnapshot s2"
+                        + "     WHERE s2.rawMaterialCode = m.rawMaterialCode AND s2.locationCode = m.locationCode)), 0.0)"
+                        + " FROM StockMovement m WHERE m.compactedAt = :at"
+                        + " GROUP BY m.rawMaterialCode, m.locationCode", Object[].class)
+                .setParameter("at", compactedAt)
+                .getResultList();
+    }
+
+    public long deleteByRawMaterialCode(Long code) {
+        return delete("rawMaterialCode", code);
+    }
+
+    private static Map<Long, Double> toMap(List<Object[]> rows) {
+        Map<Long, Double> levels = new HashMap<>(rows.size() * 2);
+        for (Object[] row : rows)
+            levels.put((Long) row[0], ((Number) row[1]).doubleValue());
+        return levels;
+    }
+}
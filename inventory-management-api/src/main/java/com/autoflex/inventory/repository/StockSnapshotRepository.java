@@ -0,0 +1,13 @@
+package com.autoflex.inventory.repository;
+
+import com.autoflex.inventory.model.StockSnapshot;
+import io.quarkus.hibernate.orm.panache.PanacheRepository;
+import jakarta.enterprise.context.ApplicationScoped;
+
+@ApplicationScoped
+public class StockSnapshotRepository implements PanacheRepository<StockSnapshot> {
+
+    public long deleteByRawMaterialCode(Long code) {
+        return delete("rawMaterialCode", code);
+    }
+}
@@ -0,0 +1,14 @@
+package com.autoflex.inventory.repository.reactive;
+
+import com.autoflex.inventory.model.Location;
+import io.quarkus.hibernate.reactive.panache.PanacheRepository;
+import io.smallrye.mutiny.Uni;
+import jakarta.enterprise.context.ApplicationScoped;
+
+@ApplicationScoped
+public class ReactiveLocationRepository implements PanacheRepository<Location> {
+
+    public Uni<Boolean> exists(Long code) {
+        return count("code", code).map(count -> count > 0);
+    }
+}
@@ -0,0 +1,40 @@
+package com.autoflex.inventory.repository.reactive;
+
+import com.autoflex.inventory.dto.response.ProductCompositionResponseDTO;
+import com.autoflex.inventory.model.ProductComposition;
+import com.autoflex.inventory.repository.ProductCompositionRepository;
+import io.quarkus.hibernate.reactive.panache.PanacheRepository;
+import io.smallrye.mutiny.Uni;
+import jakarta.enterprise.context.ApplicationScoped;
+import java.util.Collection;
+import java.util.List;
+
+@ApplicationScoped
+public class ReactiveProductCompositionRepository implements PanacheRepository<ProductComposition> {
+
+    public Uni<List<ProductCompositionResponseDTO>> findResponsesByProductId(Long productCode) {
+        return getSession()
+                .chain(session -> session.createSelectionQuery(ProductCompositionRepository.RESPONSES
+                                + " WHERE p.code = :code ORDER BY c.id", ProductCompositionResponseDTO.class)
+                        .setParameter("code", productCode)
+                        .getResultList());
+    }
+
+    public Uni<List<ProductCompositionResponseDTO>> findResponsesByProductCodes(Collection<Long> productCodes) {
+        if (productCodes.isEmpty()) {
+            return Uni.createFrom().item(List.of());
+        }
+        return getSession()
+                .chain(session -> session.createSelectionQuery(ProductCompositionRepository.RESPONSES
+                                + " WHERE p.code IN :codes ORDER BY c.id", ProductCompositionResponseDTO.class)
+                        .setParameter("codes", productCodes)
+                        .getResultList());
+    }
+
+    public Uni<List<ProductCompositionResponseDTO>> listAllResponses() {
+        return getSession()
+                .chain(session -> session.createSelectionQuery(ProductCompositionRepository.RESPONSES
+                                + " ORDER BY c.id", ProductCompositionResponseDTO.class)
+                        .getResultList());
+    }
+}
@@ -0,0 +1,35 @@
+package com.autoflex.inventory.repository.reactive;
+
+import com.autoflex.inventory.model.Product;
+import com.autoflex.inventory.repository.ProductRepository;
+import io.quarkus.hibernate.reactive.panache.PanacheRepository;
+import io.smallrye.mutiny.Uni;
+import jakarta.enterprise.context.ApplicationScoped;
+import java.util.List;
+
+@ApplicationScoped
+public class ReactiveProductRepository implements PanacheRepository<Product> {
+
+    // Mesmas projeções [código, nome, preço] do lado bloqueante
+    public Uni<List<Object[]>> listRowsOrderedByCode() {
+        return getSession()
+                .chain(session -> session.createSelectionQuery(ProductRepository.ROWS + " ORDER BY p.code", Object[].class)
+                        .getResultList());
+    }
+
+    public Uni<List<Object[]>> listRowsPageAfter(Long afterCode, int limit) {
+        return getSession()
+                .chain(session -> session.createSelectionQuery(ProductRepository.ROWS
+                                + " WHERE p.code > :after ORDER BY p.code", Object[].class)
+                        .setParameter("after", afterCode == null ? Long.MIN_VALUE : afterCode)
+                        .setMaxResults(limit)
+                        .getResultList());
+    }
+
+    public Uni<Object[]> findRow(Long code) {
+        return getSession()
+                .chain(session -> session.createSelectionQuery(ProductRepository.ROWS + " WHERE p.code = :code", Object[].class)
+                        .setParameter("code", code)
+                        .getSingleResultOrNull());
+    }
+}
@@ -0,0 +1,33 @@
+package com.autoflex.inventory.repository.reactive;
+
+import com.autoflex.inventory.dto.response.RawMaterialResponseDTO;
+import com.autoflex.inventory.model.RawMaterial;
+import com.autoflex.inventory.repository.RawMaterialRepository;
+import io.quarkus.hibernate.reactive.panache.PanacheRepository;
+import io.smallrye.mutiny.Uni;
+import jakarta.enterprise.context.ApplicationScoped;
+import org.hibernate.reactive.mutiny.Mutiny;
+
+import java.util.List;
+
+@ApplicationScoped
+public class ReactiveRawMaterialRepository implements PanacheRepository<RawMaterial> {
+
+    // Mesma projeção de saldo do lado bloqueante (último snapshot + movimentos pendentes); sem local, soma de todos
+    public Uni<List<RawMaterialResponseDTO>> listResponses(Long location) {
+        return getSession().chain(session -> responses(session, location, " ORDER BY r.code").getResultList());
+    }
+
+    public Uni<RawMaterialResponseDTO> findResponse(Long code, Long location) {
+        return getSession().chain(session -> responses(session, location, " WHERE r.code = :code")
+                .setParameter("code", code)
+                .getSingleResultOrNull());
+    }
+
+    private static Mutiny.SelectionQuery<RawMaterialResponseDTO> responses(Mutiny.Session session, Long location, String tail) {
+        if (location == null)
+            return session.createSelectionQuery(RawMaterialRepository.RESPONSES + tail, RawMaterialResponseDTO.class);
+        return session.createSelectionQuery(RawMaterialRepository.LOCATION_RESPONSES + tail, RawMaterialResponseDTO.class)
+                .setParameter("location", location);
+    }
+}
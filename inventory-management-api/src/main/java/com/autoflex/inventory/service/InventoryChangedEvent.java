@@ -0,0 +1,19 @@
+package com.autoflex.inventory.service;
+
+public record InventoryChangedEvent(Scope scope) {
+
+    public enum Scope {
+        // Apenas saldos de estoque mudaram; produtos e receitas continuam iguais
+        STOCK,
+        // Produtos, matérias-primas ou receitas foram criados, alterados ou removidos
+        CATALOG
+    }
+
+    public static InventoryChangedEvent stock() {
+        return new InventoryChangedEvent(Scope.STOCK);
+    }
+
+    public static InventoryChangedEvent catalog() {
+        return new InventoryChangedEvent(Scope.CATALOG);
+    }
+}
@@ -0,0 +1,129 @@
+package com.autoflex.inventory.service;
+
+import com.autoflex.inventory.model.InventoryVersionStripe;
+import com.autoflex.inventory.repository.InventoryVersionRepository;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.runtime.StartupEvent;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import jakarta.transaction.TransactionSynchronizationRegistry;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Inventory versions kept in the database ({@code inventory_versions}) and
+ * bumped in the same transaction as the write that changes the inventory, so
+ * every node sees a write as soon as it commits. Derived data (ETags,
+ * snapshots, cached suggestions) is tagged with the version it was computed
+ * from.
+ * <p>
+ * The cost: every write holds a row lock on one version stripe per scope
+ * until it commits (two writers only wait on each other when they draw the
+ * same stripe), and every read of a version, such as a list ETag or a
+ * suggestion cache lookup, runs a {@code SUM} over the scope's stripes in
+ * {@code inventory_versions}.
+ */
+@ApplicationScoped
+public class InventoryVersion {
+
+    private static final Logger LOG = Logger.getLogger(InventoryVersion.class);
+
+    /** Any committed write to raw materials, stock, products, recipes or locations. */
+    public static final String INVENTORY = "inventory";
+    /** Writes to products, raw materials or recipes, not just stock. */
+    public static final String CATALOG = "catalog";
+    /** Product names added, changed or removed. */
+    public static final String PRODUCT_NAMES = "product-names";
+    /** Raw material names added, changed or removed. */
+    public static final String RAW_MATERIAL_NAMES = "raw-material-names";
+
+    // Ordem fixa de atualização dos escopos: duas transações nunca travam as mesmas linhas em ordens opostas
+    private static final List<String> SCOPES = List.of(INVENTORY, CATALOG, PRODUCT_NAMES, RAW_MATERIAL_NAMES);
+
+    @Inject
+    InventoryVersionRepository repository;
+    @Inject
+    TransactionSynchronizationRegistry transactions;
+
+    @ConfigProperty(name = "inventory.version.stripes", defaultValue = "16")
+    int stripes;
+
+    /** Versions of both scopes read together. */
+    public record Versions(long inventory, long catalog) {
+    }
+
+    public long current() {
+        return read().inventory();
+    }
+
+    public long catalogVersion() {
+        return read().catalog();
+    }
+
+    public Versions read() {
+        Map<String, Long> versions = repository.sumByScope();
+        return new Versions(versions.getOrDefault(INVENTORY, 0L), versions.getOrDefault(CATALOG, 0L));
+    }
+
+    /** Version of a single scope, such as {@link #PRODUCT_NAMES}. */
+    public long version(String scope) {
+        return repository.sum(scope);
+    }
+
+    // Roda dentro da transação da escrita: a nova versão e os dados ficam visíveis no mesmo commit
+    void onInventoryChanged(@Observes InventoryChangedEvent event) {
+        bump(event.scope() == InventoryChangedEvent.Scope.CATALOG ? List.of(INVENTORY, CATALOG) : List.of(INVENTORY));
+    }
+
+    // Nomes mudam junto com o catálogo; inventário e catálogo vêm antes, na ordem de SCOPES
+    void onNamesChanged(@Observes NamesChangedEvent event) {
+        bump(List.of(INVENTORY, CATALOG,
+                event.catalog() == NamesChangedEvent.Catalog.PRODUCTS ? PRODUCT_NAMES : RAW_MATERIAL_NAMES));
+    }
+
+    private void bump(List<String> scopes) {
+        if (transactions.getTransactionKey() == null)
+            throw new IllegalStateException("Inventory changes must be fired inside a transaction");
+
+        Bumped bumped = (Bumped) transactions.getResource(Bumped.class);
+        if (bumped == null) {
+            bumped = new Bumped(ThreadLocalRandom.current().nextInt(stripes), new HashSet<>());
+            transactions.putResource(Bumped.class, bumped);
+        }
+        for (String scope : scopes) {
+            if (bumped.scopes().add(scope))
+                repository.increment(scope, bumped.stripe());
+        }
+    }
+
+    // Cada banco ganha as faixas que faltam na subida; nós que sobem juntos podem disputar a mesma inserção
+    void ensureStripes(@Observes StartupEvent event) {
+        try {
+            QuarkusTransaction.requiringNew().run(this::insertMissingStripes);
+        } catch (RuntimeException e) {
+            LOG.debugf(e, "Inventory version stripes created concurrently, retrying");
+            QuarkusTransaction.requiringNew().run(this::insertMissingStripes);
+        }
+    }
+
+    private void insertMissingStripes() {
+        for (String scope : SCOPES) {
+            Set<Integer> existing = new HashSet<>(repository.listStripes(scope));
+            for (int stripe = 0; stripe < stripes; stripe++) {
+                if (!existing.contains(stripe))
+                    repository.persist(new InventoryVersionStripe(scope, stripe, 0L));
+            }
+        }
+    }
+
+    // Uma faixa sorteada por transação, e cada escopo incrementado uma vez só
+    private record Bumped(int stripe, Set<String> scopes) {
+    }
+}
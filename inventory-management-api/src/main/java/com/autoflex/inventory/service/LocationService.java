@@ -0,0 +1,145 @@
+package com.autoflex.inventory.service;
+
+import com.autoflex.inventory.dto.request.LocationRequestDTO;
+import com.autoflex.inventory.dto.response.LocationResponseDTO;
+import com.autoflex.inventory.mapper.LocationMapper;
+import com.autoflex.inventory.model.Location;
+import com.autoflex.inventory.repository.LocationRepository;
+import com.autoflex.inventory.service.stock.StockLedger;
+import io.quarkus.runtime.StartupEvent;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Event;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import jakarta.transaction.Transactional;
+import jakarta.ws.rs.BadRequestException;
+import jakarta.ws.rs.NotFoundException;
+import jakarta.ws.rs.WebApplicationException;
+import jakarta.ws.rs.core.Response;
+import org.jboss.logging.Logger;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+@ApplicationScoped
+public class LocationService {
+
+    private static final Logger LOG = Logger.getLogger(LocationService.class);
+
+    static final String MAIN_LOCATION_NAME = "Principal";
+
+    @Inject
+    LocationRepository repository;
+    @Inject
+    LocationMapper mapper;
+    @Inject
+    StockLedger stockLedger;
+    @Inject
+    Event<InventoryChangedEvent> inventoryChanged;
+
+    // O local principal não pode ser removido nem trocado, então o código fica em memória
+    private volatile Long mainCode;
+
+    // Bancos novos (ou sem carga inicial) ganham o local principal na subida
+    @Transactional
+    void ensureMainLocation(@Observes StartupEvent event) {
+        if (repository.findMainCode().isEmpty()) {
+            repository.persist(new Location(null, MAIN_LOCATION_NAME, true));
+            LOG.infof("Created main stock location '%s'", MAIN_LOCATION_NAME);
+        }
+    }
+
+    public Long mainLocationCode() {
+        Long code = mainCode;
+        if (code == null) {
+            code = repository.findMainCode()
+                    .orElseThrow(() -> new IllegalStateException("Main stock location is missing"));
+            mainCode = code;
+        }
+        return code;
+    }
+
+    /** Location named by a request: null means the main one, an unknown code is a 404. */
+    public Long resolve(Long code) {
+        if (code == null)
+            return mainLocationCode();
+        requireExists(code);
+        return code;
+    }
+
+    public void requireExists(Long code) {
+        if (repository.findById(code) == null)
+            throw new NotFoundException("Location not found");
+    }
+
+    public List<Location> listEntities() {
+        return repository.listAllOrderedByCode();
+    }
+
+    public List<LocationResponseDTO> listAll() {
+        return listEntities().stream()
+                .map(mapper::toResponse)
+                .collect(Collectors.toList());
+    }
+
+    public LocationResponseDTO getByCode(Long code) {
+        Location entity = repository.findById(code);
+        if (entity == null)
+            throw new NotFoundException("Location not found");
+        return mapper.toResponse(entity);
+    }
+
+    // Locais entram na sugestão por local, então toda escrita invalida as sugestões (sem recarregar o catálogo)
+    @Transactional
+    public LocationResponseDTO create(LocationRequestDTO dto) {
+        validateName(dto, null);
+        Location entity = mapper.toEntity(dto);
+        repository.persist(entity);
+        inventoryChanged.fire(InventoryChangedEvent.stock());
+        return mapper.toResponse(entity);
+    }
+
+    @Transactional
+    public LocationResponseDTO update(Long code, LocationRequestDTO dto) {
+        Location entity = repository.findById(code);
+        if (entity == null)
+            throw new NotFoundException("Location not found");
+        validateName(dto, entity);
+
+        entity.setName(dto.name());
+        inventoryChanged.fire(InventoryChangedEvent.stock());
+        return mapper.toResponse(entity);
+    }
+
+    @Transactional
+    public void delete(Long code) {
+        Location entity = repository.findById(code);
+        if (entity == null)
+            throw new NotFoundException("Location not found");
+        if (entity.isMain()) {
+            throw new WebApplicationException(
+                    "Não é possível excluir o local principal.",
+                    Response.Status.CONFLICT);
+        }
+        if (stockLedger.hasMovements(code)) {
+            throw new WebApplicationException(
+                    "Não é possível excluir: este local possui movimentações de estoque.",
+                    Response.Status.CONFLICT);
+        }
+
+        stockLedger.discardLocation(code);
+        repository.delete(entity);
+        inventoryChanged.fire(InventoryChangedEvent.stock());
+    }
+
+    private void validateName(LocationRequestDTO dto, Location current) {
+        if (dto == null || dto.name() == null || dto.name().isBlank())
+            throw new BadRequestException("O nome do local é obrigatório.");
+        boolean renamed = current == null || !current.getName().equals(dto.name());
+        if (renamed && repository.existsByName(dto.name())) {
+            throw new WebApplicationException(
+                    "Já existe um local com este nome.",
+                    Response.Status.CONFLICT);
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.autoflex.inventory.service;
+
+/** Names were added, changed or removed; fired together with a catalog {@link InventoryChangedEvent}. */
+public record NamesChangedEvent(Catalog catalog) {
+
+    public enum Catalog {
+        PRODUCTS,
+        RAW_MATERIALS
+    }
+
+    public static NamesChangedEvent products() {
+        return new NamesChangedEvent(Catalog.PRODUCTS);
+    }
+
+    public static NamesChangedEvent rawMaterials() {
+        return new NamesChangedEvent(Catalog.RAW_MATERIALS);
+    }
+}
@@ -2,25 +2,49 @@ package com.autoflex.inventory.service;
 
 import com.autoflex.inventory.dto.request.ProductCompositionRequestDTO;
 import com.autoflex.inventory.dto.request.ProductRequestDTO;
+import com.autoflex.inventory.dto.response.LocationProductionSuggestionDTO;
+import com.autoflex.inventory.dto.response.ProductCompositionResponseDTO;
 import com.autoflex.inventory.dto.response.ProductResponseDTO;
+import com.autoflex.inventory.dto.response.ProductionResponseDTO;
+import com.autoflex.inventory.dto.response.ProductionSuggestionByLocationResponseDTO;
 import com.autoflex.inventory.dto.response.ProductionSuggestionResponseDTO;
+import com.autoflex.inventory.dto.response.StockConsumptionDTO;
 import com.autoflex.inventory.mapper.ProductMapper;
+import com.autoflex.inventory.metrics.ProductionSuggestionMetrics;
 import com.autoflex.inventory.model.Product;
 import com.autoflex.inventory.model.ProductComposition;
 import com.autoflex.inventory.model.RawMaterial;
+import com.autoflex.inventory.model.StockMovement;
+import com.autoflex.inventory.model.StockMovementReason;
 import com.autoflex.inventory.repository.ProductCompositionRepository;
 import com.autoflex.inventory.repository.ProductRepository;
 import com.autoflex.inventory.repository.RawMaterialRepository;
+import com.autoflex.inventory.service.production.BomSnapshot;
+import com.autoflex.inventory.service.production.BomSnapshotProvider;
+import com.autoflex.inventory.service.production.LocationSnapshot;
+import com.autoflex.inventory.service.production.PlanningMode;
+import com.autoflex.inventory.service.production.ProductionPlan;
+import com.autoflex.inventory.service.production.ProductionPlanningEngine;
+import com.autoflex.inventory.service.stock.StockLedger;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Event;
 import jakarta.inject.Inject;
 import jakarta.transaction.Transactional;
 import jakarta.ws.rs.BadRequestException;
 import jakarta.ws.rs.NotFoundException;
-import java.util.Map;
+import jakarta.ws.rs.WebApplicationException;
+import jakarta.ws.rs.core.EntityTag;
+import jakarta.ws.rs.core.Response;
 
 import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.TreeSet;
 import java.util.stream.Collectors;
 
 @ApplicationScoped
@@ -34,23 +58,61 @@ public class ProductService {
   RawMaterialRepository rawMaterialRepository;
   @Inject
   ProductCompositionRepository compositionRepository;
+  @Inject
+  StockLedger stockLedger;
+  @Inject
+  BomSnapshotProvider snapshotProvider;
+  @Inject
+  ProductionPlanningEngine planningEngine;
+  @Inject
+  ProductionSuggestionCache suggestionCache;
+  @Inject
+  Event<InventoryChangedEvent> inventoryChanged;
+  @Inject
+  Event<NamesChangedEvent> namesChanged;
+  @Inject
+  InventoryVersion inventoryVersion;
+  @Inject
+  ProductionSuggestionMetrics metrics;
+  @Inject
+  LocationService locationService;
+
+  static final int DEFAULT_PAGE_SIZE = 100;
+  static final int MAX_PAGE_SIZE = 1000;
 
+  // Leituras por projeção: nenhuma entidade é carregada, então não há o que verificar no flush nem contexto crescendo
   public List<ProductResponseDTO> listAll() {
-    return repository.listAll().stream()
-        .map(p -> {
-          List<ProductComposition> comps = compositionRepository.list("product.code", p.getCode());
-          return mapper.toResponse(p, comps);
-        })
-        .collect(Collectors.toList());
+    return toResponses(repository.listRowsOrderedByCode(), compositionRepository.listAllResponses());
   }
 
-  public ProductResponseDTO getByCode(Long code) {
-    Product product = repository.findById(code);
-    if (product == null)
-      throw new NotFoundException("Product not found");
+  public List<ProductResponseDTO> listAll(Long after, Integer limit) {
+    if (after == null && limit == null)
+      return listAll();
 
-    List<ProductComposition> comps = compositionRepository.list("product.code", code);
-    return mapper.toResponse(product, comps);
+    int pageSize = limit == null ? DEFAULT_PAGE_SIZE : limit;
+    if (pageSize < 1 || pageSize > MAX_PAGE_SIZE)
+      throw new BadRequestException("O parâmetro limit deve estar entre 1 e " + MAX_PAGE_SIZE + ".");
+
+    List<Object[]> page = repository.listRowsPageAfter(after, pageSize);
+    List<Long> codes = page.stream().map(row -> (Long) row[0]).collect(Collectors.toList());
+    return toResponses(page, compositionRepository.findResponsesByProductCodes(codes));
+  }
+
+  // A listagem (inclusive paginada) só muda com o catálogo: o ETag sai da versão persistida, visível a todos os nós
+  public EntityTag listTag() {
+    return new EntityTag("products-" + inventoryVersion.catalogVersion());
+  }
+
+  public EntityTag tag(Long code) {
+    Object[] versions = repository.findVersions(code)
+        .orElseThrow(() -> new NotFoundException("Product not found"));
+    return new EntityTag("product-" + code + "-" + versions[0] + "-" + versions[1]);
+  }
+
+  public ProductResponseDTO getByCode(Long code) {
+    Object[] row = repository.findRow(code)
+        .orElseThrow(() -> new NotFoundException("Product not found"));
+    return toResponse(row, compositionRepository.findResponsesByProductId(code));
   }
 
   @Transactional
@@ -58,10 +120,18 @@ public class ProductService {
     if (dto.compositions() == null || dto.compositions().isEmpty()) {
       throw new BadRequestException("O produto deve ter no mínimo uma matéria-prima na receita.");
     }
+    // Quantidade zero deixaria o produto ilimitado no planejamento
+    for (ProductCompositionRequestDTO compDto : dto.compositions()) {
+      if (compDto == null || compDto.rawMaterialCode() == null)
+        throw new BadRequestException("Informe o código da matéria-prima em todas as composições.");
+      if (compDto.quantityNeeded() == null || compDto.quantityNeeded() <= 0)
+        throw new BadRequestException("A quantidade necessária deve ser maior que zero.");
+    }
 
     Product product = mapper.toEntity(dto);
     repository.persist(product);
 
+    List<ProductComposition> comps = new ArrayList<>();
     for (ProductCompositionRequestDTO compDto : dto.compositions()) {
       RawMaterial rm = rawMaterialRepository.findById(compDto.rawMaterialCode());
       if (rm == null)
@@ -72,9 +142,12 @@ public class ProductService {
       pc.setRawMaterial(rm);
       pc.setQuantityNeeded(compDto.quantityNeeded());
       compositionRepository.persist(pc);
+      comps.add(pc);
     }
+    inventoryChanged.fire(InventoryChangedEvent.catalog());
+    namesChanged.fire(NamesChangedEvent.products());
 
-    List<ProductComposition> comps = compositionRepository.list("product.code", product.getCode());
+    // As composições recém-persistidas já estão em memória, não é preciso reler do banco
     return mapper.toResponse(product, comps);
   }
 
@@ -84,11 +157,15 @@ public class ProductService {
     if (product == null)
       throw new NotFoundException("Product not found");
 
+    // Só renomear reconstrói o índice de busca; preço e receita não mexem nele
+    boolean renamed = !product.getName().equals(dto.name());
     product.setName(dto.name());
     product.setPrice(dto.price());
+    inventoryChanged.fire(InventoryChangedEvent.catalog());
+    if (renamed)
+      namesChanged.fire(NamesChangedEvent.products());
 
-    List<ProductComposition> comps = compositionRepository.list("product.code", code);
-    return mapper.toResponse(product, comps);
+    return mapper.toResponse(product, compositionRepository.findByProductId(code));
   }
 
   @Transactional
@@ -98,63 +175,152 @@ public class ProductService {
 
     compositionRepository.delete("product.code", code);
     repository.deleteById(code);
+    inventoryChanged.fire(InventoryChangedEvent.catalog());
+    namesChanged.fire(NamesChangedEvent.products());
   }
 
-  public List<ProductionSuggestionResponseDTO> getProductionSuggestion() {
+  @Transactional
+  public ProductionResponseDTO produce(Long code, Integer quantity) {
+    return produce(code, quantity, null);
+  }
 
-    Map<Long, Double> currentStock = rawMaterialRepository.listAll()
-        .stream()
-        .collect(Collectors.toMap(RawMaterial::getCode, RawMaterial::getStockQuantity));
+  // O consumo sai de um único local (o principal, se nenhum for informado)
+  @Transactional
+  public ProductionResponseDTO produce(Long code, Integer quantity, Long location) {
+    if (quantity == null || quantity < 1)
+      throw new BadRequestException("O parâmetro quantity deve ser maior que zero.");
 
-    // Busca todos os produtos ordenados
-    List<Product> products = repository.listAllOrderedByPriceDesc();
+    // Consumo por matéria-prima; os insumos são travados no local em ordem de código, sem risco de deadlock
+    SortedMap<Long, Double> consumption = new TreeMap<>();
+    for (Object[] line : compositionRepository.findRecipe(code))
+      consumption.merge((Long) line[0], (Double) line[1] * quantity, Double::sum);
 
-    // Busca todos as composições de uma vez agrupa por ID do Produto.
-    Map<Long, List<ProductComposition>> compositionsMap = compositionRepository.listAll()
-        .stream()
-        .collect(Collectors.groupingBy(c -> c.getProduct().getCode()));
+    if (consumption.isEmpty()) {
+      if (repository.findById(code) == null)
+        throw new NotFoundException("Product not found");
+      throw new BadRequestException("O produto não possui receita cadastrada.");
+    }
 
-    List<ProductionSuggestionResponseDTO> suggestions = new ArrayList<>();
+    Long target = locationService.resolve(location);
+    Map<Long, Double> stock = stockLedger.lockStock(new TreeSet<>(consumption.keySet()), target);
+    Instant now = Instant.now();
+    List<StockMovement> movements = new ArrayList<>(consumption.size());
+    List<StockConsumptionDTO> consumed = new ArrayList<>(consumption.size());
+    for (Map.Entry<Long, Double> entry : consumption.entrySet()) {
+      double available = stock.getOrDefault(entry.getKey(), 0.0);
+      if (available < entry.getValue()) {
+        throw new WebApplicationException(
+            "Estoque insuficiente da matéria-prima " + entry.getKey() + " para produzir " + quantity + " unidade(s).",
+            Response.Status.CONFLICT);
+      }
+      movements.add(StockMovement.of(entry.getKey(), target, -entry.getValue(), StockMovementReason.PRODUCTION, now));
+      consumed.add(new StockConsumptionDTO(entry.getKey(), entry.getValue(), available - entry.getValue()));
+    }
+    stockLedger.append(movements);
+    inventoryChanged.fire(InventoryChangedEvent.stock());
 
-    for (Product product : products) {
-      List<ProductComposition> compositions = compositionsMap.get(product.getCode());
+    return new ProductionResponseDTO(code, quantity, consumed);
+  }
 
-      if (compositions == null || compositions.isEmpty()) {
-        continue;
-      }
+  public List<ProductionSuggestionResponseDTO> getProductionSuggestion() {
+    return getProductionSuggestion(PlanningMode.GREEDY, null).suggestions();
+  }
 
-      int maxQuantity = Integer.MAX_VALUE;
-      for (ProductComposition comp : compositions) {
-        double needed = comp.getQuantityNeeded();
+  public ProductionSuggestionResult getProductionSuggestion(PlanningMode mode, Duration timeBudget) {
+    return suggestionCache.get(mode, timeBudget, () -> computeProductionSuggestion(mode, timeBudget));
+  }
 
-        double available = currentStock.getOrDefault(comp.getRawMaterial().getCode(), 0.0);
-        int possible = (int) (available / needed);
+  // Com local, o plano usa só o estoque daquele local; sem, a soma de todos
+  public ProductionSuggestionResult getProductionSuggestion(PlanningMode mode, Duration timeBudget, Long location) {
+    if (location == null)
+      return getProductionSuggestion(mode, timeBudget);
+    locationService.requireExists(location);
+    return suggestionCache.get(mode, timeBudget, location,
+        () -> computeProductionSuggestion(mode, timeBudget, location));
+  }
 
-        if (possible < maxQuantity) {
-          maxQuantity = possible;
-        }
-      }
+  /**
+   * Plans every location with its own stock, in parallel, and adds up what
+   * each one can produce. Locations do not lend stock to each other, so the
+   * total may be lower than the pooled suggestion.
+   */
+  public ProductionSuggestionByLocationResponseDTO getProductionSuggestionByLocation(PlanningMode mode,
+      Duration timeBudget) {
+    List<LocationSnapshot> locations = snapshotProvider.byLocation();
+    List<BomSnapshot> snapshots = locations.stream().map(LocationSnapshot::snapshot).toList();
+    List<ProductionPlan> plans = metrics.compute()
+        .record(() -> planningEngine.planAll(snapshots, mode, timeBudget));
+
+    List<LocationProductionSuggestionDTO> perLocation = new ArrayList<>(locations.size());
+    int[] total = null;
+    for (int i = 0; i < locations.size(); i++) {
+      LocationSnapshot location = locations.get(i);
+      ProductionPlan plan = plans.get(i);
+      perLocation.add(new LocationProductionSuggestionDTO(location.locationCode(), location.locationName(),
+          plan.status().name(), toSuggestions(location.snapshot(), plan.quantities())));
 
-      if (maxQuantity == Integer.MAX_VALUE)
-        maxQuantity = 0;
+      // Todos os snapshots compartilham as receitas, então o índice de produto é o mesmo
+      if (total == null)
+        total = new int[plan.quantities().length];
+      for (int p = 0; p < total.length; p++)
+        total[p] += plan.quantities()[p];
+    }
+    List<ProductionSuggestionResponseDTO> totals = total == null
+        ? List.of()
+        : toSuggestions(snapshots.get(0), total);
+    return new ProductionSuggestionByLocationResponseDTO(perLocation, totals);
+  }
+
+  private ProductionSuggestionResult computeProductionSuggestion(PlanningMode mode, Duration timeBudget) {
+    BomSnapshot snapshot = snapshotProvider.current();
+    return metrics.compute().record(() -> toResult(snapshot, planningEngine.plan(snapshot, mode, timeBudget)));
+  }
 
-      if (maxQuantity > 0) {
-        // Tira do estoque virtual
-        for (ProductComposition comp : compositions) {
-          Long rmCode = comp.getRawMaterial().getCode();
-          double consumed = comp.getQuantityNeeded() * maxQuantity;
-          currentStock.put(rmCode, currentStock.get(rmCode) - consumed);
-        }
+  private ProductionSuggestionResult computeProductionSuggestion(PlanningMode mode, Duration timeBudget,
+      Long location) {
+    BomSnapshot snapshot = snapshotProvider.byLocation().stream()
+        .filter(s -> s.locationCode().equals(location))
+        .findFirst()
+        .orElseThrow(() -> new NotFoundException("Location not found"))
+        .snapshot();
+    // Passada completa: o estado incremental do motor acompanha só o plano da soma dos locais
+    return metrics.compute()
+        .record(() -> toResult(snapshot, planningEngine.planAll(List.of(snapshot), mode, timeBudget).get(0)));
+  }
+
+  private ProductionSuggestionResult toResult(BomSnapshot snapshot, ProductionPlan plan) {
+    return new ProductionSuggestionResult(toSuggestions(snapshot, plan.quantities()), plan.status(),
+        plan.optimalityGap());
+  }
 
+  private List<ProductionSuggestionResponseDTO> toSuggestions(BomSnapshot snapshot, int[] quantities) {
+    List<ProductionSuggestionResponseDTO> suggestions = new ArrayList<>();
+    for (int p = 0; p < quantities.length; p++) {
+      int quantity = quantities[p];
+      if (quantity > 0) {
+        BigDecimal price = snapshot.productPrice(p);
         suggestions.add(new ProductionSuggestionResponseDTO(
-            product.getCode(),
-            product.getName(),
-            product.getPrice(),
-            maxQuantity,
-            product.getPrice().multiply(BigDecimal.valueOf(maxQuantity))));
+            snapshot.productCode(p),
+            snapshot.productName(p),
+            price,
+            quantity,
+            price.multiply(BigDecimal.valueOf(quantity))));
       }
     }
-
     return suggestions;
   }
+
+  // Linhas [código, nome, preço] + composições já em DTO
+  static List<ProductResponseDTO> toResponses(List<Object[]> rows, List<ProductCompositionResponseDTO> compositions) {
+    Map<Long, List<ProductCompositionResponseDTO>> compositionsByProduct = compositions.stream()
+        .collect(Collectors.groupingBy(ProductCompositionResponseDTO::productCode));
+
+    return rows.stream()
+        .map(row -> toResponse(row, compositionsByProduct.getOrDefault((Long) row[0], List.of())))
+        .collect(Collectors.toList());
+  }
+
+  static ProductResponseDTO toResponse(Object[] row, List<ProductCompositionResponseDTO> compositions) {
+    return new ProductResponseDTO((Long) row[0], (String) row[1], (BigDecimal) row[2], compositions);
+  }
 }
\ No newline at end of file
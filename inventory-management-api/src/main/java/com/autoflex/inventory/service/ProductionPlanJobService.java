@@ -0,0 +1,260 @@
+package com.autoflex.inventory.service;
+
+import com.autoflex.inventory.dto.request.ProductionPlanRequestDTO;
+import com.autoflex.inventory.dto.response.ProductionPlanJobDTO;
+import com.autoflex.inventory.service.production.OptimalProductionPlanner;
+import com.autoflex.inventory.service.production.PlanningMode;
+import io.quarkus.arc.Arc;
+import io.quarkus.arc.ManagedContext;
+import io.quarkus.scheduler.Scheduled;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.BadRequestException;
+import jakarta.ws.rs.NotFoundException;
+import jakarta.ws.rs.ServiceUnavailableException;
+import jakarta.ws.rs.WebApplicationException;
+import jakarta.ws.rs.core.Response;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Production planning runs detached from the HTTP request. Jobs go to a small
+ * fixed pool with a bounded queue, so heavy planning never takes more than
+ * {@code workers} threads away from the CRUD endpoints; a full queue rejects
+ * new jobs with 503 instead of growing. Finished jobs keep their result for
+ * the configured TTL.
+ * <p>
+ * Jobs share the suggestion cache with the synchronous endpoint. Cancelling a
+ * running job discards its result, but the computation itself runs to the end
+ * (it is bounded by the time budget) and still warms that cache.
+ * <p>
+ * Jobs live in this node's memory only: with several instances, the load
+ * balancer must route every {@code /api/production-plans/{id}} request to the
+ * node that accepted the job, or the job is lost on restart and unknown (404)
+ * elsewhere.
+ */
+@ApplicationScoped
+public class ProductionPlanJobService {
+
+    private static final Logger LOG = Logger.getLogger(ProductionPlanJobService.class);
+
+    public enum Status {
+        QUEUED,
+        RUNNING,
+        SUCCEEDED,
+        FAILED,
+        CANCELLED;
+
+        boolean finished() {
+            return this != QUEUED && this != RUNNING;
+        }
+    }
+
+    ProductService productService;
+    LocationService locationService;
+    OptimalProductionPlanner optimalPlanner;
+    Duration resultTtl;
+    Duration retryAfter;
+    ThreadPoolExecutor executor;
+
+    private final ConcurrentMap<String, Job> jobs = new ConcurrentHashMap<>();
+
+    ProductionPlanJobService() {
+    }
+
+    @Inject
+    public ProductionPlanJobService(ProductService productService, LocationService locationService,
+            OptimalProductionPlanner optimalPlanner,
+            @ConfigProperty(name = "inventory.plan-jobs.workers", defaultValue = "2") int workers,
+            @ConfigProperty(name = "inventory.plan-jobs.queue-size", defaultValue = "16") int queueSize,
+            @ConfigProperty(name = "inventory.plan-jobs.result-ttl", defaultValue = "10m") Duration resultTtl,
+            @ConfigProperty(name = "inventory.plan-jobs.retry-after", defaultValue = "5s") Duration retryAfter) {
+        this.productService = productService;
+        this.locationService = locationService;
+        this.optimalPlanner = optimalPlanner;
+        this.resultTtl = resultTtl;
+        this.retryAfter = retryAfter;
+        AtomicInteger threads = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueSize), r -> {
+                    Thread thread = new Thread(r, "production-plan-job-" + threads.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    public ProductionPlanJobDTO submit(ProductionPlanRequestDTO dto) {
+        PlanningMode mode = PlanningMode.from(dto == null ? null : dto.mode());
+        Duration timeBudget = timeBudget(dto == null ? null : dto.timeBudgetMs());
+        Long location = dto == null ? null : dto.location();
+        // Erros de entrada saem já no POST, não como job com falha
+        if (location != null)
+            locationService.requireExists(location);
+
+        Job job = new Job(UUID.randomUUID().toString(), mode, timeBudget, location);
+        jobs.put(job.id, job);
+        try {
+            job.future = executor.submit(() -> run(job));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.id);
+            throw new ServiceUnavailableException("Fila de planejamento cheia. Tente novamente em instantes.",
+                    Math.max(1L, retryAfter.toSeconds()));
+        }
+        return toDTO(job);
+    }
+
+    public ProductionPlanJobDTO get(String id) {
+        return toDTO(find(id));
+    }
+
+    /** Cancels a queued or running job; a queued one also frees its queue slot. */
+    public ProductionPlanJobDTO cancel(String id) {
+        Job job = find(id);
+        synchronized (job) {
+            if (job.status.finished())
+                throw new WebApplicationException("O job já terminou com status " + job.status + ".",
+                        Response.Status.CONFLICT);
+            job.finish(Status.CANCELLED);
+        }
+        // Sem interromper: o job em execução pode ser o líder do cálculo único no cache de sugestões,
+        // e a interrupção falharia todas as requisições que esperam pelo mesmo resultado
+        Future<?> future = job.future;
+        if (future != null) {
+            future.cancel(false);
+            executor.remove((Runnable) future);
+        }
+        return toDTO(job);
+    }
+
+    @Scheduled(every = "${inventory.plan-jobs.purge-interval}", concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
+    void scheduledPurge() {
+        purgeExpired(Instant.now());
+    }
+
+    /** Drops jobs finished more than the TTL before {@code now}. */
+    public int purgeExpired(Instant now) {
+        Instant limit = now.minus(resultTtl);
+        int before = jobs.size();
+        jobs.values().removeIf(job -> job.finishedAt != null && job.finishedAt.isBefore(limit));
+        return before - jobs.size();
+    }
+
+    private void run(Job job) {
+        synchronized (job) {
+            if (job.status != Status.QUEUED)
+                return;
+            job.status = Status.RUNNING;
+            job.startedAt = Instant.now();
+        }
+
+        ProductionSuggestionResult result = null;
+        String error = null;
+        // Fora de uma requisição HTTP: o EntityManager exige um contexto de requisição ativo
+        ManagedContext requestContext = Arc.container().requestContext();
+        requestContext.activate();
+        try {
+            result = productService.getProductionSuggestion(job.mode, job.timeBudget, job.location);
+        } catch (RuntimeException e) {
+            LOG.warnf(e, "Production plan job %s failed", job.id);
+            error = e.getMessage();
+        } finally {
+            requestContext.terminate();
+        }
+
+        synchronized (job) {
+            // Cancelado durante a execução: o resultado é descartado
+            if (job.status != Status.RUNNING)
+                return;
+            job.result = result;
+            job.error = error;
+            job.finish(result != null ? Status.SUCCEEDED : Status.FAILED);
+        }
+    }
+
+    private Job find(String id) {
+        Job job = jobs.get(id);
+        if (job == null)
+            throw new NotFoundException("Production plan job not found");
+        return job;
+    }
+
+    private ProductionPlanJobDTO toDTO(Job job) {
+        synchronized (job) {
+            ProductionSuggestionResult result = job.result;
+            Double gap = result == null || Double.isNaN(result.optimalityGap()) ? null : result.optimalityGap();
+            return new ProductionPlanJobDTO(job.id, job.status.name(), progress(job), job.mode.name(), job.location,
+                    job.submittedAt, job.startedAt, job.finishedAt,
+                    result == null ? null : result.status().name(), gap,
+                    result == null ? null : result.suggestions(), job.error);
+        }
+    }
+
+    // Só o modo optimal tem estimativa: ele roda até achar o ótimo ou esgotar o orçamento de tempo
+    private Integer progress(Job job) {
+        return switch (job.status) {
+            case QUEUED -> 0;
+            case SUCCEEDED -> 100;
+            case FAILED, CANCELLED -> null;
+            case RUNNING -> {
+                if (job.mode != PlanningMode.OPTIMAL)
+                    yield null;
+                long budget = optimalPlanner.effectiveBudget(job.timeBudget).toMillis();
+                long elapsed = Duration.between(job.startedAt, Instant.now()).toMillis();
+                yield budget <= 0 ? 99 : (int) Math.min(99L, elapsed * 100L / budget);
+            }
+        };
+    }
+
+    private static Duration timeBudget(Long timeBudgetMs) {
+        if (timeBudgetMs != null && timeBudgetMs <= 0)
+            throw new BadRequestException("O parâmetro timeBudgetMs deve ser positivo.");
+        return timeBudgetMs == null ? null : Duration.ofMillis(timeBudgetMs);
+    }
+
+    /** Mutable job state; guarded by the job's own monitor. */
+    private static final class Job {
+
+        final String id;
+        final PlanningMode mode;
+        final Duration timeBudget;
+        final Long location;
+        final Instant submittedAt = Instant.now();
+        volatile Future<?> future;
+        Status status = Status.QUEUED;
+        Instant startedAt;
+        // volatile: lido sem o monitor pela limpeza por TTL
+        volatile Instant finishedAt;
+        ProductionSuggestionResult result;
+        String error;
+
+        Job(String id, PlanningMode mode, Duration timeBudget, Long location) {
+            this.id = id;
+            this.mode = mode;
+            this.timeBudget = timeBudget;
+            this.location = location;
+        }
+
+        void finish(Status status) {
+            this.status = status;
+            this.finishedAt = Instant.now();
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.autoflex.inventory.service;
+
+import com.autoflex.inventory.service.production.PlanningMode;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * Production suggestions keyed by the persisted inventory version, so a write
+ * committed on any node makes the next read recompute. Concurrent misses for
+ * the same key wait on a single computation instead of each recomputing.
+ */
+@ApplicationScoped
+public class ProductionSuggestionCache {
+
+    static final int MAX_ENTRIES = 32;
+
+    @Inject
+    InventoryVersion inventoryVersion;
+
+    private final ConcurrentMap<Key, CompletableFuture<ProductionSuggestionResult>> entries = new ConcurrentHashMap<>();
+
+    // location nulo = soma de todos os locais
+    private record Key(long version, PlanningMode mode, Duration timeBudget, Long location) {
+    }
+
+    public ProductionSuggestionResult get(PlanningMode mode, Duration timeBudget,
+            Supplier<ProductionSuggestionResult> computation) {
+        return get(mode, timeBudget, null, computation);
+    }
+
+    public ProductionSuggestionResult get(PlanningMode mode, Duration timeBudget, Long location,
+            Supplier<ProductionSuggestionResult> computation) {
+        Key key = new Key(inventoryVersion.current(), mode, timeBudget, location);
+
+        CompletableFuture<ProductionSuggestionResult> entry = entries.get(key);
+        if (entry == null) {
+            CompletableFuture<ProductionSuggestionResult> mine = new CompletableFuture<>();
+            entry = entries.putIfAbsent(key, mine);
+            if (entry == null) {
+                evictBefore(key);
+                compute(key, mine, computation);
+                entry = mine;
+            }
+        }
+
+        try {
+            return entry.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause)
+                throw cause;
+            throw e;
+        }
+    }
+
+    private void compute(Key key, CompletableFuture<ProductionSuggestionResult> entry,
+            Supplier<ProductionSuggestionResult> computation) {
+        try {
+            entry.complete(computation.get());
+        } catch (RuntimeException | Error e) {
+            // Falhas não ficam em cache: a próxima chamada tenta de novo
+            entries.remove(key, entry);
+            entry.completeExceptionally(e);
+        }
+    }
+
+    private void evictBefore(Key key) {
+        entries.keySet().removeIf(k -> k.version < key.version);
+        if (entries.size() > MAX_ENTRIES)
+            entries.keySet().removeIf(k -> !k.equals(key));
+    }
+}
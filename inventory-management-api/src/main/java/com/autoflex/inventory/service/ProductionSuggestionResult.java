@@ -0,0 +1,12 @@
+package com.autoflex.inventory.service;
+
+import com.autoflex.inventory.dto.response.ProductionSuggestionResponseDTO;
+import com.autoflex.inventory.service.production.ProductionPlan;
+
+import java.util.List;
+
+public record ProductionSuggestionResult(
+        List<ProductionSuggestionResponseDTO> suggestions,
+        ProductionPlan.Status status,
+        double optimalityGap) {
+}
@@ -0,0 +1,198 @@
+package com.autoflex.inventory.service;
+
+import com.autoflex.inventory.dto.response.ProductionSuggestionDiffDTO;
+import com.autoflex.inventory.dto.response.ProductionSuggestionResponseDTO;
+import com.autoflex.inventory.dto.response.ProductionSuggestionSetDTO;
+import com.autoflex.inventory.service.production.PlanningMode;
+import io.quarkus.arc.Arc;
+import io.quarkus.arc.ManagedContext;
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.Uni;
+import io.smallrye.mutiny.operators.multi.processors.BroadcastProcessor;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.enterprise.event.TransactionPhase;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Pushes the greedy production suggestion to every stream subscriber. Writes
+ * are coalesced: the first change schedules one recomputation after the
+ * debounce interval, and changes arriving meanwhile ride along with it. Each
+ * result is computed once and broadcast; a subscriber gets the full set when
+ * it connects and diffs afterwards.
+ * <p>
+ * Local writes arrive as events, but writes committed by other nodes only
+ * show up in the persisted {@link InventoryVersion}. While anyone is
+ * subscribed, every debounce tick also reads that version and recomputes when
+ * it moved, which costs one version query per tick and node.
+ */
+@ApplicationScoped
+public class ProductionSuggestionStream {
+
+    private static final Logger LOG = Logger.getLogger(ProductionSuggestionStream.class);
+
+    public static final String SNAPSHOT_EVENT = "snapshot";
+    public static final String DIFF_EVENT = "diff";
+
+    /** One message of the stream: an SSE event name and its JSON payload. */
+    public record Event(String name, Object data) {
+    }
+
+    private record Published(long version, List<ProductionSuggestionResponseDTO> suggestions) {
+    }
+
+    private record Update(Published previous, Published current) {
+    }
+
+    ProductService productService;
+    InventoryVersion inventoryVersion;
+    Duration debounce;
+    ScheduledExecutorService executor;
+
+    private final BroadcastProcessor<Update> updates = BroadcastProcessor.create();
+    private final AtomicInteger subscribers = new AtomicInteger();
+    private final AtomicBoolean pending = new AtomicBoolean();
+    // Só a thread do executor escreve; leituras concorrentes veem sempre um par coerente
+    private volatile Published latest;
+    private volatile long checkedVersion = -1;
+
+    ProductionSuggestionStream() {
+    }
+
+    @Inject
+    public ProductionSuggestionStream(ProductService productService, InventoryVersion inventoryVersion,
+            @ConfigProperty(name = "inventory.suggestion.stream.debounce", defaultValue = "250ms") Duration debounce) {
+        this.productService = productService;
+        this.inventoryVersion = inventoryVersion;
+        this.debounce = debounce;
+        this.executor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "production-suggestion-stream");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long tick = debounce.toMillis();
+        this.executor.scheduleWithFixedDelay(this::poll, tick, tick, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+        updates.onComplete();
+    }
+
+    public Multi<Event> subscribe() {
+        return Multi.createFrom().deferred(() -> {
+            AtomicLong sent = new AtomicLong(-1);
+            Multi<Update> initial = Uni.createFrom().item(this::refresh)
+                    .runSubscriptionOn(executor)
+                    .map(current -> new Update(null, current))
+                    .toMulti();
+            // Sem demanda do cliente a atualização é descartada; a próxima chega como snapshot
+            Multi<Update> changes = updates.onOverflow().drop();
+            return Multi.createBy().merging().streams(initial, changes)
+                    .onItem().transformToIterable(update -> toEvents(update, sent));
+        })
+                .onSubscription().invoke(subscribers::incrementAndGet)
+                .onTermination().invoke(subscribers::decrementAndGet);
+    }
+
+    void onInventoryChanged(@Observes(during = TransactionPhase.AFTER_SUCCESS) InventoryChangedEvent event) {
+        // Sem assinantes não há o que empurrar; quem conectar depois recalcula na hora
+        if (subscribers.get() == 0)
+            return;
+        if (pending.compareAndSet(false, true))
+            executor.schedule(this::recompute, debounce.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    private void poll() {
+        // Escrita local já agendou o recálculo; a versão persistida cobre as escritas de outros nós
+        if (subscribers.get() == 0 || pending.get())
+            return;
+        recompute();
+    }
+
+    private void recompute() {
+        pending.set(false);
+        try {
+            refresh();
+        } catch (RuntimeException e) {
+            LOG.warn("Production suggestion stream refresh failed", e);
+        }
+    }
+
+    /** Runs on the executor thread only. */
+    private Published refresh() {
+        // Fora de uma requisição HTTP: o EntityManager exige um contexto de requisição ativo
+        ManagedContext requestContext = Arc.container().requestContext();
+        requestContext.activate();
+        try {
+            return refreshInContext();
+        } finally {
+            requestContext.terminate();
+        }
+    }
+
+    private Published refreshInContext() {
+        long version = inventoryVersion.current();
+        Published previous = latest;
+        if (previous != null && checkedVersion == version)
+            return previous;
+
+        List<ProductionSuggestionResponseDTO> suggestions =
+                productService.getProductionSuggestion(PlanningMode.GREEDY, null).suggestions();
+        checkedVersion = version;
+        if (previous != null && previous.suggestions.equals(suggestions))
+            return previous;
+
+        Published current = new Published(version, suggestions);
+        latest = current;
+        updates.onNext(new Update(previous, current));
+        return current;
+    }
+
+    /**
+     * Diff when the subscriber already has the previous set; full set when it
+     * missed an update; nothing when it is already at this version.
+     */
+    private static List<Event> toEvents(Update update, AtomicLong sent) {
+        Published current = update.current;
+        synchronized (sent) {
+            if (current.version <= sent.get())
+                return List.of();
+            long base = sent.getAndSet(current.version);
+            if (update.previous != null && update.previous.version == base)
+                return List.of(new Event(DIFF_EVENT, diff(update.previous, current)));
+            return List.of(new Event(SNAPSHOT_EVENT,
+                    new ProductionSuggestionSetDTO(current.version, current.suggestions)));
+        }
+    }
+
+    private static ProductionSuggestionDiffDTO diff(Published previous, Published current) {
+        Map<Long, ProductionSuggestionResponseDTO> before = new LinkedHashMap<>();
+        for (ProductionSuggestionResponseDTO s : previous.suggestions)
+            before.put(s.productCode(), s);
+
+        List<ProductionSuggestionResponseDTO> changed = new ArrayList<>();
+        for (ProductionSuggestionResponseDTO s : current.suggestions) {
+            if (!s.equals(before.remove(s.productCode())))
+                changed.add(s);
+        }
+        return new ProductionSuggestionDiffDTO(current.version, previous.version, changed,
+                new ArrayList<>(before.keySet()));
+    }
+}
@@ -1,20 +1,37 @@
 package com.autoflex.inventory.service;
 
 import com.autoflex.inventory.dto.request.RawMaterialRequestDTO;
+import com.autoflex.inventory.dto.request.StockMovementRequestDTO;
 import com.autoflex.inventory.dto.response.RawMaterialResponseDTO;
+import com.autoflex.inventory.dto.response.RawMaterialUsageDTO;
 import com.autoflex.inventory.mapper.RawMaterialMapper;
 import com.autoflex.inventory.model.RawMaterial;
+import com.autoflex.inventory.model.StockMovement;
+import com.autoflex.inventory.model.StockMovementReason;
 import com.autoflex.inventory.repository.ProductCompositionRepository;
 import com.autoflex.inventory.repository.RawMaterialRepository;
+import com.autoflex.inventory.service.stock.StockLedger;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Event;
 import jakarta.inject.Inject;
 import jakarta.transaction.Transactional;
+import jakarta.ws.rs.BadRequestException;
 import jakarta.ws.rs.NotFoundException;
 import jakarta.ws.rs.WebApplicationException;
+import jakarta.ws.rs.core.EntityTag;
 import jakarta.ws.rs.core.Response;
 
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.SortedSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
 
 @ApplicationScoped
 public class RawMaterialService {
@@ -25,38 +42,195 @@ public class RawMaterialService {
     RawMaterialMapper mapper;
     @Inject
     ProductCompositionRepository compositionRepository;
+    @Inject
+    StockLedger stockLedger;
+    @Inject
+    Event<InventoryChangedEvent> inventoryChanged;
+    @Inject
+    Event<NamesChangedEvent> namesChanged;
+    @Inject
+    InventoryVersion inventoryVersion;
+    @Inject
+    LocationService locationService;
 
     public List<RawMaterialResponseDTO> listAll() {
-        return repository.listAll().stream()
-                .map(mapper::toResponse)
-                .collect(Collectors.toList());
+        return listAll(null);
+    }
+
+    // Sem local, o saldo é a soma de todos os locais
+    public List<RawMaterialResponseDTO> listAll(Long location) {
+        if (location != null)
+            locationService.requireExists(location);
+        // Projeção direta no DTO: insumos e saldos numa consulta, sem entidades no contexto de persistência
+        return repository.listResponses(location);
+    }
+
+    // Qualquer escrita (inclusive de saldo) muda a listagem, então o ETag segue a versão global
+    public EntityTag listTag() {
+        return new EntityTag("raw-materials-" + inventoryVersion.current());
+    }
+
+    // Versão do cadastro + saldo atual: o saldo muda sem alterar a linha de raw_materials
+    public EntityTag tag(Long code) {
+        return tag(code, null);
+    }
+
+    public EntityTag tag(Long code, Long location) {
+        Long version = repository.findVersion(code)
+                .orElseThrow(() -> new NotFoundException("Raw Material not found"));
+        if (location != null)
+            locationService.requireExists(location);
+        double stock = stockLedger.stockLevels(List.of(code), location).getOrDefault(code, 0.0);
+        return new EntityTag("raw-material-" + code + "-" + version + "-" + Long.toHexString(Double.doubleToLongBits(stock)));
     }
 
     public RawMaterialResponseDTO getByCode(Long code) {
-        RawMaterial entity = repository.findById(code);
-        if (entity == null)
-            throw new NotFoundException("Raw Material not found");
-        return mapper.toResponse(entity);
+        return getByCode(code, null, null);
+    }
+
+    // Com "at", o saldo é o do instante pedido, reconstruído a partir do livro de movimentações
+    public RawMaterialResponseDTO getByCode(Long code, Instant at, Long location) {
+        if (at == null) {
+            RawMaterialResponseDTO current = repository.findResponse(code, location)
+                    .orElseThrow(() -> new NotFoundException("Raw Material not found"));
+            if (location != null)
+                locationService.requireExists(location);
+            return current;
+        }
+        String name = repository.findName(code)
+                .orElseThrow(() -> new NotFoundException("Raw Material not found"));
+        if (location != null)
+            locationService.requireExists(location);
+        return new RawMaterialResponseDTO(code, name, stockLedger.stockAt(code, location, at));
     }
 
     @Transactional
     public RawMaterialResponseDTO create(RawMaterialRequestDTO dto) {
         RawMaterial entity = mapper.toEntity(dto);
         repository.persist(entity);
+        if (entity.getStockQuantity() > 0) {
+            stockLedger.append(List.of(StockMovement.of(entity.getCode(), locationService.mainLocationCode(),
+                    entity.getStockQuantity(), StockMovementReason.INITIAL, Instant.now())));
+        }
+        inventoryChanged.fire(InventoryChangedEvent.catalog());
+        namesChanged.fire(NamesChangedEvent.rawMaterials());
         return mapper.toResponse(entity);
     }
 
     @Transactional
     public RawMaterialResponseDTO update(Long code, RawMaterialRequestDTO dto) {
+        return update(code, dto, null);
+    }
+
+    /**
+     * Updates the name and sets the stock at {@code location}. Without a
+     * location the quantity is the total across locations, and the difference
+     * is booked on the main location.
+     */
+    @Transactional
+    public RawMaterialResponseDTO update(Long code, RawMaterialRequestDTO dto, Long location) {
         RawMaterial entity = repository.findById(code);
         if (entity == null)
             throw new NotFoundException("Raw Material not found");
+        if (dto.stockQuantity() == null || dto.stockQuantity() < 0)
+            throw new BadRequestException("A quantidade em estoque não pode ser negativa.");
+        Long target = locationService.resolve(location);
 
+        // O saldo informado vira um ajuste com a diferença; a trava evita calcular sobre um saldo desatualizado
+        SortedSet<Long> codes = new TreeSet<>(Set.of(code));
+        double current = location == null
+                ? stockLedger.lockTotal(code, target)
+                : stockLedger.lockStock(codes, target).getOrDefault(code, 0.0);
+        double delta = dto.stockQuantity() - current;
+        if (location == null && delta < 0
+                && stockLedger.stockLevels(codes, target).getOrDefault(code, 0.0) + delta < 0) {
+            throw new WebApplicationException(
+                    "O saldo do local principal não cobre a redução; informe o local do ajuste.",
+                    Response.Status.CONFLICT);
+        }
+        if (delta != 0) {
+            stockLedger.append(List.of(StockMovement.of(code, target, delta, StockMovementReason.ADJUSTMENT, Instant.now())));
+        }
+
+        // Renomear muda a listagem de produtos (nome do insumo nas receitas), então conta como catálogo
+        boolean renamed = !entity.getName().equals(dto.name());
         entity.setName(dto.name());
         entity.setStockQuantity(dto.stockQuantity());
+        inventoryChanged.fire(renamed ? InventoryChangedEvent.catalog() : InventoryChangedEvent.stock());
+        if (renamed)
+            namesChanged.fire(NamesChangedEvent.rawMaterials());
         return mapper.toResponse(entity);
     }
 
+    /**
+     * Appends a batch of stock movements. Receipts are plain inserts; only
+     * materials whose net change in the batch is negative at a location are
+     * locked there, so their balance can be checked before the batch is
+     * written.
+     */
+    @Transactional
+    public void registerMovements(List<StockMovementRequestDTO> movements) {
+        if (movements == null || movements.isEmpty())
+            throw new BadRequestException("Informe ao menos uma movimentação.");
+
+        // Saldo líquido do lote por local e matéria-prima
+        Map<Long, Long> locations = new HashMap<>();
+        SortedMap<Long, SortedMap<Long, Double>> net = new TreeMap<>();
+        Set<Long> codes = new HashSet<>();
+        for (StockMovementRequestDTO movement : movements) {
+            if (movement.rawMaterialCode() == null || movement.quantity() == null || movement.quantity() == 0)
+                throw new BadRequestException("Cada movimentação precisa de rawMaterialCode e de uma quantity diferente de zero.");
+            Long location = locations.computeIfAbsent(movement.locationCode(), locationService::resolve);
+            net.computeIfAbsent(location, l -> new TreeMap<>())
+                    .merge(movement.rawMaterialCode(), movement.quantity(), Double::sum);
+            codes.add(movement.rawMaterialCode());
+        }
+
+        Set<Long> missing = new HashSet<>(codes);
+        repository.findExistingCodes(codes).forEach(missing::remove);
+        if (!missing.isEmpty())
+            throw new NotFoundException("Raw Material not found");
+
+        // Só as matérias-primas com saída líquida em algum local são travadas e conferidas, local a local em ordem
+        for (Map.Entry<Long, SortedMap<Long, Double>> entry : net.entrySet()) {
+            SortedSet<Long> taken = new TreeSet<>();
+            entry.getValue().forEach((code, quantity) -> {
+                if (quantity < 0)
+                    taken.add(code);
+            });
+            if (taken.isEmpty())
+                continue;
+            Map<Long, Double> stock = stockLedger.lockStock(taken, entry.getKey());
+            for (Long code : taken) {
+                if (stock.getOrDefault(code, 0.0) + entry.getValue().get(code) < 0) {
+                    throw new WebApplicationException(
+                            "Estoque insuficiente da matéria-prima " + code + ".",
+                            Response.Status.CONFLICT);
+                }
+            }
+        }
+
+        Instant now = Instant.now();
+        List<StockMovement> entries = new ArrayList<>(movements.size());
+        for (StockMovementRequestDTO movement : movements) {
+            StockMovementReason reason = movement.quantity() > 0 ? StockMovementReason.RECEIPT : StockMovementReason.ADJUSTMENT;
+            entries.add(StockMovement.of(movement.rawMaterialCode(), locations.get(movement.locationCode()),
+                    movement.quantity(), reason, now));
+        }
+        stockLedger.append(entries);
+        inventoryChanged.fire(InventoryChangedEvent.stock());
+    }
+
+    public List<RawMaterialUsageDTO> whereUsed(Long code, Long after, Integer limit) {
+        int pageSize = limit == null ? ProductService.DEFAULT_PAGE_SIZE : limit;
+        if (pageSize < 1 || pageSize > ProductService.MAX_PAGE_SIZE)
+            throw new BadRequestException("O parâmetro limit deve estar entre 1 e " + ProductService.MAX_PAGE_SIZE + ".");
+        // Só a existência importa: consulta a versão em vez de carregar a entidade
+        if (repository.findVersion(code).isEmpty())
+            throw new NotFoundException("Raw Material not found");
+        return compositionRepository.findUsages(code, after, pageSize);
+    }
+
     @Transactional
     public void delete(Long code) {
         RawMaterial entity = repository.findById(code);
@@ -70,6 +244,9 @@ public class RawMaterialService {
                     Response.Status.CONFLICT);
         }
 
+        stockLedger.discard(code);
         repository.deleteById(code);
+        inventoryChanged.fire(InventoryChangedEvent.catalog());
+        namesChanged.fire(NamesChangedEvent.rawMaterials());
     }
-}
\ No newline at end of file
+}
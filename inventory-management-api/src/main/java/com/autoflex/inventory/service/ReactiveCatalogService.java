@@ -0,0 +1,91 @@
+package com.autoflex.inventory.service;
+
+import com.autoflex.inventory.dto.response.ProductResponseDTO;
+import com.autoflex.inventory.dto.response.RawMaterialResponseDTO;
+import com.autoflex.inventory.repository.reactive.ReactiveLocationRepository;
+import com.autoflex.inventory.repository.reactive.ReactiveProductCompositionRepository;
+import com.autoflex.inventory.repository.reactive.ReactiveProductRepository;
+import com.autoflex.inventory.repository.reactive.ReactiveRawMaterialRepository;
+import io.quarkus.hibernate.reactive.panache.Panache;
+import io.quarkus.hibernate.reactive.panache.common.WithSession;
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.Uni;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.BadRequestException;
+import jakarta.ws.rs.NotFoundException;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Read side of the catalog on Hibernate Reactive: the same projections,
+ * DTOs and errors as {@link ProductService} and {@link RawMaterialService},
+ * without blocking a thread on JDBC. Writes stay on the blocking services.
+ * Only used when the reactive datasource is enabled
+ * ({@code quarkus.datasource.reactive=true}).
+ */
+@ApplicationScoped
+public class ReactiveCatalogService {
+
+    @Inject
+    ReactiveProductRepository productRepository;
+    @Inject
+    ReactiveProductCompositionRepository compositionRepository;
+    @Inject
+    ReactiveRawMaterialRepository rawMaterialRepository;
+    @Inject
+    ReactiveLocationRepository locationRepository;
+
+    @WithSession
+    public Uni<List<ProductResponseDTO>> listProducts(Long after, Integer limit) {
+        if (after == null && limit == null) {
+            return productRepository.listRowsOrderedByCode()
+                    .chain(rows -> compositionRepository.listAllResponses()
+                            .map(compositions -> ProductService.toResponses(rows, compositions)));
+        }
+
+        int pageSize = limit == null ? ProductService.DEFAULT_PAGE_SIZE : limit;
+        if (pageSize < 1 || pageSize > ProductService.MAX_PAGE_SIZE)
+            return Uni.createFrom().failure(new BadRequestException(
+                    "O parâmetro limit deve estar entre 1 e " + ProductService.MAX_PAGE_SIZE + "."));
+
+        return productRepository.listRowsPageAfter(after, pageSize)
+                .chain(page -> compositionRepository
+                        .findResponsesByProductCodes(page.stream().map(row -> (Long) row[0]).collect(Collectors.toList()))
+                        .map(compositions -> ProductService.toResponses(page, compositions)));
+    }
+
+    @WithSession
+    public Uni<ProductResponseDTO> getProduct(Long code) {
+        return productRepository.findRow(code)
+                .onItem().ifNull().failWith(() -> new NotFoundException("Product not found"))
+                .chain(row -> compositionRepository.findResponsesByProductId(code)
+                        .map(compositions -> ProductService.toResponse(row, compositions)));
+    }
+
+    // Sem local, o saldo é a soma de todos os locais
+    public Multi<RawMaterialResponseDTO> listRawMaterials(Long location) {
+        return Panache.withSession(() -> requireLocation(location)
+                        .chain(() -> rawMaterialRepository.listResponses(location)))
+                .onItem().transformToMulti(list -> Multi.createFrom().iterable(list));
+    }
+
+    @WithSession
+    public Uni<RawMaterialResponseDTO> getRawMaterial(Long code, Long location) {
+        return rawMaterialRepository.findResponse(code, location)
+                .onItem().ifNull().failWith(() -> new NotFoundException("Raw Material not found"))
+                .call(() -> requireLocation(location));
+    }
+
+    private Uni<Void> requireLocation(Long location) {
+        if (location == null)
+            return Uni.createFrom().voidItem();
+        return locationRepository.exists(location)
+                .invoke(exists -> {
+                    if (!exists)
+                        throw new NotFoundException("Location not found");
+                })
+                .replaceWithVoid();
+    }
+}
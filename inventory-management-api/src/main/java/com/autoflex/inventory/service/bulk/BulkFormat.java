@@ -0,0 +1,43 @@
+package com.autoflex.inventory.service.bulk;
+
+import jakarta.ws.rs.core.MediaType;
+
+import java.util.List;
+
+public enum BulkFormat {
+    /** JSON array or newline-delimited JSON objects. */
+    JSON,
+    /** CSV with a header row. */
+    CSV;
+
+    public static final String NDJSON_TYPE = "application/x-ndjson";
+    public static final String CSV_TYPE = "text/csv";
+
+    private static final MediaType CSV_MEDIA_TYPE = MediaType.valueOf(CSV_TYPE);
+    private static final MediaType NDJSON_MEDIA_TYPE = MediaType.valueOf(NDJSON_TYPE);
+
+    public static BulkFormat of(MediaType mediaType) {
+        return mediaType != null && mediaType.isCompatible(CSV_MEDIA_TYPE) ? CSV : JSON;
+    }
+
+    // Formato de saída: o primeiro aceito pelo cliente (em ordem de preferência); NDJSON por padrão
+    public static BulkFormat accepted(List<MediaType> acceptable) {
+        for (MediaType type : acceptable) {
+            if (type.isWildcardType())
+                return JSON;
+            if (type.isCompatible(CSV_MEDIA_TYPE))
+                return CSV;
+            if (type.isCompatible(NDJSON_MEDIA_TYPE))
+                return JSON;
+        }
+        return JSON;
+    }
+
+    public MediaType exportType() {
+        return this == CSV ? CSV_MEDIA_TYPE : NDJSON_MEDIA_TYPE;
+    }
+
+    public String extension() {
+        return this == CSV ? "csv" : "ndjson";
+    }
+}
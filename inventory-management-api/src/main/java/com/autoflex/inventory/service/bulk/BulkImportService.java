@@ -0,0 +1,149 @@
+package com.autoflex.inventory.service.bulk;
+
+import com.autoflex.inventory.dto.request.ProductCompositionRequestDTO;
+import com.autoflex.inventory.dto.request.ProductRequestDTO;
+import com.autoflex.inventory.dto.request.RawMaterialRequestDTO;
+import com.autoflex.inventory.dto.response.BulkImportErrorDTO;
+import com.autoflex.inventory.dto.response.BulkImportResponseDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Bulk import of raw materials and products. Rows are streamed from the
+ * body, validated one by one and written in chunks of
+ * {@code inventory.bulk.chunk-size}, each in its own transaction: a failing
+ * chunk does not undo the ones already committed.
+ */
+@ApplicationScoped
+public class BulkImportService {
+
+    private static final Logger LOG = Logger.getLogger(BulkImportService.class);
+
+    @Inject
+    BulkImportWriter writer;
+    @Inject
+    ObjectMapper objectMapper;
+
+    @ConfigProperty(name = "inventory.bulk.chunk-size", defaultValue = "1000")
+    int chunkSize;
+    @ConfigProperty(name = "inventory.bulk.max-reported-errors", defaultValue = "1000")
+    int maxReportedErrors;
+
+    public BulkImportResponseDTO importRawMaterials(InputStream body, BulkFormat format) {
+        return importRows(
+                () -> BulkRowReader.open(objectMapper, format, body, RawMaterialRequestDTO.class, Function.identity()),
+                BulkImportService::validateRawMaterial,
+                writer::writeRawMaterials);
+    }
+
+    public BulkImportResponseDTO importProducts(InputStream body, BulkFormat format) {
+        Supplier<BulkRowReader<?, ProductRequestDTO>> reader = format == BulkFormat.CSV
+                ? () -> BulkRowReader.open(objectMapper, format, body, ProductCsvRow.class, ProductCsvRow::toRequest)
+                : () -> BulkRowReader.open(objectMapper, format, body, ProductRequestDTO.class, Function.identity());
+        return importRows(reader, BulkImportService::validateProduct, writer::writeProducts);
+    }
+
+    private <T> BulkImportResponseDTO importRows(Supplier<BulkRowReader<?, T>> opener, Function<T, String> validator,
+            Function<List<BulkRow<T>>, List<BulkImportErrorDTO>> chunkWriter) {
+        Report report = new Report(maxReportedErrors);
+        List<BulkRow<T>> chunk = new ArrayList<>(chunkSize);
+        try (BulkRowReader<?, T> reader = opener.get()) {
+            BulkRow<T> row;
+            while ((row = reader.next()) != null) {
+                report.received++;
+                String error = row.error() != null ? row.error()
+                        : row.value() == null ? "Linha vazia." : validator.apply(row.value());
+                if (error != null) {
+                    report.fail(row.number(), error);
+                    continue;
+                }
+                chunk.add(row);
+                if (chunk.size() == chunkSize) {
+                    write(chunk, chunkWriter, report);
+                    chunk = new ArrayList<>(chunkSize);
+                }
+            }
+        } catch (BulkRowReader.MalformedInputException e) {
+            report.fail(e.row, "Conteúdo malformado a partir desta linha; o restante foi ignorado.");
+        }
+        write(chunk, chunkWriter, report);
+        return report.toResponse();
+    }
+
+    private static <T> void write(List<BulkRow<T>> chunk,
+            Function<List<BulkRow<T>>, List<BulkImportErrorDTO>> chunkWriter, Report report) {
+        if (chunk.isEmpty())
+            return;
+        try {
+            List<BulkImportErrorDTO> errors = chunkWriter.apply(chunk);
+            report.imported += chunk.size() - errors.size();
+            errors.forEach(e -> report.fail(e.row(), e.message()));
+        } catch (RuntimeException e) {
+            LOG.warnf(e, "Bulk import chunk of rows %d-%d rolled back",
+                    chunk.get(0).number(), chunk.get(chunk.size() - 1).number());
+            for (BulkRow<T> row : chunk)
+                report.fail(row.number(), "Falha ao gravar o lote desta linha; nenhuma linha do lote foi importada.");
+        }
+    }
+
+    static String validateRawMaterial(RawMaterialRequestDTO dto) {
+        if (dto.name() == null || dto.name().isBlank())
+            return "O nome é obrigatório.";
+        if (dto.stockQuantity() == null)
+            return "A quantidade em estoque é obrigatória.";
+        if (dto.stockQuantity() < 0)
+            return "A quantidade em estoque não pode ser negativa.";
+        return null;
+    }
+
+    static String validateProduct(ProductRequestDTO dto) {
+        if (dto.name() == null || dto.name().isBlank())
+            return "O nome é obrigatório.";
+        if (dto.price() == null || dto.price().compareTo(BigDecimal.ZERO) <= 0)
+            return "O preço deve ser maior que zero.";
+        if (dto.compositions() == null || dto.compositions().isEmpty())
+            return "O produto deve ter no mínimo uma matéria-prima na receita.";
+        for (ProductCompositionRequestDTO comp : dto.compositions()) {
+            if (comp == null || comp.rawMaterialCode() == null)
+                return "Informe o código da matéria-prima em todas as composições.";
+            if (comp.quantityNeeded() == null || comp.quantityNeeded() <= 0)
+                return "A quantidade necessária deve ser maior que zero.";
+        }
+        return null;
+    }
+
+    private static final class Report {
+
+        private final int maxErrors;
+        private final List<BulkImportErrorDTO> errors = new ArrayList<>();
+        int received;
+        int imported;
+        int failed;
+
+        Report(int maxErrors) {
+            this.maxErrors = maxErrors;
+        }
+
+        void fail(int row, String message) {
+            failed++;
+            if (errors.size() < maxErrors)
+                errors.add(new BulkImportErrorDTO(row, message));
+        }
+
+        BulkImportResponseDTO toResponse() {
+            errors.sort(Comparator.comparingInt(BulkImportErrorDTO::row));
+            return new BulkImportResponseDTO(received, imported, failed, errors);
+        }
+    }
+}
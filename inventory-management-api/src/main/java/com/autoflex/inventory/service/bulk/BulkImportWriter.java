@@ -0,0 +1,148 @@
+package com.autoflex.inventory.service.bulk;
+
+import com.autoflex.inventory.dto.request.ProductCompositionRequestDTO;
+import com.autoflex.inventory.dto.request.ProductRequestDTO;
+import com.autoflex.inventory.dto.request.RawMaterialRequestDTO;
+import com.autoflex.inventory.dto.response.BulkImportErrorDTO;
+import com.autoflex.inventory.mapper.ProductMapper;
+import com.autoflex.inventory.mapper.RawMaterialMapper;
+import com.autoflex.inventory.model.Product;
+import com.autoflex.inventory.model.ProductComposition;
+import com.autoflex.inventory.model.RawMaterial;
+import com.autoflex.inventory.model.StockMovement;
+import com.autoflex.inventory.model.StockMovementReason;
+import com.autoflex.inventory.repository.RawMaterialRepository;
+import com.autoflex.inventory.service.InventoryChangedEvent;
+import com.autoflex.inventory.service.LocationService;
+import com.autoflex.inventory.service.NamesChangedEvent;
+import com.autoflex.inventory.service.stock.StockLedger;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Event;
+import jakarta.inject.Inject;
+import jakarta.transaction.Transactional;
+import org.hibernate.StatelessSession;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Writes one chunk of an import per transaction. Rows that clash with the
+ * database (duplicate name, unknown raw material) are skipped and reported;
+ * the others go through a {@link StatelessSession}, which inserts in JDBC
+ * batches without keeping the entities in a persistence context.
+ */
+@ApplicationScoped
+public class BulkImportWriter {
+
+    // Mantém cada IN abaixo do limite de parâmetros do driver
+    private static final int IN_CLAUSE_SIZE = 1000;
+
+    @Inject
+    RawMaterialRepository rawMaterialRepository;
+    @Inject
+    RawMaterialMapper rawMaterialMapper;
+    @Inject
+    ProductMapper productMapper;
+    @Inject
+    StockLedger stockLedger;
+    @Inject
+    LocationService locationService;
+    @Inject
+    StatelessSession statelessSession;
+    @Inject
+    Event<InventoryChangedEvent> inventoryChanged;
+    @Inject
+    Event<NamesChangedEvent> namesChanged;
+
+    @Transactional(Transactional.TxType.REQUIRES_NEW)
+    public List<BulkImportErrorDTO> writeRawMaterials(List<BulkRow<RawMaterialRequestDTO>> rows) {
+        Set<String> names = new HashSet<>();
+        for (BulkRow<RawMaterialRequestDTO> row : rows)
+            names.add(row.value().name());
+        Set<String> taken = new HashSet<>();
+        for (List<String> slice : slices(new ArrayList<>(names)))
+            taken.addAll(rawMaterialRepository.findExistingNames(slice));
+
+        List<BulkImportErrorDTO> errors = new ArrayList<>();
+        List<RawMaterial> entities = new ArrayList<>(rows.size());
+        for (BulkRow<RawMaterialRequestDTO> row : rows) {
+            if (!taken.add(row.value().name())) {
+                errors.add(new BulkImportErrorDTO(row.number(),
+                        "Já existe uma matéria-prima com o nome '" + row.value().name() + "'."));
+                continue;
+            }
+            entities.add(rawMaterialMapper.toEntity(row.value()));
+        }
+
+        if (!entities.isEmpty()) {
+            statelessSession.insertMultiple(entities);
+            // Saldo inicial como primeiro lançamento do livro, no local principal (os códigos já vieram da sequência)
+            Instant now = Instant.now();
+            Long location = locationService.mainLocationCode();
+            List<StockMovement> movements = new ArrayList<>(entities.size());
+            for (RawMaterial rm : entities)
+                if (rm.getStockQuantity() > 0)
+                    movements.add(StockMovement.of(rm.getCode(), location, rm.getStockQuantity(),
+                            StockMovementReason.INITIAL, now));
+            stockLedger.append(movements);
+            inventoryChanged.fire(InventoryChangedEvent.catalog());
+            namesChanged.fire(NamesChangedEvent.rawMaterials());
+        }
+        return errors;
+    }
+
+    @Transactional(Transactional.TxType.REQUIRES_NEW)
+    public List<BulkImportErrorDTO> writeProducts(List<BulkRow<ProductRequestDTO>> rows) {
+        Set<Long> codes = new HashSet<>();
+        for (BulkRow<ProductRequestDTO> row : rows)
+            for (ProductCompositionRequestDTO comp : row.value().compositions())
+                codes.add(comp.rawMaterialCode());
+        // Carrega os insumos citados (um IN por fatia): as composições precisam de instâncias já gravadas,
+        // com versão, para o StatelessSession resolver a chave estrangeira
+        Map<Long, RawMaterial> known = new HashMap<>();
+        for (List<Long> slice : slices(new ArrayList<>(codes)))
+            for (RawMaterial rm : rawMaterialRepository.findByCodes(slice))
+                known.put(rm.getCode(), rm);
+
+        List<BulkImportErrorDTO> errors = new ArrayList<>();
+        List<Product> products = new ArrayList<>(rows.size());
+        List<ProductComposition> compositions = new ArrayList<>();
+        for (BulkRow<ProductRequestDTO> row : rows) {
+            Long missing = row.value().compositions().stream()
+                    .map(ProductCompositionRequestDTO::rawMaterialCode)
+                    .filter(code -> !known.containsKey(code))
+                    .findFirst()
+                    .orElse(null);
+            if (missing != null) {
+                errors.add(new BulkImportErrorDTO(row.number(), "Matéria-prima não encontrada: " + missing + "."));
+                continue;
+            }
+
+            Product product = productMapper.toEntity(row.value());
+            products.add(product);
+            for (ProductCompositionRequestDTO comp : row.value().compositions())
+                compositions.add(new ProductComposition(null, product, known.get(comp.rawMaterialCode()), comp.quantityNeeded()));
+        }
+
+        if (!products.isEmpty()) {
+            // Produtos antes das composições: cada tabela vira uma sequência contínua de lotes
+            statelessSession.insertMultiple(products);
+            statelessSession.insertMultiple(compositions);
+            inventoryChanged.fire(InventoryChangedEvent.catalog());
+            namesChanged.fire(NamesChangedEvent.products());
+        }
+        return errors;
+    }
+
+    private static <T> List<List<T>> slices(List<T> values) {
+        List<List<T>> slices = new ArrayList<>();
+        for (int from = 0; from < values.size(); from += IN_CLAUSE_SIZE)
+            slices.add(values.subList(from, Math.min(values.size(), from + IN_CLAUSE_SIZE)));
+        return slices;
+    }
+}
@@ -0,0 +1,16 @@
+package com.autoflex.inventory.service.bulk;
+
+/**
+ * One row of an import, numbered from 1 in reading order (the CSV header is
+ * not counted). {@code error} is set when the row could not be read.
+ */
+public record BulkRow<T>(int number, T value, String error) {
+
+    static <T> BulkRow<T> of(int number, T value) {
+        return new BulkRow<>(number, value, null);
+    }
+
+    static <T> BulkRow<T> invalid(int number, String error) {
+        return new BulkRow<>(number, null, error);
+    }
+}
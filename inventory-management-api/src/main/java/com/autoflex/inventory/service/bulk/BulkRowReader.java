@@ -0,0 +1,103 @@
+package com.autoflex.inventory.service.bulk;
+
+import com.fasterxml.jackson.core.exc.StreamReadException;
+import com.fasterxml.jackson.databind.DatabindException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.function.Function;
+
+/**
+ * Reads an import body one row at a time, so the payload is never held in
+ * memory as a whole. Rows with bad values become {@link BulkRow#invalid}
+ * rows; a syntax error ends the stream with {@link MalformedInputException}.
+ */
+final class BulkRowReader<S, T> implements AutoCloseable {
+
+    private static final CsvMapper CSV = CsvMapper.builder()
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+            .build();
+
+    private final MappingIterator<S> iterator;
+    private final Function<S, T> converter;
+    private int row;
+
+    private BulkRowReader(MappingIterator<S> iterator, Function<S, T> converter) {
+        this.iterator = iterator;
+        this.converter = converter;
+    }
+
+    static <S, T> BulkRowReader<S, T> open(ObjectMapper json, BulkFormat format, InputStream body,
+            Class<S> type, Function<S, T> converter) {
+        ObjectReader reader = format == BulkFormat.CSV
+                ? CSV.readerFor(type).with(CsvSchema.emptySchema().withHeader())
+                : json.readerFor(type);
+        try {
+            return new BulkRowReader<>(reader.readValues(body), converter);
+        } catch (IOException e) {
+            throw new MalformedInputException(1, e);
+        }
+    }
+
+    /** Next row, or {@code null} at the end of the body. */
+    BulkRow<T> next() {
+        try {
+            if (!iterator.hasNextValue())
+                return null;
+        } catch (IOException e) {
+            throw new MalformedInputException(row + 1, e);
+        }
+
+        row++;
+        try {
+            S value = iterator.nextValue();
+            return BulkRow.of(row, value == null ? null : converter.apply(value));
+        } catch (DatabindException e) {
+            // Erro de valor: o iterador se ressincroniza e segue para a próxima linha
+            return BulkRow.invalid(row, describe(e));
+        } catch (IllegalArgumentException e) {
+            return BulkRow.invalid(row, e.getMessage());
+        } catch (StreamReadException e) {
+            throw new MalformedInputException(row, e);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static String describe(DatabindException e) {
+        if (e instanceof JsonMappingException mapping && !mapping.getPath().isEmpty()) {
+            String field = mapping.getPath().get(mapping.getPath().size() - 1).getFieldName();
+            if (field != null)
+                return "Valor inválido no campo '" + field + "'.";
+        }
+        return "Linha com formato inválido.";
+    }
+
+    @Override
+    public void close() {
+        try {
+            iterator.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /** The body is not valid JSON/CSV from {@link #row} on; nothing after it can be read. */
+    static final class MalformedInputException extends RuntimeException {
+
+        final int row;
+
+        MalformedInputException(int row, IOException cause) {
+            super(cause.getMessage(), cause, false, false);
+            this.row = row;
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.autoflex.inventory.service.bulk;
+
+import com.autoflex.inventory.dto.request.ProductCompositionRequestDTO;
+import com.autoflex.inventory.dto.request.ProductRequestDTO;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * CSV layout of a product: {@code name,price,compositions}, where compositions
+ * is a list of {@code rawMaterialCode:quantityNeeded} separated by ';'.
+ */
+record ProductCsvRow(String name, BigDecimal price, String compositions) {
+
+    ProductRequestDTO toRequest() {
+        List<ProductCompositionRequestDTO> items = new ArrayList<>();
+        if (compositions != null && !compositions.isBlank()) {
+            for (String item : compositions.split(";")) {
+                int separator = item.indexOf(':');
+                if (separator < 0)
+                    throw invalid(item);
+                try {
+                    items.add(new ProductCompositionRequestDTO(null,
+                            Long.valueOf(item.substring(0, separator).trim()),
+                            Double.valueOf(item.substring(separator + 1).trim())));
+                } catch (NumberFormatException e) {
+                    throw invalid(item);
+                }
+            }
+        }
+        return new ProductRequestDTO(name, price, items);
+    }
+
+    private static IllegalArgumentException invalid(String item) {
+        return new IllegalArgumentException(
+                "Composição inválida: '" + item.trim() + "'. Use codigo:quantidade separados por ';'.");
+    }
+}
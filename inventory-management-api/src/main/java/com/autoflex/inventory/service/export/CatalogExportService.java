@@ -0,0 +1,148 @@
+package com.autoflex.inventory.service.export;
+
+import com.autoflex.inventory.dto.response.ProductCompositionResponseDTO;
+import com.autoflex.inventory.dto.response.ProductResponseDTO;
+import com.autoflex.inventory.dto.response.RawMaterialResponseDTO;
+import com.autoflex.inventory.repository.ProductRepository;
+import com.autoflex.inventory.repository.RawMaterialRepository;
+import com.autoflex.inventory.service.LocationService;
+import com.autoflex.inventory.service.bulk.BulkFormat;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.core.StreamingOutput;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.SessionFactory;
+import org.hibernate.StatelessSession;
+import org.hibernate.query.SelectionQuery;
+import org.jboss.logging.Logger;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Streams the whole catalog as NDJSON or CSV straight from a forward-only
+ * cursor. Rows go out as they are read, so memory does not grow with the
+ * catalog: the only state is the current product and the writer's buffer.
+ * Each export runs in its own read-only stateless session and transaction,
+ * opened when the body starts and closed as soon as the last row is written.
+ */
+@ApplicationScoped
+public class CatalogExportService {
+
+    private static final Logger LOG = Logger.getLogger(CatalogExportService.class);
+
+    @Inject
+    SessionFactory sessionFactory;
+    @Inject
+    ObjectMapper objectMapper;
+    @Inject
+    LocationService locationService;
+
+    @ConfigProperty(name = "inventory.export.fetch-size", defaultValue = "500")
+    int fetchSize;
+    @ConfigProperty(name = "inventory.export.timeout", defaultValue = "10m")
+    Duration timeout;
+
+    public StreamingOutput exportProducts(BulkFormat format) {
+        return output -> {
+            try (ExportWriter<ProductResponseDTO> writer = format == BulkFormat.CSV
+                    ? ExportWriter.csv(output, ProductExportRow.class, ProductExportRow::of, fetchSize)
+                    : ExportWriter.ndjson(objectMapper, output, fetchSize)) {
+                long rows = scroll(ProductRepository.EXPORT_ROWS, null, new ProductGrouper(writer));
+                LOG.debugf("Exported %d product row(s) as %s", rows, format);
+            }
+        };
+    }
+
+    // Sem local, o saldo exportado é a soma de todos os locais
+    public StreamingOutput exportRawMaterials(BulkFormat format, Long location) {
+        if (location != null)
+            locationService.requireExists(location);
+        String query = location == null ? RawMaterialRepository.EXPORT_ROWS : RawMaterialRepository.LOCATION_EXPORT_ROWS;
+        return output -> {
+            try (ExportWriter<RawMaterialResponseDTO> writer = format == BulkFormat.CSV
+                    ? ExportWriter.csv(output, RawMaterialResponseDTO.class, dto -> dto, fetchSize)
+                    : ExportWriter.ndjson(objectMapper, output, fetchSize)) {
+                long rows = scroll(query, location, row -> writer.write(new RawMaterialResponseDTO(
+                        (Long) row[0], (String) row[1], ((Number) row[2]).doubleValue())));
+                LOG.debugf("Exported %d raw material(s) as %s", rows, format);
+            }
+        };
+    }
+
+    private long scroll(String hql, Long location, RowHandler handler) {
+        return QuarkusTransaction.requiringNew().timeout((int) timeout.toSeconds()).call(() -> {
+            try (StatelessSession session = sessionFactory.openStatelessSession()) {
+                SelectionQuery<Object[]> query = session.createSelectionQuery(hql, Object[].class)
+                        .setFetchSize(fetchSize)
+                        .setReadOnly(true);
+                if (location != null)
+                    query.setParameter("location", location);
+
+                long count = 0;
+                // FORWARD_ONLY + fetch size: o driver traz as linhas em lotes, sem carregar o resultado inteiro
+                try (ScrollableResults<Object[]> rows = query.scroll(ScrollMode.FORWARD_ONLY)) {
+                    while (rows.next()) {
+                        handler.accept(rows.get());
+                        count++;
+                    }
+                }
+                handler.finish();
+                return count;
+            }
+        });
+    }
+
+    private interface RowHandler {
+
+        void accept(Object[] row) throws IOException;
+
+        default void finish() throws IOException {
+        }
+    }
+
+    /** Folds consecutive rows of the same product into one record; the query orders rows by product. */
+    private static final class ProductGrouper implements RowHandler {
+
+        private final ExportWriter<ProductResponseDTO> writer;
+        private Long code;
+        private String name;
+        private BigDecimal price;
+        private List<ProductCompositionResponseDTO> compositions = new ArrayList<>();
+
+        ProductGrouper(ExportWriter<ProductResponseDTO> writer) {
+            this.writer = writer;
+        }
+
+        @Override
+        public void accept(Object[] row) throws IOException {
+            Long rowCode = (Long) row[0];
+            if (!rowCode.equals(code)) {
+                finish();
+                code = rowCode;
+                name = (String) row[1];
+                price = (BigDecimal) row[2];
+            }
+            if (row[3] != null) {
+                compositions.add(new ProductCompositionResponseDTO((Long) row[3], code, name,
+                        (Long) row[4], (String) row[5], (Double) row[6]));
+            }
+        }
+
+        @Override
+        public void finish() throws IOException {
+            if (code == null)
+                return;
+            writer.write(new ProductResponseDTO(code, name, price, compositions));
+            code = null;
+            compositions = new ArrayList<>();
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.autoflex.inventory.service.export;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.function.Function;
+
+/**
+ * Writes export records one at a time and flushes every {@code flushEvery}
+ * records, so the client receives the body in chunks while the cursor is
+ * still being read. Closing flushes what is left but leaves the response
+ * stream open for the container.
+ */
+abstract class ExportWriter<T> implements AutoCloseable {
+
+    private static final CsvMapper CSV = CsvMapper.builder()
+            .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+            .build();
+
+    private final int flushEvery;
+    private int pending;
+
+    private ExportWriter(int flushEvery) {
+        this.flushEvery = Math.max(1, flushEvery);
+    }
+
+    static <T> ExportWriter<T> ndjson(ObjectMapper mapper, OutputStream output, int flushEvery) throws IOException {
+        JsonGenerator generator = mapper.getFactory().createGenerator(output);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        ObjectWriter writer = mapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        return new ExportWriter<>(flushEvery) {
+            @Override
+            void append(T value) throws IOException {
+                writer.writeValue(generator, value);
+                generator.writeRaw('\n');
+            }
+
+            @Override
+            void flushOutput() throws IOException {
+                generator.flush();
+            }
+
+            @Override
+            public void close() throws IOException {
+                generator.close();
+            }
+        };
+    }
+
+    // Cada registro vira uma linha do CSV, com cabeçalho tirado do tipo da linha
+    static <T, R> ExportWriter<T> csv(OutputStream output, Class<R> rowType, Function<T, R> toRow, int flushEvery)
+            throws IOException {
+        SequenceWriter writer = CSV.writerFor(rowType)
+                .with(CSV.schemaFor(rowType).withHeader())
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                .writeValues(output);
+        return new ExportWriter<>(flushEvery) {
+            @Override
+            void append(T value) throws IOException {
+                writer.write(toRow.apply(value));
+            }
+
+            @Override
+            void flushOutput() throws IOException {
+                writer.flush();
+            }
+
+            @Override
+            public void close() throws IOException {
+                writer.close();
+            }
+        };
+    }
+
+    final void write(T value) throws IOException {
+        append(value);
+        if (++pending >= flushEvery) {
+            flushOutput();
+            pending = 0;
+        }
+    }
+
+    abstract void append(T value) throws IOException;
+
+    abstract void flushOutput() throws IOException;
+
+    @Override
+    public abstract void close() throws IOException;
+}
@@ -0,0 +1,23 @@
+package com.autoflex.inventory.service.export;
+
+import com.autoflex.inventory.dto.response.ProductResponseDTO;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+import java.math.BigDecimal;
+import java.util.stream.Collectors;
+
+/**
+ * CSV layout of an exported product. The columns are a superset of the bulk
+ * import layout ({@code name,price,compositions}), so an export can be
+ * imported back as is.
+ */
+@JsonPropertyOrder({ "code", "name", "price", "compositions" })
+record ProductExportRow(Long code, String name, BigDecimal price, String compositions) {
+
+    static ProductExportRow of(ProductResponseDTO product) {
+        String compositions = product.compositions().stream()
+                .map(c -> c.rawMaterialCode() + ":" + c.quantityNeeded())
+                .collect(Collectors.joining(";"));
+        return new ProductExportRow(product.code(), product.name(), product.price(), compositions);
+    }
+}
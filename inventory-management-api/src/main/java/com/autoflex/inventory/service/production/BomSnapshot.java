@@ -0,0 +1,252 @@
+package com.autoflex.inventory.service.production;
+
+import com.autoflex.inventory.model.Product;
+import com.autoflex.inventory.model.ProductComposition;
+import com.autoflex.inventory.model.RawMaterial;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable bill-of-materials view used by the production planners.
+ * Products are kept in price-desc order and their compositions are stored
+ * CSR-style: the recipe of product {@code p} lives in
+ * {@code [compositionStart[p], compositionStart[p + 1])} of the parallel
+ * {@code rawMaterialIdx} / {@code quantityNeeded} arrays.
+ */
+public final class BomSnapshot {
+
+    private final long[] productCodes;
+    private final String[] productNames;
+    private final BigDecimal[] productPrices;
+    private final int[] compositionStart;
+    private final int[] rawMaterialIdx;
+    private final double[] quantityNeeded;
+    private final long[] rawMaterialCodes;
+    private final double[] stock;
+    private final int[][] components;
+
+    private BomSnapshot(long[] productCodes, String[] productNames, BigDecimal[] productPrices,
+            int[] compositionStart, int[] rawMaterialIdx, double[] quantityNeeded,
+            long[] rawMaterialCodes, double[] stock, int[][] components) {
+        this.productCodes = productCodes;
+        this.productNames = productNames;
+        this.productPrices = productPrices;
+        this.compositionStart = compositionStart;
+        this.rawMaterialIdx = rawMaterialIdx;
+        this.quantityNeeded = quantityNeeded;
+        this.rawMaterialCodes = rawMaterialCodes;
+        this.stock = stock;
+        this.components = components;
+    }
+
+    public static BomSnapshot of(List<RawMaterial> rawMaterials, List<Product> productsByPriceDesc,
+            List<ProductComposition> compositions) {
+        long[] rawMaterialCodes = rawMaterials.stream().mapToLong(RawMaterial::getCode).sorted().toArray();
+        double[] stock = new double[rawMaterialCodes.length];
+        for (RawMaterial rm : rawMaterials) {
+            stock[Arrays.binarySearch(rawMaterialCodes, rm.getCode())] = rm.getStockQuantity();
+        }
+
+        int productCount = productsByPriceDesc.size();
+        long[] productCodes = new long[productCount];
+        String[] productNames = new String[productCount];
+        BigDecimal[] productPrices = new BigDecimal[productCount];
+        Map<Long, Integer> productIndex = new HashMap<>(productCount * 2);
+        for (int p = 0; p < productCount; p++) {
+            Product product = productsByPriceDesc.get(p);
+            productCodes[p] = product.getCode();
+            productNames[p] = product.getName();
+            productPrices[p] = product.getPrice();
+            productIndex.put(product.getCode(), p);
+        }
+
+        // Conta as composições de cada produto; receitas com insumo desconhecido ficam vazias
+        int[] counts = new int[productCount];
+        boolean[] unresolved = new boolean[productCount];
+        for (ProductComposition c : compositions) {
+            Integer p = productIndex.get(c.getProduct().getCode());
+            if (p == null)
+                continue;
+            if (Arrays.binarySearch(rawMaterialCodes, c.getRawMaterial().getCode()) < 0)
+                unresolved[p] = true;
+            counts[p]++;
+        }
+
+        int[] compositionStart = new int[productCount + 1];
+        for (int p = 0; p < productCount; p++) {
+            compositionStart[p + 1] = compositionStart[p] + (unresolved[p] ? 0 : counts[p]);
+        }
+
+        int[] rawMaterialIdx = new int[compositionStart[productCount]];
+        double[] quantityNeeded = new double[rawMaterialIdx.length];
+        int[] cursor = Arrays.copyOf(compositionStart, productCount);
+        for (ProductComposition c : compositions) {
+            Integer p = productIndex.get(c.getProduct().getCode());
+            if (p == null || unresolved[p])
+                continue;
+            int slot = cursor[p]++;
+            rawMaterialIdx[slot] = Arrays.binarySearch(rawMaterialCodes, c.getRawMaterial().getCode());
+            quantityNeeded[slot] = c.getQuantityNeeded();
+        }
+
+        int[][] components = partition(productCount, rawMaterialCodes.length, compositionStart, rawMaterialIdx);
+        return new BomSnapshot(productCodes, productNames, productPrices, compositionStart,
+                rawMaterialIdx, quantityNeeded, rawMaterialCodes, stock, components);
+    }
+
+    /**
+     * Groups products that are connected through shared raw materials
+     * (connected components of the product/raw-material graph) using
+     * union-find over the raw materials. Products without a recipe belong to
+     * no component; each component lists its products in price-desc order.
+     */
+    private static int[][] partition(int productCount, int rawMaterialCount, int[] compositionStart,
+            int[] rawMaterialIdx) {
+        int[] parent = new int[rawMaterialCount];
+        int[] size = new int[rawMaterialCount];
+        for (int r = 0; r < rawMaterialCount; r++) {
+            parent[r] = r;
+            size[r] = 1;
+        }
+        for (int p = 0; p < productCount; p++) {
+            for (int c = compositionStart[p] + 1; c < compositionStart[p + 1]; c++) {
+                union(parent, size, rawMaterialIdx[compositionStart[p]], rawMaterialIdx[c]);
+            }
+        }
+
+        int[] componentOfRoot = new int[rawMaterialCount];
+        Arrays.fill(componentOfRoot, -1);
+        int[] productComponent = new int[productCount];
+        int[] componentSize = new int[rawMaterialCount];
+        int componentCount = 0;
+        for (int p = 0; p < productCount; p++) {
+            if (compositionStart[p] == compositionStart[p + 1]) {
+                productComponent[p] = -1;
+                continue;
+            }
+            int root = find(parent, rawMaterialIdx[compositionStart[p]]);
+            if (componentOfRoot[root] < 0)
+                componentOfRoot[root] = componentCount++;
+            productComponent[p] = componentOfRoot[root];
+            componentSize[productComponent[p]]++;
+        }
+
+        int[][] components = new int[componentCount][];
+        int[] filled = new int[componentCount];
+        for (int k = 0; k < componentCount; k++) {
+            components[k] = new int[componentSize[k]];
+        }
+        for (int p = 0; p < productCount; p++) {
+            int k = productComponent[p];
+            if (k >= 0)
+                components[k][filled[k]++] = p;
+        }
+        return components;
+    }
+
+    private static int find(int[] parent, int r) {
+        while (parent[r] != r) {
+            parent[r] = parent[parent[r]];
+            r = parent[r];
+        }
+        return r;
+    }
+
+    private static void union(int[] parent, int[] size, int a, int b) {
+        int rootA = find(parent, a);
+        int rootB = find(parent, b);
+        if (rootA == rootB)
+            return;
+        if (size[rootA] < size[rootB]) {
+            int tmp = rootA;
+            rootA = rootB;
+            rootB = tmp;
+        }
+        parent[rootB] = rootA;
+        size[rootA] += size[rootB];
+    }
+
+    /** Returns a snapshot sharing this recipe structure but with new stock levels. */
+    public BomSnapshot withStock(double[] newStock) {
+        if (newStock.length != stock.length)
+            throw new IllegalArgumentException("Stock array does not match the raw material index");
+        return new BomSnapshot(productCodes, productNames, productPrices, compositionStart,
+                rawMaterialIdx, quantityNeeded, rawMaterialCodes, newStock, components);
+    }
+
+    /** True when both snapshots come from the same catalog load and differ, at most, in stock. */
+    public boolean sharesRecipesWith(BomSnapshot other) {
+        return other != null && compositionStart == other.compositionStart;
+    }
+
+    public int productCount() {
+        return productCodes.length;
+    }
+
+    public int rawMaterialCount() {
+        return rawMaterialCodes.length;
+    }
+
+    public int compositionCount() {
+        return rawMaterialIdx.length;
+    }
+
+    public int componentCount() {
+        return components.length;
+    }
+
+    /** Products of an independent cluster, as snapshot indexes in price-desc order. */
+    public int[] componentProducts(int component) {
+        return components[component];
+    }
+
+    public long productCode(int p) {
+        return productCodes[p];
+    }
+
+    public String productName(int p) {
+        return productNames[p];
+    }
+
+    public BigDecimal productPrice(int p) {
+        return productPrices[p];
+    }
+
+    public int compositionStart(int p) {
+        return compositionStart[p];
+    }
+
+    public int compositionEnd(int p) {
+        return compositionStart[p + 1];
+    }
+
+    public int rawMaterialIdx(int composition) {
+        return rawMaterialIdx[composition];
+    }
+
+    public double quantityNeeded(int composition) {
+        return quantityNeeded[composition];
+    }
+
+    public long rawMaterialCode(int r) {
+        return rawMaterialCodes[r];
+    }
+
+    /** Index of the raw material in the stock array, or a negative value when unknown. */
+    public int rawMaterialIndexOf(long rawMaterialCode) {
+        return Arrays.binarySearch(rawMaterialCodes, rawMaterialCode);
+    }
+
+    public double stock(int r) {
+        return stock[r];
+    }
+
+    /** Mutable copy of the stock levels, used as the planners' virtual stock. */
+    public double[] stockCopy() {
+        return stock.clone();
+    }
+}
@@ -0,0 +1,147 @@
+package com.autoflex.inventory.service.production;
+
+import com.autoflex.inventory.metrics.ProductionSuggestionMetrics;
+import com.autoflex.inventory.model.Location;
+import com.autoflex.inventory.model.Product;
+import com.autoflex.inventory.model.ProductComposition;
+import com.autoflex.inventory.model.RawMaterial;
+import com.autoflex.inventory.repository.LocationRepository;
+import com.autoflex.inventory.repository.ProductCompositionRepository;
+import com.autoflex.inventory.repository.ProductRepository;
+import com.autoflex.inventory.repository.RawMaterialRepository;
+import com.autoflex.inventory.service.InventoryVersion;
+import com.autoflex.inventory.service.stock.StockLedger;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Keeps the current {@link BomSnapshot}, tagged with the persisted inventory
+ * version it reflects. It is refreshed lazily on the next read after a write
+ * committed on any node, reloading just the stock levels when recipes and
+ * products did not change. The per-location snapshots share the recipes of
+ * the current one and are kept the same way.
+ */
+@ApplicationScoped
+public class BomSnapshotProvider {
+
+    @Inject
+    RawMaterialRepository rawMaterialRepository;
+    @Inject
+    ProductRepository productRepository;
+    @Inject
+    ProductCompositionRepository compositionRepository;
+    @Inject
+    StockLedger stockLedger;
+    @Inject
+    InventoryVersion inventoryVersion;
+    @Inject
+    ProductionSuggestionMetrics metrics;
+    @Inject
+    LocationRepository locationRepository;
+
+    private volatile State state;
+    private volatile LocationState locationState;
+    // Lock em vez de synchronized: a recarga faz I/O e não pode prender a thread portadora de uma virtual thread
+    private final ReentrantLock refreshLock = new ReentrantLock();
+
+    private record State(BomSnapshot snapshot, long version, long catalogVersion) {
+    }
+
+    private record LocationState(List<LocationSnapshot> snapshots, long version) {
+    }
+
+    public BomSnapshot current() {
+        // Uma leitura da versão persistida por chamada: escritas de qualquer nó invalidam o snapshot
+        InventoryVersion.Versions versions = inventoryVersion.read();
+        State s = state;
+        if (s != null && s.version == versions.inventory())
+            return s.snapshot;
+        return refresh(versions);
+    }
+
+    private BomSnapshot refresh(InventoryVersion.Versions versions) {
+        refreshLock.lock();
+        try {
+            State s = state;
+            if (s != null && s.version == versions.inventory())
+                return s.snapshot;
+
+            // Versões lidas antes de consultar o banco: o snapshot nunca fica mais antigo que a versão gravada
+            BomSnapshot snapshot = s != null && s.catalogVersion == versions.catalog()
+                    ? s.snapshot.withStock(loadStock(s.snapshot))
+                    : load();
+            state = new State(snapshot, versions.inventory(), versions.catalog());
+            return snapshot;
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    /** One snapshot per location, in location code order. */
+    public List<LocationSnapshot> byLocation() {
+        LocationState s = locationState;
+        long version = inventoryVersion.current();
+        if (s != null && s.version == version)
+            return s.snapshots;
+        return refreshByLocation(version);
+    }
+
+    private List<LocationSnapshot> refreshByLocation(long version) {
+        refreshLock.lock();
+        try {
+            LocationState s = locationState;
+            if (s != null && s.version == version)
+                return s.snapshots;
+            return loadByLocation(version);
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    private List<LocationSnapshot> loadByLocation(long version) {
+        BomSnapshot base = current();
+        // Todos os locais numa só consulta: os saldos de um local nunca ficam de uma versão diferente dos outros
+        Map<Long, Map<Long, Double>> levels = metrics.loadStock().record(() -> stockLedger.stockLevelsByLocation());
+        List<LocationSnapshot> snapshots = new ArrayList<>();
+        for (Location location : locationRepository.listAllOrderedByCode()) {
+            double[] stock = new double[base.rawMaterialCount()];
+            levels.getOrDefault(location.getCode(), Map.of()).forEach((code, quantity) -> {
+                int r = base.rawMaterialIndexOf(code);
+                if (r >= 0)
+                    stock[r] = quantity;
+            });
+            snapshots.add(new LocationSnapshot(location.getCode(), location.getName(), base.withStock(stock)));
+        }
+        List<LocationSnapshot> result = List.copyOf(snapshots);
+        locationState = new LocationState(result, version);
+        return result;
+    }
+
+    private BomSnapshot load() {
+        List<RawMaterial> rawMaterials = metrics.loadStock().record(() -> {
+            List<RawMaterial> all = rawMaterialRepository.listAll();
+            stockLedger.loadStock(all);
+            return all;
+        });
+        List<Product> products = metrics.loadProducts().record(() -> productRepository.listAllOrderedByPriceDesc());
+        List<ProductComposition> compositions = metrics.loadProducts()
+                .record(() -> compositionRepository.listAllWithDetails());
+        return metrics.groupCompositions().record(() -> BomSnapshot.of(rawMaterials, products, compositions));
+    }
+
+    private double[] loadStock(BomSnapshot snapshot) {
+        Map<Long, Double> levels = metrics.loadStock().record(() -> stockLedger.stockLevels());
+        double[] stock = snapshot.stockCopy();
+        levels.forEach((code, quantity) -> {
+            int r = snapshot.rawMaterialIndexOf(code);
+            if (r >= 0)
+                stock[r] = quantity;
+        });
+        return stock;
+    }
+}
@@ -0,0 +1,275 @@
+package com.autoflex.inventory.service.production;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+
+/**
+ * Integer production plan by depth-first branch-and-bound over the LP
+ * relaxation. Products are indexed in price-desc order and recipes are given
+ * column-wise (raw material rows and quantities per product).
+ * <p>
+ * Every branch adds an upper-bound row to the subproblem, so the dense
+ * tableau grows with depth; a subproblem over {@code maxTableauCells} stops
+ * the search the same way an expired deadline does.
+ */
+final class BranchAndBound {
+
+    private static final double INTEGRALITY_TOLERANCE = 1e-6;
+    private static final double PRUNE_TOLERANCE = 1e-9;
+
+    private final double[] price;
+    private final int[][] columnRows;
+    private final double[][] columnQuantities;
+    private final double[] stock;
+    private final int n;
+    private final int m;
+    private final double[][] dense;
+    private final long maxTableauCells;
+
+    private int[] incumbent;
+    private double incumbentValue;
+
+    record Result(int[] quantities, ProductionPlan.Status status, double value, double bound) {
+    }
+
+    private record Node(int[] lower, int[] upper, double bound) {
+    }
+
+    BranchAndBound(double[] price, int[][] columnRows, double[][] columnQuantities, double[] stock,
+            long maxTableauCells) {
+        this.price = price;
+        this.columnRows = columnRows;
+        this.columnQuantities = columnQuantities;
+        this.stock = stock;
+        this.n = price.length;
+        this.m = stock.length;
+        this.maxTableauCells = maxTableauCells;
+        this.dense = new double[m][n];
+        for (int j = 0; j < n; j++) {
+            for (int k = 0; k < columnRows[j].length; k++) {
+                dense[columnRows[j][k]][j] = columnQuantities[j][k];
+            }
+        }
+    }
+
+    /** Cells of the simplex tableau for {@code rows} constraints over {@code columns} variables. */
+    static long tableauCells(int rows, int columns) {
+        return (long) rows * (columns + rows);
+    }
+
+    Result solve(PlanningDeadline deadline) {
+        // A heurística gulosa por preço é o primeiro incumbente
+        incumbent = fillGreedily(new int[n], stock.clone());
+        incumbentValue = value(incumbent);
+
+        int[] noUpper = new int[n];
+        Arrays.fill(noUpper, Integer.MAX_VALUE);
+        Deque<Node> open = new ArrayDeque<>();
+        open.push(new Node(new int[n], noUpper, Double.POSITIVE_INFINITY));
+
+        while (!open.isEmpty()) {
+            Node node = open.pop();
+            if (!improves(node.bound))
+                continue;
+            if (tableauCells(m + boundedCount(node), n) > maxTableauCells) {
+                // Ramo fundo demais para o tableau denso: para como se o prazo tivesse acabado
+                open.push(node);
+                return limited(open);
+            }
+
+            double[] x;
+            double bound;
+            try {
+                deadline.check();
+                SimplexSolver.Solution lp = solveRelaxation(node, deadline);
+                if (lp == null)
+                    continue;
+                x = lp.y();
+                bound = lp.value();
+                for (int j = 0; j < n; j++) {
+                    x[j] += node.lower[j];
+                    bound += price[j] * node.lower[j];
+                }
+            } catch (PlanningDeadline.Expired e) {
+                open.push(node);
+                return limited(open);
+            }
+
+            if (!improves(bound))
+                continue;
+
+            tryIncumbent(roundDown(x));
+
+            int branch = mostFractional(x);
+            if (branch < 0)
+                continue;
+
+            int floor = (int) Math.min(Math.floor(x[branch]), Integer.MAX_VALUE - 1);
+            int[] downUpper = node.upper.clone();
+            downUpper[branch] = floor;
+            int[] upLower = node.lower.clone();
+            upLower[branch] = floor + 1;
+
+            // O ramo "para cima" é explorado primeiro: tende a achar incumbentes melhores cedo
+            open.push(new Node(node.lower, downUpper, bound));
+            open.push(new Node(upLower, node.upper, bound));
+        }
+
+        return new Result(incumbent, ProductionPlan.Status.OPTIMAL, incumbentValue, incumbentValue);
+    }
+
+    private Result limited(Deque<Node> open) {
+        double bestBound = incumbentValue;
+        for (Node node : open) {
+            bestBound = Math.max(bestBound, node.bound);
+        }
+        return new Result(incumbent, ProductionPlan.Status.TIME_LIMIT, incumbentValue,
+                Double.isInfinite(bestBound) ? Double.NaN : bestBound);
+    }
+
+    private boolean improves(double bound) {
+        return bound > incumbentValue + PRUNE_TOLERANCE * Math.max(1.0, Math.abs(incumbentValue));
+    }
+
+    private SimplexSolver.Solution solveRelaxation(Node node, PlanningDeadline deadline) {
+        // Substitui x = lower + y para manter a origem viável
+        double[] residual = stock.clone();
+        for (int j = 0; j < n; j++) {
+            int low = node.lower[j];
+            if (low == 0)
+                continue;
+            for (int k = 0; k < columnRows[j].length; k++) {
+                residual[columnRows[j][k]] -= columnQuantities[j][k] * low;
+            }
+        }
+        for (int i = 0; i < m; i++) {
+            if (residual[i] < -SimplexSolver.EPS)
+                return null;
+            residual[i] = Math.max(0.0, residual[i]);
+        }
+
+        for (int j = 0; j < n; j++) {
+            if (node.upper[j] != Integer.MAX_VALUE && node.upper[j] < node.lower[j])
+                return null;
+        }
+        int bounded = boundedCount(node);
+
+        double[][] a = new double[m + bounded][];
+        double[] b = new double[m + bounded];
+        for (int i = 0; i < m; i++) {
+            a[i] = dense[i];
+            b[i] = residual[i];
+        }
+        int row = m;
+        for (int j = 0; j < n; j++) {
+            if (node.upper[j] != Integer.MAX_VALUE) {
+                a[row] = new double[n];
+                a[row][j] = 1.0;
+                b[row] = (double) node.upper[j] - node.lower[j];
+                row++;
+            }
+        }
+        return SimplexSolver.maximize(a, b, price, deadline);
+    }
+
+    private int boundedCount(Node node) {
+        int bounded = 0;
+        for (int j = 0; j < n; j++) {
+            if (node.upper[j] != Integer.MAX_VALUE)
+                bounded++;
+        }
+        return bounded;
+    }
+
+    private int mostFractional(double[] x) {
+        int branch = -1;
+        double closestToHalf = Double.POSITIVE_INFINITY;
+        for (int j = 0; j < n; j++) {
+            double fraction = x[j] - Math.floor(x[j]);
+            if (fraction > INTEGRALITY_TOLERANCE && fraction < 1.0 - INTEGRALITY_TOLERANCE) {
+                double distance = Math.abs(fraction - 0.5);
+                if (distance < closestToHalf) {
+                    closestToHalf = distance;
+                    branch = j;
+                }
+            }
+        }
+        return branch;
+    }
+
+    private int[] roundDown(double[] x) {
+        int[] q = new int[n];
+        for (int j = 0; j < n; j++) {
+            q[j] = (int) Math.min(Math.floor(x[j] + INTEGRALITY_TOLERANCE), Integer.MAX_VALUE);
+        }
+        double[] residual = residualStock(q);
+        for (double r : residual) {
+            if (r < -SimplexSolver.EPS * Math.max(1.0, Math.abs(r))) {
+                for (int j = 0; j < n; j++) {
+                    q[j] = (int) Math.min(Math.floor(x[j]), Integer.MAX_VALUE);
+                }
+                residual = residualStock(q);
+                break;
+            }
+        }
+        for (int i = 0; i < m; i++) {
+            residual[i] = Math.max(0.0, residual[i]);
+        }
+        return fillGreedily(q, residual);
+    }
+
+    private void tryIncumbent(int[] candidate) {
+        if (!feasible(candidate))
+            return;
+        double candidateValue = value(candidate);
+        if (candidateValue > incumbentValue) {
+            incumbent = candidate;
+            incumbentValue = candidateValue;
+        }
+    }
+
+    private int[] fillGreedily(int[] q, double[] residual) {
+        for (int j = 0; j < n; j++) {
+            double possible = Double.POSITIVE_INFINITY;
+            for (int k = 0; k < columnRows[j].length; k++) {
+                possible = Math.min(possible, Math.floor(residual[columnRows[j][k]] / columnQuantities[j][k]));
+            }
+            if (possible >= 1.0 && possible != Double.POSITIVE_INFINITY) {
+                int add = (int) Math.min(possible, (double) Integer.MAX_VALUE - q[j]);
+                q[j] += add;
+                for (int k = 0; k < columnRows[j].length; k++) {
+                    residual[columnRows[j][k]] -= columnQuantities[j][k] * add;
+                }
+            }
+        }
+        return q;
+    }
+
+    private double[] residualStock(int[] q) {
+        double[] residual = stock.clone();
+        for (int j = 0; j < n; j++) {
+            for (int k = 0; k < columnRows[j].length; k++) {
+                residual[columnRows[j][k]] -= columnQuantities[j][k] * q[j];
+            }
+        }
+        return residual;
+    }
+
+    private boolean feasible(int[] q) {
+        double[] residual = residualStock(q);
+        for (int i = 0; i < m; i++) {
+            if (residual[i] < -1e-7 * Math.max(1.0, stock[i]))
+                return false;
+        }
+        return true;
+    }
+
+    private double value(int[] q) {
+        double total = 0.0;
+        for (int j = 0; j < n; j++) {
+            total += price[j] * q[j];
+        }
+        return total;
+    }
+}
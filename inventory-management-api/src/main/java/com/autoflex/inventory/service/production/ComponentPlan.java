@@ -0,0 +1,12 @@
+package com.autoflex.inventory.service.production;
+
+/**
+ * Outcome of planning one independent product cluster: the plan value and
+ * the best known upper bound for it ({@code NaN} when unknown).
+ */
+public record ComponentPlan(ProductionPlan.Status status, double value, double bound) {
+
+    public static ComponentPlan heuristic(double value) {
+        return new ComponentPlan(ProductionPlan.Status.HEURISTIC, value, Double.NaN);
+    }
+}
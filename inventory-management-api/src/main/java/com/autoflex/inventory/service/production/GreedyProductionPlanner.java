@@ -0,0 +1,53 @@
+package com.autoflex.inventory.service.production;
+
+import jakarta.enterprise.context.ApplicationScoped;
+
+@ApplicationScoped
+public class GreedyProductionPlanner implements ProductionPlanner {
+
+    /**
+     * Fills products in price-desc order, each one as much as the remaining
+     * virtual stock allows. Runs in a single pass, so the deadline is ignored.
+     */
+    @Override
+    public ComponentPlan plan(BomSnapshot snapshot, int[] products, double[] stock, int[] quantities,
+            PlanningDeadline deadline) {
+        return plan(snapshot, products, stock, quantities, (double[]) null);
+    }
+
+    /**
+     * Same pass, also recording in {@code stockBefore} (indexed by composition)
+     * the virtual stock each recipe line saw, for {@link IncrementalGreedyPlan}.
+     */
+    public ComponentPlan plan(BomSnapshot snapshot, int[] products, double[] stock, int[] quantities,
+            double[] stockBefore) {
+        double value = 0.0;
+
+        for (int p : products) {
+            int from = snapshot.compositionStart(p);
+            int to = snapshot.compositionEnd(p);
+            if (from == to)
+                continue;
+
+            int maxQuantity = Integer.MAX_VALUE;
+            for (int c = from; c < to; c++) {
+                if (stockBefore != null)
+                    stockBefore[c] = stock[snapshot.rawMaterialIdx(c)];
+                int possible = (int) (stock[snapshot.rawMaterialIdx(c)] / snapshot.quantityNeeded(c));
+                if (possible < maxQuantity)
+                    maxQuantity = possible;
+            }
+
+            if (maxQuantity > 0) {
+                // Tira do estoque virtual
+                for (int c = from; c < to; c++) {
+                    stock[snapshot.rawMaterialIdx(c)] -= snapshot.quantityNeeded(c) * maxQuantity;
+                }
+                quantities[p] = maxQuantity;
+                value += snapshot.productPrice(p).doubleValue() * maxQuantity;
+            }
+        }
+
+        return ComponentPlan.heuristic(value);
+    }
+}
@@ -0,0 +1,195 @@
+package com.autoflex.inventory.service.production;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Greedy plan that is brought up to date after stock changes without
+ * replaying the whole catalog. Besides the quantities it keeps, for every
+ * composition, the virtual stock its raw material had when the product was
+ * filled. A change first reaches the products using the changed raw
+ * materials; a product is replanned only when one of its raw materials holds
+ * a different virtual stock than in the previous pass, and the difference
+ * keeps spreading only while the new quantities leave different remainders.
+ * Every other product keeps its quantity. The arithmetic is the same as in
+ * {@link GreedyProductionPlanner}, so the result equals a full pass over the
+ * new stock, bit for bit.
+ * <p>
+ * Not thread-safe: the engine serializes access.
+ */
+final class IncrementalGreedyPlan {
+
+    private BomSnapshot planned;
+    private final int[] quantities;
+    // Estoque virtual visto por cada linha de receita na última passada
+    private final double[] stockBefore;
+
+    // Receitas transpostas: composições de cada insumo em ordem de produto (preço decrescente)
+    private final int[] usersStart;
+    private final int[] users;
+    private final int[] slotOf;
+    private final int[] productOf;
+
+    // Estoque virtual atual dos insumos que divergem da passada anterior no ponto da varredura
+    private final double[] current;
+    private final boolean[] dirty;
+
+    private IncrementalGreedyPlan(BomSnapshot planned, int[] quantities, double[] stockBefore) {
+        this.planned = planned;
+        this.quantities = quantities;
+        this.stockBefore = stockBefore;
+
+        int materials = planned.rawMaterialCount();
+        int compositions = planned.compositionCount();
+        productOf = new int[compositions];
+        usersStart = new int[materials + 1];
+        for (int p = 0; p < planned.productCount(); p++) {
+            for (int c = planned.compositionStart(p); c < planned.compositionEnd(p); c++) {
+                productOf[c] = p;
+                usersStart[planned.rawMaterialIdx(c) + 1]++;
+            }
+        }
+        for (int r = 0; r < materials; r++) {
+            usersStart[r + 1] += usersStart[r];
+        }
+        users = new int[compositions];
+        slotOf = new int[compositions];
+        int[] cursor = new int[materials];
+        for (int c = 0; c < compositions; c++) {
+            int r = planned.rawMaterialIdx(c);
+            int slot = usersStart[r] + cursor[r]++;
+            users[slot] = c;
+            slotOf[c] = slot;
+        }
+        current = new double[materials];
+        dirty = new boolean[materials];
+    }
+
+    /**
+     * @param quantities  result of a full greedy pass over {@code snapshot}
+     * @param stockBefore virtual stock per composition recorded by that pass
+     */
+    static IncrementalGreedyPlan of(BomSnapshot snapshot, int[] quantities, double[] stockBefore) {
+        return new IncrementalGreedyPlan(snapshot, quantities, stockBefore);
+    }
+
+    /** Whether {@link #update} can handle this snapshot, i.e. only the stock changed. */
+    boolean accepts(BomSnapshot snapshot) {
+        return planned.sharesRecipesWith(snapshot);
+    }
+
+    /** Copy of the current quantities, indexed by snapshot product. */
+    int[] quantities() {
+        return quantities.clone();
+    }
+
+    /**
+     * Replans the products affected by the stock differences between the last
+     * planned snapshot and this one.
+     *
+     * @return number of products replanned
+     */
+    int update(BomSnapshot snapshot) {
+        if (!accepts(snapshot))
+            throw new IllegalArgumentException("Snapshot has different recipes than the planned one");
+
+        PriorityQueue<Integer> pending = new PriorityQueue<>();
+        List<Integer> touched = new ArrayList<>();
+        for (int r = 0; r < snapshot.rawMaterialCount(); r++) {
+            if (Double.compare(snapshot.stock(r), planned.stock(r)) == 0)
+                continue;
+            current[r] = snapshot.stock(r);
+            dirty[r] = true;
+            touched.add(r);
+            if (usersStart[r] < usersStart[r + 1])
+                pending.add(productOf[users[usersStart[r]]]);
+        }
+
+        int replanned = 0;
+        int last = -1;
+        while (!pending.isEmpty()) {
+            int p = pending.poll();
+            if (p == last)
+                continue;
+            last = p;
+            replanned++;
+            replan(snapshot, p, pending, touched);
+        }
+
+        for (int r : touched) {
+            dirty[r] = false;
+        }
+        planned = snapshot;
+        return replanned;
+    }
+
+    private void replan(BomSnapshot snapshot, int p, PriorityQueue<Integer> pending, List<Integer> touched) {
+        int from = snapshot.compositionStart(p);
+        int to = snapshot.compositionEnd(p);
+        int lines = to - from;
+
+        double[] value = new double[lines];
+        int maxQuantity = Integer.MAX_VALUE;
+        for (int c = from; c < to; c++) {
+            value[c - from] = stockAt(snapshot, c);
+            int possible = (int) (value[c - from] / snapshot.quantityNeeded(c));
+            if (possible < maxQuantity)
+                maxQuantity = possible;
+        }
+        int previous = quantities[p];
+        int quantity = Math.max(maxQuantity, 0);
+
+        // Refaz as subtrações da passada gulosa, na mesma ordem (um insumo pode se repetir na receita)
+        double[] before = new double[lines];
+        double[] after = new double[lines];
+        for (int c = from; c < to; c++) {
+            int prior = previousLine(snapshot, from, c);
+            double oldValue = prior < 0 ? stockBefore[c] : before[prior - from];
+            double newValue = prior < 0 ? value[c - from] : after[prior - from];
+            before[c - from] = previous > 0 ? oldValue - snapshot.quantityNeeded(c) * previous : oldValue;
+            after[c - from] = quantity > 0 ? newValue - snapshot.quantityNeeded(c) * quantity : newValue;
+        }
+
+        for (int c = from; c < to; c++) {
+            stockBefore[c] = value[c - from];
+            int r = snapshot.rawMaterialIdx(c);
+            if (nextLine(snapshot, c, to) >= 0)
+                continue;
+
+            if (Double.compare(after[c - from], before[c - from]) == 0) {
+                dirty[r] = false;
+            } else {
+                if (!dirty[r])
+                    touched.add(r);
+                dirty[r] = true;
+                current[r] = after[c - from];
+                int next = slotOf[c] + 1;
+                if (next < usersStart[r + 1])
+                    pending.add(productOf[users[next]]);
+            }
+        }
+        quantities[p] = quantity;
+    }
+
+    private static int previousLine(BomSnapshot snapshot, int from, int c) {
+        for (int d = c - 1; d >= from; d--) {
+            if (snapshot.rawMaterialIdx(d) == snapshot.rawMaterialIdx(c))
+                return d;
+        }
+        return -1;
+    }
+
+    private static int nextLine(BomSnapshot snapshot, int c, int to) {
+        for (int d = c + 1; d < to; d++) {
+            if (snapshot.rawMaterialIdx(d) == snapshot.rawMaterialIdx(c))
+                return d;
+        }
+        return -1;
+    }
+
+    private double stockAt(BomSnapshot snapshot, int c) {
+        int r = snapshot.rawMaterialIdx(c);
+        return dirty[r] ? current[r] : stockBefore[c];
+    }
+}
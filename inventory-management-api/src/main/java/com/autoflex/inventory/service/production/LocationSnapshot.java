@@ -0,0 +1,8 @@
+package com.autoflex.inventory.service.production;
+
+/** {@link BomSnapshot} holding the stock of a single location. */
+public record LocationSnapshot(
+        Long locationCode,
+        String locationName,
+        BomSnapshot snapshot) {
+}
@@ -0,0 +1,125 @@
+package com.autoflex.inventory.service.production;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import java.time.Duration;
+import java.util.Arrays;
+
+/**
+ * Maximizes the total value of the production plan with an in-process
+ * LP relaxation (simplex) refined to integer quantities by branch-and-bound.
+ */
+@ApplicationScoped
+public class OptimalProductionPlanner implements ProductionPlanner {
+
+    private static final Logger LOG = Logger.getLogger(OptimalProductionPlanner.class);
+
+    @Inject
+    GreedyProductionPlanner greedyPlanner;
+
+    @ConfigProperty(name = "inventory.planner.optimal.time-budget", defaultValue = "2s")
+    Duration defaultTimeBudget;
+
+    @ConfigProperty(name = "inventory.planner.optimal.max-time-budget", defaultValue = "30s")
+    Duration maxTimeBudget;
+
+    @ConfigProperty(name = "inventory.planner.optimal.max-tableau-cells", defaultValue = "20000000")
+    long maxTableauCells;
+
+    @Override
+    public ComponentPlan plan(BomSnapshot snapshot, int[] products, double[] stock, int[] quantities,
+            PlanningDeadline deadline) {
+        int n = products.length;
+        if (n == 0)
+            return new ComponentPlan(ProductionPlan.Status.OPTIMAL, 0.0, 0.0);
+
+        // Numera apenas os insumos usados pelo grupo de produtos
+        int[] row = new int[snapshot.rawMaterialCount()];
+        Arrays.fill(row, -1);
+        int[] rawMaterials = new int[snapshot.rawMaterialCount()];
+        int m = 0;
+        for (int p : products) {
+            for (int c = snapshot.compositionStart(p); c < snapshot.compositionEnd(p); c++) {
+                int r = snapshot.rawMaterialIdx(c);
+                if (row[r] < 0) {
+                    row[r] = m;
+                    rawMaterials[m++] = r;
+                }
+            }
+        }
+
+        if (BranchAndBound.tableauCells(m, n) > maxTableauCells) {
+            // Modelo grande demais para o tableau denso: mantém o plano guloso
+            return greedyPlanner.plan(snapshot, products, stock, quantities, deadline);
+        }
+
+        double[] localStock = new double[m];
+        for (int i = 0; i < m; i++) {
+            localStock[i] = stock[rawMaterials[i]];
+        }
+
+        // Produto sem nenhuma linha positiva na receita não consome estoque e deixaria o LP ilimitado:
+        // fica fora do modelo, com quantidade zero
+        int[] columns = new int[n];
+        int lp = 0;
+        for (int j = 0; j < n; j++) {
+            int p = products[j];
+            quantities[p] = 0;
+            for (int c = snapshot.compositionStart(p); c < snapshot.compositionEnd(p); c++) {
+                if (snapshot.quantityNeeded(c) > 0) {
+                    columns[lp++] = j;
+                    break;
+                }
+            }
+        }
+        if (lp < n)
+            LOG.warnf("Skipped %d product(s) whose recipe consumes no stock in the optimal plan", n - lp);
+        if (lp == 0)
+            return new ComponentPlan(ProductionPlan.Status.OPTIMAL, 0.0, 0.0);
+
+        double[] price = new double[lp];
+        int[][] columnRows = new int[lp][];
+        double[][] columnQuantities = new double[lp][];
+        for (int j = 0; j < lp; j++) {
+            int p = products[columns[j]];
+            int from = snapshot.compositionStart(p);
+            int to = snapshot.compositionEnd(p);
+            int size = 0;
+            for (int c = from; c < to; c++)
+                if (snapshot.quantityNeeded(c) > 0)
+                    size++;
+            price[j] = snapshot.productPrice(p).doubleValue();
+            columnRows[j] = new int[size];
+            columnQuantities[j] = new double[size];
+            int k = 0;
+            for (int c = from; c < to; c++) {
+                if (snapshot.quantityNeeded(c) > 0) {
+                    columnRows[j][k] = row[snapshot.rawMaterialIdx(c)];
+                    columnQuantities[j][k++] = snapshot.quantityNeeded(c);
+                }
+            }
+        }
+
+        BranchAndBound.Result result = new BranchAndBound(price, columnRows, columnQuantities, localStock,
+                maxTableauCells).solve(deadline);
+        for (int j = 0; j < lp; j++) {
+            int q = result.quantities()[j];
+            quantities[products[columns[j]]] = q;
+            for (int k = 0; k < columnRows[j].length; k++) {
+                stock[rawMaterials[columnRows[j][k]]] -= columnQuantities[j][k] * q;
+            }
+        }
+        return new ComponentPlan(result.status(), result.value(), result.bound());
+    }
+
+    public Duration effectiveBudget(Duration requested) {
+        if (requested == null)
+            return defaultTimeBudget;
+        if (requested.isNegative())
+            return Duration.ZERO;
+        return requested.compareTo(maxTimeBudget) > 0 ? maxTimeBudget : requested;
+    }
+}
@@ -0,0 +1,40 @@
+package com.autoflex.inventory.service.production;
+
+import java.time.Duration;
+
+/** Wall-clock limit shared by the steps of one planning run. */
+public final class PlanningDeadline {
+
+    private static final PlanningDeadline NONE = new PlanningDeadline(0L, false);
+
+    private final long deadlineNanos;
+    private final boolean bounded;
+
+    private PlanningDeadline(long deadlineNanos, boolean bounded) {
+        this.deadlineNanos = deadlineNanos;
+        this.bounded = bounded;
+    }
+
+    public static PlanningDeadline after(Duration budget) {
+        return new PlanningDeadline(System.nanoTime() + budget.toNanos(), true);
+    }
+
+    public static PlanningDeadline none() {
+        return NONE;
+    }
+
+    public boolean expired() {
+        return bounded && System.nanoTime() - deadlineNanos >= 0;
+    }
+
+    void check() {
+        if (expired())
+            throw new Expired();
+    }
+
+    static final class Expired extends RuntimeException {
+        Expired() {
+            super("Planning time budget exhausted", null, false, false);
+        }
+    }
+}
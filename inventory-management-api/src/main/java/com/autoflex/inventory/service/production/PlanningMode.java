@@ -0,0 +1,20 @@
+package com.autoflex.inventory.service.production;
+
+import jakarta.ws.rs.BadRequestException;
+
+import java.util.Locale;
+
+public enum PlanningMode {
+    GREEDY,
+    OPTIMAL;
+
+    public static PlanningMode from(String value) {
+        if (value == null || value.isBlank())
+            return GREEDY;
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Modo de planejamento inválido: " + value + ". Use greedy ou optimal.");
+        }
+    }
+}
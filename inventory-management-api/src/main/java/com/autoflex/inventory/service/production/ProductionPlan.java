@@ -0,0 +1,25 @@
+package com.autoflex.inventory.service.production;
+
+/**
+ * Quantity to produce per snapshot product index, plus how far the plan is
+ * known to be from the best possible total value.
+ */
+public record ProductionPlan(int[] quantities, Status status, double optimalityGap) {
+
+    public enum Status {
+        // Plano heurístico, sem garantia de otimalidade
+        HEURISTIC,
+        // Branch-and-bound concluído: não existe plano de maior valor
+        OPTIMAL,
+        // Orçamento de tempo ou limite do tableau esgotado; retorna a melhor solução encontrada
+        TIME_LIMIT
+    }
+
+    public static ProductionPlan heuristic(int[] quantities) {
+        return new ProductionPlan(quantities, Status.HEURISTIC, Double.NaN);
+    }
+
+    public boolean hasOptimalityGap() {
+        return !Double.isNaN(optimalityGap);
+    }
+}
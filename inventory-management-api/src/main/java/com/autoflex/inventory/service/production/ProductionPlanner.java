@@ -0,0 +1,14 @@
+package com.autoflex.inventory.service.production;
+
+public interface ProductionPlanner {
+
+    /**
+     * Plans one independent cluster of products.
+     *
+     * @param products   snapshot product indexes, in price-desc order
+     * @param stock      virtual stock shared by all clusters; only the cluster's own raw materials may be touched
+     * @param quantities output array indexed by snapshot product index
+     */
+    ComponentPlan plan(BomSnapshot snapshot, int[] products, double[] stock, int[] quantities,
+            PlanningDeadline deadline);
+}
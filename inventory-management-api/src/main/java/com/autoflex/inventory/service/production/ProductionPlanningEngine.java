@@ -0,0 +1,226 @@
+package com.autoflex.inventory.service.production;
+
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Plans each independent product cluster of the snapshot separately and
+ * merges the results. Clusters share no raw material, so they can be solved
+ * in parallel over one virtual stock array without coordination.
+ */
+@ApplicationScoped
+public class ProductionPlanningEngine {
+
+    GreedyProductionPlanner greedyPlanner;
+    OptimalProductionPlanner optimalPlanner;
+    int parallelThreshold;
+    ForkJoinPool pool;
+    // Última passada gulosa; acesso serializado por greedyLock
+    private IncrementalGreedyPlan greedyPlan;
+    private final ReentrantLock greedyLock = new ReentrantLock();
+
+    ProductionPlanningEngine() {
+    }
+
+    @Inject
+    public ProductionPlanningEngine(GreedyProductionPlanner greedyPlanner, OptimalProductionPlanner optimalPlanner,
+            @ConfigProperty(name = "inventory.planner.parallelism", defaultValue = "0") int parallelism,
+            @ConfigProperty(name = "inventory.planner.parallel-threshold", defaultValue = "20000") int parallelThreshold) {
+        this.greedyPlanner = greedyPlanner;
+        this.optimalPlanner = optimalPlanner;
+        this.parallelThreshold = parallelThreshold;
+        this.pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+    }
+
+    /** Stops the planning pool; called by the container, or by whoever built the engine by hand. */
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+
+    public ProductionPlan plan(BomSnapshot snapshot, PlanningMode mode, Duration timeBudget) {
+        if (mode != PlanningMode.OPTIMAL)
+            return planGreedy(snapshot);
+
+        PlanningDeadline deadline = PlanningDeadline.after(optimalPlanner.effectiveBudget(timeBudget));
+        return solve(snapshot, optimalPlanner, deadline, mode);
+    }
+
+    /**
+     * Plans several snapshots over the same recipes, e.g. one per location,
+     * as separate pool tasks, so the wall time follows the slowest snapshot
+     * rather than the sum. Greedy plans here are full passes: the incremental
+     * state follows the snapshots given to {@link #plan} only.
+     *
+     * @return one plan per snapshot, in the same order
+     */
+    public List<ProductionPlan> planAll(List<BomSnapshot> snapshots, PlanningMode mode, Duration timeBudget) {
+        ProductionPlanner planner = mode == PlanningMode.OPTIMAL ? optimalPlanner : greedyPlanner;
+        // Um único prazo para todos os locais: o orçamento vale para a requisição inteira
+        PlanningDeadline deadline = mode == PlanningMode.OPTIMAL
+                ? PlanningDeadline.after(optimalPlanner.effectiveBudget(timeBudget))
+                : PlanningDeadline.none();
+        if (snapshots.size() == 1)
+            return List.of(solve(snapshots.get(0), planner, deadline, mode));
+
+        List<ForkJoinTask<ProductionPlan>> tasks = new ArrayList<>(snapshots.size());
+        for (BomSnapshot snapshot : snapshots) {
+            tasks.add(ForkJoinTask.adapt(() -> solve(snapshot, planner, deadline, mode)));
+        }
+        pool.invoke(ForkJoinTask.adapt(() -> {
+            ForkJoinTask.invokeAll(tasks);
+        }));
+
+        List<ProductionPlan> plans = new ArrayList<>(tasks.size());
+        for (ForkJoinTask<ProductionPlan> task : tasks) {
+            plans.add(task.join());
+        }
+        return plans;
+    }
+
+    /**
+     * Greedy plan, reusing the previous pass when only the stock changed:
+     * just the products reached by the stock differences are replanned.
+     */
+    private ProductionPlan planGreedy(BomSnapshot snapshot) {
+        // Quem espera um lock não prende a thread portadora de uma virtual thread, ao contrário de synchronized
+        greedyLock.lock();
+        try {
+            return planGreedyLocked(snapshot);
+        } finally {
+            greedyLock.unlock();
+        }
+    }
+
+    private ProductionPlan planGreedyLocked(BomSnapshot snapshot) {
+        IncrementalGreedyPlan previous = greedyPlan;
+        if (previous != null && previous.accepts(snapshot)) {
+            previous.update(snapshot);
+            return ProductionPlan.heuristic(previous.quantities());
+        }
+
+        // Receitas ou produtos mudaram: passada completa, guardando o estado para as próximas
+        double[] stockBefore = new double[snapshot.compositionCount()];
+        ProductionPlanner recording = (s, products, stock, quantities, deadline) ->
+                greedyPlanner.plan(s, products, stock, quantities, stockBefore);
+        ProductionPlan plan = solve(snapshot, recording, PlanningDeadline.none(), PlanningMode.GREEDY);
+        greedyPlan = IncrementalGreedyPlan.of(snapshot, plan.quantities().clone(), stockBefore);
+        return plan;
+    }
+
+    private ProductionPlan solve(BomSnapshot snapshot, ProductionPlanner planner, PlanningDeadline deadline,
+            PlanningMode mode) {
+        double[] stock = snapshot.stockCopy();
+        int[] quantities = new int[snapshot.productCount()];
+        ComponentPlan[] results = new ComponentPlan[snapshot.componentCount()];
+
+        // O modelo ótimo compensa o paralelismo sempre; o guloso só em catálogos grandes
+        boolean parallel = results.length > 1
+                && (mode == PlanningMode.OPTIMAL || snapshot.compositionCount() >= parallelThreshold);
+        if (parallel) {
+            pool.invoke(new SolveClusters(planner, snapshot, stock, quantities, deadline, results));
+        } else {
+            for (int k = 0; k < results.length; k++) {
+                results[k] = planner.plan(snapshot, snapshot.componentProducts(k), stock, quantities, deadline);
+            }
+        }
+
+        return merge(quantities, results, mode);
+    }
+
+    private static ProductionPlan merge(int[] quantities, ComponentPlan[] results, PlanningMode mode) {
+        if (mode != PlanningMode.OPTIMAL)
+            return ProductionPlan.heuristic(quantities);
+
+        ProductionPlan.Status status = ProductionPlan.Status.OPTIMAL;
+        double value = 0.0;
+        double bound = 0.0;
+        for (ComponentPlan result : results) {
+            if (weakness(result.status()) > weakness(status))
+                status = result.status();
+            value += result.value();
+            bound += result.bound();
+        }
+
+        double gap;
+        if (Double.isNaN(bound))
+            gap = Double.NaN;
+        else if (bound <= 0.0)
+            gap = 0.0;
+        else
+            gap = Math.max(0.0, (bound - value) / bound);
+        return new ProductionPlan(quantities, status, gap);
+    }
+
+    private static int weakness(ProductionPlan.Status status) {
+        return switch (status) {
+            case OPTIMAL -> 0;
+            case TIME_LIMIT -> 1;
+            case HEURISTIC -> 2;
+        };
+    }
+
+    private static final class SolveClusters extends RecursiveAction {
+
+        private final ProductionPlanner planner;
+        private final BomSnapshot snapshot;
+        private final double[] stock;
+        private final int[] quantities;
+        private final PlanningDeadline deadline;
+        private final ComponentPlan[] results;
+
+        SolveClusters(ProductionPlanner planner, BomSnapshot snapshot, double[] stock, int[] quantities,
+                PlanningDeadline deadline, ComponentPlan[] results) {
+            this.planner = planner;
+            this.snapshot = snapshot;
+            this.stock = stock;
+            this.quantities = quantities;
+            this.deadline = deadline;
+            this.results = results;
+        }
+
+        @Override
+        protected void compute() {
+            // Agrupa clusters pequenos em lotes de peso parecido para não criar uma tarefa por produto isolado
+            long grain = Math.max(1L, snapshot.compositionCount() / (4L * getPool().getParallelism()));
+            List<ForkJoinTask<?>> tasks = new ArrayList<>();
+            int from = 0;
+            long weight = 0;
+            for (int k = 0; k < results.length; k++) {
+                weight += weight(k);
+                if (weight >= grain || k == results.length - 1) {
+                    int batchFrom = from;
+                    int batchTo = k + 1;
+                    tasks.add(ForkJoinTask.adapt(() -> solve(batchFrom, batchTo)));
+                    from = k + 1;
+                    weight = 0;
+                }
+            }
+            invokeAll(tasks);
+        }
+
+        private long weight(int component) {
+            long compositions = 0;
+            for (int p : snapshot.componentProducts(component)) {
+                compositions += snapshot.compositionEnd(p) - snapshot.compositionStart(p);
+            }
+            return compositions;
+        }
+
+        private void solve(int from, int to) {
+            for (int k = from; k < to; k++) {
+                results[k] = planner.plan(snapshot, snapshot.componentProducts(k), stock, quantities, deadline);
+            }
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.autoflex.inventory.service.production;
+
+/**
+ * Dense tableau simplex for {@code max c·y  s.t.  A y <= b, y >= 0} with
+ * {@code b >= 0}. The slack basis is feasible from the start, so no phase one
+ * is needed.
+ */
+final class SimplexSolver {
+
+    static final double EPS = 1e-9;
+    private static final int DEGENERATE_PIVOTS_BEFORE_BLAND = 50;
+
+    private SimplexSolver() {
+    }
+
+    record Solution(double[] y, double value) {
+    }
+
+    static Solution maximize(double[][] a, double[] b, double[] c, PlanningDeadline deadline) {
+        int m = b.length;
+        int n = c.length;
+        int rhs = n + m;
+
+        double[][] t = new double[m][n + m + 1];
+        int[] basis = new int[m];
+        for (int i = 0; i < m; i++) {
+            System.arraycopy(a[i], 0, t[i], 0, n);
+            t[i][n + i] = 1.0;
+            t[i][rhs] = b[i];
+            basis[i] = n + i;
+        }
+        double[] z = new double[n + m + 1];
+        for (int j = 0; j < n; j++) {
+            z[j] = -c[j];
+        }
+
+        int degenerate = 0;
+        for (long iteration = 0;; iteration++) {
+            if ((iteration & 63) == 0)
+                deadline.check();
+
+            boolean bland = degenerate > DEGENERATE_PIVOTS_BEFORE_BLAND;
+            int entering = -1;
+            double best = -EPS;
+            for (int j = 0; j < rhs; j++) {
+                if (z[j] < best) {
+                    entering = j;
+                    if (bland)
+                        break;
+                    best = z[j];
+                }
+            }
+            if (entering < 0)
+                break;
+
+            int leaving = -1;
+            double minRatio = Double.POSITIVE_INFINITY;
+            for (int i = 0; i < m; i++) {
+                double coef = t[i][entering];
+                if (coef > EPS) {
+                    double ratio = t[i][rhs] / coef;
+                    if (ratio < minRatio - EPS || (ratio < minRatio + EPS && leaving >= 0 && basis[i] < basis[leaving])) {
+                        minRatio = ratio;
+                        leaving = i;
+                    }
+                }
+            }
+            if (leaving < 0)
+                throw new IllegalStateException("Unbounded production plan: every product must consume stock");
+
+            degenerate = minRatio < EPS ? degenerate + 1 : 0;
+            pivot(t, z, leaving, entering);
+            basis[leaving] = entering;
+        }
+
+        double[] y = new double[n];
+        for (int i = 0; i < m; i++) {
+            if (basis[i] < n)
+                y[basis[i]] = Math.max(0.0, t[i][rhs]);
+        }
+        return new Solution(y, z[rhs]);
+    }
+
+    private static void pivot(double[][] t, double[] z, int row, int col) {
+        double[] pivotRow = t[row];
+        double inv = 1.0 / pivotRow[col];
+        for (int j = 0; j < pivotRow.length; j++) {
+            pivotRow[j] *= inv;
+        }
+        pivotRow[col] = 1.0;
+
+        for (double[] r : t) {
+            if (r != pivotRow)
+                eliminate(r, pivotRow, col);
+        }
+        eliminate(z, pivotRow, col);
+    }
+
+    private static void eliminate(double[] r, double[] pivotRow, int col) {
+        double factor = r[col];
+        if (factor == 0.0)
+            return;
+        for (int j = 0; j < r.length; j++) {
+            r[j] -= factor * pivotRow[j];
+        }
+        r[col] = 0.0;
+    }
+}
@@ -0,0 +1,112 @@
+package com.autoflex.inventory.service.search;
+
+import com.autoflex.inventory.dto.response.NameMatchDTO;
+import com.autoflex.inventory.repository.ProductRepository;
+import com.autoflex.inventory.repository.RawMaterialRepository;
+import com.autoflex.inventory.service.InventoryVersion;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.BadRequestException;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Name search over products and raw materials, answered from in-memory
+ * {@link NameIndex}es. Each index is tagged with the persisted name version
+ * ({@link InventoryVersion#PRODUCT_NAMES}, {@link InventoryVersion#RAW_MATERIAL_NAMES})
+ * it was built from, which only creates, deletes and renames bump; price,
+ * recipe and stock writes leave it alone. The first search after the names
+ * change rebuilds the index before answering, so a client always finds what
+ * it has just written, on any node; searches arriving during that rebuild
+ * wait for it instead of starting their own.
+ */
+@ApplicationScoped
+public class CatalogSearchService {
+
+    private static final Logger LOG = Logger.getLogger(CatalogSearchService.class);
+
+    static final int DEFAULT_LIMIT = 10;
+
+    @Inject
+    ProductRepository productRepository;
+    @Inject
+    RawMaterialRepository rawMaterialRepository;
+    @Inject
+    InventoryVersion inventoryVersion;
+
+    @ConfigProperty(name = "inventory.search.max-results", defaultValue = "50")
+    int maxResults;
+
+    private final VersionedIndex products = new VersionedIndex("products", InventoryVersion.PRODUCT_NAMES,
+            () -> productRepository.findCodesAndNames());
+    private final VersionedIndex rawMaterials = new VersionedIndex("raw materials", InventoryVersion.RAW_MATERIAL_NAMES,
+            () -> rawMaterialRepository.findCodesAndNames());
+
+    public List<NameMatchDTO> searchProducts(String query, Integer limit) {
+        return search(products, query, limit);
+    }
+
+    public List<NameMatchDTO> searchRawMaterials(String query, Integer limit) {
+        return search(rawMaterials, query, limit);
+    }
+
+    private List<NameMatchDTO> search(VersionedIndex index, String query, Integer limit) {
+        if (query == null || query.isBlank())
+            throw new BadRequestException("O parâmetro q é obrigatório.");
+        int size = limit == null ? Math.min(DEFAULT_LIMIT, maxResults) : limit;
+        if (size < 1 || size > maxResults)
+            throw new BadRequestException("O parâmetro limit deve estar entre 1 e " + maxResults + ".");
+        return index.current().search(query, size);
+    }
+
+    private final class VersionedIndex {
+
+        private final String label;
+        private final String scope;
+        private final Supplier<List<Object[]>> rows;
+        private volatile State state;
+        // Sem synchronized: a recarga consulta o banco e prenderia a thread portadora de uma virtual thread
+        private final ReentrantLock refreshLock = new ReentrantLock();
+
+        VersionedIndex(String label, String scope, Supplier<List<Object[]>> rows) {
+            this.label = label;
+            this.scope = scope;
+            this.rows = rows;
+        }
+
+        // Índice desatualizado nunca responde: quem escreveu um nome e busca em seguida precisa encontrá-lo
+        NameIndex current() {
+            long version = inventoryVersion.version(scope);
+            State s = state;
+            if (s != null && s.version >= version)
+                return s.index;
+            return refresh(version);
+        }
+
+        // A versão é lida antes de consultar o banco: o índice nunca fica mais antigo que a versão gravada
+        private NameIndex refresh(long version) {
+            refreshLock.lock();
+            try {
+                State s = state;
+                if (s != null && s.version >= version)
+                    return s.index;
+
+                long start = System.nanoTime();
+                NameIndex index = NameIndex.of(rows.get());
+                state = new State(index, version);
+                LOG.debugf("Rebuilt %s search index with %d name(s) in %d ms", label, index.size(),
+                        (System.nanoTime() - start) / 1_000_000);
+                return index;
+            } finally {
+                refreshLock.unlock();
+            }
+        }
+    }
+
+    private record State(NameIndex index, long version) {
+    }
+}
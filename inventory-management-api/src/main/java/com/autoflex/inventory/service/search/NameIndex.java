@@ -0,0 +1,205 @@
+package com.autoflex.inventory.service.search;
+
+import com.autoflex.inventory.dto.response.NameMatchDTO;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Immutable name index for autocomplete. Names are folded to lower case
+ * without accents and kept sorted, so a prefix lookup is a binary search.
+ * Substring lookups go through trigram posting lists: only the names holding
+ * the query's rarest trigram are checked, and a query with a trigram no name
+ * has is answered without touching any. Prefix matches come first, then the
+ * other matches, both in name order.
+ */
+public final class NameIndex {
+
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+
+    // Letras Latin-1 (U+00C0..U+00FF) já sem acento; 0 quando precisam do Normalizer
+    private static final char[] LATIN1_FOLD = new char[0x40];
+
+    static {
+        for (char c = 0xC0; c <= 0xFF; c++) {
+            String folded = MARKS.matcher(Normalizer.normalize(String.valueOf(c), Normalizer.Form.NFD))
+                    .replaceAll("").toLowerCase(Locale.ROOT);
+            if (folded.length() == 1 && folded.charAt(0) < 0x80)
+                LATIN1_FOLD[c - 0xC0] = folded.charAt(0);
+        }
+    }
+
+    // Trigrama = 3 símbolos de 6 bits: letras, dígitos e espaço têm símbolo próprio; o resto colide (e é conferido)
+    private static final int TRIGRAMS = 1 << 18;
+
+    private final String[] keys;
+    private final long[] codes;
+    private final String[] names;
+    // Listas de posições (em ordem de nome) por trigrama, no formato CSR
+    private final int[] postingStart;
+    private final int[] postings;
+
+    private NameIndex(String[] keys, long[] codes, String[] names) {
+        this.keys = keys;
+        this.codes = codes;
+        this.names = names;
+
+        postingStart = new int[TRIGRAMS + 1];
+        int[] last = new int[TRIGRAMS];
+        Arrays.fill(last, -1);
+        for (int i = 0; i < keys.length; i++) {
+            String key = keys[i];
+            for (int k = 0; k + 3 <= key.length(); k++) {
+                int t = trigram(key, k);
+                if (last[t] != i) {
+                    last[t] = i;
+                    postingStart[t + 1]++;
+                }
+            }
+        }
+        for (int t = 0; t < TRIGRAMS; t++)
+            postingStart[t + 1] += postingStart[t];
+
+        postings = new int[postingStart[TRIGRAMS]];
+        int[] cursor = Arrays.copyOf(postingStart, TRIGRAMS);
+        Arrays.fill(last, -1);
+        for (int i = 0; i < keys.length; i++) {
+            String key = keys[i];
+            for (int k = 0; k + 3 <= key.length(); k++) {
+                int t = trigram(key, k);
+                if (last[t] != i) {
+                    last[t] = i;
+                    postings[cursor[t]++] = i;
+                }
+            }
+        }
+    }
+
+    /** @param rows pairs of {@code [code, name]} */
+    public static NameIndex of(List<Object[]> rows) {
+        Entry[] entries = new Entry[rows.size()];
+        for (int i = 0; i < entries.length; i++) {
+            Object[] row = rows.get(i);
+            String name = (String) row[1];
+            entries[i] = new Entry(normalize(name), (Long) row[0], name);
+        }
+        Arrays.sort(entries, Comparator.comparing(Entry::key).thenComparingLong(Entry::code));
+
+        String[] keys = new String[entries.length];
+        long[] codes = new long[entries.length];
+        String[] names = new String[entries.length];
+        for (int i = 0; i < entries.length; i++) {
+            keys[i] = entries[i].key();
+            codes[i] = entries[i].code();
+            names[i] = entries[i].name();
+        }
+        return new NameIndex(keys, codes, names);
+    }
+
+    public static NameIndex empty() {
+        return of(List.of());
+    }
+
+    public int size() {
+        return keys.length;
+    }
+
+    public List<NameMatchDTO> search(String query, int limit) {
+        String q = normalize(query);
+        List<NameMatchDTO> result = new ArrayList<>(Math.min(limit, 16));
+        if (q.isEmpty())
+            return result;
+
+        int from = lowerBound(q);
+        int to = from;
+        while (to < keys.length && result.size() < limit && keys[to].startsWith(q)) {
+            result.add(new NameMatchDTO(codes[to], names[to]));
+            to++;
+        }
+        if (result.size() >= limit)
+            return result;
+
+        if (q.length() < 3) {
+            // Termo curto demais para trigramas: varre, e o limite costuma chegar cedo
+            for (int i = 0; i < keys.length && result.size() < limit; i++) {
+                if ((i < from || i >= to) && keys[i].contains(q))
+                    result.add(new NameMatchDTO(codes[i], names[i]));
+            }
+            return result;
+        }
+
+        int rarest = rarestTrigram(q);
+        for (int p = postingStart[rarest]; p < postingStart[rarest + 1] && result.size() < limit; p++) {
+            int i = postings[p];
+            if ((i < from || i >= to) && keys[i].contains(q))
+                result.add(new NameMatchDTO(codes[i], names[i]));
+        }
+        return result;
+    }
+
+    private int rarestTrigram(String q) {
+        int best = trigram(q, 0);
+        for (int k = 1; k + 3 <= q.length(); k++) {
+            int t = trigram(q, k);
+            if (postingStart[t + 1] - postingStart[t] < postingStart[best + 1] - postingStart[best])
+                best = t;
+        }
+        return best;
+    }
+
+    private int lowerBound(String q) {
+        int low = 0;
+        int high = keys.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (keys[mid].compareTo(q) < 0)
+                low = mid + 1;
+            else
+                high = mid;
+        }
+        return low;
+    }
+
+    private static int trigram(String key, int k) {
+        return symbol(key.charAt(k)) << 12 | symbol(key.charAt(k + 1)) << 6 | symbol(key.charAt(k + 2));
+    }
+
+    private static int symbol(char c) {
+        if (c >= 'a' && c <= 'z')
+            return c - 'a' + 1;
+        if (c >= '0' && c <= '9')
+            return c - '0' + 27;
+        if (c == ' ')
+            return 37;
+        return 38 + c % 26;
+    }
+
+    /** Lower case without accents or surrounding blanks: "Aço Inox " and "aco inox" match. */
+    static String normalize(String text) {
+        if (text == null)
+            return "";
+        String stripped = text.strip();
+        char[] folded = new char[stripped.length()];
+        for (int i = 0; i < folded.length; i++) {
+            char c = stripped.charAt(i);
+            if (c < 0x80) {
+                folded[i] = c >= 'A' && c <= 'Z' ? (char) (c + ('a' - 'A')) : c;
+            } else if (c >= 0xC0 && c <= 0xFF && LATIN1_FOLD[c - 0xC0] != 0) {
+                folded[i] = LATIN1_FOLD[c - 0xC0];
+            } else {
+                // Fora do Latin-1 comum: decomposição completa
+                String decomposed = Normalizer.normalize(stripped, Normalizer.Form.NFD);
+                return MARKS.matcher(decomposed).replaceAll("").toLowerCase(Locale.ROOT);
+            }
+        }
+        return new String(folded);
+    }
+
+    private record Entry(String key, long code, String name) {
+    }
+}
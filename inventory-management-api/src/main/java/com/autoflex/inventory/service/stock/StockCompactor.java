@@ -0,0 +1,73 @@
+package com.autoflex.inventory.service.stock;
+
+import com.autoflex.inventory.model.StockSnapshot;
+import com.autoflex.inventory.repository.StockMovementRepository;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.scheduler.Scheduled;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.hibernate.StatelessSession;
+import org.jboss.logging.Logger;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Folds the committed tail of the stock ledger into one new
+ * {@link StockSnapshot} per raw material and location that moved, so balance reads only
+ * sum the movements since the last run. Claiming the tail and writing the
+ * snapshots happen in one transaction: readers see either the old snapshot
+ * plus the tail or the new snapshot, never both.
+ */
+@ApplicationScoped
+public class StockCompactor {
+
+    private static final Logger LOG = Logger.getLogger(StockCompactor.class);
+
+    @Inject
+    StockMovementRepository movementRepository;
+    @Inject
+    StatelessSession statelessSession;
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    @Scheduled(every = "${inventory.stock.compaction-interval}", delayed = "${inventory.stock.compaction-interval}",
+            concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
+    void scheduledCompaction() {
+        compact();
+    }
+
+    /**
+     * Runs one compaction, joining the caller's transaction if there is one.
+     * Runs never overlap on this node; the lock is held until the run commits.
+     */
+    public int compact() {
+        // Lock em vez de synchronized: a compactação faz I/O e não pode prender a thread portadora de uma virtual thread
+        lock.lock();
+        try {
+            return QuarkusTransaction.joiningExisting().call(this::compactTail);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private int compactTail() {
+        // Precisão de microssegundos: o instante é comparado por igualdade no banco
+        Instant now = Instant.now().truncatedTo(ChronoUnit.MICROS);
+        int claimed = movementRepository.claimForCompaction(now);
+        if (claimed == 0)
+            return 0;
+
+        List<StockSnapshot> snapshots = new ArrayList<>();
+        for (Object[] row : movementRepository.sumClaimed(now)) {
+            double quantity = ((Number) row[3]).doubleValue() + ((Number) row[2]).doubleValue();
+            snapshots.add(new StockSnapshot(null, (Long) row[0], (Long) row[1], quantity, now));
+        }
+        statelessSession.insertMultiple(snapshots);
+        LOG.debugf("Compacted %d stock movement(s) into %d snapshot(s)", claimed, snapshots.size());
+        return claimed;
+    }
+}
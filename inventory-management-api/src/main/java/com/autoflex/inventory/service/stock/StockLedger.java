@@ -0,0 +1,135 @@
+package com.autoflex.inventory.service.stock;
+
+import com.autoflex.inventory.model.RawMaterial;
+import com.autoflex.inventory.model.StockGuard;
+import com.autoflex.inventory.model.StockMovement;
+import com.autoflex.inventory.repository.StockGuardRepository;
+import com.autoflex.inventory.repository.StockMovementRepository;
+import com.autoflex.inventory.repository.StockSnapshotRepository;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.hibernate.StatelessSession;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+/**
+ * Read and write side of the stock ledger. Stock is never stored as a
+ * mutable column: writes append {@link StockMovement}s and reads add the
+ * latest snapshot to the movements not yet folded by the
+ * {@link StockCompactor}.
+ */
+@ApplicationScoped
+public class StockLedger {
+
+    @Inject
+    StockMovementRepository movementRepository;
+    @Inject
+    StockSnapshotRepository snapshotRepository;
+    @Inject
+    StockGuardRepository guardRepository;
+    @Inject
+    StatelessSession statelessSession;
+
+    // Entradas não precisam de trava: só acrescentam linhas ao livro, em lotes JDBC
+    public void append(List<StockMovement> movements) {
+        if (!movements.isEmpty())
+            statelessSession.insertMultiple(movements);
+    }
+
+    /**
+     * Locks the raw materials at {@code location} in code order and returns
+     * their current stock there. Anything that takes stock out must check the
+     * balance through here, so two debits of the same material at the same
+     * location never read the same balance; locking in (location, code) order
+     * keeps concurrent debits free of deadlocks. The lock is a
+     * {@link StockGuard} row, never the raw material itself.
+     */
+    public Map<Long, Double> lockStock(SortedSet<Long> codes, Long location) {
+        for (Long code : codes)
+            guardRepository.lock(code, location);
+        return stockLevels(codes, location);
+    }
+
+    /**
+     * Locks the raw material at {@code target} and at every location where it
+     * has stock, then returns its total stock, for adjustments that set the
+     * total across locations.
+     */
+    public double lockTotal(Long code, Long target) {
+        SortedSet<Long> locations = new TreeSet<>(movementRepository.findLocationCodes(code));
+        locations.add(target);
+        for (Long location : locations)
+            guardRepository.lock(code, location);
+        return stockLevels(List.of(code)).getOrDefault(code, 0.0);
+    }
+
+    // Sem local: soma de todos os locais
+    public Map<Long, Double> stockLevels() {
+        return movementRepository.stockLevels();
+    }
+
+    public Map<Long, Double> stockLevels(Long location) {
+        return location == null ? stockLevels() : movementRepository.stockLevels(location);
+    }
+
+    public Map<Long, Double> stockLevels(Collection<Long> codes) {
+        return movementRepository.stockLevels(codes);
+    }
+
+    public Map<Long, Double> stockLevels(Collection<Long> codes, Long location) {
+        return location == null ? stockLevels(codes) : movementRepository.stockLevels(codes, location);
+    }
+
+    /** Stock of every location, read in a single query so they all reflect the same ledger state. */
+    public Map<Long, Map<Long, Double>> stockLevelsByLocation() {
+        return movementRepository.stockLevelsByLocation();
+    }
+
+    public double stockAt(Long code, Long location, Instant at) {
+        if (location != null)
+            return movementRepository.stockAt(code, location, at);
+        // Cada local tem seu próprio último snapshot, então o histórico é reconstruído local a local
+        double total = 0.0;
+        for (Long l : movementRepository.findLocationCodes(code))
+            total += movementRepository.stockAt(code, l, at);
+        return total;
+    }
+
+    public void loadStock(List<RawMaterial> rawMaterials) {
+        loadStock(rawMaterials, null);
+    }
+
+    public void loadStock(List<RawMaterial> rawMaterials, Long location) {
+        Map<Long, Double> levels = stockLevels(location);
+        for (RawMaterial rm : rawMaterials)
+            rm.setStockQuantity(levels.getOrDefault(rm.getCode(), 0.0));
+    }
+
+    public void loadStock(RawMaterial rawMaterial) {
+        loadStock(rawMaterial, null);
+    }
+
+    public void loadStock(RawMaterial rawMaterial, Long location) {
+        Long code = rawMaterial.getCode();
+        rawMaterial.setStockQuantity(stockLevels(List.of(code), location).getOrDefault(code, 0.0));
+    }
+
+    public boolean hasMovements(Long location) {
+        return movementRepository.existsByLocationCode(location);
+    }
+
+    public void discard(Long code) {
+        movementRepository.deleteByRawMaterialCode(code);
+        snapshotRepository.deleteByRawMaterialCode(code);
+        guardRepository.deleteByRawMaterialCode(code);
+    }
+
+    public void discardLocation(Long location) {
+        guardRepository.deleteByLocationCode(location);
+    }
+}
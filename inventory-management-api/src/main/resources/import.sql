@@ -1,20 +1,36 @@
+-- Sequências dos identificadores (incremento 50 = allocationSize das entidades)
+CREATE SEQUENCE IF NOT EXISTS raw_materials_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS products_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS product_compositions_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS stock_movements_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS stock_snapshots_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS locations_seq START WITH 1 INCREMENT BY 50;
+
+-- Locais de estoque (plantas/depósitos); o principal recebe os lançamentos sem local
+CREATE TABLE IF NOT EXISTS locations (
+    code BIGINT PRIMARY KEY,
+    name VARCHAR(255) NOT NULL UNIQUE,
+    main BOOLEAN NOT NULL DEFAULT FALSE
+);
+
 -- Tabela de Matérias-primas
 CREATE TABLE IF NOT EXISTS raw_materials (
-    code BIGSERIAL PRIMARY KEY,
+    code BIGINT PRIMARY KEY,
     name VARCHAR(255) NOT NULL UNIQUE,
-    stock_quantity DOUBLE PRECISION NOT NULL CHECK (stock_quantity >= 0)
+    version BIGINT NOT NULL DEFAULT 0
 );
 
 -- Tabela de Produtos
 CREATE TABLE IF NOT EXISTS products (
-    code BIGSERIAL PRIMARY KEY,
+    code BIGINT PRIMARY KEY,
     name VARCHAR(255) NOT NULL,
-    price DECIMAL(19, 2) NOT NULL CHECK (price > 0)
+    price DECIMAL(19, 2) NOT NULL CHECK (price > 0),
+    version BIGINT NOT NULL DEFAULT 0
 );
 
 -- Tabela de Composição (Relacionamento)
 CREATE TABLE IF NOT EXISTS product_compositions (
-    id BIGSERIAL PRIMARY KEY,
+    id BIGINT PRIMARY KEY,
     product_id BIGINT NOT NULL,
     raw_material_id BIGINT NOT NULL,
     quantity_needed DOUBLE PRECISION NOT NULL CHECK (quantity_needed > 0),
@@ -22,78 +38,136 @@ CREATE TABLE IF NOT EXISTS product_compositions (
     CONSTRAINT fk_raw_material FOREIGN KEY (raw_material_id) REFERENCES raw_materials (code)
 );
 
+-- Índice reverso (onde o insumo é usado) e índice das receitas por produto
+CREATE INDEX IF NOT EXISTS idx_product_compositions_raw_material ON product_compositions (raw_material_id, product_id);
+CREATE INDEX IF NOT EXISTS idx_product_compositions_product ON product_compositions (product_id);
+
+-- Livro de movimentações de estoque (somente inserção; compacted_at é preenchido pela compactação)
+CREATE TABLE IF NOT EXISTS stock_movements (
+    id BIGINT PRIMARY KEY,
+    raw_material_code BIGINT NOT NULL,
+    location_code BIGINT NOT NULL,
+    delta DOUBLE PRECISION NOT NULL,
+    reason VARCHAR(16) NOT NULL,
+    occurred_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    compacted_at TIMESTAMP WITH TIME ZONE
+);
+
+-- Saldos consolidados por matéria-prima e local a cada compactação
+CREATE TABLE IF NOT EXISTS stock_snapshots (
+    id BIGINT PRIMARY KEY,
+    raw_material_code BIGINT NOT NULL,
+    location_code BIGINT NOT NULL,
+    quantity DOUBLE PRECISION NOT NULL,
+    taken_at TIMESTAMP WITH TIME ZONE NOT NULL
+);
+
 -- ==================================================================================
 -- INSERÇÃO DE DADOS (CENÁRIO DE TESTE)
 -- ==================================================================================
 
 INSERT INTO
-    raw_materials (name, stock_quantity)
-VALUES ('Aço Tubular (kg)', 100.0);
+    locations (code, name, main)
+VALUES (1, 'Principal', TRUE);
+
+INSERT INTO
+    raw_materials (code, name, version)
+VALUES (1, 'Aço Tubular (kg)', 0);
+
+INSERT INTO
+    raw_materials (code, name, version)
+VALUES (2, 'Borracha Pneu (un)', 0);
+
+INSERT INTO
+    raw_materials (code, name, version)
+VALUES (3, 'Plástico ABS (kg)', 0);
 
 INSERT INTO
-    raw_materials (name, stock_quantity)
-VALUES ('Borracha Pneu (un)', 40.0);
+    raw_materials (code, name, version)
+VALUES (4, 'Parafuso (un)', 0);
 
+-- Saldo inicial de cada matéria-prima como primeiro lançamento do livro, no local principal
 INSERT INTO
-    raw_materials (name, stock_quantity)
-VALUES ('Plástico ABS (kg)', 50.0);
+    stock_movements (id, raw_material_code, location_code, delta, reason, occurred_at)
+VALUES (1, 1, 1, 100.0, 'INITIAL', CURRENT_TIMESTAMP);
 
 INSERT INTO
-    raw_materials (name, stock_quantity)
-VALUES ('Parafuso (un)', 500.0);
+    stock_movements (id, raw_material_code, location_code, delta, reason, occurred_at)
+VALUES (2, 2, 1, 40.0, 'INITIAL', CURRENT_TIMESTAMP);
 
 INSERT INTO
-    products (name, price)
-VALUES ('Bicicleta Premium', 1500.00);
+    stock_movements (id, raw_material_code, location_code, delta, reason, occurred_at)
+VALUES (3, 3, 1, 50.0, 'INITIAL', CURRENT_TIMESTAMP);
 
 INSERT INTO
-    products (name, price)
-VALUES ('Patinete Iniciante', 200.00);
+    stock_movements (id, raw_material_code, location_code, delta, reason, occurred_at)
+VALUES (4, 4, 1, 500.0, 'INITIAL', CURRENT_TIMESTAMP);
+
+INSERT INTO
+    products (code, name, price, version)
+VALUES (1, 'Bicicleta Premium', 1500.00, 0);
+
+INSERT INTO
+    products (code, name, price, version)
+VALUES (2, 'Patinete Iniciante', 200.00, 0);
 
 INSERT INTO
     product_compositions (
+        id,
         product_id,
         raw_material_id,
         quantity_needed
     )
-VALUES (1, 1, 8.0);
+VALUES (1, 1, 1, 8.0);
 
 INSERT INTO
     product_compositions (
+        id,
         product_id,
         raw_material_id,
         quantity_needed
     )
-VALUES (1, 2, 2.0);
+VALUES (2, 1, 2, 2.0);
 
 INSERT INTO
     product_compositions (
+        id,
         product_id,
         raw_material_id,
         quantity_needed
     )
-VALUES (1, 4, 10.0);
+VALUES (3, 1, 4, 10.0);
 
 INSERT INTO
     product_compositions (
+        id,
         product_id,
         raw_material_id,
         quantity_needed
     )
-VALUES (2, 1, 2.0);
+VALUES (4, 2, 1, 2.0);
 
 INSERT INTO
     product_compositions (
+        id,
         product_id,
         raw_material_id,
         quantity_needed
     )
-VALUES (2, 3, 4.0);
+VALUES (5, 2, 3, 4.0);
 
 INSERT INTO
     product_compositions (
+        id,
         product_id,
         raw_material_id,
         quantity_needed
     )
-VALUES (2, 4, 4.0);
\ No newline at end of file
+VALUES (6, 2, 4, 4.0);
+
+-- Os dados acima usam códigos fixos; as sequências continuam depois deles
+ALTER SEQUENCE raw_materials_seq RESTART WITH 101;
+ALTER SEQUENCE products_seq RESTART WITH 101;
+ALTER SEQUENCE product_compositions_seq RESTART WITH 101;
+ALTER SEQUENCE stock_movements_seq RESTART WITH 101;
+ALTER SEQUENCE locations_seq RESTART WITH 101;
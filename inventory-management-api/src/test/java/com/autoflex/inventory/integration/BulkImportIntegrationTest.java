@@ -0,0 +1,107 @@
+package com.autoflex.inventory.integration;
+
+import io.quarkus.test.common.http.TestHTTPResource;
+import io.quarkus.test.junit.QuarkusTest;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@QuarkusTest
+class BulkImportIntegrationTest {
+
+    @TestHTTPResource("/api/raw-materials/movements")
+    URI movementsUri;
+
+    @Test
+    void testBulkImportOfRawMaterialsAndProducts() {
+        given()
+                .contentType("text/csv")
+                .body("""
+                        name,stockQuantity
+                        Lote Madeira,200
+                        Lote Verniz,30
+                        Lote Madeira,10
+                        Lote Cola,-5
+                        """)
+                .when().post("/api/raw-materials/bulk")
+                .then()
+                .statusCode(200)
+                .body("received", is(4))
+                .body("imported", is(2))
+                .body("errors.row", contains(3, 4));
+
+        Integer madeira = given().when().get("/api/raw-materials")
+                .then().statusCode(200)
+                .extract().path("find { it.name == 'Lote Madeira' }.code");
+        Integer verniz = given().when().get("/api/raw-materials")
+                .then().statusCode(200)
+                .extract().path("find { it.name == 'Lote Verniz' }.code");
+
+        given()
+                .contentType("application/x-ndjson")
+                .body(("{\"name\":\"Lote Estante\",\"price\":420.00,\"compositions\":["
+                        + "{\"rawMaterialCode\":" + madeira + ",\"quantityNeeded\":20},"
+                        + "{\"rawMaterialCode\":" + verniz + ",\"quantityNeeded\":3}]}\n"
+                        + "{\"name\":\"Lote Fantasma\",\"price\":10,\"compositions\":["
+                        + "{\"rawMaterialCode\":999999,\"quantityNeeded\":1}]}\n")
+                        .getBytes(StandardCharsets.UTF_8))
+                .when().post("/api/products/bulk")
+                .then()
+                .statusCode(200)
+                .body("imported", is(1))
+                .body("errors[0].row", is(2))
+                .body("errors[0].message", is("Matéria-prima não encontrada: 999999."));
+
+        given()
+                .when().get("/api/products")
+                .then()
+                .statusCode(200)
+                .body("find { it.name == 'Lote Estante' }.compositions.size()", is(2))
+                .body("find { it.name == 'Lote Fantasma' }", nullValue());
+    }
+
+    @Test
+    void testOnlyBulkImportsAcceptBodiesOverTheDefaultLimit() throws Exception {
+        // Nos testes o limite padrão é 64K; a importação em massa segue no teto do Quarkus
+        StringBuilder csv = new StringBuilder("name,stockQuantity\n");
+        for (int i = 0; i < 2000; i++)
+            csv.append("Lote Volumoso ").append(i).append(" com um nome bem comprido,1\n");
+        given()
+                .contentType("text/csv")
+                .body(csv.toString())
+                .when().post("/api/raw-materials/bulk")
+                .then()
+                .statusCode(200)
+                .body("imported", is(2000));
+
+        String padded = "[" + " ".repeat(80_000) + "]";
+        given()
+                .contentType("application/json")
+                .body(padded)
+                .when().post("/api/raw-materials/movements")
+                .then()
+                .statusCode(413);
+
+        // Sem Content-Length (chunked) o limite vale pela contagem dos bytes lidos
+        HttpClient client = HttpClient.newHttpClient();
+        try {
+            HttpRequest request = HttpRequest.newBuilder(movementsUri)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofInputStream(
+                            () -> new ByteArrayInputStream(padded.getBytes(StandardCharsets.UTF_8))))
+                    .build();
+            assertEquals(413, client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode());
+        } finally {
+            client.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.autoflex.inventory.integration;
+
+import com.autoflex.inventory.dto.request.ProductCompositionRequestDTO;
+import com.autoflex.inventory.dto.request.ProductRequestDTO;
+import com.autoflex.inventory.dto.request.RawMaterialRequestDTO;
+import io.quarkus.test.junit.QuarkusTest;
+import io.restassured.http.ContentType;
+import io.restassured.path.json.JsonPath;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+@QuarkusTest
+class CatalogExportIntegrationTest {
+
+    @Test
+    void testExportStreamsNdjsonAndCsv() {
+        Integer materialId = given()
+                .contentType(ContentType.JSON)
+                .body(new RawMaterialRequestDTO("Export Alumínio", 40.0))
+                .when().post("/api/raw-materials")
+                .then().statusCode(201)
+                .extract().path("code");
+        Integer productId = given()
+                .contentType(ContentType.JSON)
+                .body(new ProductRequestDTO("Export Perfil", BigDecimal.valueOf(75.50),
+                        List.of(new ProductCompositionRequestDTO(null, materialId.longValue(), 2.5))))
+                .when().post("/api/products")
+                .then().statusCode(201)
+                .extract().path("code");
+
+        String ndjson = given()
+                .when().get("/api/products/export")
+                .then().statusCode(200)
+                .contentType(startsWith("application/x-ndjson"))
+                .header("Content-Disposition", containsString("products.ndjson"))
+                .extract().asString();
+        JsonPath product = Arrays.stream(ndjson.split("\n"))
+                .map(JsonPath::from)
+                .filter(line -> line.getInt("code") == productId)
+                .findFirst().orElseThrow();
+        assertEquals("Export Perfil", product.getString("name"));
+        assertEquals(materialId, product.getInt("compositions[0].rawMaterialCode"));
+        assertEquals(2.5f, product.getFloat("compositions[0].quantityNeeded"));
+
+        String materials = given()
+                .accept("text/csv")
+                .when().get("/api/raw-materials/export")
+                .then().statusCode(200)
+                .contentType(startsWith("text/csv"))
+                .extract().asString();
+        assertTrue(materials.startsWith("code,name,stockQuantity\n"), materials);
+        assertTrue(materials.contains(materialId + ",\"Export Alumínio\",40.0")
+                || materials.contains(materialId + ",Export Alumínio,40.0"), materials);
+
+        // O CSV de produtos usa o layout da importação em massa e pode ser reimportado
+        String csv = given()
+                .accept("text/csv")
+                .when().get("/api/products/export")
+                .then().statusCode(200)
+                .extract().asString();
+        assertTrue(csv.startsWith("code,name,price,compositions\n"), csv);
+        String line = Arrays.stream(csv.split("\n"))
+                .filter(l -> l.startsWith(productId + ","))
+                .findFirst().orElseThrow();
+        assertTrue(line.endsWith(materialId + ":2.5"), line);
+
+        given()
+                .contentType("text/csv")
+                .body(("code,name,price,compositions\n" + line.replace("Export Perfil", "Export Perfil Copia") + "\n")
+                        .getBytes(StandardCharsets.UTF_8))
+                .when().post("/api/products/bulk")
+                .then().statusCode(200)
+                .body("imported", is(1));
+    }
+
+    @Test
+    void testRawMaterialExportByUnknownLocationReturns404() {
+        given()
+                .queryParam("location", 999_999)
+                .when().get("/api/raw-materials/export")
+                .then().statusCode(404);
+    }
+}
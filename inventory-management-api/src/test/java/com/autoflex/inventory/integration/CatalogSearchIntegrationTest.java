@@ -0,0 +1,82 @@
+package com.autoflex.inventory.integration;
+
+import com.autoflex.inventory.dto.request.ProductCompositionRequestDTO;
+import com.autoflex.inventory.dto.request.ProductRequestDTO;
+import com.autoflex.inventory.dto.request.RawMaterialRequestDTO;
+import io.quarkus.test.junit.QuarkusTest;
+import io.restassured.http.ContentType;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.*;
+
+@QuarkusTest
+class CatalogSearchIntegrationTest {
+
+    @Test
+    void testSearchFollowsCatalogWrites() {
+        Integer material = given()
+                .contentType(ContentType.JSON)
+                .body(new RawMaterialRequestDTO("Cânhamo Trançado", 10.0))
+                .when().post("/api/raw-materials")
+                .then().statusCode(201)
+                .extract().path("code");
+
+        given()
+                .queryParam("q", "canhamo")
+                .when().get("/api/raw-materials/search")
+                .then().statusCode(200)
+                .body("code", contains(material))
+                .body("name", contains("Cânhamo Trançado"));
+
+        Integer product = given()
+                .contentType(ContentType.JSON)
+                .body(new ProductRequestDTO("Tapete de Cânhamo", BigDecimal.valueOf(80),
+                        List.of(new ProductCompositionRequestDTO(null, material.longValue(), 2.0))))
+                .when().post("/api/products")
+                .then().statusCode(201)
+                .extract().path("code");
+
+        // O índice reflete a escrita seguinte sem reinicialização
+        given()
+                .queryParam("q", "TRANÇADO")
+                .when().get("/api/raw-materials/search")
+                .then().statusCode(200)
+                .body("code", contains(material));
+        given()
+                .queryParam("q", "canham")
+                .when().get("/api/products/search")
+                .then().statusCode(200)
+                .body("code", hasItem(product));
+
+        given()
+                .contentType(ContentType.JSON)
+                .body(new ProductRequestDTO("Tapete de Juta", BigDecimal.valueOf(80),
+                        List.of(new ProductCompositionRequestDTO(null, material.longValue(), 2.0))))
+                .when().put("/api/products/" + product)
+                .then().statusCode(200);
+        // Renomear e buscar em seguida: a busca já enxerga o nome novo
+        given()
+                .queryParam("q", "canham")
+                .when().get("/api/products/search")
+                .then().statusCode(200)
+                .body("code", not(hasItem(product)));
+        given()
+                .queryParam("q", "juta")
+                .when().get("/api/products/search")
+                .then().statusCode(200)
+                .body("code", hasItem(product));
+
+        given()
+                .when().get("/api/products/search")
+                .then().statusCode(400);
+        given()
+                .queryParam("q", "a")
+                .queryParam("limit", 51)
+                .when().get("/api/raw-materials/search")
+                .then().statusCode(400);
+    }
+}
@@ -0,0 +1,76 @@
+package com.autoflex.inventory.integration;
+
+import com.autoflex.inventory.dto.request.RawMaterialRequestDTO;
+import com.autoflex.inventory.service.ProductService;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.mockito.InjectSpy;
+import io.restassured.http.ContentType;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+
+@QuarkusTest
+class ConcurrencyLimitIntegrationTest {
+
+    @InjectSpy
+    ProductService productService;
+
+    @Test
+    void testSuggestionBurstIsShedWhileLookupsStayAvailable() throws Exception {
+        Integer materialId = given()
+                .contentType(ContentType.JSON)
+                .body(new RawMaterialRequestDTO("Fio Limitador", 10.0))
+                .when().post("/api/raw-materials")
+                .then().statusCode(201)
+                .extract().path("code");
+
+        CountDownLatch started = new CountDownLatch(2);
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            started.countDown();
+            release.await(30, TimeUnit.SECONDS);
+            return invocation.callRealMethod();
+        }).when(productService).getProductionSuggestion(any(), any(), any());
+
+        // O profile de teste fixa o limite da sugestão em 2: duas requisições presas ocupam todas as vagas
+        List<CompletableFuture<Integer>> held = List.of(suggestionAsync(), suggestionAsync());
+        try {
+            assertTrue(started.await(30, TimeUnit.SECONDS));
+
+            given().when().get("/api/products/production-suggestion")
+                    .then()
+                    .statusCode(503)
+                    .header("Retry-After", notNullValue());
+            given().when().get("/api/raw-materials/" + materialId)
+                    .then()
+                    .statusCode(200)
+                    .time(lessThan(2_000L));
+        } finally {
+            release.countDown();
+        }
+        for (CompletableFuture<Integer> call : held)
+            assertEquals(200, call.get(30, TimeUnit.SECONDS));
+
+        given().when().get("/q/metrics")
+                .then()
+                .statusCode(200)
+                .body(containsString("inventory_limiter_rejected_total{endpoint=\"production-suggestion\"}"))
+                .body(containsString("inventory_limiter_limit{endpoint=\"production-suggestion\"} 2.0"))
+                .body(containsString("inventory_limiter_queue_wait_seconds_count{endpoint=\"production-suggestion\"}"));
+    }
+
+    private static CompletableFuture<Integer> suggestionAsync() {
+        return CompletableFuture.supplyAsync(() -> given()
+                .when().get("/api/products/production-suggestion")
+                .then().extract().statusCode());
+    }
+}
@@ -0,0 +1,109 @@
+package com.autoflex.inventory.integration;
+
+import com.autoflex.inventory.config.BinaryJsonWriter;
+import com.autoflex.inventory.dto.request.ProductCompositionRequestDTO;
+import com.autoflex.inventory.dto.request.ProductRequestDTO;
+import com.autoflex.inventory.dto.request.RawMaterialRequestDTO;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import io.quarkus.test.junit.QuarkusTest;
+import io.restassured.config.DecoderConfig;
+import io.restassured.config.RestAssuredConfig;
+import io.restassured.http.ContentType;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@QuarkusTest
+class ContentNegotiationIntegrationTest {
+
+    // Mantém o corpo comprimido e o cabeçalho Content-Encoding como o servidor enviou
+    private static final RestAssuredConfig RAW = RestAssuredConfig.config()
+            .decoderConfig(DecoderConfig.decoderConfig().noContentDecoders());
+
+    @Test
+    void testBinaryFormatsCarryTheSameDocumentAsJson() throws Exception {
+        Integer productId = createProductWithComponents("Quadro Binário", 3);
+        String path = "/api/products/" + productId;
+
+        JsonNode json = new ObjectMapper().readTree(given()
+                .when().get(path)
+                .then().statusCode(200)
+                .contentType(ContentType.JSON)
+                .extract().asByteArray());
+        byte[] cbor = given().accept(BinaryJsonWriter.CBOR_TYPE)
+                .when().get(path)
+                .then().statusCode(200)
+                .contentType(BinaryJsonWriter.CBOR_TYPE)
+                .extract().asByteArray();
+        byte[] smile = given().accept(BinaryJsonWriter.SMILE_TYPE)
+                .when().get(path)
+                .then().statusCode(200)
+                .contentType(BinaryJsonWriter.SMILE_TYPE)
+                .extract().asByteArray();
+
+        assertSameDocument(json, new ObjectMapper(new CBORFactory()).readTree(cbor));
+        assertSameDocument(json, new ObjectMapper(new SmileFactory()).readTree(smile));
+    }
+
+    @Test
+    void testLargeResponsesAreCompressedAndSmallOnesAreNot() {
+        Integer productId = createProductWithComponents("Quadro Comprimido", 40);
+
+        given().config(RAW).header("Accept-Encoding", "gzip")
+                .when().get("/api/products")
+                .then().statusCode(200)
+                .header("Content-Encoding", "gzip");
+        given().config(RAW).header("Accept-Encoding", "br")
+                .when().get("/api/products")
+                .then().statusCode(200)
+                .header("Content-Encoding", "br");
+        given().config(RAW).header("Accept-Encoding", "gzip").accept(BinaryJsonWriter.CBOR_TYPE)
+                .when().get("/api/products")
+                .then().statusCode(200)
+                .header("Content-Encoding", "gzip");
+
+        // Abaixo do limite de 1 KiB a resposta segue sem compressão
+        Integer materialId = given().when().get("/api/products/" + productId)
+                .then().extract().path("compositions[0].rawMaterialCode");
+        given().config(RAW).header("Accept-Encoding", "gzip, br")
+                .when().get("/api/raw-materials/" + materialId)
+                .then().statusCode(200)
+                .header("Content-Encoding", nullValue())
+                .body("code", is(materialId));
+    }
+
+    private static void assertSameDocument(JsonNode expected, JsonNode actual) {
+        // O CBOR grava BigDecimal como fração decimal; o valor é o mesmo, a representação não
+        assertEquals(0, expected.get("price").decimalValue().compareTo(actual.get("price").decimalValue()));
+        assertEquals(((ObjectNode) expected.deepCopy()).without("price"), ((ObjectNode) actual.deepCopy()).without("price"));
+    }
+
+    private static Integer createProductWithComponents(String name, int components) {
+        List<ProductCompositionRequestDTO> compositions = new ArrayList<>();
+        for (int i = 0; i < components; i++) {
+            Integer materialId = given()
+                    .contentType(ContentType.JSON)
+                    .body(new RawMaterialRequestDTO(name + " insumo " + i, 100.0))
+                    .when().post("/api/raw-materials")
+                    .then().statusCode(201)
+                    .extract().path("code");
+            compositions.add(new ProductCompositionRequestDTO(null, materialId.longValue(), 1.0));
+        }
+        return given()
+                .contentType(ContentType.JSON)
+                .body(new ProductRequestDTO(name, BigDecimal.valueOf(250.00), compositions))
+                .when().post("/api/products")
+                .then().statusCode(201)
+                .extract().path("code");
+    }
+}
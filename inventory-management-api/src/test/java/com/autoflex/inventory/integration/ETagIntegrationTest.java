@@ -0,0 +1,116 @@
+package com.autoflex.inventory.integration;
+
+import com.autoflex.inventory.dto.request.ProductCompositionRequestDTO;
+import com.autoflex.inventory.dto.request.ProductRequestDTO;
+import com.autoflex.inventory.dto.request.RawMaterialRequestDTO;
+import com.autoflex.inventory.dto.request.StockMovementRequestDTO;
+import com.autoflex.inventory.repository.InventoryVersionRepository;
+import com.autoflex.inventory.service.InventoryVersion;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+import io.restassured.http.ContentType;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.*;
+
+@QuarkusTest
+class ETagIntegrationTest {
+
+    @Inject
+    InventoryVersionRepository versionRepository;
+
+    @Test
+    void testConditionalGetsReturnNotModifiedUntilSomethingChanges() {
+        Integer materialId = given()
+                .contentType(ContentType.JSON)
+                .body(new RawMaterialRequestDTO("Alumínio ETag", 40.0))
+                .when().post("/api/raw-materials")
+                .then().statusCode(201)
+                .extract().path("code");
+        Integer productId = given()
+                .contentType(ContentType.JSON)
+                .body(new ProductRequestDTO("Guidão", BigDecimal.valueOf(120.00),
+                        List.of(new ProductCompositionRequestDTO(null, materialId.longValue(), 2.0))))
+                .when().post("/api/products")
+                .then().statusCode(201)
+                .extract().path("code");
+
+        String productsTag = etag("/api/products");
+        String productTag = etag("/api/products/" + productId);
+        String materialsTag = etag("/api/raw-materials");
+        String materialTag = etag("/api/raw-materials/" + materialId);
+
+        notModified("/api/products", productsTag);
+        notModified("/api/products/" + productId, productTag);
+        notModified("/api/raw-materials", materialsTag);
+        notModified("/api/raw-materials/" + materialId, materialTag);
+
+        // Entrada de estoque: muda os insumos, não os produtos
+        given()
+                .contentType(ContentType.JSON)
+                .body(List.of(new StockMovementRequestDTO(materialId.longValue(), 5.0)))
+                .when().post("/api/raw-materials/movements")
+                .then().statusCode(204);
+        modified("/api/raw-materials", materialsTag);
+        modified("/api/raw-materials/" + materialId, materialTag);
+        notModified("/api/products", productsTag);
+        notModified("/api/products/" + productId, productTag);
+
+        // Renomear o insumo muda o nome exibido na receita do produto
+        given()
+                .contentType(ContentType.JSON)
+                .body(new RawMaterialRequestDTO("Alumínio 6061", 45.0))
+                .when().put("/api/raw-materials/" + materialId)
+                .then().statusCode(200);
+        modified("/api/products", productsTag)
+                .body("find { it.code == " + productId + " }.compositions[0].rawMaterialName", is("Alumínio 6061"));
+        modified("/api/products/" + productId, productTag);
+
+        given().when().get("/api/products/999999").then().statusCode(404);
+    }
+
+    @Test
+    void testListTagsFollowWritesCommittedByAnotherNode() {
+        String productsTag = etag("/api/products");
+        String materialsTag = etag("/api/raw-materials");
+
+        // Outro nó grava só no banco: este nó não recebe evento nenhum, apenas a versão persistida muda
+        QuarkusTransaction.requiringNew().run(() -> versionRepository.increment(InventoryVersion.INVENTORY, 3));
+        modified("/api/raw-materials", materialsTag);
+        notModified("/api/products", productsTag);
+
+        QuarkusTransaction.requiringNew().run(() -> {
+            versionRepository.increment(InventoryVersion.INVENTORY, 7);
+            versionRepository.increment(InventoryVersion.CATALOG, 7);
+        });
+        modified("/api/products", productsTag);
+    }
+
+    private static String etag(String path) {
+        String tag = given().when().get(path)
+                .then().statusCode(200)
+                .header("ETag", not(emptyOrNullString()))
+                .extract().header("ETag");
+        return tag;
+    }
+
+    private static void notModified(String path, String tag) {
+        given().header("If-None-Match", tag)
+                .when().get(path)
+                .then().statusCode(304)
+                .header("ETag", is(tag))
+                .body(is(emptyString()));
+    }
+
+    private static io.restassured.response.ValidatableResponse modified(String path, String tag) {
+        return given().header("If-None-Match", tag)
+                .when().get(path)
+                .then().statusCode(200)
+                .header("ETag", not(is(tag)));
+    }
+}
@@ -0,0 +1,46 @@
+package com.autoflex.inventory.integration;
+
+import io.quarkus.test.common.QuarkusTestResourceLifecycleManager;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Map;
+
+/**
+ * Starts a throwaway PostgreSQL for tests that need the reactive datasource:
+ * the Vert.x client has no H2 driver. The JDBC and the reactive pools point
+ * at the same database, so writes through the blocking API are read back
+ * through the reactive one.
+ */
+public class EmbeddedPostgresResource implements QuarkusTestResourceLifecycleManager {
+
+    private EmbeddedPostgres postgres;
+
+    @Override
+    public Map<String, String> start() {
+        try {
+            postgres = EmbeddedPostgres.start();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        String address = "postgresql://localhost:" + postgres.getPort() + "/postgres";
+        // Com prefixo %test: as chaves %test.* do application.properties vencem as sem perfil
+        return Map.of(
+                "%test.quarkus.datasource.jdbc.url", "jdbc:" + address,
+                "%test.quarkus.datasource.reactive.url", "vertx-reactive:" + address,
+                "%test.quarkus.datasource.username", "postgres",
+                "%test.quarkus.datasource.password", "postgres");
+    }
+
+    @Override
+    public void stop() {
+        if (postgres == null)
+            return;
+        try {
+            postgres.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
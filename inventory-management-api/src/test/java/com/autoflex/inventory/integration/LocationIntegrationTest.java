@@ -0,0 +1,152 @@
+package com.autoflex.inventory.integration;
+
+import com.autoflex.inventory.dto.request.LocationRequestDTO;
+import com.autoflex.inventory.dto.request.ProductCompositionRequestDTO;
+import com.autoflex.inventory.dto.request.ProductRequestDTO;
+import com.autoflex.inventory.dto.request.RawMaterialRequestDTO;
+import com.autoflex.inventory.dto.request.StockMovementRequestDTO;
+import io.quarkus.test.junit.QuarkusTest;
+import io.restassured.http.ContentType;
+import io.restassured.path.json.JsonPath;
+import io.restassured.specification.RequestSpecification;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@QuarkusTest
+class LocationIntegrationTest {
+
+    @Test
+    void testStockAndSuggestionsArePartitionedByLocation() {
+        long main = given()
+                .when().get("/api/locations")
+                .then().statusCode(200)
+                .body("find { it.main }.name", is("Principal"))
+                .extract().jsonPath().getLong("find { it.main }.code");
+        long plant = create("Planta Sul");
+
+        Integer materialId = given()
+                .contentType(ContentType.JSON)
+                .body(new RawMaterialRequestDTO("Aço Planta", 10.0))
+                .when().post("/api/raw-materials")
+                .then().statusCode(201)
+                .extract().path("code");
+        long material = materialId.longValue();
+
+        given()
+                .contentType(ContentType.JSON)
+                .body(List.of(new StockMovementRequestDTO(material, 30.0, plant)))
+                .when().post("/api/raw-materials/movements")
+                .then().statusCode(204);
+
+        // Saída maior que o saldo do local é recusada, mesmo cabendo no total
+        given()
+                .contentType(ContentType.JSON)
+                .body(List.of(new StockMovementRequestDTO(material, -35.0, plant)))
+                .when().post("/api/raw-materials/movements")
+                .then().statusCode(409);
+        given()
+                .contentType(ContentType.JSON)
+                .body(List.of(new StockMovementRequestDTO(material, -5.0, plant)))
+                .when().post("/api/raw-materials/movements")
+                .then().statusCode(204);
+
+        assertStock(material, null, 35.0f);
+        assertStock(material, main, 10.0f);
+        assertStock(material, plant, 25.0f);
+        given()
+                .queryParam("location", 999_999)
+                .when().get("/api/raw-materials/" + material)
+                .then().statusCode(404);
+
+        Integer productId = given()
+                .contentType(ContentType.JSON)
+                .body(new ProductRequestDTO("Estrutura Planta", BigDecimal.valueOf(90.00),
+                        List.of(new ProductCompositionRequestDTO(null, material, 7.0))))
+                .when().post("/api/products")
+                .then().statusCode(201)
+                .extract().path("code");
+        long product = productId.longValue();
+
+        given()
+                .queryParam("location", plant)
+                .when().get("/api/products/production-suggestion")
+                .then().statusCode(200)
+                .body("find { it.productCode == " + product + " }.quantityToProduce", is(3));
+
+        // Cada local produz só com o próprio estoque: 3 + 1, abaixo dos 5 da soma dos saldos
+        JsonPath byLocation = given()
+                .when().get("/api/products/production-suggestion/by-location")
+                .then().statusCode(200)
+                .extract().jsonPath();
+        assertEquals(3, quantity(byLocation, "locations.find { it.locationCode == " + plant + " }.suggestions", product));
+        assertEquals(1, quantity(byLocation, "locations.find { it.locationCode == " + main + " }.suggestions", product));
+        assertEquals(4, quantity(byLocation, "total", product));
+        assertEquals("Planta Sul", byLocation.getString("locations.find { it.locationCode == " + plant + " }.locationName"));
+
+        given()
+                .queryParam("quantity", 3)
+                .queryParam("location", plant)
+                .when().post("/api/products/" + product + "/produce")
+                .then().statusCode(200)
+                .body("consumption[0].remainingStock", is(4.0f));
+        given()
+                .queryParam("quantity", 1)
+                .queryParam("location", plant)
+                .when().post("/api/products/" + product + "/produce")
+                .then().statusCode(409);
+        assertStock(material, main, 10.0f);
+
+        // Locais com movimentações e o principal não podem ser removidos
+        given().when().delete("/api/locations/" + plant).then().statusCode(409);
+        given().when().delete("/api/locations/" + main).then().statusCode(409);
+        given().when().delete("/api/locations/" + create("Depósito Vazio")).then().statusCode(204);
+    }
+
+    @Test
+    void testLocationValidation() {
+        create("Planta Norte");
+        given()
+                .contentType(ContentType.JSON)
+                .body(new LocationRequestDTO("Planta Norte"))
+                .when().post("/api/locations")
+                .then().statusCode(409);
+        given()
+                .contentType(ContentType.JSON)
+                .body(new LocationRequestDTO(" "))
+                .when().post("/api/locations")
+                .then().statusCode(400);
+        given()
+                .when().get("/api/locations/999999")
+                .then().statusCode(404);
+    }
+
+    private static long create(String name) {
+        Integer code = given()
+                .contentType(ContentType.JSON)
+                .body(new LocationRequestDTO(name))
+                .when().post("/api/locations")
+                .then().statusCode(201)
+                .body("main", is(false))
+                .extract().path("code");
+        return code.longValue();
+    }
+
+    private static void assertStock(long material, Long location, float expected) {
+        RequestSpecification request = given();
+        if (location != null)
+            request.queryParam("location", location);
+        request.when().get("/api/raw-materials/" + material)
+                .then().statusCode(200)
+                .body("stockQuantity", is(expected));
+    }
+
+    private static int quantity(JsonPath json, String suggestions, long product) {
+        return json.getInt(suggestions + ".find { it.productCode == " + product + " }.quantityToProduce");
+    }
+}
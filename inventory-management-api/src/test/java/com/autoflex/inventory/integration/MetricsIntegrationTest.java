@@ -0,0 +1,54 @@
+package com.autoflex.inventory.integration;
+
+import io.quarkus.test.junit.QuarkusTest;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@QuarkusTest
+class MetricsIntegrationTest {
+
+    private static final Pattern EXPORT_STATEMENTS = Pattern.compile(
+            "inventory_http_sql_statements_sum\\{class=\"RawMaterialResource\",method=\"export\"[^}]*} (\\S+)");
+
+    @Test
+    void testMetricsEndpointExposesRequestAndSqlMetrics() {
+        given().when().get("/api/raw-materials").then().statusCode(200);
+        given().when().get("/api/products/production-suggestion").then().statusCode(200);
+
+        given()
+                .when()
+                .get("/q/metrics")
+                .then()
+                .statusCode(200)
+                .body(containsString("http_server_requests_seconds{"))
+                .body(containsString("quantile=\"0.99\""))
+                .body(containsString("inventory_http_sql_statements_count{class=\"RawMaterialResource\""))
+                .body(containsString("inventory_http_sql_time_seconds_sum{class=\"ProductResource\",method=\"getProductionSuggestion\""))
+                .body(containsString("inventory_production_suggestion_phase_seconds_count{phase=\"compute\""))
+                .body(containsString("agroal_"));
+    }
+
+    @Test
+    void testStatementsRunWhileStreamingTheBodyAreCounted() throws InterruptedException {
+        // A exportação só consulta o banco enquanto escreve o corpo, depois dos filtros de resposta
+        given().accept("text/csv").when().get("/api/raw-materials/export").then().statusCode(200);
+
+        // A métrica é gravada quando a resposta termina, o que pode acontecer logo depois de o cliente ler o corpo
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        double statements = 0;
+        while (statements == 0 && System.nanoTime() < deadline) {
+            Matcher matcher = EXPORT_STATEMENTS.matcher(given().when().get("/q/metrics").asString());
+            statements = matcher.find() ? Double.parseDouble(matcher.group(1)) : 0;
+            if (statements == 0)
+                Thread.sleep(50);
+        }
+        assertTrue(statements > 0, "SQL do corpo da exportação não foi contado");
+    }
+}
@@ -37,6 +37,16 @@ class ProductFlowIntegrationTest {
                 .then().statusCode(201)
                 .extract().path("code");
 
+        given()
+                .queryParam("after", productId - 1)
+                .queryParam("limit", 1)
+                .when().get("/api/products")
+                .then()
+                .statusCode(200)
+                .body("size()", is(1))
+                .body("[0].code", is(productId))
+                .body("[0].compositions[0].rawMaterialName", is("Couro Sintético"));
+
         given()
                 .when().get("/api/products/production-suggestion")
                 .then()
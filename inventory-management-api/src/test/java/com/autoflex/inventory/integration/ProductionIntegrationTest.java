@@ -0,0 +1,84 @@
+package com.autoflex.inventory.integration;
+
+import com.autoflex.inventory.dto.request.ProductCompositionRequestDTO;
+import com.autoflex.inventory.dto.request.ProductRequestDTO;
+import com.autoflex.inventory.dto.request.RawMaterialRequestDTO;
+import io.quarkus.test.junit.QuarkusTest;
+import io.restassured.http.ContentType;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@QuarkusTest
+class ProductionIntegrationTest {
+
+    @Test
+    void testConcurrentProductionNeverOversellsStock() throws Exception {
+        Integer materialId = given()
+                .contentType(ContentType.JSON)
+                .body(new RawMaterialRequestDTO("Alumínio Produção", 100.0))
+                .when().post("/api/raw-materials")
+                .then().statusCode(201)
+                .extract().path("code");
+
+        ProductRequestDTO product = new ProductRequestDTO("Escada", BigDecimal.valueOf(90.00),
+                List.of(new ProductCompositionRequestDTO(null, materialId.longValue(), 2.0)));
+        Integer productId = given()
+                .contentType(ContentType.JSON)
+                .body(product)
+                .when().post("/api/products")
+                .then().statusCode(201)
+                .extract().path("code");
+
+        // 25 produções de 3 unidades (6.0 de alumínio cada) disputando 100.0 em estoque
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        List<Future<Integer>> calls = new ArrayList<>();
+        for (int i = 0; i < 25; i++) {
+            calls.add(pool.submit(() -> given()
+                    .queryParam("quantity", 3)
+                    .when().post("/api/products/" + productId + "/produce")
+                    .then().extract().statusCode()));
+        }
+        int produced = 0;
+        int rejected = 0;
+        for (Future<Integer> call : calls) {
+            int status = call.get();
+            if (status == 200)
+                produced++;
+            else if (status == 409)
+                rejected++;
+        }
+        pool.shutdown();
+
+        assertEquals(16, produced);
+        assertEquals(9, rejected);
+        given()
+                .when().get("/api/raw-materials/" + materialId)
+                .then()
+                .statusCode(200)
+                .body("stockQuantity", is(4.0f));
+
+        given()
+                .queryParam("quantity", 3)
+                .when().post("/api/products/" + productId + "/produce")
+                .then()
+                .statusCode(409);
+
+        given()
+                .queryParam("quantity", 2)
+                .when().post("/api/products/" + productId + "/produce")
+                .then()
+                .statusCode(200)
+                .body("consumption[0].quantityConsumed", is(4.0f))
+                .body("consumption[0].remainingStock", is(0.0f));
+    }
+}
@@ -0,0 +1,154 @@
+package com.autoflex.inventory.integration;
+
+import com.autoflex.inventory.dto.request.ProductCompositionRequestDTO;
+import com.autoflex.inventory.dto.request.ProductRequestDTO;
+import com.autoflex.inventory.dto.request.ProductionPlanRequestDTO;
+import com.autoflex.inventory.dto.request.RawMaterialRequestDTO;
+import com.autoflex.inventory.service.ProductService;
+import com.autoflex.inventory.service.ProductionPlanJobService;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.mockito.InjectSpy;
+import io.restassured.http.ContentType;
+import io.restassured.response.ValidatableResponse;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+
+@QuarkusTest
+class ProductionPlanJobIntegrationTest {
+
+    @InjectSpy
+    ProductService productService;
+    @Inject
+    ProductionPlanJobService jobService;
+
+    @Test
+    void testJobComputesTheSuggestionAndExpiresAfterTtl() {
+        Integer materialId = given()
+                .contentType(ContentType.JSON)
+                .body(new RawMaterialRequestDTO("Cobre Job", 30.0))
+                .when().post("/api/raw-materials")
+                .then().statusCode(201)
+                .extract().path("code");
+        Integer productId = given()
+                .contentType(ContentType.JSON)
+                .body(new ProductRequestDTO("Bobina Job", BigDecimal.valueOf(75),
+                        List.of(new ProductCompositionRequestDTO(null, materialId.longValue(), 4.0))))
+                .when().post("/api/products")
+                .then().statusCode(201)
+                .extract().path("code");
+
+        ValidatableResponse accepted = submit(new ProductionPlanRequestDTO("greedy", null, null))
+                .statusCode(202)
+                .body("status", anyOf(is("QUEUED"), is("RUNNING"), is("SUCCEEDED")));
+        String id = accepted.extract().path("id");
+        accepted.header("Location", endsWith("/api/production-plans/" + id));
+
+        awaitStatus(id, "SUCCEEDED")
+                .body("progress", is(100))
+                .body("planStatus", is("HEURISTIC"))
+                .body("finishedAt", notNullValue())
+                .body("suggestions.find { it.productCode == " + productId + " }.quantityToProduce", is(7));
+
+        assertEquals(0, jobService.purgeExpired(Instant.now()));
+        assertTrue(jobService.purgeExpired(Instant.now().plus(Duration.ofHours(1))) >= 1);
+        given().when().get("/api/production-plans/" + id).then().statusCode(404);
+    }
+
+    @Test
+    void testQueueLimitRejectsWithRetryAfterAndCancelFreesTheSlot() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicBoolean interrupted = new AtomicBoolean();
+        doAnswer(invocation -> {
+            started.countDown();
+            try {
+                release.await(30, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                interrupted.set(true);
+                throw e;
+            }
+            return invocation.callRealMethod();
+        }).when(productService).getProductionSuggestion(any(), any(), any());
+
+        // Um worker e fila de 2 no profile de teste: o primeiro job ocupa o worker, os dois seguintes a fila
+        try {
+            String running = submit(new ProductionPlanRequestDTO(null, null, null)).statusCode(202).extract().path("id");
+            assertTrue(started.await(30, TimeUnit.SECONDS));
+            String queued = submit(new ProductionPlanRequestDTO(null, null, null)).statusCode(202).extract().path("id");
+            String last = submit(new ProductionPlanRequestDTO(null, null, null)).statusCode(202).extract().path("id");
+
+            submit(new ProductionPlanRequestDTO(null, null, null))
+                    .statusCode(503)
+                    .header("Retry-After", "5");
+
+            given().when().get("/api/production-plans/" + running)
+                    .then().statusCode(200).body("status", is("RUNNING"));
+            given().when().get("/api/production-plans/" + queued)
+                    .then().statusCode(200).body("status", is("QUEUED")).body("progress", is(0));
+
+            given().when().delete("/api/production-plans/" + queued)
+                    .then().statusCode(200).body("status", is("CANCELLED"));
+            given().when().delete("/api/production-plans/" + queued).then().statusCode(409);
+            String replacement = submit(new ProductionPlanRequestDTO(null, null, null))
+                    .statusCode(202).extract().path("id");
+
+            given().when().delete("/api/production-plans/" + running)
+                    .then().statusCode(200).body("status", is("CANCELLED"));
+            release.countDown();
+
+            awaitStatus(last, "SUCCEEDED");
+            awaitStatus(replacement, "SUCCEEDED");
+            given().when().get("/api/production-plans/" + running)
+                    .then().statusCode(200).body("status", is("CANCELLED")).body("suggestions", nullValue());
+            // O cálculo cancelado termina normalmente: quem esperava pelo mesmo resultado no cache não falha
+            assertFalse(interrupted.get());
+        } finally {
+            release.countDown();
+        }
+    }
+
+    @Test
+    void testInvalidRequestsAreRejectedBeforeQueueing() {
+        submit(new ProductionPlanRequestDTO("fastest", null, null)).statusCode(400);
+        submit(new ProductionPlanRequestDTO("optimal", 0L, null)).statusCode(400);
+        submit(new ProductionPlanRequestDTO(null, null, 999_999L)).statusCode(404);
+        given().when().get("/api/production-plans/unknown").then().statusCode(404);
+    }
+
+    private static ValidatableResponse submit(ProductionPlanRequestDTO dto) {
+        return given()
+                .contentType(ContentType.JSON)
+                .body(dto)
+                .when().post("/api/production-plans")
+                .then();
+    }
+
+    private static ValidatableResponse awaitStatus(String id, String status) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (true) {
+            ValidatableResponse response = given().when().get("/api/production-plans/" + id).then().statusCode(200);
+            if (status.equals(response.extract().path("status")) || System.nanoTime() > deadline)
+                return response.body("status", is(status));
+            try {
+                Thread.sleep(20);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+}
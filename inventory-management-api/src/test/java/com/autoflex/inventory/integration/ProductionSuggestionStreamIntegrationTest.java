@@ -0,0 +1,178 @@
+package com.autoflex.inventory.integration;
+
+import com.autoflex.inventory.dto.request.ProductCompositionRequestDTO;
+import com.autoflex.inventory.dto.request.ProductRequestDTO;
+import com.autoflex.inventory.dto.request.RawMaterialRequestDTO;
+import com.autoflex.inventory.dto.request.StockMovementRequestDTO;
+import com.autoflex.inventory.model.StockMovement;
+import com.autoflex.inventory.model.StockMovementReason;
+import com.autoflex.inventory.repository.InventoryVersionRepository;
+import com.autoflex.inventory.repository.StockMovementRepository;
+import com.autoflex.inventory.service.InventoryVersion;
+import com.autoflex.inventory.service.LocationService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.common.http.TestHTTPResource;
+import io.quarkus.test.junit.QuarkusTest;
+import io.restassured.http.ContentType;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static io.restassured.RestAssured.given;
+import static org.junit.jupiter.api.Assertions.*;
+
+@QuarkusTest
+class ProductionSuggestionStreamIntegrationTest {
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    @TestHTTPResource("/api/products/production-suggestion/stream")
+    URI streamUri;
+
+    @Inject
+    StockMovementRepository movementRepository;
+    @Inject
+    InventoryVersionRepository versionRepository;
+    @Inject
+    LocationService locationService;
+
+    private record SseEvent(String name, JsonNode data) {
+    }
+
+    @Test
+    void testSubscribersGetASnapshotAndThenOneDiffPerBurstOfWrites() throws Exception {
+        HttpClient client = HttpClient.newHttpClient();
+        try {
+            BlockingQueue<SseEvent> first = connect(client);
+            assertEquals("snapshot", next(first).name());
+
+            // Três escritas em sequência, dentro da janela de debounce
+            Integer materialId = given()
+                    .contentType(ContentType.JSON)
+                    .body(new RawMaterialRequestDTO("Fibra SSE", 10.0))
+                    .when().post("/api/raw-materials")
+                    .then().statusCode(201)
+                    .extract().path("code");
+            Integer productId = given()
+                    .contentType(ContentType.JSON)
+                    .body(new ProductRequestDTO("Capacete SSE", BigDecimal.valueOf(300.00),
+                            List.of(new ProductCompositionRequestDTO(null, materialId.longValue(), 2.0))))
+                    .when().post("/api/products")
+                    .then().statusCode(201)
+                    .extract().path("code");
+            given()
+                    .contentType(ContentType.JSON)
+                    .body(List.of(new StockMovementRequestDTO(materialId.longValue(), 10.0)))
+                    .when().post("/api/raw-materials/movements")
+                    .then().statusCode(204);
+
+            SseEvent diff = next(first);
+            assertEquals("diff", diff.name());
+            assertEquals(10, quantityOf(diff.data().get("changed"), productId));
+
+            // Quem conecta depois recebe o conjunto já calculado, na mesma versão
+            BlockingQueue<SseEvent> second = connect(client);
+            SseEvent snapshot = next(second);
+            assertEquals("snapshot", snapshot.name());
+            assertEquals(diff.data().get("version").asLong(), snapshot.data().get("version").asLong());
+            assertEquals(10, quantityOf(snapshot.data().get("suggestions"), productId));
+
+            // Remover o produto chega aos dois assinantes como remoção
+            given().when().delete("/api/products/" + productId).then().statusCode(204);
+            for (BlockingQueue<SseEvent> events : List.of(first, second)) {
+                SseEvent removal = next(events);
+                assertEquals("diff", removal.name());
+                assertTrue(removal.data().get("removedProductCodes").toString().contains(productId.toString()));
+            }
+        } finally {
+            // close() esperaria o fim dos streams, que nunca terminam
+            client.shutdownNow();
+        }
+    }
+
+    @Test
+    void testSubscribersGetStockWrittenByAnotherNode() throws Exception {
+        Integer materialId = given()
+                .contentType(ContentType.JSON)
+                .body(new RawMaterialRequestDTO("Fibra Remota SSE", 30.0))
+                .when().post("/api/raw-materials")
+                .then().statusCode(201)
+                .extract().path("code");
+        Integer productId = given()
+                .contentType(ContentType.JSON)
+                .body(new ProductRequestDTO("Capacete Remoto SSE", BigDecimal.valueOf(300.00),
+                        List.of(new ProductCompositionRequestDTO(null, materialId.longValue(), 3.0))))
+                .when().post("/api/products")
+                .then().statusCode(201)
+                .extract().path("code");
+
+        HttpClient client = HttpClient.newHttpClient();
+        try {
+            BlockingQueue<SseEvent> events = connect(client);
+            SseEvent snapshot = next(events);
+            assertEquals("snapshot", snapshot.name());
+            assertEquals(10, quantityOf(snapshot.data().get("suggestions"), productId));
+
+            // Outro nó dá entrada de estoque: grava o movimento e a versão, sem nenhum evento neste nó
+            Long main = locationService.mainLocationCode();
+            QuarkusTransaction.requiringNew().run(() -> {
+                movementRepository.persist(StockMovement.of(materialId.longValue(), main, 30.0,
+                        StockMovementReason.RECEIPT, Instant.now()));
+                versionRepository.increment(InventoryVersion.INVENTORY, 7);
+            });
+
+            SseEvent diff = next(events);
+            assertEquals("diff", diff.name());
+            assertEquals(20, quantityOf(diff.data().get("changed"), productId));
+        } finally {
+            client.shutdownNow();
+        }
+    }
+
+    private BlockingQueue<SseEvent> connect(HttpClient client) {
+        BlockingQueue<SseEvent> events = new LinkedBlockingQueue<>();
+        HttpRequest request = HttpRequest.newBuilder(streamUri).header("Accept", "text/event-stream").build();
+        client.sendAsync(request, HttpResponse.BodyHandlers.ofLines()).thenAccept(response -> {
+            String[] name = { "message" };
+            response.body().forEach(line -> {
+                if (line.startsWith("event:")) {
+                    name[0] = line.substring(6).trim();
+                } else if (line.startsWith("data:")) {
+                    try {
+                        events.add(new SseEvent(name[0], JSON.readTree(line.substring(5).trim())));
+                    } catch (Exception e) {
+                        throw new IllegalStateException(e);
+                    }
+                    name[0] = "message";
+                }
+            });
+        });
+        return events;
+    }
+
+    private static SseEvent next(BlockingQueue<SseEvent> events) throws InterruptedException {
+        SseEvent event = events.poll(10, TimeUnit.SECONDS);
+        assertNotNull(event, "Nenhum evento recebido no stream");
+        return event;
+    }
+
+    private static int quantityOf(JsonNode suggestions, Integer productId) {
+        for (JsonNode s : suggestions) {
+            if (s.get("productCode").asInt() == productId)
+                return s.get("quantityToProduce").asInt();
+        }
+        return fail("Produto " + productId + " ausente: " + suggestions);
+    }
+}
@@ -1,12 +1,17 @@
 package com.autoflex.inventory.integration;
 
+import com.autoflex.inventory.dto.request.ProductCompositionRequestDTO;
+import com.autoflex.inventory.dto.request.ProductRequestDTO;
 import com.autoflex.inventory.dto.request.RawMaterialRequestDTO;
 import io.quarkus.test.junit.QuarkusTest;
 import io.restassured.http.ContentType;
 import org.junit.jupiter.api.Test;
 
+import java.math.BigDecimal;
+import java.util.List;
+
 import static io.restassured.RestAssured.given;
-import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.Matchers.*;
 
 @QuarkusTest
 class RawMaterialIntegrationTest {
@@ -56,4 +61,53 @@ class RawMaterialIntegrationTest {
                 .then()
                 .statusCode(404);
     }
-}
\ No newline at end of file
+
+    @Test
+    void testWhereUsedPagesThroughConsumingProducts() {
+        Integer material = given()
+                .contentType(ContentType.JSON)
+                .body(new RawMaterialRequestDTO("Cola Onde Usado", 50.0))
+                .when().post("/api/raw-materials")
+                .then().statusCode(201)
+                .extract().path("code");
+
+        Integer first = createProduct("Painel Colado", material, 2.0);
+        Integer second = createProduct("Caixa Colada", material, 0.5);
+
+        given()
+                .when().get("/api/raw-materials/" + material + "/where-used")
+                .then().statusCode(200)
+                .body("productCode", contains(first, second))
+                .body("quantityNeeded", contains(2.0f, 0.5f));
+
+        given()
+                .queryParam("after", first)
+                .queryParam("limit", 1)
+                .when().get("/api/raw-materials/" + material + "/where-used")
+                .then().statusCode(200)
+                .body("productName", contains("Caixa Colada"));
+
+        given()
+                .queryParam("limit", 0)
+                .when().get("/api/raw-materials/" + material + "/where-used")
+                .then().statusCode(400);
+        given()
+                .when().get("/api/raw-materials/999999/where-used")
+                .then().statusCode(404);
+
+        // Em uso: a exclusão é recusada
+        given()
+                .when().delete("/api/raw-materials/" + material)
+                .then().statusCode(409);
+    }
+
+    private Integer createProduct(String name, Integer material, double quantity) {
+        return given()
+                .contentType(ContentType.JSON)
+                .body(new ProductRequestDTO(name, BigDecimal.TEN,
+                        List.of(new ProductCompositionRequestDTO(null, material.longValue(), quantity))))
+                .when().post("/api/products")
+                .then().statusCode(201)
+                .extract().path("code");
+    }
+}
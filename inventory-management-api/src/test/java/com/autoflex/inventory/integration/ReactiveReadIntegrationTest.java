@@ -0,0 +1,81 @@
+package com.autoflex.inventory.integration;
+
+import com.autoflex.inventory.dto.request.ProductCompositionRequestDTO;
+import com.autoflex.inventory.dto.request.ProductRequestDTO;
+import com.autoflex.inventory.dto.request.RawMaterialRequestDTO;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.QuarkusTestProfile;
+import io.quarkus.test.junit.TestProfile;
+import io.restassured.http.ContentType;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.*;
+
+@QuarkusTest
+@TestProfile(ReactiveReadIntegrationTest.ReactiveReads.class)
+class ReactiveReadIntegrationTest {
+
+    @Test
+    void testReactiveReadsMatchTheBlockingEndpoints() {
+        Integer materialId = given()
+                .contentType(ContentType.JSON)
+                .body(new RawMaterialRequestDTO("Cobre Reativo", 40.0))
+                .when().post("/api/raw-materials")
+                .then().statusCode(201)
+                .extract().path("code");
+        Integer productId = given()
+                .contentType(ContentType.JSON)
+                .body(new ProductRequestDTO("Fio Reativo", BigDecimal.valueOf(15.00),
+                        List.of(new ProductCompositionRequestDTO(null, materialId.longValue(), 2.0))))
+                .when().post("/api/products")
+                .then().statusCode(201)
+                .extract().path("code");
+
+        String blockingProducts = given().when().get("/api/products").then().statusCode(200).extract().asString();
+        given().when().get("/api/reactive/products")
+                .then().statusCode(200)
+                .body(is(blockingProducts));
+        given().queryParam("limit", 1).when().get("/api/reactive/products")
+                .then().statusCode(200)
+                .body("size()", is(1));
+        given().queryParam("limit", 0).when().get("/api/reactive/products")
+                .then().statusCode(400);
+
+        given().when().get("/api/reactive/products/" + productId)
+                .then().statusCode(200)
+                .body("name", is("Fio Reativo"))
+                .body("compositions[0].rawMaterialName", is("Cobre Reativo"))
+                .body("compositions[0].quantityNeeded", is(2.0f));
+        given().when().get("/api/reactive/products/999999").then().statusCode(404);
+
+        given().when().get("/api/reactive/raw-materials")
+                .then().statusCode(200)
+                .body("find { it.code == " + materialId + " }.stockQuantity", is(40.0f));
+        given().when().get("/api/reactive/raw-materials/" + materialId)
+                .then().statusCode(200)
+                .body("name", is("Cobre Reativo"))
+                .body("stockQuantity", is(40.0f));
+        given().when().get("/api/reactive/raw-materials/999999").then().statusCode(404);
+        given().queryParam("location", 999999).when().get("/api/reactive/raw-materials").then().statusCode(404);
+    }
+
+    public static class ReactiveReads implements QuarkusTestProfile {
+
+        @Override
+        public Map<String, String> getConfigOverrides() {
+            return Map.of(
+                    "%test.quarkus.datasource.db-kind", "postgresql",
+                    "quarkus.datasource.reactive", "true");
+        }
+
+        @Override
+        public List<TestResourceEntry> testResources() {
+            return List.of(new TestResourceEntry(EmbeddedPostgresResource.class));
+        }
+    }
+}
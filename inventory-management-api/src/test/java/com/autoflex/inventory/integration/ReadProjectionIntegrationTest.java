@@ -0,0 +1,58 @@
+package com.autoflex.inventory.integration;
+
+import com.autoflex.inventory.dto.request.ProductCompositionRequestDTO;
+import com.autoflex.inventory.dto.request.ProductRequestDTO;
+import com.autoflex.inventory.dto.request.RawMaterialRequestDTO;
+import com.autoflex.inventory.dto.response.ProductResponseDTO;
+import com.autoflex.inventory.dto.response.RawMaterialResponseDTO;
+import com.autoflex.inventory.service.ProductService;
+import com.autoflex.inventory.service.RawMaterialService;
+import io.quarkus.test.TestTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@QuarkusTest
+class ReadProjectionIntegrationTest {
+
+    @Inject
+    ProductService productService;
+    @Inject
+    RawMaterialService rawMaterialService;
+    @Inject
+    EntityManager entityManager;
+
+    @Test
+    @TestTransaction
+    void testReadsDoNotLoadEntitiesIntoThePersistenceContext() {
+        Long material = rawMaterialService.create(new RawMaterialRequestDTO("Resina Projeção", 12.0)).code();
+        Long product = productService.create(new ProductRequestDTO("Bancada Projeção", BigDecimal.valueOf(320),
+                List.of(new ProductCompositionRequestDTO(null, material, 1.5)))).code();
+        entityManager.flush();
+        entityManager.clear();
+        Session session = entityManager.unwrap(Session.class);
+
+        ProductResponseDTO single = productService.getByCode(product);
+        List<ProductResponseDTO> all = productService.listAll();
+        List<ProductResponseDTO> page = productService.listAll(product - 1, 1);
+        RawMaterialResponseDTO rawMaterial = rawMaterialService.getByCode(material);
+        List<RawMaterialResponseDTO> rawMaterials = rawMaterialService.listAll();
+        RawMaterialResponseDTO past = rawMaterialService.getByCode(material, Instant.now(), null);
+
+        assertEquals(0, session.getStatistics().getEntityCount());
+        assertEquals("Resina Projeção", single.compositions().get(0).rawMaterialName());
+        assertTrue(all.contains(single));
+        assertEquals(List.of(single), page);
+        assertEquals(new RawMaterialResponseDTO(material, "Resina Projeção", 12.0), rawMaterial);
+        assertTrue(rawMaterials.contains(rawMaterial));
+        assertEquals(12.0, past.stockQuantity());
+    }
+}
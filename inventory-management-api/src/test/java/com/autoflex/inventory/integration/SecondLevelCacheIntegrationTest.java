@@ -0,0 +1,81 @@
+package com.autoflex.inventory.integration;
+
+import com.autoflex.inventory.dto.request.ProductCompositionRequestDTO;
+import com.autoflex.inventory.dto.request.ProductRequestDTO;
+import com.autoflex.inventory.dto.request.RawMaterialRequestDTO;
+import com.autoflex.inventory.repository.ProductCompositionRepository;
+import com.autoflex.inventory.repository.ProductRepository;
+import io.quarkus.test.junit.QuarkusTest;
+import io.restassured.http.ContentType;
+import jakarta.inject.Inject;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@QuarkusTest
+class SecondLevelCacheIntegrationTest {
+
+    @Inject
+    SessionFactory sessionFactory;
+
+    @Test
+    void testRepeatedReadsHitTheCacheAndWritesStayVisible() {
+        Integer materialId = given()
+                .contentType(ContentType.JSON)
+                .body(new RawMaterialRequestDTO("Fibra de Carbono", 30.0))
+                .when().post("/api/raw-materials")
+                .then().statusCode(201)
+                .extract().path("code");
+        ProductRequestDTO product = new ProductRequestDTO("Quadro de Bicicleta", BigDecimal.valueOf(900.00),
+                List.of(new ProductCompositionRequestDTO(null, materialId.longValue(), 3.0)));
+        Integer productId = given()
+                .contentType(ContentType.JSON)
+                .body(product)
+                .when().post("/api/products")
+                .then().statusCode(201)
+                .extract().path("code");
+
+        Statistics stats = sessionFactory.getStatistics();
+        given().when().get("/api/products/" + productId).then().statusCode(200);
+        long queryHits = stats.getQueryRegionStatistics(ProductCompositionRepository.BY_PRODUCT_REGION).getHitCount();
+        long productHits = stats.getQueryRegionStatistics(ProductRepository.BY_CODE_REGION).getHitCount();
+
+        given().when().get("/api/products/" + productId)
+                .then().statusCode(200)
+                .body("compositions[0].rawMaterialName", is("Fibra de Carbono"));
+        assertTrue(stats.getQueryRegionStatistics(ProductCompositionRepository.BY_PRODUCT_REGION).getHitCount() > queryHits);
+        assertTrue(stats.getQueryRegionStatistics(ProductRepository.BY_CODE_REGION).getHitCount() > productHits);
+
+        // Escritas pelos serviços continuam visíveis nas leituras seguintes
+        given()
+                .contentType(ContentType.JSON)
+                .body(new RawMaterialRequestDTO("Fibra de Carbono T700", 30.0))
+                .when().put("/api/raw-materials/" + materialId)
+                .then().statusCode(200);
+        given()
+                .contentType(ContentType.JSON)
+                .body(new ProductRequestDTO("Quadro Aero", BigDecimal.valueOf(950.00), List.of()))
+                .when().put("/api/products/" + productId)
+                .then().statusCode(200);
+        given().when().get("/api/products/" + productId)
+                .then().statusCode(200)
+                .body("name", is("Quadro Aero"))
+                .body("compositions[0].rawMaterialName", is("Fibra de Carbono T700"));
+
+        given().when().delete("/api/products/" + productId).then().statusCode(204);
+        given().when().get("/api/products/" + productId).then().statusCode(404);
+
+        given().when().get("/q/metrics")
+                .then().statusCode(200)
+                .body(containsString("hibernate_second_level_cache_requests_total{"))
+                .body(containsString("inventory_cache_query_requests_total{region=\""
+                        + ProductCompositionRepository.BY_PRODUCT_REGION + "\",result=\"hit\"}"));
+    }
+}
@@ -0,0 +1,71 @@
+package com.autoflex.inventory.integration;
+
+import com.autoflex.inventory.dto.request.ProductCompositionRequestDTO;
+import com.autoflex.inventory.dto.request.ProductRequestDTO;
+import com.autoflex.inventory.dto.request.RawMaterialRequestDTO;
+import com.autoflex.inventory.model.StockMovement;
+import com.autoflex.inventory.model.StockMovementReason;
+import com.autoflex.inventory.repository.InventoryVersionRepository;
+import com.autoflex.inventory.repository.StockMovementRepository;
+import com.autoflex.inventory.service.InventoryVersion;
+import com.autoflex.inventory.service.LocationService;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+import io.restassured.http.ContentType;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.*;
+
+@QuarkusTest
+class SharedVersionIntegrationTest {
+
+    @Inject
+    StockMovementRepository movementRepository;
+    @Inject
+    InventoryVersionRepository versionRepository;
+    @Inject
+    LocationService locationService;
+
+    @Test
+    void testSuggestionFollowsStockWrittenByAnotherNode() {
+        Integer materialId = given()
+                .contentType(ContentType.JSON)
+                .body(new RawMaterialRequestDTO("Vidro Compartilhado", 30.0))
+                .when().post("/api/raw-materials")
+                .then().statusCode(201)
+                .extract().path("code");
+        Integer productId = given()
+                .contentType(ContentType.JSON)
+                .body(new ProductRequestDTO("Janela Compartilhada", BigDecimal.valueOf(900.00),
+                        List.of(new ProductCompositionRequestDTO(null, materialId.longValue(), 3.0))))
+                .when().post("/api/products")
+                .then().statusCode(201)
+                .extract().path("code");
+
+        suggestedQuantity(productId, 10);
+
+        // Outro nó dá entrada de estoque: grava o movimento e a versão, sem nenhum evento neste nó
+        Long main = locationService.mainLocationCode();
+        QuarkusTransaction.requiringNew().run(() -> {
+            movementRepository.persist(StockMovement.of(materialId.longValue(), main, 30.0,
+                    StockMovementReason.RECEIPT, Instant.now()));
+            versionRepository.increment(InventoryVersion.INVENTORY, 5);
+        });
+
+        suggestedQuantity(productId, 20);
+    }
+
+    private static void suggestedQuantity(Integer productId, int quantity) {
+        given()
+                .when().get("/api/products/production-suggestion")
+                .then()
+                .statusCode(200)
+                .body("find { it.productCode == " + productId + " }.quantityToProduce", is(quantity));
+    }
+}
@@ -0,0 +1,35 @@
+package com.autoflex.inventory.integration;
+
+import com.autoflex.inventory.metrics.SqlMetricsFilter;
+import io.restassured.builder.ResponseSpecBuilder;
+import io.restassured.specification.ResponseSpecification;
+import org.hamcrest.Description;
+import org.hamcrest.TypeSafeMatcher;
+
+/**
+ * Caps the SQL statements an endpoint may run, read from the
+ * {@code X-Sql-Statements} header the test profile turns on:
+ * {@code .then().spec(SqlBudget.atMost(2))}. A query per row (N+1) breaks it
+ * as soon as the test data has more rows than the budget.
+ */
+final class SqlBudget {
+
+    private SqlBudget() {
+    }
+
+    static ResponseSpecification atMost(int statements) {
+        return new ResponseSpecBuilder()
+                .expectHeader(SqlMetricsFilter.STATEMENTS_HEADER, new TypeSafeMatcher<String>() {
+                    @Override
+                    protected boolean matchesSafely(String value) {
+                        return Integer.parseInt(value) <= statements;
+                    }
+
+                    @Override
+                    public void describeTo(Description description) {
+                        description.appendText("at most " + statements + " SQL statement(s)");
+                    }
+                })
+                .build();
+    }
+}
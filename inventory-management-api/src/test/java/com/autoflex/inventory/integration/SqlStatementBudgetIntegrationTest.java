@@ -0,0 +1,54 @@
+package com.autoflex.inventory.integration;
+
+import com.autoflex.inventory.dto.request.ProductCompositionRequestDTO;
+import com.autoflex.inventory.dto.request.ProductRequestDTO;
+import com.autoflex.inventory.dto.request.RawMaterialRequestDTO;
+import io.quarkus.test.junit.QuarkusTest;
+import io.restassured.http.ContentType;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static io.restassured.RestAssured.given;
+
+@QuarkusTest
+class SqlStatementBudgetIntegrationTest {
+
+    // Mais produtos do que o orçamento de qualquer leitura: uma consulta por linha estoura o limite
+    private static final int PRODUCTS = 12;
+
+    @Test
+    void testReadEndpointsRunAFixedNumberOfStatements() {
+        Integer material = given()
+                .contentType(ContentType.JSON)
+                .body(new RawMaterialRequestDTO("Chapa Orçamento", 500.0))
+                .when().post("/api/raw-materials")
+                .then().statusCode(201)
+                .extract().path("code");
+        Integer product = null;
+        for (int i = 0; i < PRODUCTS; i++) {
+            product = given()
+                    .contentType(ContentType.JSON)
+                    .body(new ProductRequestDTO("Peça Orçamento " + i, BigDecimal.TEN,
+                            List.of(new ProductCompositionRequestDTO(null, material.longValue(), 1.0))))
+                    .when().post("/api/products")
+                    .then().statusCode(201)
+                    .extract().path("code");
+        }
+
+        // Listagens: uma consulta a mais para a versão persistida que vira o ETag
+        given().when().get("/api/products")
+                .then().statusCode(200).spec(SqlBudget.atMost(3));
+        given().queryParam("limit", PRODUCTS).when().get("/api/products")
+                .then().statusCode(200).spec(SqlBudget.atMost(3));
+        given().when().get("/api/products/" + product)
+                .then().statusCode(200).spec(SqlBudget.atMost(3));
+        given().when().get("/api/raw-materials")
+                .then().statusCode(200).spec(SqlBudget.atMost(2));
+        given().when().get("/api/raw-materials/" + material)
+                .then().statusCode(200).spec(SqlBudget.atMost(3));
+        given().queryParam("limit", PRODUCTS).when().get("/api/raw-materials/" + material + "/where-used")
+                .then().statusCode(200).spec(SqlBudget.atMost(2));
+    }
+}
@@ -0,0 +1,142 @@
+package com.autoflex.inventory.integration;
+
+import com.autoflex.inventory.dto.request.RawMaterialRequestDTO;
+import com.autoflex.inventory.dto.request.StockMovementRequestDTO;
+import com.autoflex.inventory.model.RawMaterial;
+import com.autoflex.inventory.repository.RawMaterialRepository;
+import com.autoflex.inventory.service.LocationService;
+import com.autoflex.inventory.service.stock.StockCompactor;
+import com.autoflex.inventory.service.stock.StockLedger;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+import io.restassured.http.ContentType;
+import jakarta.inject.Inject;
+import jakarta.persistence.LockModeType;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+@QuarkusTest
+class StockLedgerIntegrationTest {
+
+    @Inject
+    StockCompactor compactor;
+    @Inject
+    StockLedger stockLedger;
+    @Inject
+    RawMaterialRepository rawMaterialRepository;
+    @Inject
+    LocationService locationService;
+
+    @Test
+    void testBalanceSurvivesCompactionAndHistoryIsQueryable() throws Exception {
+        Integer id = given()
+                .contentType(ContentType.JSON)
+                .body(new RawMaterialRequestDTO("Cobre Livro", 10.0))
+                .when().post("/api/raw-materials")
+                .then().statusCode(201)
+                .extract().path("code");
+        long code = id.longValue();
+
+        given()
+                .contentType(ContentType.JSON)
+                .body(List.of(new StockMovementRequestDTO(code, 5.0), new StockMovementRequestDTO(code, -3.0)))
+                .when().post("/api/raw-materials/movements")
+                .then().statusCode(204);
+
+        compactor.compact();
+        Thread.sleep(5);
+        Instant afterFirstBatch = Instant.now();
+        Thread.sleep(5);
+
+        given()
+                .contentType(ContentType.JSON)
+                .body(List.of(new StockMovementRequestDTO(code, 20.0)))
+                .when().post("/api/raw-materials/movements")
+                .then().statusCode(204);
+
+        // Saldo atual = snapshot (12.0) + cauda (20.0)
+        given()
+                .when().get("/api/raw-materials/" + code)
+                .then().statusCode(200)
+                .body("stockQuantity", is(32.0f));
+
+        compactor.compact();
+
+        given()
+                .when().get("/api/raw-materials/" + code)
+                .then().statusCode(200)
+                .body("stockQuantity", is(32.0f));
+        given()
+                .queryParam("at", afterFirstBatch.toString())
+                .when().get("/api/raw-materials/" + code)
+                .then().statusCode(200)
+                .body("stockQuantity", is(12.0f));
+
+        given()
+                .contentType(ContentType.JSON)
+                .body(List.of(new StockMovementRequestDTO(code, -40.0)))
+                .when().post("/api/raw-materials/movements")
+                .then().statusCode(409);
+
+        given()
+                .contentType(ContentType.JSON)
+                .body(new RawMaterialRequestDTO("Cobre Livro", 7.5))
+                .when().put("/api/raw-materials/" + code)
+                .then().statusCode(200);
+        given()
+                .when().get("/api/raw-materials/" + code)
+                .then().statusCode(200)
+                .body("stockQuantity", is(7.5f));
+    }
+
+    @Test
+    void testDebitLockLeavesTheRawMaterialRowFree() throws Exception {
+        Integer id = given()
+                .contentType(ContentType.JSON)
+                .body(new RawMaterialRequestDTO("Zinco Trava", 10.0))
+                .when().post("/api/raw-materials")
+                .then().statusCode(201)
+                .extract().path("code");
+        long code = id.longValue();
+        Long main = locationService.mainLocationCode();
+
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Double> debit = CompletableFuture.supplyAsync(() -> QuarkusTransaction.requiringNew().call(() -> {
+            double stock = stockLedger.lockStock(new TreeSet<>(List.of(code)), main).get(code);
+            locked.countDown();
+            release.await(30, TimeUnit.SECONDS);
+            return stock;
+        }));
+        try {
+            assertTrue(locked.await(30, TimeUnit.SECONDS));
+            // Com a saída travada, o cadastro do insumo e as entradas seguem sem esperar
+            RawMaterial material = QuarkusTransaction.requiringNew()
+                    .call(() -> rawMaterialRepository.findById(code, LockModeType.PESSIMISTIC_WRITE));
+            assertNotNull(material);
+            given()
+                    .contentType(ContentType.JSON)
+                    .body(List.of(new StockMovementRequestDTO(code, 5.0)))
+                    .when().post("/api/raw-materials/movements")
+                    .then().statusCode(204);
+        } finally {
+            release.countDown();
+        }
+        assertEquals(10.0, debit.get(30, TimeUnit.SECONDS));
+
+        given()
+                .when().get("/api/raw-materials/" + code)
+                .then().statusCode(200)
+                .body("stockQuantity", is(15.0f));
+    }
+}
@@ -0,0 +1,52 @@
+package com.autoflex.inventory.integration;
+
+import com.autoflex.inventory.service.ProductService;
+import com.autoflex.inventory.service.ProductionPlanJobService;
+import com.autoflex.inventory.service.RawMaterialService;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.mockito.InjectSpy;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import static io.restassured.RestAssured.given;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.doAnswer;
+
+@QuarkusTest
+class VirtualThreadIntegrationTest {
+
+    @InjectSpy
+    ProductService productService;
+    @InjectSpy
+    RawMaterialService rawMaterialService;
+    @InjectSpy
+    ProductionPlanJobService planJobService;
+
+    @Test
+    void testCatalogEndpointsRunOnVirtualThreads() {
+        AtomicReference<Thread> productThread = new AtomicReference<>();
+        AtomicReference<Thread> rawMaterialThread = new AtomicReference<>();
+        AtomicReference<Thread> planThread = new AtomicReference<>();
+        doAnswer(invocation -> {
+            productThread.set(Thread.currentThread());
+            return invocation.callRealMethod();
+        }).when(productService).listAll(null, null);
+        doAnswer(invocation -> {
+            rawMaterialThread.set(Thread.currentThread());
+            return invocation.callRealMethod();
+        }).when(rawMaterialService).listAll(null);
+        doAnswer(invocation -> {
+            planThread.set(Thread.currentThread());
+            return invocation.callRealMethod();
+        }).when(planJobService).get("inexistente");
+
+        given().when().get("/api/products").then().statusCode(200);
+        given().when().get("/api/raw-materials").then().statusCode(200);
+        given().when().get("/api/production-plans/inexistente").then().statusCode(404);
+
+        assertTrue(productThread.get().isVirtual(), productThread.get().getName());
+        assertTrue(rawMaterialThread.get().isVirtual(), rawMaterialThread.get().getName());
+        assertTrue(planThread.get().isVirtual(), planThread.get().getName());
+    }
+}
@@ -0,0 +1,45 @@
+package com.autoflex.inventory.integration;
+
+import com.autoflex.inventory.service.ProductService;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.QuarkusTestProfile;
+import io.quarkus.test.junit.TestProfile;
+import io.quarkus.test.junit.mockito.InjectSpy;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static io.restassured.RestAssured.given;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.doAnswer;
+
+@QuarkusTest
+@TestProfile(WorkerThreadIntegrationTest.VirtualThreadsDisabled.class)
+class WorkerThreadIntegrationTest {
+
+    @InjectSpy
+    ProductService productService;
+
+    @Test
+    void testCatalogEndpointsRunOnWorkerThreadsWhenVirtualThreadsAreDisabled() {
+        AtomicReference<Thread> productThread = new AtomicReference<>();
+        doAnswer(invocation -> {
+            productThread.set(Thread.currentThread());
+            return invocation.callRealMethod();
+        }).when(productService).listAll(null, null);
+
+        given().when().get("/api/products").then().statusCode(200);
+
+        assertFalse(productThread.get().isVirtual(), productThread.get().getName());
+        assertTrue(productThread.get().getName().startsWith("executor-thread"), productThread.get().getName());
+    }
+
+    public static class VirtualThreadsDisabled implements QuarkusTestProfile {
+
+        @Override
+        public Map<String, String> getConfigOverrides() {
+            return Map.of("quarkus.virtual-threads.enabled", "false");
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.autoflex.inventory.limit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdaptiveLimiterTest {
+
+    private static final long MS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    AtomicLong clock = new AtomicLong();
+
+    /** Fills the limiter and lets every request take {@code rttMillis}. */
+    private void runRound(AdaptiveLimiter limiter, long rttMillis) {
+        List<AdaptiveLimiter.Permit> permits = new ArrayList<>();
+        AdaptiveLimiter.Permit permit;
+        while ((permit = limiter.acquire(false)) != null)
+            permits.add(permit);
+        clock.addAndGet(rttMillis * MS);
+        permits.forEach(limiter::release);
+    }
+
+    @Test
+    @DisplayName("Deve aumentar o limite enquanto a latência se mantém e ele está sendo usado")
+    void release_ShouldGrowLimit_WhileLatencyIsSteady() {
+        AdaptiveLimiter limiter = new AdaptiveLimiter(4, 1, 20, Duration.ofMillis(50), clock::get);
+
+        for (int round = 0; round < 30; round++)
+            runRound(limiter, 10);
+
+        assertEquals(20, limiter.limit());
+        assertEquals(0, limiter.inFlight());
+    }
+
+    @Test
+    @DisplayName("Deve reduzir o limite enquanto a latência sobe, sem passar do mínimo")
+    void release_ShouldShrinkLimit_WhenLatencyRises() {
+        AdaptiveLimiter limiter = new AdaptiveLimiter(20, 3, 20, Duration.ofMillis(50), clock::get);
+        for (int round = 0; round < 10; round++)
+            runRound(limiter, 10);
+
+        runRound(limiter, 100);
+        int afterSpike = limiter.limit();
+        assertTrue(afterSpike < 20, "limite " + afterSpike);
+
+        // Latência que continua subindo: a média longa nunca alcança a amostra
+        long rtt = 100;
+        for (int round = 0; round < 20; round++, rtt *= 2)
+            runRound(limiter, rtt);
+        assertEquals(3, limiter.limit());
+    }
+
+    @Test
+    @DisplayName("Deve recusar na hora quando a espera prevista passa do atraso máximo de fila")
+    void acquire_ShouldRejectEarly_WhenExpectedWaitExceedsTarget() {
+        AdaptiveLimiter limiter = new AdaptiveLimiter(1, 1, 1, Duration.ofMillis(50), clock::get);
+        runRound(limiter, 1_000);
+
+        AdaptiveLimiter.Permit busy = limiter.acquire(true);
+        assertNotNull(busy);
+        long before = System.nanoTime();
+        assertNull(limiter.acquire(true));
+        assertTrue(System.nanoTime() - before < TimeUnit.MILLISECONDS.toNanos(50));
+        assertEquals(1, limiter.retryAfterSeconds());
+        assertNull(limiter.acquire(false));
+    }
+
+    @Test
+    @DisplayName("Deve liberar a vaga para quem está na fila quando uma requisição termina")
+    void acquire_ShouldHandSlotToWaiter_WhenReleased() throws Exception {
+        AdaptiveLimiter limiter = new AdaptiveLimiter(1, 1, 1, Duration.ofSeconds(10));
+        AdaptiveLimiter.Permit first = limiter.acquire(true);
+
+        CompletableFuture<AdaptiveLimiter.Permit> second = CompletableFuture.supplyAsync(() -> limiter.acquire(true));
+        while (limiter.waiting() == 0)
+            Thread.sleep(1);
+        assertFalse(second.isDone());
+
+        limiter.release(first);
+        AdaptiveLimiter.Permit granted = second.get(10, TimeUnit.SECONDS);
+        assertNotNull(granted);
+        assertTrue(granted.queuedNanos() > 0);
+        assertEquals(1, limiter.inFlight());
+    }
+
+    @Test
+    @DisplayName("Deve recusar quem esperou o atraso máximo sem conseguir vaga")
+    void acquire_ShouldReject_WhenQueueDelayElapses() {
+        AdaptiveLimiter limiter = new AdaptiveLimiter(1, 1, 1, Duration.ofMillis(20));
+        assertNotNull(limiter.acquire(true));
+
+        assertNull(limiter.acquire(true));
+        assertEquals(0, limiter.waiting());
+    }
+}
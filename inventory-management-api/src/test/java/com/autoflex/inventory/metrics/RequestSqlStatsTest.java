@@ -0,0 +1,35 @@
+package com.autoflex.inventory.metrics;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RequestSqlStatsTest {
+
+    @Test
+    @DisplayName("Deve agrupar comandos pelo template, com listas IN de qualquer tamanho juntas")
+    void templates_ShouldAggregateStatementsByTemplate() {
+        RequestSqlStats stats = new RequestSqlStats();
+        for (int i = 0; i < 3; i++) {
+            stats.prepared("select p.code from products p where p.code=?");
+            stats.record(1_000);
+        }
+        stats.prepared("select c.id from product_compositions c where c.product_id in (?,?)");
+        stats.record(5_000);
+        stats.prepared("select c.id\n  from product_compositions c where c.product_id IN ( ?, ?, ? )");
+        stats.record(7_000);
+        stats.prepared("insert into products (name,price) values (?,?)");
+        stats.record(500);
+
+        assertEquals(6, stats.statements());
+        assertEquals(15_500, stats.nanos());
+        assertEquals(List.of(
+                new SqlTemplateStats("select p.code from products p where p.code=?", 3, 3_000),
+                new SqlTemplateStats("select c.id from product_compositions c where c.product_id in (?, ...)", 2, 12_000),
+                new SqlTemplateStats("insert into products (name,price) values (?,?)", 1, 500)),
+                stats.templates());
+    }
+}
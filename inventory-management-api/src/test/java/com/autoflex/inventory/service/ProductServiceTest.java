@@ -2,28 +2,53 @@ package com.autoflex.inventory.service;
 
 import com.autoflex.inventory.dto.request.ProductCompositionRequestDTO;
 import com.autoflex.inventory.dto.request.ProductRequestDTO;
+import com.autoflex.inventory.dto.response.ProductCompositionResponseDTO;
 import com.autoflex.inventory.dto.response.ProductResponseDTO;
+import com.autoflex.inventory.dto.response.LocationProductionSuggestionDTO;
+import com.autoflex.inventory.dto.response.ProductionResponseDTO;
+import com.autoflex.inventory.dto.response.ProductionSuggestionByLocationResponseDTO;
 import com.autoflex.inventory.dto.response.ProductionSuggestionResponseDTO;
+import com.autoflex.inventory.dto.response.StockConsumptionDTO;
 import com.autoflex.inventory.mapper.ProductMapper;
+import com.autoflex.inventory.metrics.ProductionSuggestionMetrics;
 import com.autoflex.inventory.model.Product;
 import com.autoflex.inventory.model.ProductComposition;
 import com.autoflex.inventory.model.RawMaterial;
+import com.autoflex.inventory.model.StockMovement;
+import com.autoflex.inventory.model.StockMovementReason;
 import com.autoflex.inventory.repository.ProductCompositionRepository;
 import com.autoflex.inventory.repository.ProductRepository;
 import com.autoflex.inventory.repository.RawMaterialRepository;
+import com.autoflex.inventory.service.production.BomSnapshot;
+import com.autoflex.inventory.service.production.BomSnapshotProvider;
+import com.autoflex.inventory.service.production.GreedyProductionPlanner;
+import com.autoflex.inventory.service.production.LocationSnapshot;
+import com.autoflex.inventory.service.production.OptimalProductionPlanner;
+import com.autoflex.inventory.service.production.PlanningMode;
+import com.autoflex.inventory.service.production.ProductionPlan;
+import com.autoflex.inventory.service.production.ProductionPlanningEngine;
+import com.autoflex.inventory.service.stock.StockLedger;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.enterprise.event.Event;
 import jakarta.ws.rs.BadRequestException;
 import jakarta.ws.rs.NotFoundException;
+import jakarta.ws.rs.WebApplicationException;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeSet;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -47,6 +72,37 @@ class ProductServiceTest {
     @Mock
     ProductCompositionRepository compositionRepository;
 
+    @Mock
+    StockLedger stockLedger;
+
+    @Mock
+    BomSnapshotProvider snapshotProvider;
+
+    @Mock
+    LocationService locationService;
+
+    @Spy
+    ProductionPlanningEngine planningEngine = new ProductionPlanningEngine(
+            new GreedyProductionPlanner(), mock(OptimalProductionPlanner.class), 2, 0);
+
+    @Mock
+    Event<InventoryChangedEvent> inventoryChanged;
+
+    @Mock
+    Event<NamesChangedEvent> namesChanged;
+
+    @Spy
+    ProductionSuggestionCache suggestionCache = newSuggestionCache();
+
+    @Spy
+    ProductionSuggestionMetrics metrics = new ProductionSuggestionMetrics(new SimpleMeterRegistry());
+
+    private static ProductionSuggestionCache newSuggestionCache() {
+        ProductionSuggestionCache cache = new ProductionSuggestionCache();
+        cache.inventoryVersion = mock(InventoryVersion.class);
+        return cache;
+    }
+
     private Product createProduct(Long code, String name, double price) {
         Product p = new Product();
         p.setCode(code);
@@ -74,43 +130,76 @@ class ProductServiceTest {
     @Test
     @DisplayName("Deve retornar lista de produtos com suas composições")
     void listAll_ShouldReturnList() {
-        Product product = createProduct(1L, "Mesa", 150.0);
-        ProductResponseDTO responseDTO = new ProductResponseDTO(1L, "Mesa", BigDecimal.valueOf(150.0),
-                Collections.emptyList());
+        List<Object[]> rows = new ArrayList<>();
+        rows.add(new Object[] { 1L, "Mesa", BigDecimal.valueOf(150.0) });
+        ProductCompositionResponseDTO comp = new ProductCompositionResponseDTO(5L, 1L, "Mesa", 10L, "Madeira", 4.0);
 
-        when(repository.listAll()).thenReturn(List.of(product));
-        when(compositionRepository.list("product.code", 1L)).thenReturn(new ArrayList<>());
-        when(mapper.toResponse(eq(product), anyList())).thenReturn(responseDTO);
+        when(repository.listRowsOrderedByCode()).thenReturn(rows);
+        when(compositionRepository.listAllResponses()).thenReturn(List.of(comp));
 
         List<ProductResponseDTO> result = service.listAll();
 
-        assertFalse(result.isEmpty());
-        assertEquals(1, result.size());
-        verify(compositionRepository, times(1)).list("product.code", 1L);
+        assertEquals(List.of(new ProductResponseDTO(1L, "Mesa", BigDecimal.valueOf(150.0), List.of(comp))), result);
+        verify(compositionRepository, never()).list(anyString(), any(Object[].class));
+        verifyNoInteractions(mapper);
+    }
+
+    @Test
+    @DisplayName("Deve carregar composições da página em uma única consulta")
+    void listAll_ShouldLoadPageCompositionsInOneQuery() {
+        List<Object[]> rows = new ArrayList<>();
+        rows.add(new Object[] { 1L, "Mesa", BigDecimal.valueOf(150.0) });
+        rows.add(new Object[] { 2L, "Cadeira", BigDecimal.valueOf(50.0) });
+        ProductCompositionResponseDTO compMesa = new ProductCompositionResponseDTO(5L, 1L, "Mesa", 10L, "Madeira", 4.0);
+        ProductCompositionResponseDTO compCadeira = new ProductCompositionResponseDTO(6L, 2L, "Cadeira", 10L, "Madeira", 1.0);
+
+        when(repository.listRowsPageAfter(null, 2)).thenReturn(rows);
+        when(compositionRepository.findResponsesByProductCodes(List.of(1L, 2L))).thenReturn(List.of(compMesa, compCadeira));
+
+        List<ProductResponseDTO> result = service.listAll(null, 2);
+
+        verify(compositionRepository, times(1)).findResponsesByProductCodes(anyCollection());
+        assertEquals(List.of(compMesa), result.get(0).compositions());
+        assertEquals(List.of(compCadeira), result.get(1).compositions());
+    }
+
+    @Test
+    @DisplayName("Deve continuar a paginação a partir do último código informado")
+    void listAll_ShouldUseKeysetCursor() {
+        when(repository.listRowsPageAfter(20L, ProductService.DEFAULT_PAGE_SIZE)).thenReturn(List.of());
+
+        List<ProductResponseDTO> result = service.listAll(20L, null);
+
+        assertTrue(result.isEmpty());
+        verify(repository, never()).listRowsOrderedByCode();
+    }
+
+    @Test
+    @DisplayName("Deve lançar BadRequestException para limit fora do intervalo")
+    void listAll_ShouldThrowException_WhenLimitIsInvalid() {
+        assertThrows(BadRequestException.class, () -> service.listAll(null, 0));
+        assertThrows(BadRequestException.class, () -> service.listAll(null, ProductService.MAX_PAGE_SIZE + 1));
     }
 
     @Test
     @DisplayName("Deve retornar produto quando ID existir")
     void getByCode_ShouldReturnProduct_WhenExists() {
         Long id = 1L;
-        Product product = createProduct(id, "Cadeira", 50.0);
-        ProductResponseDTO responseDTO = new ProductResponseDTO(id, "Cadeira", BigDecimal.valueOf(50.0),
-                Collections.emptyList());
-
-        when(repository.findById(id)).thenReturn(product);
-        when(compositionRepository.list("product.code", id)).thenReturn(new ArrayList<>());
-        when(mapper.toResponse(eq(product), anyList())).thenReturn(responseDTO);
+        when(repository.findRow(id)).thenReturn(Optional.of(new Object[] { id, "Cadeira", BigDecimal.valueOf(50.0) }));
+        when(compositionRepository.findResponsesByProductId(id)).thenReturn(new ArrayList<>());
 
         ProductResponseDTO result = service.getByCode(id);
 
         assertNotNull(result);
         assertEquals(id, result.code());
+        assertEquals("Cadeira", result.name());
+        verify(repository, never()).findById(any());
     }
 
     @Test
     @DisplayName("Deve lançar NotFoundException quando produto não existir")
     void getByCode_ShouldThrowException_WhenIdDoesNotExist() {
-        when(repository.findById(99L)).thenReturn(null);
+        when(repository.findRow(99L)).thenReturn(Optional.empty());
         assertThrows(NotFoundException.class, () -> service.getByCode(99L));
     }
 
@@ -130,7 +219,6 @@ class ProductServiceTest {
 
         doNothing().when(compositionRepository).persist(any(ProductComposition.class));
 
-        when(compositionRepository.list("product.code", productEntity.getCode())).thenReturn(new ArrayList<>());
         when(mapper.toResponse(any(), anyList()))
                 .thenReturn(new ProductResponseDTO(1L, "Mesa", BigDecimal.valueOf(200), Collections.emptyList()));
 
@@ -139,6 +227,8 @@ class ProductServiceTest {
         assertNotNull(result);
         verify(repository).persist(productEntity);
         verify(compositionRepository).persist(any(ProductComposition.class));
+        verify(compositionRepository, never()).findByProductId(any());
+        verify(inventoryChanged).fire(InventoryChangedEvent.catalog());
     }
 
     @Test
@@ -150,6 +240,16 @@ class ProductServiceTest {
         verify(repository, never()).persist(any(Product.class));
     }
 
+    @Test
+    @DisplayName("Deve lançar BadRequestException se a quantidade necessária não for positiva")
+    void create_ShouldThrowException_WhenQuantityIsNotPositive() {
+        ProductRequestDTO request = new ProductRequestDTO("Mesa", BigDecimal.valueOf(200),
+                List.of(new ProductCompositionRequestDTO(null, 10L, 0.0)));
+
+        assertThrows(BadRequestException.class, () -> service.create(request));
+        verify(repository, never()).persist(any(Product.class));
+    }
+
     @Test
     @DisplayName("Deve lançar NotFoundException se a matéria-prima não existir")
     void create_ShouldThrowException_WhenRawMaterialNotFound() {
@@ -172,7 +272,7 @@ class ProductServiceTest {
         Product existingProduct = createProduct(id, "Mesa Velha", 100);
 
         when(repository.findById(id)).thenReturn(existingProduct);
-        when(compositionRepository.list("product.code", id)).thenReturn(new ArrayList<>());
+        when(compositionRepository.findByProductId(id)).thenReturn(new ArrayList<>());
         when(mapper.toResponse(eq(existingProduct), anyList()))
                 .thenReturn(new ProductResponseDTO(id, "Mesa Nova", BigDecimal.valueOf(300), Collections.emptyList()));
 
@@ -183,6 +283,19 @@ class ProductServiceTest {
 
         verify(compositionRepository, never()).persist(any(ProductComposition.class));
         verify(compositionRepository, never()).delete(anyString(), anyLong());
+        verify(namesChanged).fire(NamesChangedEvent.products());
+    }
+
+    @Test
+    @DisplayName("Não deve invalidar o índice de busca quando só o preço muda")
+    void update_ShouldKeepNames_WhenOnlyPriceChanges() {
+        Long id = 1L;
+        when(repository.findById(id)).thenReturn(createProduct(id, "Mesa", 100));
+
+        service.update(id, new ProductRequestDTO("Mesa", BigDecimal.valueOf(150), null));
+
+        verify(inventoryChanged).fire(InventoryChangedEvent.catalog());
+        verify(namesChanged, never()).fire(any());
     }
 
     @Test
@@ -218,16 +331,14 @@ class ProductServiceTest {
     @DisplayName("Deve calcular produção corretamente priorizando produtos mais caros")
     void getProductionSuggestion_ShouldPrioritizeExpensiveProducts() {
         RawMaterial madeira = createRawMaterial(100L, "Madeira", 10.0);
-        when(rawMaterialRepository.listAll()).thenReturn(List.of(madeira));
-
         Product prodA = createProduct(1L, "Mesa Luxo", 200.0);
         Product prodB = createProduct(2L, "Banco Simples", 50.0);
-        when(repository.listAllOrderedByPriceDesc()).thenReturn(List.of(prodA, prodB));
 
         ProductComposition compA = createComposition(prodA, madeira, 2.0);
         ProductComposition compB = createComposition(prodB, madeira, 1.0);
 
-        when(compositionRepository.listAll()).thenReturn(List.of(compA, compB));
+        when(snapshotProvider.current()).thenReturn(
+                BomSnapshot.of(List.of(madeira), List.of(prodA, prodB), List.of(compA, compB)));
 
         List<ProductionSuggestionResponseDTO> result = service.getProductionSuggestion();
 
@@ -243,16 +354,132 @@ class ProductServiceTest {
     @DisplayName("Não deve sugerir produção se não houver estoque suficiente")
     void getProductionSuggestion_ShouldReturnEmpty_WhenNoStock() {
         RawMaterial ouro = createRawMaterial(10L, "Ouro", 0.5);
-        when(rawMaterialRepository.listAll()).thenReturn(List.of(ouro));
-
         Product anel = createProduct(1L, "Anel", 500.0);
-        when(repository.listAllOrderedByPriceDesc()).thenReturn(List.of(anel));
-
         ProductComposition comp = createComposition(anel, ouro, 1.0);
-        when(compositionRepository.listAll()).thenReturn(List.of(comp));
+
+        when(snapshotProvider.current()).thenReturn(BomSnapshot.of(List.of(ouro), List.of(anel), List.of(comp)));
 
         List<ProductionSuggestionResponseDTO> result = service.getProductionSuggestion();
 
         assertTrue(result.isEmpty());
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Deve dividir insumo compartilhado entre produtos na ordem de preço")
+    void getProductionSuggestion_ShouldShareRawMaterialInPriceOrder() {
+        RawMaterial aco = createRawMaterial(1L, "Aço", 100.0);
+        RawMaterial parafuso = createRawMaterial(2L, "Parafuso", 500.0);
+        Product bicicleta = createProduct(1L, "Bicicleta", 1500.0);
+        Product patinete = createProduct(2L, "Patinete", 200.0);
+
+        when(snapshotProvider.current()).thenReturn(BomSnapshot.of(
+                List.of(aco, parafuso),
+                List.of(bicicleta, patinete),
+                List.of(createComposition(bicicleta, aco, 8.0),
+                        createComposition(bicicleta, parafuso, 10.0),
+                        createComposition(patinete, aco, 2.0),
+                        createComposition(patinete, parafuso, 4.0))));
+
+        List<ProductionSuggestionResponseDTO> result = service.getProductionSuggestion();
+
+        assertEquals(2, result.size());
+        assertEquals(12, result.get(0).quantityToProduce());
+        assertEquals(2, result.get(1).quantityToProduce());
+    }
+
+    @Test
+    @DisplayName("Deve usar o planejador ótimo quando o modo optimal for solicitado")
+    void getProductionSuggestion_ShouldDelegateToOptimalPlanner() {
+        RawMaterial madeira = createRawMaterial(100L, "Madeira", 10.0);
+        Product mesa = createProduct(1L, "Mesa", 100.0);
+        BomSnapshot snapshot = BomSnapshot.of(List.of(madeira), List.of(mesa),
+                List.of(createComposition(mesa, madeira, 6.0)));
+
+        when(snapshotProvider.current()).thenReturn(snapshot);
+        doReturn(new ProductionPlan(new int[] { 1 }, ProductionPlan.Status.OPTIMAL, 0.0))
+                .when(planningEngine).plan(snapshot, PlanningMode.OPTIMAL, null);
+
+        ProductionSuggestionResult result = service.getProductionSuggestion(PlanningMode.OPTIMAL, null);
+
+        assertEquals(ProductionPlan.Status.OPTIMAL, result.status());
+        assertEquals(1, result.suggestions().size());
+        verify(planningEngine, never()).plan(any(), eq(PlanningMode.GREEDY), any());
+    }
+
+    @Test
+    @DisplayName("Deve planejar cada local com o próprio estoque e somar os planos no total")
+    void getProductionSuggestionByLocation_ShouldPlanEachLocationAndSumTotals() {
+        RawMaterial madeira = createRawMaterial(100L, "Madeira", 0.0);
+        Product mesa = createProduct(1L, "Mesa", 200.0);
+        Product banco = createProduct(2L, "Banco", 50.0);
+        BomSnapshot base = BomSnapshot.of(List.of(madeira), List.of(mesa, banco),
+                List.of(createComposition(mesa, madeira, 4.0), createComposition(banco, madeira, 1.0)));
+
+        when(snapshotProvider.byLocation()).thenReturn(List.of(
+                new LocationSnapshot(1L, "Principal", base.withStock(new double[] { 9.0 })),
+                new LocationSnapshot(2L, "Planta Sul", base.withStock(new double[] { 3.0 }))));
+
+        ProductionSuggestionByLocationResponseDTO result = service.getProductionSuggestionByLocation(PlanningMode.GREEDY, null);
+
+        assertEquals(List.of(1L, 2L), result.locations().stream().map(LocationProductionSuggestionDTO::locationCode).toList());
+        // Principal: 2 mesas + 1 banco; Planta Sul: só 3 bancos
+        assertEquals(List.of(2, 1), result.locations().get(0).suggestions().stream()
+                .map(ProductionSuggestionResponseDTO::quantityToProduce).toList());
+        assertEquals(List.of(3), result.locations().get(1).suggestions().stream()
+                .map(ProductionSuggestionResponseDTO::quantityToProduce).toList());
+        assertEquals(List.of(2, 4), result.total().stream().map(ProductionSuggestionResponseDTO::quantityToProduce).toList());
+        assertEquals(BigDecimal.valueOf(200.0), result.total().get(1).totalEstimatedValue());
+        verify(planningEngine, never()).plan(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Deve debitar cada matéria-prima da receita em ordem de código")
+    void produce_ShouldConsumeEachRawMaterialInCodeOrder() {
+        when(compositionRepository.findRecipe(1L)).thenReturn(List.of(
+                new Object[] { 20L, 2.0 },
+                new Object[] { 10L, 1.5 },
+                new Object[] { 20L, 1.0 }));
+        when(locationService.resolve(null)).thenReturn(1L);
+        when(stockLedger.lockStock(any(), any())).thenReturn(Map.of(10L, 100.0, 20L, 20.0));
+
+        ProductionResponseDTO result = service.produce(1L, 4);
+
+        // Sem local informado, o consumo sai do principal
+        verify(stockLedger).lockStock(new TreeSet<>(List.of(10L, 20L)), 1L);
+        ArgumentCaptor<List<StockMovement>> movements = ArgumentCaptor.captor();
+        verify(stockLedger).append(movements.capture());
+        assertEquals(List.of(10L, 20L), movements.getValue().stream().map(StockMovement::getRawMaterialCode).toList());
+        assertEquals(List.of(-6.0, -12.0), movements.getValue().stream().map(StockMovement::getDelta).toList());
+        assertTrue(movements.getValue().stream().allMatch(m -> m.getReason() == StockMovementReason.PRODUCTION));
+        assertTrue(movements.getValue().stream().allMatch(m -> m.getLocationCode() == 1L));
+        verify(inventoryChanged).fire(InventoryChangedEvent.stock());
+        assertEquals(List.of(new StockConsumptionDTO(10L, 6.0, 94.0), new StockConsumptionDTO(20L, 12.0, 8.0)),
+                result.consumption());
+    }
+
+    @Test
+    @DisplayName("Deve recusar a produção com conflito quando faltar estoque")
+    void produce_ShouldRejectWhenStockIsInsufficient() {
+        when(compositionRepository.findRecipe(1L)).thenReturn(List.of(
+                new Object[] { 10L, 1.0 },
+                new Object[] { 20L, 5.0 }));
+        when(stockLedger.lockStock(any(), any())).thenReturn(Map.of(10L, 50.0, 20L, 9.0));
+
+        WebApplicationException ex = assertThrows(WebApplicationException.class, () -> service.produce(1L, 2));
+
+        assertEquals(409, ex.getResponse().getStatus());
+        verify(stockLedger, never()).append(any());
+        verify(inventoryChanged, never()).fire(any());
+    }
+
+    @Test
+    @DisplayName("Deve lançar exceção para quantidade inválida ou produto inexistente")
+    void produce_ShouldValidateQuantityAndProduct() {
+        assertThrows(BadRequestException.class, () -> service.produce(1L, 0));
+        verifyNoInteractions(compositionRepository);
+
+        when(compositionRepository.findRecipe(99L)).thenReturn(List.of());
+        when(repository.findById(99L)).thenReturn(null);
+        assertThrows(NotFoundException.class, () -> service.produce(99L, 1));
+    }
+}
@@ -0,0 +1,127 @@
+package com.autoflex.inventory.service;
+
+import com.autoflex.inventory.service.production.PlanningMode;
+import com.autoflex.inventory.service.production.ProductionPlan;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ProductionSuggestionCacheTest {
+
+    ProductionSuggestionCache cache;
+    InventoryVersion inventoryVersion;
+    AtomicLong version = new AtomicLong();
+
+    @BeforeEach
+    void setUp() {
+        inventoryVersion = mock(InventoryVersion.class);
+        when(inventoryVersion.current()).thenAnswer(invocation -> version.get());
+        cache = new ProductionSuggestionCache();
+        cache.inventoryVersion = inventoryVersion;
+    }
+
+    private static ProductionSuggestionResult emptyResult() {
+        return new ProductionSuggestionResult(List.of(), ProductionPlan.Status.HEURISTIC, Double.NaN);
+    }
+
+    @Test
+    @DisplayName("Deve reutilizar a sugestão enquanto a versão do estoque não mudar")
+    void get_ShouldReuseResult_WhileVersionIsUnchanged() {
+        AtomicInteger computations = new AtomicInteger();
+
+        ProductionSuggestionResult first = cache.get(PlanningMode.GREEDY, null, () -> {
+            computations.incrementAndGet();
+            return emptyResult();
+        });
+        ProductionSuggestionResult second = cache.get(PlanningMode.GREEDY, null, () -> {
+            computations.incrementAndGet();
+            return emptyResult();
+        });
+
+        assertSame(first, second);
+        assertEquals(1, computations.get());
+    }
+
+    @Test
+    @DisplayName("Deve recalcular após uma escrita confirmada")
+    void get_ShouldRecompute_AfterInventoryChange() {
+        AtomicInteger computations = new AtomicInteger();
+        cache.get(PlanningMode.GREEDY, null, () -> {
+            computations.incrementAndGet();
+            return emptyResult();
+        });
+
+        version.incrementAndGet();
+        cache.get(PlanningMode.GREEDY, null, () -> {
+            computations.incrementAndGet();
+            return emptyResult();
+        });
+
+        assertEquals(2, computations.get());
+    }
+
+    @Test
+    @DisplayName("Deve executar um único cálculo para requisições simultâneas")
+    void get_ShouldCollapseConcurrentMisses() throws Exception {
+        int callers = 16;
+        AtomicInteger computations = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(callers);
+        try {
+            List<Future<ProductionSuggestionResult>> futures = new ArrayList<>();
+            for (int i = 0; i < callers; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return cache.get(PlanningMode.GREEDY, null, () -> {
+                        computations.incrementAndGet();
+                        try {
+                            release.await(5, TimeUnit.SECONDS);
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                        return emptyResult();
+                    });
+                }));
+            }
+            start.countDown();
+            Thread.sleep(100);
+            release.countDown();
+
+            ProductionSuggestionResult expected = futures.get(0).get(5, TimeUnit.SECONDS);
+            for (Future<ProductionSuggestionResult> future : futures) {
+                assertSame(expected, future.get(5, TimeUnit.SECONDS));
+            }
+            assertEquals(1, computations.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Não deve manter falhas em cache")
+    void get_ShouldNotCacheFailures() {
+        assertThrows(IllegalStateException.class, () -> cache.get(PlanningMode.GREEDY, null, () -> {
+            throw new IllegalStateException("falha");
+        }));
+
+        ProductionSuggestionResult result = cache.get(PlanningMode.GREEDY, null,
+                ProductionSuggestionCacheTest::emptyResult);
+
+        assertNotNull(result);
+    }
+}
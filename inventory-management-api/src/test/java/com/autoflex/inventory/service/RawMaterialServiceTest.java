@@ -1,23 +1,35 @@
 package com.autoflex.inventory.service;
 
 import com.autoflex.inventory.dto.request.RawMaterialRequestDTO;
+import com.autoflex.inventory.dto.request.StockMovementRequestDTO;
 import com.autoflex.inventory.dto.response.RawMaterialResponseDTO;
+import com.autoflex.inventory.dto.response.RawMaterialUsageDTO;
 import com.autoflex.inventory.mapper.RawMaterialMapper;
 import com.autoflex.inventory.model.RawMaterial;
+import com.autoflex.inventory.model.StockMovement;
+import com.autoflex.inventory.model.StockMovementReason;
 import com.autoflex.inventory.repository.ProductCompositionRepository;
 import com.autoflex.inventory.repository.RawMaterialRepository;
+import com.autoflex.inventory.service.stock.StockLedger;
+import jakarta.enterprise.event.Event;
+import jakarta.ws.rs.BadRequestException;
 import jakarta.ws.rs.NotFoundException;
 import jakarta.ws.rs.WebApplicationException;
 import jakarta.ws.rs.core.Response;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -38,6 +50,18 @@ class RawMaterialServiceTest {
     @Mock
     ProductCompositionRepository compositionRepository;
 
+    @Mock
+    StockLedger stockLedger;
+
+    @Mock
+    Event<InventoryChangedEvent> inventoryChanged;
+
+    @Mock
+    Event<NamesChangedEvent> namesChanged;
+
+    @Mock
+    LocationService locationService;
+
     private RawMaterial createEntity(Long code, String name, Double qty) {
         RawMaterial rm = new RawMaterial();
         rm.setCode(code);
@@ -50,23 +74,22 @@ class RawMaterialServiceTest {
     @DisplayName("Deve retornar lista de materiais quando houver registros")
     void listAll_ShouldReturnList_WhenDataExists() {
 
-        RawMaterial entity = createEntity(1L, "Aço", 100.0);
         RawMaterialResponseDTO responseDTO = new RawMaterialResponseDTO(1L, "Aço", 100.0);
 
-        when(repository.listAll()).thenReturn(List.of(entity));
-        when(mapper.toResponse(entity)).thenReturn(responseDTO);
+        when(repository.listResponses(null)).thenReturn(List.of(responseDTO));
 
         List<RawMaterialResponseDTO> result = service.listAll();
 
         assertFalse(result.isEmpty());
         assertEquals(1, result.size());
         assertEquals("Aço", result.get(0).name());
+        verify(repository, never()).listAll();
     }
 
     @Test
     @DisplayName("Deve retornar lista vazia quando não houver registros")
     void listAll_ShouldReturnEmpty_WhenNoData() {
-        when(repository.listAll()).thenReturn(Collections.emptyList());
+        when(repository.listResponses(null)).thenReturn(Collections.emptyList());
 
         List<RawMaterialResponseDTO> result = service.listAll();
 
@@ -78,23 +101,22 @@ class RawMaterialServiceTest {
     @DisplayName("Deve retornar material quando ID existir")
     void getByCode_ShouldReturnMaterial_WhenIdExists() {
         Long id = 1L;
-        RawMaterial entity = createEntity(id, "Madeira", 50.0);
         RawMaterialResponseDTO dto = new RawMaterialResponseDTO(id, "Madeira", 50.0);
 
-        when(repository.findById(id)).thenReturn(entity);
-        when(mapper.toResponse(entity)).thenReturn(dto);
+        when(repository.findResponse(id, null)).thenReturn(Optional.of(dto));
 
         RawMaterialResponseDTO result = service.getByCode(id);
 
         assertNotNull(result);
         assertEquals(id, result.code());
+        verify(repository, never()).findById(any());
     }
 
     @Test
     @DisplayName("Deve lançar NotFoundException quando ID não existir")
     void getByCode_ShouldThrowException_WhenIdDoesNotExist() {
         Long id = 99L;
-        when(repository.findById(id)).thenReturn(null);
+        when(repository.findResponse(id, null)).thenReturn(Optional.empty());
 
         assertThrows(NotFoundException.class, () -> service.getByCode(id));
     }
@@ -136,6 +158,25 @@ class RawMaterialServiceTest {
 
         assertEquals("Ferro Atualizado", existingEntity.getName());
         assertEquals(50.0, existingEntity.getStockQuantity());
+        // Renomear altera a listagem de produtos, então é uma mudança de catálogo
+        verify(inventoryChanged).fire(InventoryChangedEvent.catalog());
+    }
+
+    @Test
+    @DisplayName("Deve lançar o ajuste pela diferença entre o saldo informado e o atual")
+    void update_ShouldAppendAdjustmentForDifference() {
+        Long id = 1L;
+        when(repository.findById(id)).thenReturn(createEntity(id, "Ferro", null));
+        when(locationService.resolve(null)).thenReturn(1L);
+        when(stockLedger.lockTotal(id, 1L)).thenReturn(10.0);
+
+        service.update(id, new RawMaterialRequestDTO("Ferro", 50.0));
+
+        ArgumentCaptor<List<StockMovement>> movements = ArgumentCaptor.captor();
+        verify(stockLedger).append(movements.capture());
+        StockMovement movement = movements.getValue().get(0);
+        assertEquals(40.0, movement.getDelta());
+        assertEquals(StockMovementReason.ADJUSTMENT, movement.getReason());
     }
 
     @Test
@@ -165,6 +206,43 @@ class RawMaterialServiceTest {
         assertThrows(NotFoundException.class, () -> service.update(id, request));
     }
 
+    @Test
+    @DisplayName("Deve gravar entradas sem travar e travar apenas saídas líquidas")
+    void registerMovements_ShouldLockOnlyNetWithdrawals() {
+        when(repository.findExistingCodes(any())).thenReturn(List.of(1L, 2L));
+        when(locationService.resolve(null)).thenReturn(1L);
+        when(stockLedger.lockStock(new TreeSet<>(Set.of(2L)), 1L)).thenReturn(Map.of(2L, 5.0));
+
+        service.registerMovements(List.of(
+                new StockMovementRequestDTO(1L, 30.0),
+                new StockMovementRequestDTO(2L, -8.0),
+                new StockMovementRequestDTO(2L, 4.0)));
+
+        verify(stockLedger).lockStock(new TreeSet<>(Set.of(2L)), 1L);
+        verify(stockLedger, never()).lockStock(argThat(codes -> codes.contains(1L)), any());
+        ArgumentCaptor<List<StockMovement>> movements = ArgumentCaptor.captor();
+        verify(stockLedger).append(movements.capture());
+        assertEquals(3, movements.getValue().size());
+        assertEquals(StockMovementReason.RECEIPT, movements.getValue().get(0).getReason());
+        verify(inventoryChanged).fire(InventoryChangedEvent.stock());
+    }
+
+    @Test
+    @DisplayName("Deve recusar o lote inteiro quando uma saída deixaria o saldo negativo")
+    void registerMovements_ShouldThrowConflict_WhenStockWouldGoNegative() {
+        when(repository.findExistingCodes(any())).thenReturn(List.of(1L, 2L));
+        when(locationService.resolve(null)).thenReturn(1L);
+        when(stockLedger.lockStock(new TreeSet<>(Set.of(2L)), 1L)).thenReturn(Map.of(2L, 3.0));
+
+        WebApplicationException exception = assertThrows(WebApplicationException.class,
+                () -> service.registerMovements(List.of(
+                        new StockMovementRequestDTO(1L, 30.0),
+                        new StockMovementRequestDTO(2L, -4.0))));
+
+        assertEquals(Response.Status.CONFLICT.getStatusCode(), exception.getResponse().getStatus());
+        verify(stockLedger, never()).append(any());
+    }
+
     @Test
     @DisplayName("Deve deletar material quando não estiver em uso")
     void delete_ShouldDelete_WhenNotUsedInComposition() {
@@ -176,6 +254,7 @@ class RawMaterialServiceTest {
 
         service.delete(id);
 
+        verify(stockLedger).discard(id);
         verify(repository, times(1)).deleteById(id);
     }
 
@@ -193,4 +272,25 @@ class RawMaterialServiceTest {
         assertEquals(Response.Status.CONFLICT.getStatusCode(), exception.getResponse().getStatus());
         verify(repository, never()).deleteById(any());
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Deve listar os produtos que usam o material a partir do cursor")
+    void whereUsed_ShouldReturnPage_WhenMaterialExists() {
+        Long id = 1L;
+        List<RawMaterialUsageDTO> usages = List.of(new RawMaterialUsageDTO(7L, "Mesa", 4.0));
+        when(repository.findVersion(id)).thenReturn(Optional.of(0L));
+        when(compositionRepository.findUsages(id, 5L, 20)).thenReturn(usages);
+
+        assertEquals(usages, service.whereUsed(id, 5L, 20));
+        verify(repository, never()).findById(any());
+    }
+
+    @Test
+    @DisplayName("Deve recusar limit fora da faixa e material inexistente")
+    void whereUsed_ShouldReject_InvalidLimitOrUnknownMaterial() {
+        assertThrows(BadRequestException.class, () -> service.whereUsed(1L, null, 0));
+        when(repository.findVersion(2L)).thenReturn(Optional.empty());
+        assertThrows(NotFoundException.class, () -> service.whereUsed(2L, null, null));
+        verify(compositionRepository, never()).findUsages(any(), any(), anyInt());
+    }
+}
@@ -0,0 +1,160 @@
+package com.autoflex.inventory.service.bulk;
+
+import com.autoflex.inventory.dto.request.ProductRequestDTO;
+import com.autoflex.inventory.dto.request.RawMaterialRequestDTO;
+import com.autoflex.inventory.dto.response.BulkImportErrorDTO;
+import com.autoflex.inventory.dto.response.BulkImportResponseDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BulkImportServiceTest {
+
+    @InjectMocks
+    BulkImportService service;
+
+    @Mock
+    BulkImportWriter writer;
+
+    @Spy
+    ObjectMapper objectMapper = new ObjectMapper();
+
+    @BeforeEach
+    void setUp() {
+        service.chunkSize = 2;
+        service.maxReportedErrors = 100;
+    }
+
+    private static InputStream body(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @DisplayName("Deve gravar as linhas válidas em lotes e relatar as inválidas")
+    void importRawMaterials_ShouldWriteValidRowsInChunks() {
+        when(writer.writeRawMaterials(anyList())).thenReturn(List.of());
+
+        BulkImportResponseDTO result = service.importRawMaterials(body("""
+                [{"name":"Aço","stockQuantity":10},
+                 {"name":"Cobre","stockQuantity":-1},
+                 {"name":"Prego","stockQuantity":5},
+                 {"name":"Cola","stockQuantity":2}]
+                """), BulkFormat.JSON);
+
+        assertEquals(4, result.received());
+        assertEquals(3, result.imported());
+        assertEquals(List.of(new BulkImportErrorDTO(2, "A quantidade em estoque não pode ser negativa.")), result.errors());
+
+        ArgumentCaptor<List<BulkRow<RawMaterialRequestDTO>>> chunks = ArgumentCaptor.captor();
+        verify(writer, times(2)).writeRawMaterials(chunks.capture());
+        assertEquals(List.of(1, 3), chunks.getAllValues().get(0).stream().map(BulkRow::number).toList());
+        assertEquals("Cola", chunks.getAllValues().get(1).get(0).value().name());
+    }
+
+    @Test
+    @DisplayName("Deve seguir para a próxima linha NDJSON quando um valor tem tipo inválido")
+    void importRawMaterials_ShouldReportBadValueAndContinue() {
+        when(writer.writeRawMaterials(anyList())).thenReturn(List.of());
+
+        BulkImportResponseDTO result = service.importRawMaterials(body("""
+                {"name":"Aço","stockQuantity":"muito"}
+                {"name":"Prego","stockQuantity":5}
+                """), BulkFormat.JSON);
+
+        assertEquals(2, result.received());
+        assertEquals(1, result.imported());
+        assertEquals(List.of(new BulkImportErrorDTO(1, "Valor inválido no campo 'stockQuantity'.")), result.errors());
+    }
+
+    @Test
+    @DisplayName("Deve interpretar o CSV de produtos com as composições codigo:quantidade")
+    void importProducts_ShouldParseCsvCompositions() {
+        when(writer.writeProducts(anyList())).thenReturn(List.of());
+
+        BulkImportResponseDTO result = service.importProducts(body("""
+                name,price,compositions
+                Mesa,300.50,10:4;20:12.5
+                Banco,80,10-1
+                """), BulkFormat.CSV);
+
+        assertEquals(2, result.received());
+        assertEquals(1, result.imported());
+        assertEquals(2, result.errors().get(0).row());
+        assertTrue(result.errors().get(0).message().startsWith("Composição inválida: '10-1'"));
+
+        ArgumentCaptor<List<BulkRow<ProductRequestDTO>>> chunk = ArgumentCaptor.captor();
+        verify(writer).writeProducts(chunk.capture());
+        ProductRequestDTO mesa = chunk.getValue().get(0).value();
+        assertEquals(new BigDecimal("300.50"), mesa.price());
+        assertEquals(20L, mesa.compositions().get(1).rawMaterialCode());
+        assertEquals(12.5, mesa.compositions().get(1).quantityNeeded());
+    }
+
+    @Test
+    @DisplayName("Deve relatar todas as linhas de um lote que falhou e continuar com os próximos")
+    void importProducts_ShouldReportFailedChunkAndContinue() {
+        when(writer.writeProducts(anyList()))
+                .thenThrow(new IllegalStateException("constraint"))
+                .thenReturn(List.of(new BulkImportErrorDTO(4, "Matéria-prima não encontrada: 99.")));
+
+        BulkImportResponseDTO result = service.importProducts(body("""
+                {"name":"A","price":10,"compositions":[{"rawMaterialCode":1,"quantityNeeded":1}]}
+                {"name":"B","price":10,"compositions":[{"rawMaterialCode":1,"quantityNeeded":1}]}
+                {"name":"C","price":10,"compositions":[{"rawMaterialCode":1,"quantityNeeded":1}]}
+                {"name":"D","price":10,"compositions":[{"rawMaterialCode":99,"quantityNeeded":1}]}
+                """), BulkFormat.JSON);
+
+        assertEquals(4, result.received());
+        assertEquals(1, result.imported());
+        assertEquals(3, result.failed());
+        assertEquals(List.of(1, 2, 4), result.errors().stream().map(BulkImportErrorDTO::row).toList());
+    }
+
+    @Test
+    @DisplayName("Deve parar na linha malformada mantendo o que já foi lido")
+    void importRawMaterials_ShouldStopAtMalformedInput() {
+        when(writer.writeRawMaterials(anyList())).thenReturn(List.of());
+
+        BulkImportResponseDTO result = service.importRawMaterials(body("""
+                [{"name":"Aço","stockQuantity":10},
+                 {"name":"Prego", stockQuantity}]
+                """), BulkFormat.JSON);
+
+        assertEquals(1, result.imported());
+        assertEquals(1, result.failed());
+        assertEquals(2, result.errors().get(0).row());
+    }
+
+    @Test
+    @DisplayName("Deve limitar a quantidade de erros detalhados na resposta")
+    void importProducts_ShouldCapReportedErrors() {
+        service.maxReportedErrors = 1;
+
+        BulkImportResponseDTO result = service.importProducts(body("""
+                [{"name":"A","price":0,"compositions":[]},
+                 {"name":"","price":10,"compositions":[]}]
+                """), BulkFormat.JSON);
+
+        assertEquals(2, result.failed());
+        assertEquals(List.of(new BulkImportErrorDTO(1, "O preço deve ser maior que zero.")), result.errors());
+        verifyNoInteractions(writer);
+    }
+}
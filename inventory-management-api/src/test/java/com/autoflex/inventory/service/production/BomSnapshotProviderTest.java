@@ -0,0 +1,117 @@
+package com.autoflex.inventory.service.production;
+
+import com.autoflex.inventory.metrics.ProductionSuggestionMetrics;
+import com.autoflex.inventory.model.Product;
+import com.autoflex.inventory.model.ProductComposition;
+import com.autoflex.inventory.model.RawMaterial;
+import com.autoflex.inventory.repository.ProductCompositionRepository;
+import com.autoflex.inventory.repository.ProductRepository;
+import com.autoflex.inventory.repository.RawMaterialRepository;
+import com.autoflex.inventory.service.InventoryVersion;
+import com.autoflex.inventory.service.stock.StockLedger;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BomSnapshotProviderTest {
+
+    @InjectMocks
+    BomSnapshotProvider provider;
+
+    @Mock
+    RawMaterialRepository rawMaterialRepository;
+
+    @Mock
+    ProductRepository productRepository;
+
+    @Mock
+    ProductCompositionRepository compositionRepository;
+
+    @Mock
+    StockLedger stockLedger;
+
+    @Mock
+    InventoryVersion inventoryVersion;
+
+    @Spy
+    ProductionSuggestionMetrics metrics = new ProductionSuggestionMetrics(new SimpleMeterRegistry());
+
+    @BeforeEach
+    void setUp() {
+        RawMaterial madeira = new RawMaterial(10L, "Madeira", 20.0);
+        RawMaterial prego = new RawMaterial(20L, "Prego", 100.0);
+        Product mesa = new Product(1L, "Mesa", BigDecimal.valueOf(300));
+        Product banco = new Product(2L, "Banco", BigDecimal.valueOf(80));
+
+        lenient().when(inventoryVersion.read()).thenReturn(new InventoryVersion.Versions(0L, 0L));
+        lenient().when(rawMaterialRepository.listAll()).thenReturn(List.of(prego, madeira));
+        lenient().when(productRepository.listAllOrderedByPriceDesc()).thenReturn(List.of(mesa, banco));
+        lenient().when(compositionRepository.listAllWithDetails()).thenReturn(List.of(
+                new ProductComposition(1L, mesa, madeira, 4.0),
+                new ProductComposition(2L, banco, madeira, 1.0),
+                new ProductComposition(3L, mesa, prego, 12.0)));
+    }
+
+    @Test
+    @DisplayName("Deve montar as faixas de composição em ordem de preço")
+    void current_ShouldBuildCompressedRecipes() {
+        BomSnapshot snapshot = provider.current();
+
+        assertEquals(2, snapshot.productCount());
+        assertEquals(3, snapshot.compositionCount());
+        assertEquals(1L, snapshot.productCode(0));
+        assertEquals(2, snapshot.compositionEnd(0) - snapshot.compositionStart(0));
+        assertEquals(1, snapshot.compositionEnd(1) - snapshot.compositionStart(1));
+        assertEquals(20.0, snapshot.stock(snapshot.rawMaterialIndexOf(10L)));
+    }
+
+    @Test
+    @DisplayName("Deve reutilizar o snapshot enquanto nada mudar")
+    void current_ShouldReuseSnapshot_WhenNothingChanged() {
+        BomSnapshot first = provider.current();
+        BomSnapshot second = provider.current();
+
+        assertSame(first, second);
+        verify(productRepository, times(1)).listAllOrderedByPriceDesc();
+    }
+
+    @Test
+    @DisplayName("Deve recarregar apenas o estoque após alteração de saldo")
+    void current_ShouldReloadOnlyStock_AfterStockChange() {
+        provider.current();
+        when(stockLedger.stockLevels()).thenReturn(Map.of(10L, 8.0, 20L, 100.0));
+
+        when(inventoryVersion.read()).thenReturn(new InventoryVersion.Versions(1L, 0L));
+        BomSnapshot snapshot = provider.current();
+
+        assertEquals(8.0, snapshot.stock(snapshot.rawMaterialIndexOf(10L)));
+        verify(productRepository, times(1)).listAllOrderedByPriceDesc();
+        verify(compositionRepository, times(1)).listAllWithDetails();
+    }
+
+    @Test
+    @DisplayName("Deve reconstruir o snapshot após alteração de catálogo")
+    void current_ShouldRebuild_AfterCatalogChange() {
+        provider.current();
+
+        when(inventoryVersion.read()).thenReturn(new InventoryVersion.Versions(1L, 1L));
+        provider.current();
+
+        verify(productRepository, times(2)).listAllOrderedByPriceDesc();
+        verify(stockLedger, never()).stockLevels();
+    }
+}
@@ -0,0 +1,133 @@
+package com.autoflex.inventory.service.production;
+
+import com.autoflex.inventory.model.Product;
+import com.autoflex.inventory.model.ProductComposition;
+import com.autoflex.inventory.model.RawMaterial;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class IncrementalGreedyPlanTest {
+
+    ProductionPlanningEngine engine = new ProductionPlanningEngine(
+            new GreedyProductionPlanner(), mock(OptimalProductionPlanner.class), 1, Integer.MAX_VALUE);
+
+    @AfterEach
+    void tearDown() {
+        engine.shutdown();
+    }
+
+    @Test
+    @DisplayName("Deve chegar ao mesmo plano da passada completa após sucessivas mudanças de estoque")
+    void plan_ShouldMatchFullPass_AfterStockChanges() {
+        SplittableRandom random = new SplittableRandom(7);
+        BomSnapshot snapshot = randomCatalog(random, 300, 40);
+        engine.plan(snapshot, PlanningMode.GREEDY, null);
+
+        for (int round = 0; round < 200; round++) {
+            double[] stock = snapshot.stockCopy();
+            int edits = 1 + random.nextInt(3);
+            for (int e = 0; e < edits; e++) {
+                int r = random.nextInt(stock.length);
+                stock[r] = random.nextInt(4) == 0 ? 0.0 : random.nextInt(500) + random.nextDouble();
+            }
+            snapshot = snapshot.withStock(stock);
+
+            int[] expected = fullPass(snapshot);
+            assertArrayEquals(expected, engine.plan(snapshot, PlanningMode.GREEDY, null).quantities(),
+                    "rodada " + round);
+        }
+    }
+
+    @Test
+    @DisplayName("Deve replanejar apenas os produtos alcançados pela mudança de estoque")
+    void update_ShouldReplanOnlyAffectedProducts() {
+        RawMaterial madeira = new RawMaterial(1L, "Madeira", 100.0);
+        RawMaterial verniz = new RawMaterial(2L, "Verniz", 1.0);
+        RawMaterial parafuso = new RawMaterial(3L, "Parafuso", 1000.0);
+        Product mesa = new Product(1L, "Mesa", BigDecimal.valueOf(500));
+        Product estante = new Product(2L, "Estante", BigDecimal.valueOf(300));
+        Product cadeira = new Product(3L, "Cadeira", BigDecimal.valueOf(150));
+        Product banco = new Product(4L, "Banco", BigDecimal.valueOf(80));
+        BomSnapshot snapshot = BomSnapshot.of(List.of(madeira, verniz, parafuso),
+                List.of(mesa, estante, cadeira, banco), List.of(
+                        new ProductComposition(1L, mesa, madeira, 30.0),
+                        new ProductComposition(2L, estante, parafuso, 40.0),
+                        new ProductComposition(3L, cadeira, madeira, 5.0),
+                        new ProductComposition(4L, cadeira, verniz, 1.0),
+                        new ProductComposition(5L, banco, madeira, 2.0)));
+        double[] before = new double[snapshot.compositionCount()];
+        int[] quantities = new int[snapshot.productCount()];
+        double[] stock = snapshot.stockCopy();
+        for (int k = 0; k < snapshot.componentCount(); k++)
+            new GreedyProductionPlanner().plan(snapshot, snapshot.componentProducts(k), stock, quantities, before);
+        IncrementalGreedyPlan plan = IncrementalGreedyPlan.of(snapshot, quantities, before);
+
+        // Mais verniz: a cadeira produz mais e sobra menos madeira para o banco; mesa e estante ficam de fora
+        double[] moreVarnish = snapshot.stockCopy();
+        moreVarnish[snapshot.rawMaterialIndexOf(2L)] = 2.0;
+        BomSnapshot changed = snapshot.withStock(moreVarnish);
+        assertEquals(2, plan.update(changed));
+        assertArrayEquals(fullPass(changed), plan.quantities());
+
+        // Mais parafusos: só a estante é recalculada
+        double[] moreScrews = changed.stockCopy();
+        moreScrews[changed.rawMaterialIndexOf(3L)] = 1200.0;
+        BomSnapshot screws = changed.withStock(moreScrews);
+        assertEquals(1, plan.update(screws));
+        assertArrayEquals(fullPass(screws), plan.quantities());
+
+        // Estoque igual: nada a refazer
+        assertEquals(0, plan.update(screws.withStock(screws.stockCopy())));
+    }
+
+    @Test
+    @DisplayName("Deve refazer a passada completa quando as receitas mudam")
+    void plan_ShouldRunFullPass_WhenRecipesChange() {
+        SplittableRandom random = new SplittableRandom(11);
+        BomSnapshot first = randomCatalog(random, 50, 10);
+        engine.plan(first, PlanningMode.GREEDY, null);
+
+        BomSnapshot reloaded = randomCatalog(random, 60, 12);
+        assertFalse(first.sharesRecipesWith(reloaded));
+        assertArrayEquals(fullPass(reloaded), engine.plan(reloaded, PlanningMode.GREEDY, null).quantities());
+    }
+
+    private static int[] fullPass(BomSnapshot snapshot) {
+        double[] stock = snapshot.stockCopy();
+        int[] quantities = new int[snapshot.productCount()];
+        GreedyProductionPlanner greedy = new GreedyProductionPlanner();
+        for (int k = 0; k < snapshot.componentCount(); k++)
+            greedy.plan(snapshot, snapshot.componentProducts(k), stock, quantities, PlanningDeadline.none());
+        return quantities;
+    }
+
+    /** Random catalog whose recipes may repeat a raw material. */
+    private static BomSnapshot randomCatalog(SplittableRandom random, int productCount, int materialCount) {
+        List<RawMaterial> materials = new ArrayList<>();
+        for (int r = 0; r < materialCount; r++)
+            materials.add(new RawMaterial(r + 1L, "Insumo " + r, random.nextInt(1000) + random.nextDouble()));
+
+        List<Product> products = new ArrayList<>();
+        List<ProductComposition> compositions = new ArrayList<>();
+        long id = 1;
+        for (int p = 0; p < productCount; p++) {
+            Product product = new Product(p + 1L, "Produto " + p, BigDecimal.valueOf(10_000 - p));
+            products.add(product);
+            int lines = random.nextInt(5);
+            for (int k = 0; k < lines; k++) {
+                RawMaterial rm = materials.get(random.nextInt(materialCount));
+                compositions.add(new ProductComposition(id++, product, rm, 0.1 + random.nextInt(30) * 0.7));
+            }
+        }
+        return BomSnapshot.of(materials, products, compositions);
+    }
+}
@@ -0,0 +1,154 @@
+package com.autoflex.inventory.service.production;
+
+import com.autoflex.inventory.model.Product;
+import com.autoflex.inventory.model.ProductComposition;
+import com.autoflex.inventory.model.RawMaterial;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OptimalProductionPlannerTest {
+
+    OptimalProductionPlanner planner;
+    ProductionPlanningEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        planner = new OptimalProductionPlanner();
+        planner.greedyPlanner = new GreedyProductionPlanner();
+        planner.defaultTimeBudget = Duration.ofSeconds(5);
+        planner.maxTimeBudget = Duration.ofSeconds(30);
+        planner.maxTableauCells = 20_000_000L;
+        engine = new ProductionPlanningEngine(planner.greedyPlanner, planner, 2, 0);
+    }
+
+    @AfterEach
+    void tearDown() {
+        engine.shutdown();
+    }
+
+    @Test
+    @DisplayName("Deve superar a heurística gulosa quando o produto caro monopoliza o insumo")
+    void plan_ShouldBeatGreedy_WhenExpensiveProductHogsMaterial() {
+        RawMaterial chapa = new RawMaterial(1L, "Chapa", 10.0);
+        Product armario = new Product(1L, "Armário", BigDecimal.valueOf(100));
+        Product estante = new Product(2L, "Estante", BigDecimal.valueOf(70));
+        BomSnapshot snapshot = BomSnapshot.of(List.of(chapa), List.of(armario, estante), List.of(
+                new ProductComposition(1L, armario, chapa, 6.0),
+                new ProductComposition(2L, estante, chapa, 5.0)));
+
+        ProductionPlan greedy = engine.plan(snapshot, PlanningMode.GREEDY, null);
+        ProductionPlan optimal = engine.plan(snapshot, PlanningMode.OPTIMAL, null);
+
+        assertArrayEquals(new int[] { 1, 0 }, greedy.quantities());
+        assertArrayEquals(new int[] { 0, 2 }, optimal.quantities());
+        assertEquals(ProductionPlan.Status.OPTIMAL, optimal.status());
+        assertEquals(0.0, optimal.optimalityGap());
+    }
+
+    @Test
+    @DisplayName("Deve deixar fora do modelo o produto cuja receita não consome estoque")
+    void plan_ShouldSkipProduct_WhenRecipeConsumesNoStock() {
+        RawMaterial chapa = new RawMaterial(1L, "Chapa", 10.0);
+        RawMaterial cola = new RawMaterial(2L, "Cola", 5.0);
+        Product armario = new Product(1L, "Armário", BigDecimal.valueOf(100));
+        Product brinde = new Product(2L, "Brinde", BigDecimal.valueOf(500));
+        BomSnapshot snapshot = BomSnapshot.of(List.of(chapa, cola), List.of(brinde, armario), List.of(
+                new ProductComposition(1L, armario, chapa, 5.0),
+                new ProductComposition(2L, armario, cola, 0.0),
+                new ProductComposition(3L, brinde, chapa, 0.0)));
+
+        ProductionPlan plan = engine.plan(snapshot, PlanningMode.OPTIMAL, null);
+
+        assertArrayEquals(new int[] { 0, 2 }, plan.quantities());
+        assertEquals(ProductionPlan.Status.OPTIMAL, plan.status());
+    }
+
+    @Test
+    @DisplayName("Deve respeitar o estoque de todos os insumos compartilhados")
+    void plan_ShouldRespectSharedStock() {
+        RawMaterial aco = new RawMaterial(1L, "Aço", 100.0);
+        RawMaterial borracha = new RawMaterial(2L, "Borracha", 40.0);
+        RawMaterial plastico = new RawMaterial(3L, "Plástico", 50.0);
+        RawMaterial parafuso = new RawMaterial(4L, "Parafuso", 500.0);
+        Product bicicleta = new Product(1L, "Bicicleta", BigDecimal.valueOf(1500));
+        Product patinete = new Product(2L, "Patinete", BigDecimal.valueOf(200));
+        BomSnapshot snapshot = BomSnapshot.of(List.of(aco, borracha, plastico, parafuso),
+                List.of(bicicleta, patinete), List.of(
+                        new ProductComposition(1L, bicicleta, aco, 8.0),
+                        new ProductComposition(2L, bicicleta, borracha, 2.0),
+                        new ProductComposition(3L, bicicleta, parafuso, 10.0),
+                        new ProductComposition(4L, patinete, aco, 2.0),
+                        new ProductComposition(5L, patinete, plastico, 4.0),
+                        new ProductComposition(6L, patinete, parafuso, 4.0)));
+
+        ProductionPlan plan = engine.plan(snapshot, PlanningMode.OPTIMAL, null);
+
+        int[] q = plan.quantities();
+        assertTrue(8.0 * q[0] + 2.0 * q[1] <= 100.0);
+        assertTrue(4.0 * q[1] <= 50.0);
+        assertEquals(18400, 1500 * q[0] + 200 * q[1]);
+        assertEquals(ProductionPlan.Status.OPTIMAL, plan.status());
+    }
+
+    @Test
+    @DisplayName("Deve devolver o melhor incumbente quando o orçamento de tempo se esgota")
+    void plan_ShouldReturnIncumbent_WhenBudgetIsExhausted() {
+        List<RawMaterial> materials = new ArrayList<>();
+        List<Product> products = new ArrayList<>();
+        List<ProductComposition> compositions = new ArrayList<>();
+        for (long i = 1; i <= 30; i++) {
+            materials.add(new RawMaterial(i, "Insumo " + i, 97.0 + i));
+        }
+        for (long p = 1; p <= 40; p++) {
+            Product product = new Product(p, "Produto " + p, BigDecimal.valueOf(1000 - p * 7));
+            products.add(product);
+            for (long k = 0; k < 3; k++) {
+                RawMaterial rm = materials.get((int) ((p * 7 + k * 11) % 30));
+                compositions.add(new ProductComposition(p * 10 + k, product, rm, 3.0 + (p + k) % 5));
+            }
+        }
+        BomSnapshot snapshot = BomSnapshot.of(materials, products, compositions);
+
+        ProductionPlan plan = engine.plan(snapshot, PlanningMode.OPTIMAL, Duration.ZERO);
+        ProductionPlan greedy = engine.plan(snapshot, PlanningMode.GREEDY, null);
+
+        assertEquals(ProductionPlan.Status.TIME_LIMIT, plan.status());
+        assertArrayEquals(greedy.quantities(), plan.quantities());
+    }
+
+    @Test
+    @DisplayName("Deve parar de ramificar quando o tableau do subproblema passa do limite")
+    void plan_ShouldStopBranching_WhenSubproblemTableauExceedsLimit() {
+        RawMaterial chapa = new RawMaterial(1L, "Chapa", 10.0);
+        Product armario = new Product(1L, "Armário", BigDecimal.valueOf(100));
+        Product estante = new Product(2L, "Estante", BigDecimal.valueOf(70));
+        BomSnapshot snapshot = BomSnapshot.of(List.of(chapa), List.of(armario, estante), List.of(
+                new ProductComposition(1L, armario, chapa, 6.0),
+                new ProductComposition(2L, estante, chapa, 5.0)));
+        // Cabe só o LP raiz (1 linha x 3 colunas); qualquer ramo acrescenta uma linha de limite
+        planner.maxTableauCells = 3L;
+
+        ProductionPlan plan = engine.plan(snapshot, PlanningMode.OPTIMAL, null);
+
+        assertEquals(ProductionPlan.Status.TIME_LIMIT, plan.status());
+        assertArrayEquals(new int[] { 1, 0 }, plan.quantities());
+        assertTrue(plan.optimalityGap() > 0.0);
+    }
+
+    @Test
+    @DisplayName("Deve limitar o orçamento de tempo solicitado ao máximo configurado")
+    void effectiveBudget_ShouldClampToMaximum() {
+        assertEquals(Duration.ofSeconds(5), planner.effectiveBudget(null));
+        assertEquals(Duration.ofSeconds(30), planner.effectiveBudget(Duration.ofMinutes(10)));
+        assertEquals(Duration.ofMillis(200), planner.effectiveBudget(Duration.ofMillis(200)));
+    }
+}
@@ -0,0 +1,109 @@
+package com.autoflex.inventory.service.production;
+
+import com.autoflex.inventory.model.Product;
+import com.autoflex.inventory.model.ProductComposition;
+import com.autoflex.inventory.model.RawMaterial;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class ProductionPlanningEngineTest {
+
+    ProductionPlanningEngine parallel = new ProductionPlanningEngine(
+            new GreedyProductionPlanner(), mock(OptimalProductionPlanner.class), 4, 0);
+    ProductionPlanningEngine sequential = new ProductionPlanningEngine(
+            new GreedyProductionPlanner(), mock(OptimalProductionPlanner.class), 1, Integer.MAX_VALUE);
+
+    @AfterEach
+    void tearDown() {
+        parallel.shutdown();
+        sequential.shutdown();
+    }
+
+    @Test
+    @DisplayName("Deve separar famílias de produtos que não compartilham insumos")
+    void snapshot_ShouldPartitionIndependentFamilies() {
+        RawMaterial madeira = new RawMaterial(1L, "Madeira", 50.0);
+        RawMaterial verniz = new RawMaterial(2L, "Verniz", 10.0);
+        RawMaterial chip = new RawMaterial(3L, "Chip", 30.0);
+        Product mesa = new Product(1L, "Mesa", BigDecimal.valueOf(500));
+        Product celular = new Product(2L, "Celular", BigDecimal.valueOf(400));
+        Product cadeira = new Product(3L, "Cadeira", BigDecimal.valueOf(150));
+        Product avulso = new Product(4L, "Sem receita", BigDecimal.valueOf(10));
+
+        BomSnapshot snapshot = BomSnapshot.of(List.of(madeira, verniz, chip),
+                List.of(mesa, celular, cadeira, avulso), List.of(
+                        new ProductComposition(1L, mesa, madeira, 10.0),
+                        new ProductComposition(2L, cadeira, madeira, 3.0),
+                        new ProductComposition(3L, cadeira, verniz, 1.0),
+                        new ProductComposition(4L, celular, chip, 2.0)));
+
+        assertEquals(2, snapshot.componentCount());
+        assertArrayEquals(new int[] { 0, 2 }, snapshot.componentProducts(0));
+        assertArrayEquals(new int[] { 1 }, snapshot.componentProducts(1));
+    }
+
+    @Test
+    @DisplayName("Deve produzir o mesmo plano guloso em paralelo e em sequência")
+    void plan_ShouldMatchSequentialResult_WhenSolvedInParallel() {
+        List<RawMaterial> materials = new ArrayList<>();
+        List<Product> products = new ArrayList<>();
+        List<ProductComposition> compositions = new ArrayList<>();
+        long id = 1;
+        for (int family = 0; family < 12; family++) {
+            RawMaterial a = new RawMaterial(family * 2L + 1, "A" + family, 100.0 + family);
+            RawMaterial b = new RawMaterial(family * 2L + 2, "B" + family, 60.0 + family);
+            materials.add(a);
+            materials.add(b);
+            for (int k = 0; k < 5; k++) {
+                Product product = new Product(family * 10L + k, "P" + family + "-" + k,
+                        BigDecimal.valueOf(1000 - family * 10 - k));
+                products.add(product);
+                compositions.add(new ProductComposition(id++, product, a, 3.0 + k));
+                compositions.add(new ProductComposition(id++, product, b, 1.5 + k));
+            }
+        }
+        products.sort((x, y) -> y.getPrice().compareTo(x.getPrice()));
+        BomSnapshot snapshot = BomSnapshot.of(materials, products, compositions);
+
+        ProductionPlan inParallel = parallel.plan(snapshot, PlanningMode.GREEDY, null);
+        ProductionPlan inSequence = sequential.plan(snapshot, PlanningMode.GREEDY, null);
+
+        assertEquals(12, snapshot.componentCount());
+        assertArrayEquals(inSequence.quantities(), inParallel.quantities());
+        assertEquals(ProductionPlan.Status.HEURISTIC, inParallel.status());
+    }
+
+    @Test
+    @DisplayName("Deve planejar vários estoques em paralelo com o mesmo resultado de cada plano isolado")
+    void planAll_ShouldMatchIndividualPlans() {
+        RawMaterial madeira = new RawMaterial(1L, "Madeira", 0.0);
+        RawMaterial verniz = new RawMaterial(2L, "Verniz", 0.0);
+        Product mesa = new Product(1L, "Mesa", BigDecimal.valueOf(500));
+        Product cadeira = new Product(2L, "Cadeira", BigDecimal.valueOf(150));
+        BomSnapshot base = BomSnapshot.of(List.of(madeira, verniz), List.of(mesa, cadeira), List.of(
+                new ProductComposition(1L, mesa, madeira, 10.0),
+                new ProductComposition(2L, cadeira, madeira, 3.0),
+                new ProductComposition(3L, cadeira, verniz, 1.0)));
+
+        List<BomSnapshot> locations = new ArrayList<>();
+        for (int l = 0; l < 50; l++) {
+            locations.add(base.withStock(new double[] { 7.0 * l, l % 4 }));
+        }
+
+        List<ProductionPlan> plans = parallel.planAll(locations, PlanningMode.GREEDY, null);
+
+        assertEquals(locations.size(), plans.size());
+        for (int l = 0; l < locations.size(); l++) {
+            assertArrayEquals(sequential.plan(locations.get(l), PlanningMode.GREEDY, null).quantities(),
+                    plans.get(l).quantities(), "local " + l);
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.autoflex.inventory.service.search;
+
+import com.autoflex.inventory.dto.response.NameMatchDTO;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NameIndexTest {
+
+    NameIndex index = NameIndex.of(List.of(
+            new Object[] { 1L, "Aço Tubular (kg)" },
+            new Object[] { 2L, "Chapa de Aço Inox" },
+            new Object[] { 3L, "Acabamento Fosco" },
+            new Object[] { 4L, "Borracha Pneu (un)" },
+            new Object[] { 5L, "Parafuso (un)" }));
+
+    @Test
+    @DisplayName("Deve ignorar maiúsculas e acentos e trazer primeiro quem começa com o termo")
+    void search_ShouldMatchPrefixFirst_IgnoringCaseAndAccents() {
+        assertEquals(List.of(1L, 2L), codes(index.search("ACO", 10)));
+        assertEquals(List.of(3L, 1L, 4L, 2L), codes(index.search("Ác", 10)));
+        assertEquals(List.of(2L), codes(index.search(" aço inox", 10)));
+        assertEquals(List.of(4L, 5L), codes(index.search("(UN)", 10)));
+    }
+
+    @Test
+    @DisplayName("Deve respeitar o limite e devolver vazio sem correspondência")
+    void search_ShouldRespectLimit() {
+        assertEquals(List.of(3L), codes(index.search("ac", 1)));
+        assertEquals(List.of(3L, 1L), codes(index.search("ac", 2)));
+        assertTrue(index.search("madeira", 10).isEmpty());
+        assertTrue(index.search("   ", 10).isEmpty());
+        assertTrue(NameIndex.empty().search("aco", 10).isEmpty());
+    }
+
+    private static List<Long> codes(List<NameMatchDTO> matches) {
+        return matches.stream().map(NameMatchDTO::code).toList();
+    }
+}